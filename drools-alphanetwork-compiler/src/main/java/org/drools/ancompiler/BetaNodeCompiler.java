@@ -0,0 +1,198 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.ancompiler;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.drools.base.rule.ContextEntry;
+import org.drools.base.rule.constraint.BetaNodeFieldConstraint;
+import org.drools.core.common.BetaConstraints;
+import org.drools.core.common.CompiledBetaConstraints;
+import org.drools.core.common.ReteEvaluator;
+import org.drools.core.reteoo.BetaNode;
+import org.drools.core.reteoo.ReteDumper;
+import org.drools.core.reteoo.Rete;
+import org.drools.core.reteoo.Tuple;
+import org.kie.api.runtime.rule.FactHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates, for a single beta node, a subclass of {@link CompiledBetaConstraints} evaluating all its constraints
+ * in straight line code.
+ *
+ * The generic BetaConstraints implementations evaluate the constraints of all the beta nodes from the same
+ * few call sites, that become megamorphic as soon as the rule base contains different kinds of constraints.
+ * The generated class has its own call sites, one for each constraint, that are monomorphic and then can be
+ * inlined by the JIT. When the class of a constraint is accessible from the generated code, the field holding it
+ * is also declared with that class instead of the BetaNodeFieldConstraint interface.
+ */
+public class BetaNodeCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BetaNodeCompiler.class);
+
+    private static final String NEWLINE = "\n";
+
+    private final BetaNode betaNode;
+
+    private final ClassLoader classLoader;
+
+    private final String generatedClassSimpleName;
+
+    public BetaNodeCompiler(BetaNode betaNode, ClassLoader classLoader) {
+        this.betaNode = betaNode;
+        this.classLoader = classLoader;
+        this.generatedClassSimpleName = String.format("Compiled%sConstraints%d%s",
+                                                      betaNode.getClass().getSimpleName(),
+                                                      betaNode.getId(),
+                                                      String.valueOf(betaNode.hashCode()).replace("-", ""));
+    }
+
+    /**
+     * Returns the beta nodes of the given network whose constraints can be compiled and haven't been compiled yet
+     */
+    public static List<BetaNode> compilableBetaNodes(Rete rete) {
+        return ReteDumper.collectRete(rete).stream()
+                .filter(BetaNode.class::isInstance)
+                .map(BetaNode.class::cast)
+                .filter(node -> CompiledBetaConstraints.isCompilable(node.getRawConstraints()))
+                .sorted((n1, n2) -> Integer.compare(n1.getId(), n2.getId()))
+                .collect(Collectors.toList());
+    }
+
+    public String getName() {
+        return ObjectTypeNodeCompiler.PACKAGE_NAME + "." + generatedClassSimpleName;
+    }
+
+    public String generateSource() {
+        BetaConstraints constraints = betaNode.getRawConstraints();
+        BetaNodeFieldConstraint[] betaNodeFieldConstraints = constraints.getConstraints();
+        boolean[] skippedOnLeft = CompiledBetaConstraints.skippedOnLeft(constraints);
+        boolean[] skippedOnRight = CompiledBetaConstraints.skippedOnRight(constraints);
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("package ").append(ObjectTypeNodeCompiler.PACKAGE_NAME).append(";").append(NEWLINE);
+        builder.append("public class ").append(generatedClassSimpleName)
+                .append(" extends ").append(CompiledBetaConstraints.class.getCanonicalName()).append(" {").append(NEWLINE);
+
+        String[] constraintTypes = new String[betaNodeFieldConstraints.length];
+        for (int i = 0; i < betaNodeFieldConstraints.length; i++) {
+            constraintTypes[i] = constraintType(betaNodeFieldConstraints[i]);
+            builder.append("private final ").append(constraintTypes[i]).append(" constraint").append(i).append(";").append(NEWLINE);
+        }
+
+        builder.append("public ").append(generatedClassSimpleName).append("(").append(BetaConstraints.class.getCanonicalName()).append(" constraints) {").append(NEWLINE);
+        builder.append("super(constraints);").append(NEWLINE);
+        builder.append(BetaNodeFieldConstraint.class.getCanonicalName()).append("[] betaNodeFieldConstraints = constraints.getConstraints();").append(NEWLINE);
+        for (int i = 0; i < betaNodeFieldConstraints.length; i++) {
+            builder.append(String.format("this.constraint%d = (%s) betaNodeFieldConstraints[%d];%n", i, constraintTypes[i], i));
+        }
+        builder.append("}").append(NEWLINE);
+
+        String contextType = ContextEntry.class.getCanonicalName() + "[]";
+        appendContextMethod(builder, "updateFromTuple",
+                            contextType + " context, " + ReteEvaluator.class.getCanonicalName() + " reteEvaluator, " + Tuple.class.getCanonicalName() + " tuple",
+                            "context[%d].updateFromTuple(reteEvaluator, tuple);", betaNodeFieldConstraints.length);
+        appendContextMethod(builder, "updateFromFactHandle",
+                            contextType + " context, " + ReteEvaluator.class.getCanonicalName() + " reteEvaluator, " + FactHandle.class.getCanonicalName() + " handle",
+                            "context[%d].updateFromFactHandle(reteEvaluator, handle);", betaNodeFieldConstraints.length);
+        appendContextMethod(builder, "resetTuple", contextType + " context",
+                            "context[%d].resetTuple();", betaNodeFieldConstraints.length);
+        appendContextMethod(builder, "resetFactHandle", contextType + " context",
+                            "context[%d].resetFactHandle();", betaNodeFieldConstraints.length);
+
+        appendEvaluationMethod(builder, "isAllowedCachedLeft", contextType + " context, " + FactHandle.class.getCanonicalName() + " handle",
+                               "constraint%1$d.isAllowedCachedLeft(context[%1$d], handle)", skippedOnLeft);
+        appendEvaluationMethod(builder, "isAllowedCachedRight", contextType + " context, " + Tuple.class.getCanonicalName() + " tuple",
+                               "constraint%1$d.isAllowedCachedRight(tuple, context[%1$d])", skippedOnRight);
+
+        builder.append("}").append(NEWLINE);
+
+        String sourceCode = builder.toString();
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("Generated Compiled Beta Constraints %s", sourceCode));
+        }
+        return sourceCode;
+    }
+
+    private static void appendContextMethod(StringBuilder builder, String name, String parameters, String statement, int size) {
+        builder.append("@Override").append(NEWLINE);
+        builder.append("public void ").append(name).append("(").append(parameters).append(") {").append(NEWLINE);
+        for (int i = 0; i < size; i++) {
+            builder.append(String.format(statement, i)).append(NEWLINE);
+        }
+        builder.append("}").append(NEWLINE);
+    }
+
+    private static void appendEvaluationMethod(StringBuilder builder, String name, String parameters, String evaluation, boolean[] skipped) {
+        builder.append("@Override").append(NEWLINE);
+        builder.append("public boolean ").append(name).append("(").append(parameters).append(") {").append(NEWLINE);
+        builder.append("return ");
+        boolean first = true;
+        for (int i = 0; i < skipped.length; i++) {
+            if (!skipped[i]) {
+                if (!first) {
+                    builder.append(" && ");
+                }
+                builder.append(String.format(evaluation, i));
+                first = false;
+            }
+        }
+        if (first) {
+            // all the constraints are already satisfied by the index
+            builder.append("true");
+        }
+        builder.append(";").append(NEWLINE);
+        builder.append("}").append(NEWLINE);
+    }
+
+    private String constraintType(BetaNodeFieldConstraint constraint) {
+        Class<?> constraintClass = constraint.getClass();
+        return isAccessible(constraintClass) ? constraintClass.getCanonicalName() : BetaNodeFieldConstraint.class.getCanonicalName();
+    }
+
+    private boolean isAccessible(Class<?> constraintClass) {
+        if (constraintClass.isSynthetic() || constraintClass.getCanonicalName() == null) {
+            return false;
+        }
+        for (Class<?> c = constraintClass; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        try {
+            // the generated class must see the same class of the constraint, otherwise the cast would fail
+            return Class.forName(constraintClass.getName(), false, classLoader) == constraintClass;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    public void createInstanceAndSet(Class<?> compiledConstraintsClass) {
+        try {
+            CompiledBetaConstraints compiledConstraints = (CompiledBetaConstraints) compiledConstraintsClass
+                    .getDeclaredConstructor(BetaConstraints.class)
+                    .newInstance(betaNode.getRawConstraints());
+            betaNode.setCompiledConstraints(compiledConstraints);
+            logger.debug("Setting {} as constraints of: {}", compiledConstraintsClass.getName(), betaNode);
+        } catch (Exception e) {
+            throw new CouldNotCreateAlphaNetworkCompilerException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.ancompiler;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.drools.compiler.kie.builder.impl.KieBaseUpdater;
+import org.drools.compiler.kie.builder.impl.KieBaseUpdaterOptions;
+import org.drools.compiler.kie.builder.impl.KieBaseUpdatersContext;
+import org.drools.core.reteoo.BetaNode;
+import org.drools.core.reteoo.Rete;
+import org.drools.kiesession.rulebase.InternalKnowledgeBase;
+import org.kie.api.KieBase;
+import org.kie.api.conf.Option;
+import org.kie.internal.builder.conf.BetaNetworkCompilerOption;
+import org.kie.memorycompiler.KieMemoryCompiler;
+
+public class KieBaseUpdaterBNC implements KieBaseUpdater {
+
+    private final KieBaseUpdatersContext ctx;
+
+    public KieBaseUpdaterBNC(KieBaseUpdatersContext ctx) {
+        this.ctx = ctx;
+    }
+
+    public void run() {
+        Optional<Option> bncMode = ctx.getOption(BetaNetworkCompilerOption.class);
+        if (bncMode.filter(BetaNetworkCompilerOption.INMEMORY::equals).isPresent()) {
+            inMemoryUpdate(ctx.getClassLoader(), ctx.getRete());
+        }
+    }
+
+    /**
+     * This assumes the kie-memory-compiler module is provided at runtime.
+     * Only the beta nodes that haven't been compiled yet are processed, so after an incremental update
+     * only the newly created nodes are compiled.
+     */
+    private void inMemoryUpdate(ClassLoader rootClassLoader, Rete rete) {
+        List<BetaNode> betaNodes = BetaNodeCompiler.compilableBetaNodes(rete);
+        if (betaNodes.isEmpty()) {
+            return;
+        }
+
+        Map<String, BetaNodeCompiler> compilers = new HashMap<>();
+        Map<String, String> sources = new HashMap<>();
+        for (BetaNode betaNode : betaNodes) {
+            BetaNodeCompiler compiler = new BetaNodeCompiler(betaNode, rootClassLoader);
+            compilers.put(compiler.getName(), compiler);
+            sources.put(compiler.getName(), compiler.generateSource());
+        }
+
+        Map<String, Class<?>> compiledClasses = KieMemoryCompiler.compile(sources, rootClassLoader);
+        compilers.forEach((name, compiler) -> compiler.createInstanceAndSet(compiledClasses.get(name)));
+    }
+
+    public static void generateAndSetInMemoryBNC(KieBase kbase) {
+        KieBaseUpdaterOptions kieBaseUpdaterOptions = new KieBaseUpdaterOptions(new KieBaseUpdaterOptions.OptionEntry(
+                BetaNetworkCompilerOption.class, BetaNetworkCompilerOption.INMEMORY));
+        KieBaseUpdatersContext context = new KieBaseUpdatersContext(kieBaseUpdaterOptions,
+                                                                    ((InternalKnowledgeBase) kbase).getRete(), ((InternalKnowledgeBase) kbase).getRootClassLoader());
+        new KieBaseUpdaterBNC(context).run();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.ancompiler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.core.common.CompiledBetaConstraints;
+import org.drools.core.reteoo.BetaNode;
+import org.drools.core.reteoo.ReteDumper;
+import org.drools.kiesession.rulebase.InternalKnowledgeBase;
+import org.junit.Test;
+import org.kie.api.KieServices;
+import org.kie.api.builder.model.KieModuleModel;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.builder.conf.BetaNetworkCompilerOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BetaNetworkCompilerTest extends BaseModelTest {
+
+    private static final String RULES =
+            "import " + Person.class.getCanonicalName() + ";\n" +
+            "global java.util.List results;\n" +
+            "rule SameAge when\n" +
+            "    $p1 : Person( $age : age )\n" +
+            "    $p2 : Person( this != $p1, age == $age, name > $p1.name )\n" +
+            "then\n" +
+            "    results.add( $p1.getName() + \"=\" + $p2.getName() );\n" +
+            "end\n" +
+            "rule Oldest when\n" +
+            "    $p : Person( $age : age )\n" +
+            "    not Person( age > $age )\n" +
+            "then\n" +
+            "    results.add( \"oldest \" + $p.getName() );\n" +
+            "end\n";
+
+    public BetaNetworkCompilerTest(RUN_TYPE testRunType) {
+        super(testRunType);
+    }
+
+    @Test
+    public void testCompiledBetaConstraints() {
+        KieModuleModel model = KieServices.get().newKieModuleModel();
+        model.setConfigurationProperty(BetaNetworkCompilerOption.PROPERTY_NAME, BetaNetworkCompilerOption.INMEMORY.getMode());
+        KieSession ksession = getKieSession(model, RULES);
+        try {
+            List<BetaNode> betaNodes = new ArrayList<>();
+            ReteDumper.collectRete(((InternalKnowledgeBase) ksession.getKieBase()).getRete()).stream()
+                    .filter(BetaNode.class::isInstance)
+                    .map(BetaNode.class::cast)
+                    .forEach(betaNodes::add);
+            assertThat(betaNodes).isNotEmpty();
+            assertThat(betaNodes).allMatch(node -> node.getRawConstraints() instanceof CompiledBetaConstraints);
+
+            List<String> results = new ArrayList<>();
+            ksession.setGlobal("results", results);
+
+            Person mario = new Person("Mario", 40);
+            Person luca = new Person("Luca", 40);
+            Person edson = new Person("Edson", 35);
+            ksession.insert(mario);
+            FactHandle lucaFh = ksession.insert(luca);
+            ksession.insert(edson);
+            ksession.fireAllRules();
+            assertThat(results).containsExactlyInAnyOrder("Luca=Mario", "oldest Mario", "oldest Luca");
+
+            results.clear();
+            luca.setAge(35);
+            ksession.update(lucaFh, luca);
+            ksession.fireAllRules();
+            assertThat(results).containsExactlyInAnyOrder("Edson=Luca");
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testGenerateAndSetInMemory() {
+        KieSession ksession = getKieSession(RULES);
+        try {
+            KieBaseUpdaterBNC.generateAndSetInMemoryBNC(ksession.getKieBase());
+            assertThat(BetaNodeCompiler.compilableBetaNodes(((InternalKnowledgeBase) ksession.getKieBase()).getRete())).isEmpty();
+
+            List<String> results = new ArrayList<>();
+            ksession.setGlobal("results", results);
+            ksession.insert(new Person("Mario", 40));
+            ksession.insert(new Person("Luca", 40));
+            ksession.fireAllRules();
+            assertThat(results).containsExactlyInAnyOrder("Luca=Mario", "oldest Mario", "oldest Luca");
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
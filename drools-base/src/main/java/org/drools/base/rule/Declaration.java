@@ -256,6 +256,11 @@ public class Declaration implements Externalizable, AcceptsReadAccessor, TupleVa
         return this.readAccessor.getShortValue(valueResolver, object);
     }
 
+    @Override
+    public long getLongValue(ValueResolver valueResolver, BaseTuple tuple) {
+        return getLongValue( valueResolver, tuple.get( this ).getObject() );
+    }
+
     public long getLongValue(ValueResolver valueResolver,
                              final Object object) {
         return this.readAccessor.getLongValue(valueResolver, object);
@@ -17,7 +17,16 @@ package org.drools.base.rule;
 
 import org.drools.base.rule.constraint.Constraint;
 import org.drools.base.time.Interval;
+import org.drools.base.util.TemporalIndex;
 
 public interface IntervalProviderConstraint extends Constraint {
     Interval getInterval();
+
+    /**
+     * Returns the range of the timestamps of the events of the pattern that can satisfy this constraint,
+     * when it is a temporal constraint between two events, or null if it cannot be indexed on the timestamps
+     */
+    default TemporalIndex getTemporalIndex() {
+        return null;
+    }
 }
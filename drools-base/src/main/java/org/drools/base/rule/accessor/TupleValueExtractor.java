@@ -28,5 +28,13 @@ public interface TupleValueExtractor extends Cloneable {
 
     Object getValue(ValueResolver valueResolver, BaseTuple tuple);
 
+    /**
+     * Returns the value extracted from the tuple as a long. Implementations able to read the value
+     * as a primitive should override this method in order to avoid boxing it.
+     */
+    default long getLongValue(ValueResolver valueResolver, BaseTuple tuple) {
+        return ((Number) getValue( valueResolver, tuple )).longValue();
+    }
+
     TupleValueExtractor clone();
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.base.util;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.drools.base.reteoo.BaseTuple;
+import org.drools.base.rule.Declaration;
+import org.kie.api.runtime.rule.EventHandle;
+import org.kie.api.runtime.rule.FactHandle;
+
+/**
+ * A temporal constraint between the event of a pattern and a declared event, expressed as the range of the distance
+ * between their timestamps, so a beta memory can index the events on them.
+ *
+ * The constraint can be satisfied only when the right timestamp, the start or the end of the event of the pattern,
+ * minus the left timestamp, the start or the end of the declared event, is between the lower and the upper distance,
+ * both inclusive.
+ */
+public class TemporalIndex implements Externalizable {
+
+    private static final long serialVersionUID = 510l;
+
+    private Declaration declaration;
+    private boolean rightEnd;
+    private boolean leftEnd;
+    private long lowerDistance;
+    private long upperDistance;
+
+    public TemporalIndex() {
+    }
+
+    public TemporalIndex(Declaration declaration, boolean rightEnd, boolean leftEnd, long lowerDistance, long upperDistance) {
+        this.declaration = declaration;
+        this.rightEnd = rightEnd;
+        this.leftEnd = leftEnd;
+        this.lowerDistance = lowerDistance;
+        this.upperDistance = upperDistance;
+    }
+
+    /**
+     * this after[initRange, finalRange] declaration, so this.start - declaration.end is in [initRange, finalRange]
+     */
+    public static TemporalIndex after(Declaration declaration, long initRange, long finalRange) {
+        return new TemporalIndex(declaration, false, true, initRange, finalRange);
+    }
+
+    /**
+     * this before[initRange, finalRange] declaration, so this.end - declaration.start is in [-finalRange, -initRange]
+     */
+    public static TemporalIndex before(Declaration declaration, long initRange, long finalRange) {
+        return new TemporalIndex(declaration, true, false, negate(finalRange), negate(initRange));
+    }
+
+    /**
+     * this coincides[startDev, endDev] declaration, indexed only on the starts, so this.start - declaration.start
+     * is in [-startDev, startDev]
+     */
+    public static TemporalIndex coincides(Declaration declaration, long startDev) {
+        return new TemporalIndex(declaration, false, false, negate(startDev), startDev);
+    }
+
+    public static long negate(long value) {
+        return value == Long.MIN_VALUE ? Long.MAX_VALUE : -value;
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        declaration = (Declaration) in.readObject();
+        rightEnd = in.readBoolean();
+        leftEnd = in.readBoolean();
+        lowerDistance = in.readLong();
+        upperDistance = in.readLong();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeObject(declaration);
+        out.writeBoolean(rightEnd);
+        out.writeBoolean(leftEnd);
+        out.writeLong(lowerDistance);
+        out.writeLong(upperDistance);
+    }
+
+    public Declaration getDeclaration() {
+        return declaration;
+    }
+
+    public long getLowerDistance() {
+        return lowerDistance;
+    }
+
+    public long getUpperDistance() {
+        return upperDistance;
+    }
+
+    public long getRightTimestamp(FactHandle handle) {
+        return getTimestamp((EventHandle) handle, rightEnd);
+    }
+
+    public long getLeftTimestamp(BaseTuple tuple) {
+        return getTimestamp((EventHandle) tuple.get(declaration), leftEnd);
+    }
+
+    private static long getTimestamp(EventHandle handle, boolean end) {
+        return end ? handle.getEndTimestamp() : handle.getStartTimestamp();
+    }
+
+    @Override
+    public String toString() {
+        return "TemporalIndex(" + (rightEnd ? "end" : "start") + " - " + declaration.getIdentifier() + (leftEnd ? ".end" : ".start") +
+               " in [" + lowerDistance + ", " + upperDistance + "])";
+    }
+}
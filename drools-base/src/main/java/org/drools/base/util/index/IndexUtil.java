@@ -74,6 +74,14 @@ public class IndexUtil {
         }
     }
 
+    /**
+     * The events joined by a temporal constraint are indexed on their timestamps only in the memories of the join nodes,
+     * when their range index is enabled
+     */
+    public static boolean canHaveTemporalIndex(short nodeType, KieBaseConfiguration config) {
+        return nodeType == NodeTypeEnums.JoinNode && canHaveRangeIndexForNodeType(nodeType, config);
+    }
+
     private static boolean areRangeIndexCompatibleOperands(IndexableConstraint constraint) {
         ReadAccessor fieldExtractor;
         TupleValueExtractor indexingDeclaration;
@@ -169,6 +177,10 @@ public class IndexUtil {
     }
 
     private static boolean sortEqualIndexable(int keyDepth, boolean[] indexable, BetaNodeFieldConstraint[] constraints, int start) {
+        if (keyDepth > 1 && countEqualIndexable(constraints, start) > keyDepth) {
+            // not all the equality constraints fit in the composite key, so leave out the least selective ones
+            moveLowSelectivityLast(constraints, start);
+        }
         boolean hasEqualIndexable = false;
         int indexableCouter = 0;
         for (int i = start; i < constraints.length; i++) {
@@ -183,6 +195,43 @@ public class IndexUtil {
         return hasEqualIndexable;
     }
 
+    private static int countEqualIndexable(BetaNodeFieldConstraint[] constraints, int start) {
+        int count = 0;
+        for (int i = start; i < constraints.length; i++) {
+            if (isEqualIndexable(constraints[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void moveLowSelectivityLast(BetaNodeFieldConstraint[] constraints, int start) {
+        // stable partition of the constraints, keeping in their original order first the ones that are not low selectivity
+        BetaNodeFieldConstraint[] lowSelectivity = new BetaNodeFieldConstraint[constraints.length - start];
+        int lowSelectivityCount = 0;
+        int pos = start;
+        for (int i = start; i < constraints.length; i++) {
+            if (isLowSelectivityEqualIndexable(constraints[i])) {
+                lowSelectivity[lowSelectivityCount++] = constraints[i];
+            } else {
+                constraints[pos++] = constraints[i];
+            }
+        }
+        System.arraycopy(lowSelectivity, 0, constraints, pos, lowSelectivityCount);
+    }
+
+    /**
+     * An equality on a field having only a couple of possible values, like a boolean, can at most halve
+     * the size of a bucket of the index, so it doesn't pay the cost of being part of a composite key
+     */
+    private static boolean isLowSelectivityEqualIndexable(BetaNodeFieldConstraint constraint) {
+        if (!isEqualIndexable(constraint)) {
+            return false;
+        }
+        ReadAccessor extractor = ((IndexableConstraint) constraint).getFieldExtractor();
+        return extractor != null && extractor.getValueType() != null && extractor.getValueType().isBoolean();
+    }
+
     private static void sortRangeIndexable(BetaNodeFieldConstraint[] constraints, boolean[] indexable, int i) {
         swap(constraints, i, 0);
         indexable[0] = true;
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.feel;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+
+import org.kie.dmn.feel.lang.ast.InfixOpNode;
+import org.kie.dmn.feel.lang.ast.InfixOpNode.InfixOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the FEEL arithmetic operators, which compute the integral operands on longs, with the plain
+ * DECIMAL128 BigDecimal arithmetic they fall back to, on a batch of operand pairs.
+ *
+ * The INTEGRAL operands are integers whose quotients are exact, so every operator takes the long fast path,
+ * while the FRACTIONAL ones always take the BigDecimal path and measure the overhead of checking the operands.
+ * Both the interpreted InfixOpNode and the compiled CompiledFEELSemanticMappings go through the benchmarked methods.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArithmeticBenchmark {
+
+    private static final int OPERAND_COUNT = 1000;
+
+    @Param({"ADD", "SUB", "MULT", "DIV"})
+    private InfixOperator operator;
+
+    @Param({"INTEGRAL", "FRACTIONAL"})
+    private String operands;
+
+    private BigDecimal[] lefts;
+    private BigDecimal[] rights;
+
+    private BinaryOperator<BigDecimal> decimal128;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        lefts = new BigDecimal[OPERAND_COUNT];
+        rights = new BigDecimal[OPERAND_COUNT];
+        for (int i = 0; i < OPERAND_COUNT; i++) {
+            BigDecimal right = BigDecimal.valueOf(i % 97 + 1);
+            BigDecimal left = right.multiply(BigDecimal.valueOf(i * 31L - 15_000));
+            if ("FRACTIONAL".equals(operands)) {
+                right = right.add(new BigDecimal("0.25"));
+                left = left.add(new BigDecimal("0.5"));
+            }
+            lefts[i] = left;
+            rights[i] = right;
+        }
+        switch (operator) {
+            case ADD:
+                decimal128 = (l, r) -> l.add(r, MathContext.DECIMAL128);
+                break;
+            case SUB:
+                decimal128 = (l, r) -> l.subtract(r, MathContext.DECIMAL128);
+                break;
+            case MULT:
+                decimal128 = (l, r) -> l.multiply(r, MathContext.DECIMAL128);
+                break;
+            case DIV:
+                decimal128 = (l, r) -> l.divide(r, MathContext.DECIMAL128);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported operator " + operator);
+        }
+    }
+
+    @Benchmark
+    public void infixOperator(Blackhole blackhole) {
+        // the context is only used to report errors, these operands never raise any
+        for (int i = 0; i < OPERAND_COUNT; i++) {
+            switch (operator) {
+                case ADD:
+                    blackhole.consume(InfixOpNode.add(lefts[i], rights[i], null));
+                    break;
+                case SUB:
+                    blackhole.consume(InfixOpNode.sub(lefts[i], rights[i], null));
+                    break;
+                case MULT:
+                    blackhole.consume(InfixOpNode.mult(lefts[i], rights[i], null));
+                    break;
+                default:
+                    blackhole.consume(InfixOpNode.div(lefts[i], rights[i], null));
+            }
+        }
+    }
+
+    @Benchmark
+    public void decimal128(Blackhole blackhole) {
+        for (int i = 0; i < OPERAND_COUNT; i++) {
+            blackhole.consume(InfixOpNode.math(lefts[i], rights[i], null, decimal128));
+        }
+    }
+}
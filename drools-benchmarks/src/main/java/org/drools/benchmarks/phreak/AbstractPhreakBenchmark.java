@@ -0,0 +1,171 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.benchmarks.phreak;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.phreak.model.LeftFact;
+import org.drools.benchmarks.phreak.model.RightFact;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base class of the Phreak node benchmarks.
+ *
+ * Every invocation starts from a session already holding factCount LeftFacts and factCount RightFacts
+ * with all the rules fired, so each benchmark measures the propagation of a batch of changes through
+ * a populated network followed by a fireAllRules, which is where RuleNetworkEvaluator spends its time.
+ *
+ * The RightFacts have unique keys and values, while the LeftFacts have a unique key and a value in the
+ * range [0, VALUE_SPREAD), so every join produces a bounded number of matches whatever the
+ * ConstraintShape is.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public abstract class AbstractPhreakBenchmark {
+
+    protected static final int VALUE_SPREAD = 16;
+
+    @Param({"1000", "10000"})
+    protected int factCount;
+
+    @Param({"NONE", "HASH", "RANGE"})
+    protected IndexType indexType;
+
+    @Param({"EQUALITY", "COMPARISON", "EQUALITY_AND_COMPARISON"})
+    protected ConstraintShape constraintShape;
+
+    protected KieBase kieBase;
+    protected KieSession kieSession;
+
+    protected LeftFact[] lefts;
+    protected RightFact[] rights;
+    protected LeftFact[] incomingLefts;
+
+    protected FactHandle[] leftHandles;
+    protected FactHandle[] rightHandles;
+
+    @Setup(Level.Trial)
+    public void setupKieBase() {
+        String drl =
+                "import " + LeftFact.class.getCanonicalName() + ";\n" +
+                "import " + RightFact.class.getCanonicalName() + ";\n" +
+                "rule R when\n" +
+                getConditions(constraintShape.getConstraints()) +
+                "then\n" +
+                "end\n";
+        kieBase = new KieHelper().addContent(drl, ResourceType.DRL).build(indexType.getOptions());
+    }
+
+    @Setup(Level.Invocation)
+    public void setupSession() {
+        lefts = new LeftFact[factCount];
+        rights = new RightFact[factCount];
+        incomingLefts = new LeftFact[factCount];
+        for (int i = 0; i < factCount; i++) {
+            lefts[i] = new LeftFact(i, i, i % VALUE_SPREAD);
+            rights[i] = new RightFact(i, i, i);
+            incomingLefts[i] = new LeftFact(factCount + i, i, i % VALUE_SPREAD);
+        }
+
+        kieSession = kieBase.newKieSession();
+        populate();
+        kieSession.fireAllRules();
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeSession() {
+        kieSession.dispose();
+    }
+
+    /**
+     * Returns the LHS of the benchmarked rule, where constraints is the ConstraintShape
+     * to be applied on the RightFact pattern
+     */
+    protected abstract String getConditions(String constraints);
+
+    protected void populate() {
+        leftHandles = insertAll(lefts);
+        rightHandles = insertAll(rights);
+    }
+
+    protected FactHandle[] insertAll(Object[] facts) {
+        FactHandle[] handles = new FactHandle[facts.length];
+        for (int i = 0; i < facts.length; i++) {
+            handles[i] = kieSession.insert(facts[i]);
+        }
+        return handles;
+    }
+
+    /**
+     * Returns the handles of the already inserted facts modified and deleted by the benchmarks
+     */
+    protected FactHandle[] getChangingHandles() {
+        return rightHandles;
+    }
+
+    protected void change(Object fact) {
+        RightFact right = (RightFact) fact;
+        right.setKey((right.getKey() + 1) % factCount);
+    }
+
+    @Benchmark
+    public int insertAndFire() {
+        for (LeftFact left : incomingLefts) {
+            kieSession.insert(left);
+        }
+        return kieSession.fireAllRules();
+    }
+
+    @Benchmark
+    public int updateAndFire() {
+        for (FactHandle handle : getChangingHandles()) {
+            Object fact = kieSession.getObject(handle);
+            change(fact);
+            kieSession.update(handle, fact);
+        }
+        return kieSession.fireAllRules();
+    }
+
+    @Benchmark
+    public int deleteAndFire() {
+        for (FactHandle handle : getChangingHandles()) {
+            kieSession.delete(handle);
+        }
+        return kieSession.fireAllRules();
+    }
+}
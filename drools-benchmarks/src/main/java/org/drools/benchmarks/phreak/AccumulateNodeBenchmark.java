@@ -0,0 +1,28 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.phreak;
+
+/**
+ * Benchmarks the PhreakAccumulateNode summing the values of the RightFacts matched by each LeftFact.
+ */
+public class AccumulateNodeBenchmark extends AbstractPhreakBenchmark {
+
+    @Override
+    protected String getConditions(String constraints) {
+        return "    LeftFact( $k : key, $v : value )\n" +
+               "    accumulate( RightFact( " + constraints + ", $value : value ); $sum : sum( $value ) )\n";
+    }
+}
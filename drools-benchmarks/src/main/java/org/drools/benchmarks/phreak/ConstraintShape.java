@@ -0,0 +1,36 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.phreak;
+
+/**
+ * The shape of the beta constraints joining a RightFact against the $k and $v bindings of a LeftFact.
+ */
+public enum ConstraintShape {
+
+    EQUALITY("key == $k"),
+    COMPARISON("value < $v"),
+    EQUALITY_AND_COMPARISON("key == $k, value < $v");
+
+    private final String constraints;
+
+    ConstraintShape(String constraints) {
+        this.constraints = constraints;
+    }
+
+    public String getConstraints() {
+        return constraints;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.phreak;
+
+import org.drools.benchmarks.phreak.model.LeftFact;
+import org.kie.api.runtime.rule.FactHandle;
+
+/**
+ * Benchmarks the PhreakFromNode: the RightFacts are not inserted in the session, but reached from
+ * a list held by each LeftFact, so the changes are applied to the LeftFacts.
+ */
+public class FromNodeBenchmark extends AbstractPhreakBenchmark {
+
+    private static final int FROM_LIST_SIZE = 8;
+
+    @Override
+    protected String getConditions(String constraints) {
+        return "    $l : LeftFact( $k : key, $v : value )\n" +
+               "    RightFact( " + constraints + " ) from $l.rights\n";
+    }
+
+    @Override
+    protected void populate() {
+        fillRights(lefts);
+        fillRights(incomingLefts);
+        leftHandles = insertAll(lefts);
+    }
+
+    private void fillRights(LeftFact[] leftFacts) {
+        for (int i = 0; i < leftFacts.length; i++) {
+            for (int j = 0; j < FROM_LIST_SIZE; j++) {
+                leftFacts[i].getRights().add(rights[(i + j) % factCount]);
+            }
+        }
+    }
+
+    @Override
+    protected FactHandle[] getChangingHandles() {
+        return leftHandles;
+    }
+
+    @Override
+    protected void change(Object fact) {
+        LeftFact left = (LeftFact) fact;
+        left.setKey((left.getKey() + 1) % factCount);
+    }
+}
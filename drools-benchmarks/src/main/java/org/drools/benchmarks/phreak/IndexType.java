@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.phreak;
+
+import org.kie.api.conf.BetaRangeIndexOption;
+import org.kie.api.conf.KieBaseOption;
+import org.kie.internal.conf.IndexLeftBetaMemoryOption;
+import org.kie.internal.conf.IndexRightBetaMemoryOption;
+
+/**
+ * The kind of beta memory indexing the benchmarked KieBase is built with.
+ */
+public enum IndexType {
+
+    /**
+     * Beta memories are plain tuple lists, every join is a linear scan
+     */
+    NONE(IndexLeftBetaMemoryOption.NO, IndexRightBetaMemoryOption.NO),
+
+    /**
+     * Default configuration: equality constraints are hash indexed, comparisons are not indexed
+     */
+    HASH(IndexLeftBetaMemoryOption.YES, IndexRightBetaMemoryOption.YES),
+
+    /**
+     * Equality constraints are hash indexed and comparison constraints are range indexed
+     */
+    RANGE(IndexLeftBetaMemoryOption.YES, IndexRightBetaMemoryOption.YES, BetaRangeIndexOption.ENABLED);
+
+    private final KieBaseOption[] options;
+
+    IndexType(KieBaseOption... options) {
+        this.options = options;
+    }
+
+    public KieBaseOption[] getOptions() {
+        return options;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.phreak.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LeftFact {
+
+    private final int id;
+    private int key;
+    private int value;
+
+    // only used by the benchmarks evaluating a from node
+    private final List<RightFact> rights = new ArrayList<>();
+
+    public LeftFact(int id, int key, int value) {
+        this.id = id;
+        this.key = key;
+        this.value = value;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getKey() {
+        return key;
+    }
+
+    public void setKey(int key) {
+        this.key = key;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public void setValue(int value) {
+        this.value = value;
+    }
+
+    public List<RightFact> getRights() {
+        return rights;
+    }
+
+    @Override
+    public String toString() {
+        return "LeftFact{id=" + id + ", key=" + key + ", value=" + value + "}";
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.profile;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.phreak.model.LeftFact;
+import org.drools.benchmarks.phreak.model.RightFact;
+import org.drools.core.common.BaseNode;
+import org.drools.core.common.NodeProfile;
+import org.drools.core.common.TupleSets;
+import org.drools.core.common.TupleSetsImpl;
+import org.drools.core.reteoo.JoinNode;
+import org.drools.core.reteoo.ReteDumper;
+import org.kie.api.io.ResourceType;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the bookkeeping of the node profiler around the evaluation of a node, as done by RuleNetworkEvaluator,
+ * with many threads evaluating the same node as the sessions of a shared KieBase do.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NodeProfileBenchmark {
+
+    private BaseNode node;
+
+    private final TupleSets<?> tuples = new TupleSetsImpl<>();
+
+    @Setup
+    public void setup() {
+        String drl =
+                "import " + LeftFact.class.getCanonicalName() + ";\n" +
+                "import " + RightFact.class.getCanonicalName() + ";\n" +
+                "rule R when\n" +
+                "    LeftFact( $k : key )\n" +
+                "    RightFact( key == $k )\n" +
+                "then\n" +
+                "end\n";
+        node = ReteDumper.collectRete(new KieHelper().addContent(drl, ResourceType.DRL).build()).stream()
+                .filter(JoinNode.class::isInstance)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void profileSingleThread() {
+        profile();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void profileFourThreads() {
+        profile();
+    }
+
+    private void profile() {
+        NodeProfile.end(node, NodeProfile.start(node, tuples), tuples);
+    }
+}
@@ -59,6 +59,7 @@ import org.slf4j.LoggerFactory;
  * drools.dump.dir = <String>
  * drools.classLoaderCacheEnabled = true|false
  * drools.parallelRulesBuildThreshold = <int>
+ * drools.parallelBuild = true|false
  *
  * default dialect is java.
  * Available preconfigured Accumulate functions are:
@@ -27,9 +27,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 
@@ -64,6 +67,7 @@ import org.drools.base.rule.TypeDeclaration;
 import org.drools.drl.ast.descr.AttributeDescr;
 import org.drools.drl.ast.descr.ImportDescr;
 import org.drools.drl.ast.descr.PackageDescr;
+import org.drools.drl.ast.descr.RuleDescr;
 import org.drools.drl.parser.DrlParser;
 import org.drools.drl.parser.DroolsParserException;
 import org.drools.drl.parser.ParserError;
@@ -100,6 +104,7 @@ import org.kie.internal.builder.ResourceChange;
 import org.kie.internal.builder.ResultSeverity;
 import org.kie.internal.builder.conf.DefaultDialectOption;
 import org.kie.internal.builder.conf.LanguageLevelOption;
+import org.kie.internal.builder.conf.ParallelBuildOption;
 import org.kie.internal.builder.conf.ParallelRulesBuildThresholdOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -127,6 +132,8 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder, TypeDecla
 
     private int parallelRulesBuildThreshold;
 
+    private boolean parallelBuild;
+
     private final GlobalVariableContext globals = new GlobalVariableContextImpl();
 
     private List<DSLTokenizedMappingFile> dslFiles;
@@ -185,6 +192,8 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder, TypeDecla
 
         this.parallelRulesBuildThreshold = this.configuration.getOption(ParallelRulesBuildThresholdOption.KEY).getParallelRulesBuildThreshold();
 
+        this.parallelBuild = this.configuration.getOption(ParallelBuildOption.KEY).isParallelBuild();
+
         this.results = new BuildResultCollectorImpl();
 
         this.kBase = kBase;
@@ -225,6 +234,8 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder, TypeDecla
 
         this.parallelRulesBuildThreshold = this.configuration.getOption(ParallelRulesBuildThresholdOption.KEY).getParallelRulesBuildThreshold();
 
+        this.parallelBuild = this.configuration.getOption(ParallelBuildOption.KEY).isParallelBuild();
+
         this.results = new BuildResultCollectorImpl();
 
         this.pkgRegistryManager =
@@ -449,17 +460,47 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder, TypeDecla
     }
 
     private void compileKnowledgePackages(PackageDescr packageDescr, PackageRegistry pkgRegistry, Resource resource) {
+        List<CompilationPhase> phases = new ArrayList<>(functionCompilationPhases(packageDescr, pkgRegistry));
+        phases.add(ruleCompilationPhase(packageDescr, pkgRegistry, resource));
+        phases.forEach(CompilationPhase::process);
+        phases.forEach(p -> this.results.addAll(p.getResults()));
+    }
+
+    /**
+     * Compiles the rules of the different packages in parallel. The functions are compiled and stored before
+     * in the sequential way, so they are available to the rules of all the packages. The patterns of different packages
+     * can register the type declaration of the same class at the same time, so the TypeDeclarationCache is thread-safe.
+     */
+    private void compileKnowledgePackagesInParallel(Collection<CompositePackageDescr> packages) {
+        List<CompilationPhase> rulePhases = new ArrayList<>();
+        for (CompositePackageDescr packageDescr : packages) {
+            PackageRegistry pkgRegistry = getPackageRegistry(packageDescr.getNamespace());
+            List<CompilationPhase> phases = functionCompilationPhases(packageDescr, pkgRegistry);
+            phases.forEach(CompilationPhase::process);
+            phases.forEach(p -> this.results.addAll(p.getResults()));
+            rulePhases.add(ruleCompilationPhase(packageDescr, pkgRegistry, null));
+        }
+
+        try {
+            ForkJoinPoolHolder.COMPILER_POOL.submit(() -> rulePhases.parallelStream().forEach(CompilationPhase::process)).get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("Packages compilation failed or interrupted", e);
+        }
+        rulePhases.forEach(p -> this.results.addAll(p.getResults()));
+    }
+
+    private List<CompilationPhase> functionCompilationPhases(PackageDescr packageDescr, PackageRegistry pkgRegistry) {
         pkgRegistry.setDialect(getPackageDialect(packageDescr));
         PackageRegistry packageRegistry = this.pkgRegistryManager.getPackageRegistry(packageDescr.getNamespace());
-        Map<String, AttributeDescr> packageAttributes = this.pkgRegistryManager.getPackageAttributes().get(packageDescr.getNamespace());
-
-        List<CompilationPhase> phases = asList(
+        return asList(
                 new RuleValidator(packageRegistry, packageDescr, configuration), // validateUniqueRuleNames
-                FunctionCompiler.of(pkgRegistry, packageDescr, assetFilter, rootClassLoader),
-                RuleCompilationPhase.of(pkgRegistry, packageDescr, kBase, parallelRulesBuildThreshold,
-                        assetFilter, packageAttributes, resource, this));
-        phases.forEach(CompilationPhase::process);
-        phases.forEach(p -> this.results.addAll(p.getResults()));
+                FunctionCompiler.of(pkgRegistry, packageDescr, assetFilter, rootClassLoader));
+    }
+
+    private CompilationPhase ruleCompilationPhase(PackageDescr packageDescr, PackageRegistry pkgRegistry, Resource resource) {
+        Map<String, AttributeDescr> packageAttributes = this.pkgRegistryManager.getPackageAttributes().get(packageDescr.getNamespace());
+        return RuleCompilationPhase.of(pkgRegistry, packageDescr, kBase, parallelRulesBuildThreshold,
+                assetFilter, packageAttributes, resource, this);
     }
 
     protected void wireAllRules() {
@@ -518,6 +559,40 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder, TypeDecla
         return pkgRegistryManager;
     }
 
+    private boolean isParallelBuild(Collection<CompositePackageDescr> packages) {
+        // the asset filter is shared by the whole builder, so the incremental compilations are kept sequential
+        return parallelBuild && packages.size() > 1 && packages.stream().allMatch(packageDescr -> packageDescr.getFilter() == null) &&
+                !importsQueriesOfOtherPackages(packages);
+    }
+
+    /**
+     * A rule can call a query of another package imported with a pkg.* import: the query is looked up in the rules of
+     * that package while they are being added, so these packages have to be compiled sequentially as usual.
+     */
+    private static boolean importsQueriesOfOtherPackages(Collection<CompositePackageDescr> packages) {
+        Set<String> packagesWithQueries = new HashSet<>();
+        for (CompositePackageDescr packageDescr : packages) {
+            if (packageDescr.getRules().stream().anyMatch(RuleDescr::isQuery)) {
+                packagesWithQueries.add(packageDescr.getNamespace());
+            }
+        }
+        if (packagesWithQueries.isEmpty()) {
+            return false;
+        }
+        for (CompositePackageDescr packageDescr : packages) {
+            for (ImportDescr importDescr : packageDescr.getImports()) {
+                String target = importDescr.getTarget().trim();
+                if (target.endsWith(".*")) {
+                    String importedPackage = target.substring(0, target.length() - 2);
+                    if (!importedPackage.equals(packageDescr.getNamespace()) && packagesWithQueries.contains(importedPackage)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     public static class ForkJoinPoolHolder {
         public static final ForkJoinPool COMPILER_POOL = new ForkJoinPool(); // avoid common pool
     }
@@ -1014,11 +1089,15 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder, TypeDecla
     }
 
     private void buildRules(Collection<CompositePackageDescr> packages) {
-        for (CompositePackageDescr packageDescr : packages) {
-            setAssetFilter(packageDescr.getFilter());
-            PackageRegistry pkgRegistry = getPackageRegistry(packageDescr.getNamespace());
-            compileKnowledgePackages(packageDescr, pkgRegistry, null);
-            setAssetFilter(null);
+        if (isParallelBuild(packages)) {
+            compileKnowledgePackagesInParallel(packages);
+        } else {
+            for (CompositePackageDescr packageDescr : packages) {
+                setAssetFilter(packageDescr.getFilter());
+                PackageRegistry pkgRegistry = getPackageRegistry(packageDescr.getNamespace());
+                compileKnowledgePackages(packageDescr, pkgRegistry, null);
+                setAssetFilter(null);
+            }
         }
 
         wireAllRules();
@@ -33,12 +33,14 @@ import org.kie.api.runtime.rule.AccumulateFunction;
 import org.kie.internal.builder.KnowledgeBuilderConfiguration;
 import org.kie.internal.builder.conf.AccumulateFunctionOption;
 import org.kie.internal.builder.conf.AlphaNetworkCompilerOption;
+import org.kie.internal.builder.conf.BetaNetworkCompilerOption;
 import org.kie.internal.builder.conf.EvaluatorOption;
 import org.kie.internal.builder.conf.ExternaliseCanonicalModelLambdaOption;
 import org.kie.internal.builder.conf.GroupDRLsInKieBasesByFolderOption;
 import org.kie.internal.builder.conf.KnowledgeBuilderOption;
 import org.kie.internal.builder.conf.LanguageLevelOption;
 import org.kie.internal.builder.conf.MultiValueKieBuilderOption;
+import org.kie.internal.builder.conf.ParallelBuildOption;
 import org.kie.internal.builder.conf.ParallelLambdaExternalizationOption;
 import org.kie.internal.builder.conf.ParallelRulesBuildThresholdOption;
 import org.kie.internal.builder.conf.ProcessStringEscapesOption;
@@ -64,6 +66,7 @@ import org.slf4j.LoggerFactory;
  * drools.dump.dir = <String>
  * drools.classLoaderCacheEnabled = true|false
  * drools.parallelRulesBuildThreshold = <int>
+ * drools.parallelBuild = true|false
  *
  * default dialect is java.
  * Available preconfigured Accumulate functions are:
@@ -99,8 +102,12 @@ public class KnowledgeBuilderRulesConfigurationImpl extends BaseConfiguration<Kn
     private boolean                           externaliseCanonicalModelLambda       = true;
     private boolean                           parallelLambdaExternalization         = true;
 
+    private boolean                           parallelBuild                         = false;
+
     private AlphaNetworkCompilerOption        alphaNetworkCompilerOption            = AlphaNetworkCompilerOption.DISABLED;
 
+    private BetaNetworkCompilerOption         betaNetworkCompilerOption             = BetaNetworkCompilerOption.DISABLED;
+
     private static final PropertySpecificOption DEFAULT_PROP_SPEC_OPT = PropertySpecificOption.ALWAYS;
     private PropertySpecificOption            propertySpecificOption  = DEFAULT_PROP_SPEC_OPT;
 
@@ -152,11 +159,18 @@ public class KnowledgeBuilderRulesConfigurationImpl extends BaseConfiguration<Kn
                     getPropertyValue(AlphaNetworkCompilerOption.PROPERTY_NAME,
                                                        "disabled"));
 
+        setProperty(BetaNetworkCompilerOption.PROPERTY_NAME,
+                    getPropertyValue(BetaNetworkCompilerOption.PROPERTY_NAME,
+                                                       "disabled"));
+
         setProperty(ExternaliseCanonicalModelLambdaOption.PROPERTY_NAME,
                     getPropertyValue(ExternaliseCanonicalModelLambdaOption.PROPERTY_NAME,"true"));
 
         setProperty(ParallelLambdaExternalizationOption.PROPERTY_NAME,
                     getPropertyValue(ParallelLambdaExternalizationOption.PROPERTY_NAME,"true"));
+
+        setProperty(ParallelBuildOption.PROPERTY_NAME,
+                    getPropertyValue(ParallelBuildOption.PROPERTY_NAME,"false"));
     }
 
     protected ClassLoader getFunctionFactoryClassLoader() {
@@ -198,6 +212,9 @@ public class KnowledgeBuilderRulesConfigurationImpl extends BaseConfiguration<Kn
             } case ParallelLambdaExternalizationOption.PROPERTY_NAME: {
                 setParallelLambdaExternalization(Boolean.parseBoolean(value));
                 break;
+            } case ParallelBuildOption.PROPERTY_NAME: {
+                setParallelBuild(Boolean.parseBoolean(value));
+                break;
             } case AlphaNetworkCompilerOption.PROPERTY_NAME: {
                 try {
                     setAlphaNetworkCompilerOption(AlphaNetworkCompilerOption.determineAlphaNetworkCompilerMode(value.toUpperCase()));
@@ -205,6 +222,13 @@ public class KnowledgeBuilderRulesConfigurationImpl extends BaseConfiguration<Kn
                     log.warn("Invalid value " + value + " for option " + AlphaNetworkCompilerOption.PROPERTY_NAME);
                 }
                 break;
+            } case BetaNetworkCompilerOption.PROPERTY_NAME: {
+                try {
+                    setBetaNetworkCompilerOption(BetaNetworkCompilerOption.determineBetaNetworkCompilerMode(value.toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Invalid value " + value + " for option " + BetaNetworkCompilerOption.PROPERTY_NAME);
+                }
+                break;
             } default: {
                 if (name.startsWith(AccumulateFunctionOption.PROPERTY_NAME)) {
                     addAccumulateFunction(name.substring(AccumulateFunctionOption.PROPERTY_NAME.length()),
@@ -236,6 +260,8 @@ public class KnowledgeBuilderRulesConfigurationImpl extends BaseConfiguration<Kn
                 return String.valueOf(isExternaliseCanonicalModelLambda());
             } case ParallelLambdaExternalizationOption.PROPERTY_NAME: {
                 return String.valueOf(isParallelLambdaExternalization());
+            } case ParallelBuildOption.PROPERTY_NAME: {
+                return String.valueOf(isParallelBuild());
             } default: {
                 if (name.startsWith(AccumulateFunctionOption.PROPERTY_NAME)) {
                     int                index    = AccumulateFunctionOption.PROPERTY_NAME.length();
@@ -396,6 +422,14 @@ public class KnowledgeBuilderRulesConfigurationImpl extends BaseConfiguration<Kn
         this.parallelLambdaExternalization = parallelLambdaExternalization;
     }
 
+    public boolean isParallelBuild() {
+        return parallelBuild;
+    }
+
+    public void setParallelBuild(boolean parallelBuild) {
+        this.parallelBuild = parallelBuild;
+    }
+
     public AlphaNetworkCompilerOption getAlphaNetworkCompilerOption() {
         return alphaNetworkCompilerOption;
     }
@@ -404,6 +438,14 @@ public class KnowledgeBuilderRulesConfigurationImpl extends BaseConfiguration<Kn
         this.alphaNetworkCompilerOption = alphaNetworkCompilerOption;
     }
 
+    public BetaNetworkCompilerOption getBetaNetworkCompilerOption() {
+        return betaNetworkCompilerOption;
+    }
+
+    public void setBetaNetworkCompilerOption(BetaNetworkCompilerOption betaNetworkCompilerOption) {
+        this.betaNetworkCompilerOption = betaNetworkCompilerOption;
+    }
+
     @SuppressWarnings("unchecked")
     public <T extends SingleValueKieBuilderOption> T getOption(OptionKey<T> option) {
         switch ((option.name())) {
@@ -428,12 +470,18 @@ public class KnowledgeBuilderRulesConfigurationImpl extends BaseConfiguration<Kn
             case ParallelLambdaExternalizationOption.PROPERTY_NAME: {
                 return (T) (parallelLambdaExternalization ? ParallelLambdaExternalizationOption.ENABLED : ParallelLambdaExternalizationOption.DISABLED);
             }
+            case ParallelBuildOption.PROPERTY_NAME: {
+                return (T) (parallelBuild ? ParallelBuildOption.ENABLED : ParallelBuildOption.DISABLED);
+            }
             case ParallelRulesBuildThresholdOption.PROPERTY_NAME: {
                 return (T) parallelRulesBuildThreshold;
             }
             case AlphaNetworkCompilerOption.PROPERTY_NAME: {
                 return (T) alphaNetworkCompilerOption;
             }
+            case BetaNetworkCompilerOption.PROPERTY_NAME: {
+                return (T) betaNetworkCompilerOption;
+            }
             default:
                return compConfig.getOption(option);
         }
@@ -508,6 +556,10 @@ public class KnowledgeBuilderRulesConfigurationImpl extends BaseConfiguration<Kn
                 this.parallelLambdaExternalization = ((ParallelLambdaExternalizationOption) option).isLambdaExternalizationParallel();
                 break;
             }
+            case ParallelBuildOption.PROPERTY_NAME: {
+                this.parallelBuild = ((ParallelBuildOption) option).isParallelBuild();
+                break;
+            }
             case ParallelRulesBuildThresholdOption.PROPERTY_NAME: {
                 this.parallelRulesBuildThreshold = (ParallelRulesBuildThresholdOption)option;
                 break;
@@ -516,6 +568,10 @@ public class KnowledgeBuilderRulesConfigurationImpl extends BaseConfiguration<Kn
                 this.alphaNetworkCompilerOption = (AlphaNetworkCompilerOption) option;
                 break;
             }
+            case BetaNetworkCompilerOption.PROPERTY_NAME: {
+                this.betaNetworkCompilerOption = (BetaNetworkCompilerOption) option;
+                break;
+            }
             default:
                 compConfig.setOption(option);
         }
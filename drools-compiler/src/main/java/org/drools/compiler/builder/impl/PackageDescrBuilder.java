@@ -23,21 +23,27 @@ import org.kie.api.builder.ReleaseId;
 import org.kie.api.io.Resource;
 import org.kie.api.io.ResourceType;
 import org.kie.internal.builder.KnowledgeBuilderResult;
+import org.kie.internal.builder.conf.ParallelBuildOption;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class PackageDescrBuilder {
     private final BuildResultCollector buildResultCollector;
     private ResourceHandlerManager handlerManager;
     private RuntimeException buildException;
+    private final boolean parallelBuild;
 
     public PackageDescrBuilder(KnowledgeBuilderConfigurationImpl configuration, ReleaseId releaseId, Supplier<DefaultExpander> dslExpander) {
         this.buildResultCollector = new BuildResultCollectorImpl();
         this.handlerManager = new ResourceHandlerManager(configuration,releaseId,dslExpander);
+        this.parallelBuild = configuration.getOption(ParallelBuildOption.KEY).isParallelBuild();
     }
 
     public Collection<CompositePackageDescr> build(Map<ResourceType, List<CompositeKnowledgeBuilderImpl.ResourceDescr>> resourcesByType) {
@@ -64,7 +70,9 @@ public class PackageDescrBuilder {
             ResourceType resourceType, ResourceHandler mapper,
             Map<ResourceType, List<CompositeKnowledgeBuilderImpl.ResourceDescr>> resourcesByType) {
         List<CompositeKnowledgeBuilderImpl.ResourceDescr> resourceDescrs = resourcesByType.remove(resourceType);
-        if (resourceDescrs != null) {
+        if (resourceDescrs != null && parallelBuild && resourceDescrs.size() > 1) {
+            buildResourceInParallel(packages, resourceType, resourceDescrs);
+        } else if (resourceDescrs != null) {
             for (CompositeKnowledgeBuilderImpl.ResourceDescr resourceDescr : resourceDescrs) {
                 try {
                     PackageDescr packageDescr = mapper.process(resourceDescr.resource, resourceDescr.configuration);
@@ -83,6 +91,55 @@ public class PackageDescrBuilder {
         }
     }
 
+    private void buildResourceInParallel(
+            Map<String, CompositePackageDescr> packages,
+            ResourceType resourceType,
+            List<CompositeKnowledgeBuilderImpl.ResourceDescr> resourceDescrs) {
+        List<ParsedResource> parsedResources;
+        try {
+            parsedResources = KnowledgeBuilderImpl.ForkJoinPoolHolder.COMPILER_POOL.submit(() ->
+                    resourceDescrs.parallelStream()
+                            .map(resourceDescr -> parseResource(resourceType, resourceDescr))
+                            .collect(Collectors.toList())
+            ).get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("Resources parsing failed or interrupted", e);
+        }
+
+        // the package descrs are registered in the same order of the sequential build
+        for (int i = 0; i < parsedResources.size(); i++) {
+            ParsedResource parsedResource = parsedResources.get(i);
+            parsedResource.results.forEach(buildResultCollector::addBuilderResult);
+            if (parsedResource.exception != null) {
+                if (buildException == null) {
+                    buildException = parsedResource.exception;
+                }
+            } else {
+                CompositeKnowledgeBuilderImpl.ResourceDescr resourceDescr = resourceDescrs.get(i);
+                registerPackageDescr(resourceDescr, packages, resourceDescr.resource, parsedResource.packageDescr);
+            }
+        }
+    }
+
+    private ParsedResource parseResource(ResourceType resourceType, CompositeKnowledgeBuilderImpl.ResourceDescr resourceDescr) {
+        ResourceHandler mapper = handlerManager.newHandlerForType(resourceType);
+        ParsedResource parsedResource = new ParsedResource();
+        try {
+            parsedResource.packageDescr = mapper.process(resourceDescr.resource, resourceDescr.configuration);
+        } catch (RuntimeException e) {
+            parsedResource.exception = e;
+        } catch (Exception e) {
+            parsedResource.exception = new RuntimeException( e );
+        }
+        parsedResource.results.addAll(mapper.getResults());
+        return parsedResource;
+    }
+
+    private static class ParsedResource {
+        private PackageDescr packageDescr;
+        private RuntimeException exception;
+        private final List<KnowledgeBuilderResult> results = new ArrayList<>();
+    }
 
     private void registerPackageDescr(
             CompositeKnowledgeBuilderImpl.ResourceDescr resourceDescr, Map<String, CompositePackageDescr> packages, Resource resource, PackageDescr packageDescr) {
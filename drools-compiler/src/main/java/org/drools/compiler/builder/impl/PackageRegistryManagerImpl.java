@@ -27,6 +27,7 @@ import org.kie.internal.builder.KnowledgeBuilderConfiguration;
 import org.kie.internal.builder.KnowledgeBuilderResult;
 import org.kie.internal.builder.conf.DefaultDialectOption;
 import org.kie.internal.builder.conf.DefaultPackageNameOption;
+import org.kie.internal.builder.conf.ParallelBuildOption;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -191,6 +192,17 @@ public class PackageRegistryManagerImpl implements PackageRegistryManager, Packa
 
     @Override
     public void compileAll() {
+        if (this.pkgRegistryMap.size() > 1 && configuration.getOption(ParallelBuildOption.KEY).isParallelBuild()) {
+            // the generated classes of each package are compiled with a distinct compiler invocation into their own store
+            try {
+                KnowledgeBuilderImpl.ForkJoinPoolHolder.COMPILER_POOL.submit(() ->
+                        this.pkgRegistryMap.values().parallelStream().forEach(PackageRegistry::compileAll)
+                ).get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException("Classes compilation failed or interrupted", e);
+            }
+            return;
+        }
         for (PackageRegistry pkgRegistry : this.pkgRegistryMap.values()) {
             pkgRegistry.compileAll();
         }
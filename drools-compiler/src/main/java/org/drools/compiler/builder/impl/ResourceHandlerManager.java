@@ -30,15 +30,17 @@ import java.util.function.Supplier;
 import static java.util.Arrays.asList;
 
 public class ResourceHandlerManager {
+    private final KnowledgeBuilderConfigurationImpl configuration;
+    private final ReleaseId releaseId;
+    private final Supplier<DefaultExpander> dslExpander;
     private final List<ResourceHandler> mappers;
     private final List<ResourceType> orderedResourceTypes;
 
     public ResourceHandlerManager(KnowledgeBuilderConfigurationImpl configuration, ReleaseId releaseId, Supplier<DefaultExpander> dslExpander){
-        this.mappers = asList(
-                new DrlResourceHandler(configuration),
-                new TemplateResourceHandler(configuration, releaseId, dslExpander),
-                new DslrResourceHandler(configuration, dslExpander) ,
-                new DecisionTableResourceHandler(configuration, releaseId));
+        this.configuration = configuration;
+        this.releaseId = releaseId;
+        this.dslExpander = dslExpander;
+        this.mappers = newMappers();
 
         this.orderedResourceTypes = asList(
                 ResourceType.DRL,
@@ -52,6 +54,14 @@ public class ResourceHandlerManager {
                 ResourceType.TEMPLATE);
     }
 
+    private List<ResourceHandler> newMappers() {
+        return asList(
+                new DrlResourceHandler(configuration),
+                new TemplateResourceHandler(configuration, releaseId, dslExpander),
+                new DslrResourceHandler(configuration, dslExpander) ,
+                new DecisionTableResourceHandler(configuration, releaseId));
+    }
+
     public List<ResourceType> getOrderedResourceTypes(){
         return this.orderedResourceTypes;
     }
@@ -61,7 +71,19 @@ public class ResourceHandlerManager {
     }
 
     public ResourceHandler handlerForType(ResourceType type) {
-        for (ResourceHandler mapper : this.mappers) {
+        return handlerForType(this.mappers, type);
+    }
+
+    /**
+     * Returns a new handler for the given type, not sharing its results with the other handlers,
+     * so the resources can be processed concurrently
+     */
+    public ResourceHandler newHandlerForType(ResourceType type) {
+        return handlerForType(newMappers(), type);
+    }
+
+    private static ResourceHandler handlerForType(List<ResourceHandler> mappers, ResourceType type) {
+        for (ResourceHandler mapper : mappers) {
             if (mapper.handles(type)) {
                 return mapper;
             }
@@ -19,11 +19,11 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.drools.compiler.compiler.PackageRegistry;
 import org.drools.compiler.compiler.TypeDeclarationError;
@@ -48,7 +48,10 @@ public class TypeDeclarationCache {
 
     private final TypeDeclarationContext context;
     private final BuildResultCollector results;
-    private final Map<String, TypeDeclaration> cacheTypes = new HashMap<>();
+    // the packages of a parallel build register the types of their patterns concurrently, see
+    // KnowledgeBuilderImpl.compileKnowledgePackagesInParallel, so the cached types are read without locking
+    // while they are created and registered under the lock of this cache
+    private final Map<String, TypeDeclaration> cacheTypes = new ConcurrentHashMap<>();
 
     TypeDeclarationCache(TypeDeclarationContext context, BuildResultCollector results) {
         this.context = context;
@@ -75,7 +78,7 @@ public class TypeDeclarationCache {
     }
 
 
-    public TypeDeclaration getAndRegisterTypeDeclaration( Class<?> cls, String packageName ) {
+    public synchronized TypeDeclaration getAndRegisterTypeDeclaration( Class<?> cls, String packageName ) {
         if (cls.isPrimitive() || cls.isArray()) {
             return null;
         }
@@ -103,6 +106,12 @@ public class TypeDeclarationCache {
 
         // If this class has already been accessed, it'll be in the cache
         TypeDeclaration tdecl = getCachedTypeDeclaration(cls);
+        return tdecl != null ? tdecl : createCachedTypeDeclaration(cls);
+    }
+
+    private synchronized TypeDeclaration createCachedTypeDeclaration(Class<?> cls) {
+        // another thread may have created it meanwhile
+        TypeDeclaration tdecl = getCachedTypeDeclaration(cls);
         return tdecl != null ? tdecl : createTypeDeclaration(cls);
     }
 
@@ -313,7 +322,7 @@ public class TypeDeclarationCache {
     }
 
 
-    Collection<String> removeTypesGeneratedFromResource(Resource resource) {
+    synchronized Collection<String> removeTypesGeneratedFromResource(Resource resource) {
         List<String> typesToBeRemoved = new ArrayList<>();
         for (Map.Entry<String, TypeDeclaration> type : cacheTypes.entrySet()) {
             if (resource.equals(type.getValue().getResource())) {
@@ -32,6 +32,7 @@ import java.util.function.Predicate;
 import org.drools.compiler.builder.InternalKnowledgeBuilder;
 import org.drools.compiler.builder.conf.DecisionTableConfigurationImpl;
 import org.drools.compiler.builder.impl.KnowledgeBuilderConfigurationImpl;
+import org.drools.compiler.builder.impl.KnowledgeBuilderImpl;
 import org.drools.compiler.kproject.models.KieBaseModelImpl;
 import org.drools.core.RuleBaseConfiguration;
 import org.drools.base.definitions.InternalKnowledgePackage;
@@ -77,6 +78,14 @@ public abstract class AbstractKieModule implements InternalKieModule, Serializab
 
     private final transient Map<String, KnowledgeBuilder> kBuilders = new HashMap<>();
 
+    // the packages of the KieBases restored from the KieBaseBuildCache, which have no KnowledgeBuilder
+    private final transient Map<String, Collection<KiePackage>> cachedPackages = new HashMap<>();
+
+    // the configurations the packages restored from the KieBaseBuildCache would have been built with
+    private final transient Map<String, KnowledgeBuilderConfigurationImpl> cachedBuilderConfigurations = new HashMap<>();
+
+    private transient ClassLoader cachedPackagesClassLoader;
+
     private final transient Map<String, Results> resultsCache = new HashMap<>();
 
     protected ReleaseId releaseId;
@@ -141,13 +150,25 @@ public abstract class AbstractKieModule implements InternalKieModule, Serializab
 
     @Override
     public ClassLoader getModuleClassLoader() {
-        return kBuilders.isEmpty() ? null : (( InternalKnowledgeBuilder ) kBuilders.values().iterator().next()).getRootClassLoader();
+        return kBuilders.isEmpty() ? cachedPackagesClassLoader : (( InternalKnowledgeBuilder ) kBuilders.values().iterator().next()).getRootClassLoader();
     }
 
     public KnowledgeBuilder getKnowledgeBuilderForKieBase( String kieBaseName) {
         return kBuilders.get(kieBaseName);
     }
 
+    /**
+     * Returns the configuration the packages of the given KieBase have been built with,
+     * also when they have been restored from the KieBaseBuildCache without a KnowledgeBuilder
+     */
+    public KnowledgeBuilderConfigurationImpl getBuilderConfigurationForKieBase(String kieBaseName) {
+        KnowledgeBuilder kbuilder = kBuilders.get(kieBaseName);
+        if (kbuilder != null) {
+            return kbuilder instanceof KnowledgeBuilderImpl ? ((KnowledgeBuilderImpl) kbuilder).getBuilderConfiguration() : null;
+        }
+        return cachedBuilderConfigurations.get(kieBaseName);
+    }
+
     public InternalKnowledgePackage getPackage(String packageName) {
         for (KnowledgeBuilder kbuilder : kBuilders.values()) {
             InternalKnowledgePackage pkg = (( InternalKnowledgeBuilder ) kbuilder).getPackage( packageName );
@@ -161,7 +182,7 @@ public abstract class AbstractKieModule implements InternalKieModule, Serializab
     @Override
     public Collection<KiePackage> getKnowledgePackagesForKieBase(String kieBaseName) {
         KnowledgeBuilder kbuilder = kBuilders.get(kieBaseName);
-        return kbuilder != null ? kbuilder.getKnowledgePackages() : null;
+        return kbuilder != null ? kbuilder.getKnowledgePackages() : cachedPackages.get(kieBaseName);
     }
 
     public void cacheKnowledgeBuilderForKieBase(String kieBaseName, KnowledgeBuilder kbuilder) {
@@ -190,12 +211,35 @@ public abstract class AbstractKieModule implements InternalKieModule, Serializab
         Collection<KiePackage> pkgs = getKnowledgePackagesForKieBase(kBaseModel.getName());
 
         if ( pkgs == null ) {
+            KieBaseBuildCache buildCache = KieBaseBuildCache.get();
+            String cacheKey = null;
+            KnowledgeBuilderConfigurationImpl builderConf = null;
+            if ( buildCache != null ) {
+                builderConf = (KnowledgeBuilderConfigurationImpl) createBuilderConfiguration(kBaseModel, kieProject.getClassLoader());
+                cacheKey = KieBaseBuildCache.computeKey(this, kBaseModel, builderConf);
+            }
+            if ( cacheKey != null ) {
+                pkgs = buildCache.load(cacheKey, kieProject.getClassLoader());
+                if ( pkgs != null ) {
+                    // the same class loader a KnowledgeBuilder of this project would have used
+                    cachedPackages.put(kBaseModel.getName(), pkgs);
+                    // the network compilers enabled in this configuration still have to be applied to the new KieBase
+                    cachedBuilderConfigurations.put(kBaseModel.getName(), builderConf);
+                    cachedPackagesClassLoader = kieProject.getClassLoader();
+                    return new KnowledgePackagesBuildResult(false, pkgs);
+                }
+            }
+
             KnowledgeBuilder kbuilder = kieProject.buildKnowledgePackages(kBaseModel, buildContext);
             if ( kbuilder.hasErrors() ) {
                 // Messages already populated by the buildKnowlegePackages
                 return new KnowledgePackagesBuildResult(true, null);
             }
             pkgs = kbuilder.getKnowledgePackages();
+
+            if ( cacheKey != null ) {
+                buildCache.store(cacheKey, pkgs);
+            }
         }
 
         return new KnowledgePackagesBuildResult(false, pkgs);
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.kie.builder.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.drools.base.common.DroolsObjectInputStream;
+import org.drools.base.common.DroolsObjectOutputStream;
+import org.drools.base.util.Drools;
+import org.drools.compiler.builder.impl.KnowledgeBuilderConfigurationImpl;
+import org.drools.compiler.compiler.DialectConfiguration;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.builder.model.KieBaseModel;
+import org.kie.api.definition.KiePackage;
+import org.kie.memorycompiler.JavaConfiguration;
+import org.kie.util.maven.support.DependencyFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.drools.util.Config.getConfig;
+
+/**
+ * A persistent cache of the KiePackages built for a KieBase, so a KieBase whose sources didn't change
+ * can be created without compiling them again, also after a restart of the JVM.
+ *
+ * The cache is enabled setting the drools.kieBaseBuildCache.dir system property to the folder where
+ * the built packages have to be stored. Each entry is addressed by a hash of the Drools version, the name of the
+ * KieBase, the kmodule.xml and the content of all the files of the KieModule and of its KieModule dependencies,
+ * plus the release ids of its jar dependencies and the configuration of the compiler, so any change to them results
+ * in a different entry. Since the content of a SNAPSHOT jar dependency can change without changing its release id,
+ * the KieBases of a KieModule with such a dependency are never cached.
+ * Only packages built without errors are stored and a corrupted entry is discarded and rebuilt.
+ */
+public class KieBaseBuildCache {
+
+    private static final Logger log = LoggerFactory.getLogger(KieBaseBuildCache.class);
+
+    public static final String CACHE_DIR_PROPERTY = "drools.kieBaseBuildCache.dir";
+
+    private static final String ENTRY_SUFFIX = ".kbase";
+
+    /**
+     * Returns the cache configured through the drools.kieBaseBuildCache.dir system property or null if it isn't set
+     */
+    public static KieBaseBuildCache get() {
+        String cacheDir = getConfig(CACHE_DIR_PROPERTY, null);
+        return cacheDir == null || cacheDir.isEmpty() ? null : new KieBaseBuildCache(Paths.get(cacheDir));
+    }
+
+    private final Path cacheDir;
+
+    public KieBaseBuildCache(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public Path getCacheDir() {
+        return cacheDir;
+    }
+
+    public Collection<KiePackage> load(String key, ClassLoader classLoader) {
+        Path entry = cacheDir.resolve(key + ENTRY_SUFFIX);
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try (ObjectInput in = new DroolsObjectInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(entry))), classLoader)) {
+            Collection<KiePackage> pkgs = (Collection<KiePackage>) in.readObject();
+            log.debug("KiePackages loaded from the build cache entry {}", entry);
+            return pkgs;
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            log.warn("Unable to read the build cache entry " + entry + ", it will be rebuilt", e);
+            deleteQuietly(entry);
+            return null;
+        }
+    }
+
+    public void store(String key, Collection<KiePackage> pkgs) {
+        Path entry = cacheDir.resolve(key + ENTRY_SUFFIX);
+        Path tmp = null;
+        try {
+            Files.createDirectories(cacheDir);
+            tmp = Files.createTempFile(cacheDir, key, ".tmp");
+            try (ObjectOutput out = new DroolsObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp))))) {
+                out.writeObject(new ArrayList<>(pkgs));
+            }
+            // move the complete entry in its place, so a concurrent reader never sees a partially written one
+            Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("KiePackages stored in the build cache entry {}", entry);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to write the build cache entry " + entry, e);
+            if (tmp != null) {
+                deleteQuietly(tmp);
+            }
+        }
+    }
+
+    /**
+     * Returns the key of the entry of the given KieBase, built with the given configuration, or null if it can't be cached
+     */
+    public static String computeKey(InternalKieModule kModule, KieBaseModel kBaseModel, KnowledgeBuilderConfigurationImpl builderConf) {
+        List<String> jarDependencies = new ArrayList<>();
+        for (ReleaseId releaseId : kModule.getJarDependencies(DependencyFilter.COMPILE_FILTER)) {
+            if (releaseId.isSnapshot()) {
+                log.debug("KieBase {} not cached because of the SNAPSHOT dependency {}", kBaseModel.getName(), releaseId);
+                return null;
+            }
+            jarDependencies.add(releaseId.toExternalForm());
+        }
+        jarDependencies.sort(null);
+
+        MessageDigest digest = newDigest();
+        update(digest, Drools.getFullVersion());
+        update(digest, kBaseModel.getName());
+        update(digest, kModule.getKieModuleModel().toXML());
+        updateWithConfiguration(digest, builderConf);
+
+        List<InternalKieModule> kModules = new ArrayList<>();
+        kModules.add(kModule);
+        List<InternalKieModule> dependencies = new ArrayList<>(kModule.getKieDependencies().values());
+        dependencies.sort(Comparator.comparing(dep -> dep.getReleaseId().toExternalForm()));
+        kModules.addAll(dependencies);
+
+        for (InternalKieModule module : kModules) {
+            update(digest, module.getReleaseId() != null ? module.getReleaseId().toExternalForm() : "");
+            List<String> fileNames = new ArrayList<>(module.getFileNames());
+            fileNames.sort(null);
+            for (String fileName : fileNames) {
+                byte[] bytes = module.getBytes(fileName);
+                update(digest, fileName);
+                update(digest, bytes != null ? bytes : new byte[0]);
+            }
+        }
+
+        jarDependencies.forEach(releaseId -> update(digest, releaseId));
+
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+
+    private static void updateWithConfiguration(MessageDigest digest, KnowledgeBuilderConfigurationImpl builderConf) {
+        update(digest, builderConf.getDefaultDialect());
+        DialectConfiguration javaConf = builderConf.getDialectConfiguration("java");
+        if (javaConf instanceof JavaConfiguration) {
+            update(digest, String.valueOf(((JavaConfiguration) javaConf).getJavaLanguageLevel()));
+            update(digest, String.valueOf(((JavaConfiguration) javaConf).getCompiler()));
+        }
+        // all the drools properties seen by the builder, coming from the system properties and the kmodule.xml
+        Map<String, String> properties = new TreeMap<>();
+        builderConf.getProperties().mapStartsWith(properties, "drools.", true);
+        properties.remove(CACHE_DIR_PROPERTY);
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            update(digest, entry.getKey());
+            update(digest, String.valueOf(entry.getValue()));
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        update(digest, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void update(MessageDigest digest, byte[] bytes) {
+        // prefix each value with its length, so different sequences of values never produce the same input
+        digest.update(new byte[] { (byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8), (byte) bytes.length });
+        digest.update(bytes);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+}
@@ -76,6 +76,7 @@ import org.kie.internal.builder.KnowledgeBuilderFactory;
 import org.kie.internal.builder.ResourceChange;
 import org.kie.internal.builder.ResourceChangeSet;
 import org.kie.internal.builder.conf.AlphaNetworkCompilerOption;
+import org.kie.internal.builder.conf.BetaNetworkCompilerOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -283,8 +284,9 @@ public class KieContainerImpl
 
                 compositeUpdater.add(kieBaseUpdater);
 
-                KieBaseUpdaterOptions kieBaseUpdaterOptions = new KieBaseUpdaterOptions(new KieBaseUpdaterOptions.OptionEntry(
-                        AlphaNetworkCompilerOption.class, builderConfiguration.getOption(AlphaNetworkCompilerOption.KEY)));
+                KieBaseUpdaterOptions kieBaseUpdaterOptions = new KieBaseUpdaterOptions(
+                        new KieBaseUpdaterOptions.OptionEntry(AlphaNetworkCompilerOption.class, builderConfiguration.getOption(AlphaNetworkCompilerOption.KEY)),
+                        new KieBaseUpdaterOptions.OptionEntry(BetaNetworkCompilerOption.class, builderConfiguration.getOption(BetaNetworkCompilerOption.KEY)));
 
                 KieBaseUpdaters updaters = KieService.load(KieBaseUpdaters.class);
                 updaters.getChildren()
@@ -29,7 +29,6 @@ import java.util.Collection;
 import java.util.stream.Collectors;
 
 import org.drools.compiler.builder.impl.KnowledgeBuilderConfigurationImpl;
-import org.drools.compiler.builder.impl.KnowledgeBuilderImpl;
 import org.drools.compiler.compiler.io.FileSystemItem;
 import org.drools.compiler.compiler.io.Folder;
 import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
@@ -41,8 +40,8 @@ import org.kie.api.builder.ReleaseId;
 import org.kie.api.builder.model.KieBaseModel;
 import org.kie.api.builder.model.KieModuleModel;
 import org.kie.api.internal.utils.KieService;
-import org.kie.internal.builder.KnowledgeBuilder;
 import org.kie.internal.builder.conf.AlphaNetworkCompilerOption;
+import org.kie.internal.builder.conf.BetaNetworkCompilerOption;
 import org.drools.util.PortablePath;
 import org.kie.memorycompiler.resources.ResourceReader;
 import org.slf4j.Logger;
@@ -139,16 +138,15 @@ public class MemoryKieModule extends AbstractKieModule
 
     @Override
     public void afterKieBaseCreationUpdate(String kBaseName, InternalKnowledgeBase kBase) {
-        KnowledgeBuilder knowledgeBuilderForKieBase = getKnowledgeBuilderForKieBase(kBaseName);
-
-        if(knowledgeBuilderForKieBase instanceof KnowledgeBuilderImpl) {
-            KnowledgeBuilderImpl knowledgeBuilderForImpl = (KnowledgeBuilderImpl)knowledgeBuilderForKieBase;
-            KnowledgeBuilderConfigurationImpl builderConfiguration = knowledgeBuilderForImpl.getBuilderConfiguration();
+        // on a hit of the KieBaseBuildCache there is no KnowledgeBuilder, but its configuration is still available
+        KnowledgeBuilderConfigurationImpl builderConfiguration = getBuilderConfigurationForKieBase(kBaseName);
 
+        if(builderConfiguration != null) {
             KieContainerImpl.CompositeRunnable compositeUpdater = new KieContainerImpl.CompositeRunnable();
 
-            KieBaseUpdaterOptions kieBaseUpdaterOptions = new KieBaseUpdaterOptions(new KieBaseUpdaterOptions.OptionEntry(
-                    AlphaNetworkCompilerOption.class, builderConfiguration.getOption(AlphaNetworkCompilerOption.KEY)));
+            KieBaseUpdaterOptions kieBaseUpdaterOptions = new KieBaseUpdaterOptions(
+                    new KieBaseUpdaterOptions.OptionEntry(AlphaNetworkCompilerOption.class, builderConfiguration.getOption(AlphaNetworkCompilerOption.KEY)),
+                    new KieBaseUpdaterOptions.OptionEntry(BetaNetworkCompilerOption.class, builderConfiguration.getOption(BetaNetworkCompilerOption.KEY)));
 
             KieBaseUpdaters updaters = KieService.load(KieBaseUpdaters.class);
             updaters.getChildren()
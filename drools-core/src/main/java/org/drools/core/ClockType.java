@@ -19,6 +19,7 @@ package org.drools.core;
 import org.drools.core.time.TimerService;
 import org.drools.core.time.impl.JDKTimerService;
 import org.drools.core.time.impl.PseudoClockScheduler;
+import org.drools.core.time.impl.TimingWheelTimerService;
 
 /**
  * This enum represents all engine supported clocks
@@ -39,6 +40,16 @@ public enum ClockType {
         public PseudoClockScheduler createInstance() {
             return new PseudoClockScheduler();
         }
+    },
+
+    /**
+     * A realtime clock scheduling the jobs on a hierarchical timing wheel. It is meant for sessions
+     * with a huge number of expiring events or timers.
+     */
+    TIMING_WHEEL_CLOCK("timingwheel") {
+        public TimingWheelTimerService createInstance() {
+            return new TimingWheelTimerService();
+        }
     };
 
     public abstract TimerService createInstance();
@@ -65,6 +76,8 @@ public enum ClockType {
             return PSEUDO_CLOCK;
         } else if( REALTIME_CLOCK.getId().equalsIgnoreCase( id ) ) {
             return REALTIME_CLOCK;
+        } else if( TIMING_WHEEL_CLOCK.getId().equalsIgnoreCase( id ) ) {
+            return TIMING_WHEEL_CLOCK;
         }
         throw new IllegalArgumentException( "Illegal enum value '" + id + "' for ClockType" );
     }
@@ -62,7 +62,7 @@ import org.slf4j.LoggerFactory;
  * drools.alphaNodeRangeIndexThreshold = &lt;1...n&gt;
  * drools.betaNodeRangeIndexEnabled = &lt;true|false&gt;
  * drools.sessionPool = &lt;1...n&gt;
- * drools.compositeKeyDepth = &lt;1..3&gt;
+ * drools.compositeKeyDepth = &lt;1...n&gt;
  * drools.indexLeftBetaMemory = &lt;true/false&gt;
  * drools.indexRightBetaMemory = &lt;true/false&gt;
  * drools.equalityBehavior = &lt;identity|equality&gt;
@@ -85,7 +85,7 @@ import java.util.Map;
  * drools.alphaNodeRangeIndexThreshold = &lt;1...n&gt;
  * drools.betaNodeRangeIndexEnabled = &lt;true|false&gt;
  * drools.sessionPool = &lt;1...n&gt;
- * drools.compositeKeyDepth = &lt;1..3&gt;
+ * drools.compositeKeyDepth = &lt;1...n&gt;
  * drools.indexLeftBetaMemory = &lt;true/false&gt;
  * drools.indexRightBetaMemory = &lt;true/false&gt;
  * drools.equalityBehavior = &lt;identity|equality&gt;
@@ -702,9 +702,6 @@ public class RuleBaseConfiguration  extends BaseConfiguration<KieBaseOption, Sin
 
     public void setCompositeKeyDepth(final int compositeKeyDepth) {
         checkCanChange();
-        if ( compositeKeyDepth > 3 ) {
-            throw new UnsupportedOperationException( "compositeKeyDepth cannot be greater than 3" );
-        }
         this.compositeKeyDepth = compositeKeyDepth;
     }
 
@@ -40,6 +40,7 @@ import org.kie.internal.conf.CompositeConfiguration;
 import org.kie.internal.conf.InternalPropertiesConfiguration;
 import org.kie.internal.runtime.conf.ForceEagerActivationFilter;
 import org.kie.internal.runtime.conf.ForceEagerActivationOption;
+import org.kie.internal.runtime.conf.RingBufferPropagationListOption;
 
 public class RuleSessionConfiguration extends BaseConfiguration<KieSessionOption, SingleValueKieSessionOption, MultiValueKieSessionOption> implements KieSessionConfiguration, InternalPropertiesConfiguration, Externalizable {
 
@@ -51,6 +52,8 @@ public class RuleSessionConfiguration extends BaseConfiguration<KieSessionOption
 
     private boolean                        threadSafe;
 
+    private boolean                        ringBufferPropagationList;
+
     private boolean                        accumulateNullPropagation;
 
     private ForceEagerActivationFilter     forceEagerActivationFilter;
@@ -88,6 +91,8 @@ public class RuleSessionConfiguration extends BaseConfiguration<KieSessionOption
 
         setThreadSafe(Boolean.parseBoolean(getPropertyValue(ThreadSafeOption.PROPERTY_NAME, "true")));
 
+        setRingBufferPropagationList(Boolean.parseBoolean(getPropertyValue(RingBufferPropagationListOption.PROPERTY_NAME, "false")));
+
         setAccumulateNullPropagation(Boolean.parseBoolean(getPropertyValue(AccumulateNullPropagationOption.PROPERTY_NAME, "false")));
 
         setForceEagerActivationFilter(ForceEagerActivationOption.resolve( getPropertyValue( ForceEagerActivationOption.PROPERTY_NAME, "false" ) ).getFilter());
@@ -117,6 +122,15 @@ public class RuleSessionConfiguration extends BaseConfiguration<KieSessionOption
         return this.threadSafe;
     }
 
+    public void setRingBufferPropagationList(boolean ringBufferPropagationList) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.ringBufferPropagationList = ringBufferPropagationList;
+    }
+
+    public boolean isRingBufferPropagationList() {
+        return this.ringBufferPropagationList;
+    }
+
     public void setAccumulateNullPropagation(boolean accumulateNullPropagation) {
         checkCanChange(); // throws an exception if a change isn't possible;
         this.accumulateNullPropagation = accumulateNullPropagation;
@@ -173,6 +187,10 @@ public class RuleSessionConfiguration extends BaseConfiguration<KieSessionOption
                 setThreadSafe(((ThreadSafeOption) option).isThreadSafe());
                 break;
             }
+            case RingBufferPropagationListOption.PROPERTY_NAME: {
+                setRingBufferPropagationList(((RingBufferPropagationListOption) option).isRingBuffer());
+                break;
+            }
             case AccumulateNullPropagationOption.PROPERTY_NAME: {
                 setAccumulateNullPropagation(((AccumulateNullPropagationOption) option).isAccumulateNullPropagation());
                 break;
@@ -207,6 +225,9 @@ public class RuleSessionConfiguration extends BaseConfiguration<KieSessionOption
             case ThreadSafeOption.PROPERTY_NAME: {
                 return (T) (isThreadSafe() ? ThreadSafeOption.YES : ThreadSafeOption.NO);
             }
+            case RingBufferPropagationListOption.PROPERTY_NAME: {
+                return (T) (isRingBufferPropagationList() ? RingBufferPropagationListOption.YES : RingBufferPropagationListOption.NO);
+            }
             case AccumulateNullPropagationOption.PROPERTY_NAME: {
                 return (T) (isAccumulateNullPropagation() ? AccumulateNullPropagationOption.YES : AccumulateNullPropagationOption.NO);
             }
@@ -241,6 +262,10 @@ public class RuleSessionConfiguration extends BaseConfiguration<KieSessionOption
                 setThreadSafe(StringUtils.isEmpty(value) || Boolean.parseBoolean(value));
                 break;
             }
+            case RingBufferPropagationListOption.PROPERTY_NAME: {
+                setRingBufferPropagationList(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
+                break;
+            }
             case AccumulateNullPropagationOption.PROPERTY_NAME: {
                 setAccumulateNullPropagation(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
                 break;
@@ -276,6 +301,8 @@ public class RuleSessionConfiguration extends BaseConfiguration<KieSessionOption
                 return Boolean.toString(isDirectFiring());
             } case ThreadSafeOption.PROPERTY_NAME: {
                 return Boolean.toString(isThreadSafe());
+            } case RingBufferPropagationListOption.PROPERTY_NAME: {
+                return Boolean.toString(isRingBufferPropagationList());
             } case AccumulateNullPropagationOption.PROPERTY_NAME: {
                 return Boolean.toString(isAccumulateNullPropagation());
             } case QueryListenerOption.PROPERTY_NAME: {
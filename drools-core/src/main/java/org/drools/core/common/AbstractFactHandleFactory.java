@@ -118,6 +118,14 @@ public abstract class AbstractFactHandleFactory implements FactHandleFactory  {
         return this.counter.incrementAndGet();
     }
 
+    public long reserveIds(int count) {
+        return idGen.reserveIds(count);
+    }
+
+    public long reserveRecencies(int count) {
+        return this.counter.getAndAdd(count) + 1;
+    }
+
     public long getId() {
         return idGen.getId();
     }
@@ -155,6 +163,11 @@ public abstract class AbstractFactHandleFactory implements FactHandleFactory  {
             return hasRecycledId() ? recycledId++ : this.id.incrementAndGet();
         }
 
+        public long reserveIds(int count) {
+            // the recycled ids are the holes left by the used ones, so they are not contiguous
+            return hasRecycledId() ? -1 : this.id.getAndAdd(count) + 1;
+        }
+
         private boolean hasRecycledId() {
             if (usedIds != null) {
                 while ( !usedIds.isEmpty() ) {
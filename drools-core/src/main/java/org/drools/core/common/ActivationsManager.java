@@ -19,8 +19,11 @@ package org.drools.core.common;
 import org.drools.base.common.NetworkNode;
 import org.drools.core.event.AgendaEventSupport;
 import org.drools.core.phreak.ExecutableEntry;
+import org.drools.core.phreak.ForceFlushBatch;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.RuleAgendaItem;
+import org.drools.core.reteoo.EntryPointNode;
+import org.drools.core.reteoo.ObjectTypeConf;
 import org.drools.core.reteoo.PathMemory;
 import org.drools.core.reteoo.RuleTerminalNodeLeftTuple;
 import org.drools.core.reteoo.TerminalNode;
@@ -50,6 +53,9 @@ public interface ActivationsManager {
 
     void registerExpiration(PropagationContext expirationContext);
 
+    ForceFlushBatch getForceFlushBatch();
+    void setForceFlushBatch(ForceFlushBatch forceFlushBatch);
+
     void clearAndCancelActivationGroup(String name);
     void clearAndCancelActivationGroup(InternalActivationGroup activationGroup);
 
@@ -89,6 +95,18 @@ public interface ActivationsManager {
 
     void addPropagation(PropagationEntry propagationEntry);
 
+    default void addInsertPropagation(InternalFactHandle handle, PropagationContext context, ReteEvaluator reteEvaluator, ObjectTypeConf objectTypeConf) {
+        addPropagation(new PropagationEntry.Insert(handle, context, reteEvaluator, objectTypeConf));
+    }
+
+    default void addUpdatePropagation(InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+        addPropagation(new PropagationEntry.Update(handle, context, objectTypeConf));
+    }
+
+    default void addDeletePropagation(EntryPointNode epn, InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+        addPropagation(new PropagationEntry.Delete(epn, handle, context, objectTypeConf));
+    }
+
     default void stageLeftTuple(RuleAgendaItem ruleAgendaItem, InternalMatch justified) {
         if (!ruleAgendaItem.isQueued()) {
             ruleAgendaItem.getRuleExecutor().getPathMemory().queueRuleAgendaItem(this);
@@ -35,6 +35,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * The base class for all Rete nodes.
@@ -56,6 +57,11 @@ public abstract class BaseNode
 
     protected int                        hashcode;
 
+    private static final AtomicReferenceFieldUpdater<BaseNode, NodeProfile> PROFILE_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(BaseNode.class, NodeProfile.class, "profile");
+
+    private transient volatile NodeProfile profile;
+
     public BaseNode() {
 
     }
@@ -99,6 +105,25 @@ public abstract class BaseNode
         }
     }
 
+    /**
+     * Returns the evaluations of this node aggregated by the node profiler, lazily created the first time
+     */
+    public NodeProfile getProfile() {
+        NodeProfile current = profile;
+        if (current == null) {
+            PROFILE_UPDATER.compareAndSet(this, null, new NodeProfile());
+            current = profile;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the evaluations of this node aggregated by the node profiler, or null if it has never been profiled
+     */
+    public NodeProfile getProfileIfPresent() {
+        return profile;
+    }
+
     public boolean isStreamMode() {
         return this.streamMode;
     }
@@ -33,8 +33,13 @@ import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 
+import static org.drools.util.Config.getConfig;
+
 public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
+    // when enabled, the maps from objects to fact handles are FactHandleHashTables, trading some cpu for a smaller heap
+    private static boolean COMPACT_OBJECT_STORE = Boolean.parseBoolean(getConfig("org.drools.objectstore.compact", "false")); // did not set this as final, as some tests need to change this
+
     private Lock lock;
 
     private Map<String, SingleClassStore> storesMap = new HashMap<>();
@@ -226,6 +231,14 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         return storesMap.remove( clazz.getName() ) != null;
     }
 
+    public static boolean isCompactObjectStore() {
+        return COMPACT_OBJECT_STORE;
+    }
+
+    public static void setCompactObjectStore(boolean compactObjectStore) {
+        COMPACT_OBJECT_STORE = compactObjectStore;
+    }
+
     // /////////////////////
     // /// Internal Store
     // /////////////////////
@@ -603,7 +616,11 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         public FactHandleMap() { }
 
         public FactHandleMap(boolean identity) {
-            facts = identity ? new IdentityHashMap<>() : new HashMap<>();
+            if (COMPACT_OBJECT_STORE) {
+                facts = new FactHandleHashTable(identity);
+            } else {
+                facts = identity ? new IdentityHashMap<>() : new HashMap<>();
+            }
         }
 
         @Override
@@ -633,7 +650,9 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         }
 
         public InternalFactHandle remove(InternalFactHandle fh) {
-            InternalFactHandle retrieved = facts.remove(fh.getObject());
+            InternalFactHandle retrieved = facts instanceof FactHandleHashTable ?
+                    ((FactHandleHashTable) facts).removeHandle(fh) :
+                    facts.remove(fh.getObject());
             if (factsById != null) {
                 factsById.remove(fh.getId());
             }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.List;
+
+import org.drools.base.base.ObjectType;
+import org.drools.base.rule.ContextEntry;
+import org.drools.base.rule.Pattern;
+import org.drools.base.rule.constraint.BetaNodeFieldConstraint;
+import org.drools.core.RuleBaseConfiguration;
+import org.drools.core.reteoo.BetaMemory;
+import org.drools.core.reteoo.builder.BuildContext;
+import org.drools.core.util.bitmask.BitMask;
+
+/**
+ * The base class of the BetaConstraints generated by the beta network compiler for a single beta node.
+ *
+ * The generated subclass implements the constraint evaluation methods unrolling the loops over the constraints
+ * and over their context entries, so each call site belongs only to the node it has been generated for and
+ * can be inlined by the JIT, while all the other methods are delegated to the original BetaConstraints.
+ */
+public abstract class CompiledBetaConstraints implements BetaConstraints {
+
+    protected final BetaConstraints constraints;
+
+    protected CompiledBetaConstraints(BetaConstraints constraints) {
+        this.constraints = constraints;
+    }
+
+    public BetaConstraints getDelegate() {
+        return constraints;
+    }
+
+    /**
+     * Returns true if the given constraints can be replaced by a compiled version, which is the case only
+     * for the plain BetaConstraints implementations, whose evaluation semantics are known.
+     */
+    public static boolean isCompilable(BetaConstraints constraints) {
+        if (constraints.isEmpty() || constraints.getConstraints().length == 0) {
+            return false;
+        }
+        Class<?> constraintsClass = constraints.getClass();
+        return constraintsClass == SingleBetaConstraints.class ||
+               constraintsClass == DoubleBetaConstraints.class ||
+               constraintsClass == TripleBetaConstraints.class ||
+               constraintsClass == QuadroupleBetaConstraints.class ||
+               constraintsClass == DefaultBetaConstraints.class ||
+               constraintsClass == SingleNonIndexSkipBetaConstraints.class ||
+               constraintsClass == DoubleNonIndexSkipBetaConstraints.class ||
+               constraintsClass == TripleNonIndexSkipBetaConstraints.class ||
+               constraintsClass == QuadroupleNonIndexSkipBetaConstraints.class;
+    }
+
+    /**
+     * Returns, for each constraint, whether it is already satisfied by the index of the right memory and then
+     * is not evaluated by isAllowedCachedLeft
+     */
+    public static boolean[] skippedOnLeft(BetaConstraints constraints) {
+        boolean[] skipped = new boolean[constraints.getConstraints().length];
+        if (constraints instanceof SingleBetaConstraints) {
+            skipped[0] = ((SingleBetaConstraints) constraints).indexed;
+        } else if (constraints instanceof MultipleBetaConstraint) {
+            System.arraycopy(((MultipleBetaConstraint) constraints).indexed, 0, skipped, 0, skipped.length);
+        } else if (constraints instanceof DefaultBetaConstraints) {
+            for (int i = 0; i < ((DefaultBetaConstraints) constraints).indexed; i++) {
+                skipped[i] = true;
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * Returns, for each constraint, whether it is already satisfied by the index of the left memory and then
+     * is not evaluated by isAllowedCachedRight
+     */
+    public static boolean[] skippedOnRight(BetaConstraints constraints) {
+        boolean[] skipped = new boolean[constraints.getConstraints().length];
+        if (constraints instanceof DefaultBetaConstraints) {
+            for (int i = 0; i < ((DefaultBetaConstraints) constraints).indexed; i++) {
+                skipped[i] = true;
+            }
+        }
+        return skipped;
+    }
+
+    @Override
+    public ContextEntry[] createContext() {
+        return constraints.createContext();
+    }
+
+    @Override
+    public BetaNodeFieldConstraint[] getConstraints() {
+        return constraints.getConstraints();
+    }
+
+    @Override
+    public BetaConstraints getOriginalConstraint() {
+        return constraints.getOriginalConstraint();
+    }
+
+    @Override
+    public boolean isIndexed() {
+        return constraints.isIndexed();
+    }
+
+    @Override
+    public int getIndexCount() {
+        return constraints.getIndexCount();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return constraints.isEmpty();
+    }
+
+    @Override
+    public BetaMemory createBetaMemory(RuleBaseConfiguration config, short nodeType) {
+        return constraints.createBetaMemory(config, nodeType);
+    }
+
+    @Override
+    public BitMask getListenedPropertyMask(Pattern pattern, ObjectType modifiedType, List<String> settableProperties) {
+        return constraints.getListenedPropertyMask(pattern, modifiedType, settableProperties);
+    }
+
+    @Override
+    public void init(BuildContext context, short betaNodeType) {
+        constraints.init(context, betaNodeType);
+    }
+
+    @Override
+    public void initIndexes(int depth, short betaNodeType, RuleBaseConfiguration config) {
+        constraints.initIndexes(depth, betaNodeType, config);
+    }
+
+    @Override
+    public BetaConstraints cloneIfInUse() {
+        // a compiled BetaConstraints is created for a node that has already been built, so it is never shared
+        return this;
+    }
+
+    @Override
+    public boolean isLeftUpdateOptimizationAllowed() {
+        return constraints.isLeftUpdateOptimizationAllowed();
+    }
+
+    @Override
+    public void registerEvaluationContext(BuildContext buildContext) {
+        constraints.registerEvaluationContext(buildContext);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int hashCode() {
+        return constraints.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof CompiledBetaConstraints) {
+            object = ((CompiledBetaConstraints) object).constraints;
+        }
+        return constraints.equals(object);
+    }
+
+    @Override
+    public String toString() {
+        return constraints.toString();
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A map from the objects in the working memory to their fact handles, used by the ClassAwareObjectStore
+ * when the compact object store is enabled.
+ *
+ * Since a fact handle already references its object, only the handles are stored, in a single array with open
+ * addressing and linear probing, and the key of each entry is always the object of its handle. Compared with a
+ * HashMap this avoids allocating an entry for each fact and compared with an IdentityHashMap it halves the
+ * size of the table, which matters when a session contains millions of facts. The table follows the same open
+ * addressing scheme as {@link org.drools.core.util.index.TupleIndexLongHashTable}.
+ *
+ * The identity hash of an object never changes, so an identity table recomputes it from the stored handle when
+ * the backward shift and the resizes need the home slot of an entry. In equality mode instead a fact can be
+ * modified after it has been inserted, so its current hashCode may no longer lead to its slot: an equality table
+ * keeps the hash taken when each object was put in a parallel int[], so the other entries stay where their
+ * lookups expect them, and a modified fact is removed by its handle, which caches the same hash.
+ */
+public class FactHandleHashTable extends AbstractMap<Object, InternalFactHandle> implements Externalizable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private boolean identity;
+
+    private InternalFactHandle[] table;
+
+    private int[] hashes;
+
+    private int mask;
+
+    private int threshold;
+
+    private int size;
+
+    public FactHandleHashTable() { }
+
+    public FactHandleHashTable(boolean identity) {
+        this.identity = identity;
+        initTable(DEFAULT_CAPACITY);
+    }
+
+    private void initTable(int capacity) {
+        this.table = new InternalFactHandle[capacity];
+        this.hashes = identity ? null : new int[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int hash(Object object) {
+        return spread(identity ? System.identityHashCode(object) : object.hashCode());
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private int hashAt(int slot) {
+        return identity ? hash(table[slot].getObject()) : hashes[slot];
+    }
+
+    private boolean matches(Object object, InternalFactHandle handle) {
+        Object stored = handle.getObject();
+        return stored == object || (!identity && object.equals(stored));
+    }
+
+    private int slotOf(Object object) {
+        int hash = hash(object);
+        int slot = hash & mask;
+        for (InternalFactHandle handle = table[slot]; handle != null; handle = table[slot]) {
+            if (identity ? handle.getObject() == object : hashes[slot] == hash && matches(object, handle)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slotOfHandle(InternalFactHandle handle, int hash) {
+        int slot = hash & mask;
+        for (InternalFactHandle stored = table[slot]; stored != null; stored = table[slot]) {
+            if (stored == handle || stored.getObject() == handle.getObject()) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && slotOf(key) >= 0;
+    }
+
+    @Override
+    public InternalFactHandle get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = slotOf(key);
+        return slot >= 0 ? table[slot] : null;
+    }
+
+    /**
+     * Stores the given handle. The key must be the object of the handle, because it is always retrieved from there.
+     */
+    @Override
+    public InternalFactHandle put(Object key, InternalFactHandle handle) {
+        if (key != handle.getObject()) {
+            throw new IllegalArgumentException("The key of a FactHandleHashTable must be the object of the fact handle");
+        }
+        int hash = hash(key);
+        int slot = hash & mask;
+        for (InternalFactHandle existing = table[slot]; existing != null; existing = table[slot]) {
+            if (identity ? existing.getObject() == key : hashes[slot] == hash && matches(key, existing)) {
+                table[slot] = handle;
+                return existing;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = handle;
+        if (!identity) {
+            hashes[slot] = hash;
+            // the handle caches the hash of its object, so removeHandle can find it even after the object is modified
+            handle.getObjectHashCode();
+        }
+        if (++size >= threshold) {
+            resize(table.length * 2);
+        }
+        return null;
+    }
+
+    @Override
+    public InternalFactHandle remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = slotOf(key);
+        return slot >= 0 ? removeSlot(slot) : null;
+    }
+
+    /**
+     * Removes the given handle. Differently from remove, in equality mode this also finds a handle whose object
+     * has been modified after being put, by looking for it at the hash its handle cached when it was put.
+     */
+    public InternalFactHandle removeHandle(InternalFactHandle handle) {
+        if (identity) {
+            int slot = slotOfHandle(handle, hash(handle.getObject()));
+            return slot >= 0 ? removeSlot(slot) : null;
+        }
+        int slot = slotOfHandle(handle, spread(handle.getObjectHashCode()));
+        if (slot < 0) {
+            // the handle could have cached the hash before its object was last modified and before it was put
+            slot = slotOfHandle(handle, hash(handle.getObject()));
+        }
+        if (slot < 0) {
+            // a hash of 0 isn't cached by the handle, so the object could have been put with it and modified later
+            slot = slotOfHandle(handle, 0);
+        }
+        return slot >= 0 ? removeSlot(slot) : null;
+    }
+
+    private InternalFactHandle removeSlot(int slot) {
+        InternalFactHandle removed = table[slot];
+        size--;
+
+        while (true) {
+            int last = slot;
+            slot = (slot + 1) & mask;
+            while (true) {
+                if (table[slot] == null) {
+                    table[last] = null;
+                    return removed;
+                }
+                int ideal = hashAt(slot) & mask;
+                if (last <= slot ? last >= ideal || ideal > slot : last >= ideal && ideal > slot) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[last] = table[slot];
+            if (!identity) {
+                hashes[last] = hashes[slot];
+            }
+        }
+    }
+
+    private void resize(int newCapacity) {
+        InternalFactHandle[] oldTable = table;
+        int[] oldHashes = hashes;
+        initTable(newCapacity);
+        for (int i = 0; i < oldTable.length; i++) {
+            if (oldTable[i] != null) {
+                int hash = identity ? hash(oldTable[i].getObject()) : oldHashes[i];
+                int slot = hash & mask;
+                while (table[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = oldTable[i];
+                if (!identity) {
+                    hashes[slot] = hash;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        initTable(DEFAULT_CAPACITY);
+        size = 0;
+    }
+
+    @Override
+    public Set<Object> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Object> iterator() {
+                return new TableIterator<>(InternalFactHandle::getObject);
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<InternalFactHandle> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<InternalFactHandle> iterator() {
+                return new TableIterator<>(Function.identity());
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<Object, InternalFactHandle>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<Object, InternalFactHandle>> iterator() {
+                return new TableIterator<>(handle -> new SimpleImmutableEntry<>(handle.getObject(), handle));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeBoolean(identity);
+        out.writeInt(size);
+        for (InternalFactHandle handle : table) {
+            if (handle != null) {
+                out.writeObject(handle);
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        identity = in.readBoolean();
+        int entries = in.readInt();
+        initTable(DEFAULT_CAPACITY);
+        for (int i = 0; i < entries; i++) {
+            InternalFactHandle handle = (InternalFactHandle) in.readObject();
+            put(handle.getObject(), handle);
+        }
+    }
+
+    private class TableIterator<T> implements Iterator<T> {
+
+        private final InternalFactHandle[] iteratedTable = table;
+        private final Function<InternalFactHandle, T> mapper;
+        private int row = -1;
+
+        private TableIterator(Function<InternalFactHandle, T> mapper) {
+            this.mapper = mapper;
+            advance();
+        }
+
+        private void advance() {
+            row++;
+            while (row < iteratedTable.length && iteratedTable[row] == null) {
+                row++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return row < iteratedTable.length;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T next = mapper.apply(iteratedTable[row]);
+            advance();
+            return next;
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.drools.core.common;
 
+import java.util.Collection;
+
 import org.drools.core.WorkingMemoryEntryPoint;
 import org.drools.core.base.TraitHelper;
 import org.drools.base.definitions.rule.impl.RuleImpl;
@@ -58,6 +60,8 @@ public interface InternalWorkingMemoryEntryPoint extends WorkingMemoryEntryPoint
                               Class<?> modifiedClass,
                               InternalMatch internalMatch);
 
+    void updateAll(Collection<? extends FactHandle> handles, BitMask mask);
+
     void update(InternalFactHandle handle,
                 Object object,
                 Object originalObject,
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.drools.util.Config.getConfig;
+
+/**
+ * The evaluations of a node aggregated by the always-on node profiler, enabled through the drools.nodeProfiler.enabled
+ * system property. Differently from the drools-metric module, that times every evaluation, only one evaluation every
+ * drools.nodeProfiler.sampleRate (64 by default) is timed, while all of them are counted together with the tuples
+ * entering and leaving the node. The counters are LongAdders, so the sessions evaluating the same node concurrently
+ * don't contend on them, and the total evaluation time is estimated from the sampled ones. The counters only grow,
+ * also when the profile is reset, so they can be read as monotonic counters by a metric registry.
+ */
+public class NodeProfile {
+
+    public static final String NODE_PROFILER_ENABLED = "drools.nodeProfiler.enabled";
+    public static final String NODE_PROFILER_SAMPLE_RATE = "drools.nodeProfiler.sampleRate";
+
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private static boolean enabled = Boolean.parseBoolean(getConfig(NODE_PROFILER_ENABLED, "false"));
+
+    private static final int SAMPLE_MASK = sampleMask(Integer.parseInt(getConfig(NODE_PROFILER_SAMPLE_RATE, "64")));
+
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder insertedTuples = new LongAdder();
+    private final LongAdder propagatedTuples = new LongAdder();
+    private final LongAdder sampledEvaluations = new LongAdder();
+    private final LongAdder sampledNanos = new LongAdder();
+
+    // the first evaluation is always sampled, so the estimated time of a node is never 0 once it has been evaluated
+    private volatile boolean sampled;
+
+    private volatile Snapshot resetSnapshot = Snapshot.EMPTY;
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        NodeProfile.enabled = enabled;
+    }
+
+    private static int sampleMask(int sampleRate) {
+        // rounded up to a power of 2, so the sampled evaluations are selected with a mask
+        return sampleRate <= 1 ? 0 : Integer.highestOneBit(sampleRate - 1) * 2 - 1;
+    }
+
+    /**
+     * Records the start of the evaluation of the given node
+     *
+     * @return the time to be passed to {@link #end(BaseNode, long, TupleSets)} if this evaluation is sampled
+     */
+    public static long start(BaseNode node, TupleSets<?> srcTuples) {
+        NodeProfile profile = node.getProfile();
+        profile.evaluations.increment();
+        profile.insertedTuples.add(srcTuples.getInsertSize());
+        return isSampled(profile) ? System.nanoTime() : NOT_SAMPLED;
+    }
+
+    private static boolean isSampled(NodeProfile profile) {
+        // decided with a per thread random, so the threads evaluating the same node don't share any mutable state
+        if (!profile.sampled) {
+            profile.sampled = true;
+            return true;
+        }
+        return (ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) == 0;
+    }
+
+    public static void end(BaseNode node, long start, TupleSets<?> trgTuples) {
+        NodeProfile profile = node.getProfile();
+        if (trgTuples != null) {
+            profile.propagatedTuples.add(trgTuples.getInsertSize());
+        }
+        if (start != NOT_SAMPLED) {
+            profile.sampledNanos.add(System.nanoTime() - start);
+            profile.sampledEvaluations.increment();
+        }
+    }
+
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    public long getInsertedTuples() {
+        return insertedTuples.sum();
+    }
+
+    public long getPropagatedTuples() {
+        return propagatedTuples.sum();
+    }
+
+    public long getSampledEvaluations() {
+        return sampledEvaluations.sum();
+    }
+
+    public long getSampledNanos() {
+        return sampledNanos.sum();
+    }
+
+    /**
+     * Returns the time spent evaluating the node, estimated from the sampled evaluations
+     */
+    public long getEstimatedNanos() {
+        return estimateNanos(evaluations.sum(), sampledEvaluations.sum(), sampledNanos.sum());
+    }
+
+    private static long estimateNanos(long evaluations, long sampledEvaluations, long sampledNanos) {
+        return sampledEvaluations == 0 ? 0 : (long) ((double) sampledNanos * evaluations / sampledEvaluations);
+    }
+
+    /**
+     * Starts a new period of the values returned by {@link #sinceReset()}, without changing the cumulative counters
+     */
+    public void reset() {
+        resetSnapshot = snapshot();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(evaluations.sum(), insertedTuples.sum(), propagatedTuples.sum(), sampledEvaluations.sum(), sampledNanos.sum());
+    }
+
+    /**
+     * Returns the evaluations of the node since the last {@link #reset()}
+     */
+    public Snapshot sinceReset() {
+        return snapshot().minus(resetSnapshot);
+    }
+
+    @Override
+    public String toString() {
+        return "NodeProfile{evaluations=" + getEvaluations() + ", insertedTuples=" + getInsertedTuples() +
+                ", propagatedTuples=" + getPropagatedTuples() + ", estimatedNanos=" + getEstimatedNanos() + "}";
+    }
+
+    public static class Snapshot {
+
+        public static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0);
+
+        private final long evaluations;
+        private final long insertedTuples;
+        private final long propagatedTuples;
+        private final long sampledEvaluations;
+        private final long sampledNanos;
+
+        private Snapshot(long evaluations, long insertedTuples, long propagatedTuples, long sampledEvaluations, long sampledNanos) {
+            this.evaluations = evaluations;
+            this.insertedTuples = insertedTuples;
+            this.propagatedTuples = propagatedTuples;
+            this.sampledEvaluations = sampledEvaluations;
+            this.sampledNanos = sampledNanos;
+        }
+
+        private Snapshot minus(Snapshot other) {
+            return new Snapshot(evaluations - other.evaluations, insertedTuples - other.insertedTuples, propagatedTuples - other.propagatedTuples,
+                                sampledEvaluations - other.sampledEvaluations, sampledNanos - other.sampledNanos);
+        }
+
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        public long getInsertedTuples() {
+            return insertedTuples;
+        }
+
+        public long getPropagatedTuples() {
+            return propagatedTuples;
+        }
+
+        public long getEstimatedNanos() {
+            return estimateNanos(evaluations, sampledEvaluations, sampledNanos);
+        }
+    }
+}
@@ -20,6 +20,8 @@ import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -28,24 +30,42 @@ import javax.naming.InitialContext;
 import javax.naming.NamingException;
 
 import org.kie.api.concurrent.KieExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static org.drools.util.Config.getConfig;
 
 public class ExecutorProviderImpl implements KieExecutors {
 
+    private static final Logger log = LoggerFactory.getLogger(ExecutorProviderImpl.class);
+
     public static final String EXECUTOR_SERVICE_PROPERTY = "drools.executorService";
     public static final String DEFAULT_JEE_EXECUTOR_SERVICE_NAME = "java:comp/env/concurrent/ThreadPool";
 
     public static final String THREAD_FACTORY_PROPERTY = "drools.threadFactory";
 
+    /**
+     * When set to true and the JVM supports them, the threads created by this provider are virtual threads. This is
+     * used for the async nodes, the fireUntilHalt of partitioned sessions and the timer jobs, so that mostly idle
+     * sessions don't keep platform threads busy. It has no effect when a ThreadFactory is explicitly configured.
+     */
+    public static final String VIRTUAL_THREADS_PROPERTY = "drools.virtualThreads";
+
     private static class ExecutorHolder {
         private static final ExecutorService executor;
         private static final ThreadFactory threadFactory;
+        private static final boolean virtualThreads;
 
         static {
             String threadFactoryClass = getConfig( THREAD_FACTORY_PROPERTY );
-
-            if ( threadFactoryClass == null ) {
+            ThreadFactory virtualThreadFactory = threadFactoryClass == null && Boolean.parseBoolean( getConfig( VIRTUAL_THREADS_PROPERTY, "false" ) ) ?
+                    createVirtualThreadFactory() :
+                    null;
+            virtualThreads = virtualThreadFactory != null;
+
+            if ( virtualThreads ) {
+                threadFactory = virtualThreadFactory;
+            } else if ( threadFactoryClass == null ) {
                 threadFactory = new DaemonThreadFactory();
             } else {
                 try {
@@ -70,16 +90,39 @@ public class ExecutorProviderImpl implements KieExecutors {
             }
 
             if (newExecutor == null) {
-                newExecutor = new ThreadPoolExecutor( Pool.SIZE, Pool.SIZE,
-                                                      60L, TimeUnit.SECONDS,
-                                                      new LinkedBlockingQueue<>(),
-                                                      threadFactory );
+                newExecutor = virtualThreads ?
+                        // virtual threads are cheap and must not be pooled: run each task on a new one
+                        new ThreadPoolExecutor( 0, Integer.MAX_VALUE,
+                                                0L, TimeUnit.SECONDS,
+                                                new SynchronousQueue<>(),
+                                                threadFactory ) :
+                        new ThreadPoolExecutor( Pool.SIZE, Pool.SIZE,
+                                                60L, TimeUnit.SECONDS,
+                                                new LinkedBlockingQueue<>(),
+                                                threadFactory );
             }
 
             executor = newExecutor;
         }
     }
 
+    private static ThreadFactory createVirtualThreadFactory() {
+        // virtual threads are looked up reflectively because this module still targets Java 11
+        try {
+            Class<?> builderClass = Class.forName( "java.lang.Thread$Builder" );
+            Object builder = Thread.class.getMethod( "ofVirtual" ).invoke( null );
+            builder = builderClass.getMethod( "name", String.class, long.class ).invoke( builder, "drools-virtual-worker-", 1L );
+            return (ThreadFactory) builderClass.getMethod( "factory" ).invoke( builder );
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn( "Virtual threads have been requested with " + VIRTUAL_THREADS_PROPERTY + " but they are not supported by this JVM, falling back to platform threads" );
+            return null;
+        }
+    }
+
+    public static boolean isVirtualThreads() {
+        return ExecutorHolder.virtualThreads;
+    }
+
     public ExecutorService getExecutor() {
         return ExecutorHolder.executor;
     }
@@ -100,6 +143,14 @@ public class ExecutorProviderImpl implements KieExecutors {
         return new ExecutorCompletionService<>(getExecutor());
     }
 
+    @Override
+    public ScheduledThreadPoolExecutor newScheduledThreadPool(int corePoolSize) {
+        // without virtual threads keep the default, non daemon, threads of the scheduler
+        return ExecutorHolder.virtualThreads ?
+                new ScheduledThreadPoolExecutor(corePoolSize, ExecutorHolder.threadFactory) :
+                new ScheduledThreadPoolExecutor(corePoolSize);
+    }
+
     public static class DaemonThreadFactory implements ThreadFactory {
         private static final AtomicInteger threadCount = new AtomicInteger();
 
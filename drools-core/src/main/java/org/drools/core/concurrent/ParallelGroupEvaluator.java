@@ -16,15 +16,23 @@
 
 package org.drools.core.concurrent;
 
-import org.drools.base.common.RuleBasePartitionId;
+import org.drools.base.reteoo.NodeTypeEnums;
 import org.drools.core.common.ActivationsManager;
 import org.drools.core.common.InternalAgendaGroup;
+import org.drools.core.common.Memory;
 import org.drools.core.phreak.RuleAgendaItem;
+import org.drools.core.reteoo.AccumulateNode.AccumulateMemory;
+import org.drools.core.reteoo.BetaMemory;
+import org.drools.core.reteoo.QueryElementNode.QueryElementNodeMemory;
+import org.drools.core.reteoo.RightInputAdapterNode.RiaPathMemory;
+import org.drools.core.reteoo.SegmentMemory;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import static org.drools.base.common.PartitionsManager.MIN_PARALLEL_THRESHOLD;
 import static org.drools.base.common.PartitionsManager.doOnForkJoinPool;
@@ -47,19 +55,112 @@ public class ParallelGroupEvaluator extends AbstractGroupEvaluator {
             return;
         }
 
-        Map<RuleBasePartitionId, List<RuleAgendaItem>> partitionedActivations = activations.stream().collect(Collectors.groupingBy(RuleAgendaItem::getPartition));
-        if (partitionedActivations.size() < MIN_PARALLEL_THRESHOLD) {
-            // ... or partitions
+        Collection<List<RuleAgendaItem>> independentActivations = groupBySharedSegments(activations);
+        if (independentActivations.size() < 2) {
+            // ... or if all of them share some segment
             return;
         }
 
-        // This will evaluate all the RuleAgendaItem (grouped by partitions) in parallel, also resetting
+        // This will evaluate all the RuleAgendaItem (grouped by the segments they share) in parallel, also resetting
         // their dirty flag. After this AbstractGroupEvaluator#evaluateAndFire loop will attempt re-evaluating
         // those items again, but finding them not dirty it won't have any performance impact allowing a direct firing.
         doOnForkJoinPool(() ->
-                partitionedActivations.values().parallelStream()
+                independentActivations.parallelStream()
                         .forEach( items -> items
                                 .forEach( item -> item.getRuleExecutor().evaluateNetworkIfDirty(activationsManager) ) )
         );
     }
+
+    /**
+     * Groups the dirty activations so that the rules in different groups don't share any segment.
+     * The evaluation of a path only touches the memories of its own segments and of the segments of the subnetworks
+     * it walks through its RightInputAdapterNodes, so those groups can be evaluated concurrently regardless of the
+     * partitioning of the rule base. Activations with a dynamic salience, of a query or calling one, or with a
+     * segment not created yet are left out, so they will be evaluated sequentially when fired.
+     */
+    public static Collection<List<RuleAgendaItem>> groupBySharedSegments(Collection<RuleAgendaItem> activations) {
+        List<RuleAgendaItem> items = new ArrayList<>();
+        int[] parents = new int[activations.size()];
+        Map<SegmentMemory, Integer> itemsBySegment = new IdentityHashMap<>();
+        List<SegmentMemory> segments = new ArrayList<>();
+
+        for (RuleAgendaItem item : activations) {
+            // with a dynamic salience the evaluation can re-sort the item in the agenda group, so it has to stay sequential,
+            // as the queries, whose results are propagated into the segments of the rules calling them
+            if (!item.getRuleExecutor().isDirty() || item.getRule().getSalience().isDynamic() || item.getRule().isQuery()) {
+                continue;
+            }
+            SegmentMemory[] smems = item.getRuleExecutor().getPathMemory().getSegmentMemories();
+            segments.clear();
+            // a first segment made only of the LeftInputAdapterNode is never evaluated, the lia stages its
+            // tuples directly into the child segments, so rules sharing just their first pattern are independent
+            if (smems.length == 0 || smems[0] == null || !collectSegments(smems, isOnlyLia(smems[0]) ? 1 : 0, segments)) {
+                continue;
+            }
+            int itemIndex = items.size();
+            items.add(item);
+            parents[itemIndex] = itemIndex;
+            for (SegmentMemory smem : segments) {
+                Integer sharingItem = itemsBySegment.putIfAbsent(smem, itemIndex);
+                if (sharingItem != null) {
+                    parents[findRoot(parents, itemIndex)] = findRoot(parents, sharingItem);
+                }
+            }
+        }
+
+        Map<Integer, List<RuleAgendaItem>> groups = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            groups.computeIfAbsent(findRoot(parents, i), root -> new ArrayList<>()).add(items.get(i));
+        }
+        return groups.values();
+    }
+
+    /**
+     * Collects the segments evaluated with the given ones, following the subnetworks of their beta nodes.
+     * Returns false if some of them is not created yet or if they call a query, whose evaluation inserts
+     * the query fact in the session and walks the network of the query.
+     */
+    private static boolean collectSegments(SegmentMemory[] smems, int from, List<SegmentMemory> segments) {
+        for (int i = from; i < smems.length; i++) {
+            SegmentMemory smem = smems[i];
+            if (smem == null) {
+                return false;
+            }
+            segments.add(smem);
+            for (Memory memory : smem.getNodeMemories()) {
+                if (memory instanceof QueryElementNodeMemory) {
+                    return false;
+                }
+                BetaMemory bm = memory instanceof AccumulateMemory ? ((AccumulateMemory) memory).getBetaMemory() :
+                                memory instanceof BetaMemory ? (BetaMemory) memory : null;
+                if (bm != null && bm.getRiaRuleMemory() != null && !collectSubnetworkSegments(bm.getRiaRuleMemory(), segments)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean collectSubnetworkSegments(RiaPathMemory riaPathMemory, List<SegmentMemory> segments) {
+        SegmentMemory[] subnetworkSmems = riaPathMemory.getSegmentMemories();
+        // the positions of the segments in the parent chain, outside of the subnetwork, are null
+        int first = 0;
+        while (first < subnetworkSmems.length && subnetworkSmems[first] == null) {
+            first++;
+        }
+        return first < subnetworkSmems.length && collectSegments(subnetworkSmems, first, segments);
+    }
+
+    private static int findRoot(int[] parents, int index) {
+        while (parents[index] != index) {
+            // path halving keeps the trees flat
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+
+    private static boolean isOnlyLia(SegmentMemory smem) {
+        return smem.getRootNode() == smem.getTipNode() && smem.getRootNode().getType() == NodeTypeEnums.LeftInputAdapterNode;
+    }
 }
@@ -33,6 +33,7 @@ import org.drools.core.concurrent.GroupEvaluator;
 import org.drools.core.concurrent.SequentialGroupEvaluator;
 import org.drools.core.event.AgendaEventSupport;
 import org.drools.core.phreak.ExecutableEntry;
+import org.drools.core.phreak.ForceFlushBatch;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.phreak.RuleAgendaItem;
@@ -80,6 +81,8 @@ public class ActivationsManagerImpl implements ActivationsManager {
 
     private List<PropagationContext> expirationContexts;
 
+    private ForceFlushBatch forceFlushBatch;
+
     public ActivationsManagerImpl(ReteEvaluator reteEvaluator) {
         this.reteEvaluator = reteEvaluator;
         this.agendaGroupsManager = new AgendaGroupsManager.SimpleAgendaGroupsManager(reteEvaluator);
@@ -144,6 +147,16 @@ public class ActivationsManagerImpl implements ActivationsManager {
         expirationContexts.add(ectx);
     }
 
+    @Override
+    public ForceFlushBatch getForceFlushBatch() {
+        return forceFlushBatch;
+    }
+
+    @Override
+    public void setForceFlushBatch(ForceFlushBatch forceFlushBatch) {
+        this.forceFlushBatch = forceFlushBatch;
+    }
+
     @Override
     public void clearAndCancelActivationGroup(final String name) {
         final InternalActivationGroup activationGroup = this.activationGroups.get( name );
@@ -367,22 +380,11 @@ public class ActivationsManagerImpl implements ActivationsManager {
         class FireUntilHaltRestHandler implements RestHandler {
             @Override
             public PropagationEntry handleRest(ActivationsManagerImpl agenda) {
-                PropagationEntry head;
-                // this must use the same sync target as takeAllPropagations, to ensure this entire block is atomic, up to the point of wait
-                synchronized (agenda.propagationList) {
-                    head = agenda.propagationList.takeAll();
-
-                    // if halt() has called, the thread should not be put into a wait state
-                    // instead this is just a safe way to make sure the queue is flushed before exiting the loop
-                    if (head == null) {
-                        agenda.propagationList.waitOnRest();
-                        head = agenda.propagationList.takeAll();
-                        if (head == null) {
-                            agenda.firing = false;
-                        }
-                    }
+                // the propagation list takes the entries and waits atomically, so no propagation can be missed
+                PropagationEntry head = agenda.propagationList.takeAllOrWaitOnRest(() -> true);
+                if (head == null) {
+                    agenda.firing = false;
                 }
-
                 return head;
             }
         }
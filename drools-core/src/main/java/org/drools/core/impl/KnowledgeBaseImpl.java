@@ -459,7 +459,10 @@ public class KnowledgeBaseImpl implements InternalRuleBase {
 
     private void setupParallelEvaluation() {
         if (!partitionsManager.hasParallelEvaluation()) {
-            disableParallelEvaluation("The rete network cannot be partitioned: disabling multithread evaluation");
+            if (ruleBaseConfig.isParallelExecution()) {
+                disableParallelEvaluation("The rete network cannot be partitioned: disabling multithread evaluation");
+            }
+            // otherwise the ParallelGroupEvaluator can still evaluate in parallel the rules not sharing any segment
             return;
         }
         partitionsManager.init();
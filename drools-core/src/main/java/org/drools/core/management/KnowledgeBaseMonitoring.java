@@ -49,6 +49,7 @@ import javax.management.openmbean.TabularData;
 import javax.management.openmbean.TabularDataSupport;
 import javax.management.openmbean.TabularType;
 
+import org.drools.core.common.NodeProfile;
 import org.drools.core.impl.InternalRuleBase;
 import org.drools.core.reteoo.EntryPointNode;
 import org.drools.core.reteoo.ObjectTypeNode;
@@ -249,6 +250,12 @@ public class KnowledgeBaseMonitoring
         } catch ( NotCompliantMBeanException e ) {
             logger.error( "Unable to register KBaseConfigurationMonitor mbean into the platform MBean Server", e);
         }
+        if ( NodeProfile.isEnabled() ) {
+            ObjectName name = DroolsManagementAgent.createObjectName( this.name.toString() + ",group=NodeProfiler" );
+            DroolsManagementAgent.getInstance().registerMBean( kbase,
+                                                               new NodeProfilerMonitor( kbase ),
+                                                               name );
+        }
     }
 
     public void stopInternalMBeans() {
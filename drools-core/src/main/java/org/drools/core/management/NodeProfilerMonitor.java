@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.management;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.drools.core.common.BaseNode;
+import org.drools.core.common.NodeProfile;
+import org.drools.core.impl.InternalRuleBase;
+import org.drools.core.reteoo.ReteDumper;
+
+/**
+ * The monitor MXBean for the node profiles of a KieBase
+ */
+public class NodeProfilerMonitor implements NodeProfilerMonitorMXBean {
+
+    private final InternalRuleBase kbase;
+
+    public NodeProfilerMonitor(InternalRuleBase kbase) {
+        this.kbase = kbase;
+    }
+
+    /**
+     * Resets the values reported by this MXBean, without changing the cumulative counters of the profiles
+     */
+    @Override
+    public void reset() {
+        for (BaseNode node : ReteDumper.collectRete(kbase)) {
+            NodeProfile profile = node.getProfileIfPresent();
+            if (profile != null) {
+                profile.reset();
+            }
+        }
+    }
+
+    @Override
+    public long getTotalEvaluations() {
+        long total = 0;
+        for (BaseNode node : ReteDumper.collectRete(kbase)) {
+            total += sinceReset(node).getEvaluations();
+        }
+        return total;
+    }
+
+    @Override
+    public long getTotalEstimatedTime() {
+        long total = 0;
+        for (BaseNode node : ReteDumper.collectRete(kbase)) {
+            total += sinceReset(node).getEstimatedNanos();
+        }
+        return total;
+    }
+
+    @Override
+    public List<INodeProfileData> getNodeProfiles() {
+        List<INodeProfileData> profiles = new ArrayList<>();
+        for (BaseNode node : ReteDumper.collectRete(kbase)) {
+            NodeProfile.Snapshot snapshot = sinceReset(node);
+            if (snapshot.getEvaluations() > 0) {
+                profiles.add(new NodeProfileData(node, snapshot));
+            }
+        }
+        profiles.sort(Comparator.comparingLong(INodeProfileData::getEstimatedTime).reversed());
+        return profiles;
+    }
+
+    @Override
+    public INodeProfileData getNodeProfile(int nodeId) {
+        for (BaseNode node : ReteDumper.collectRete(kbase)) {
+            if (node.getId() == nodeId) {
+                return new NodeProfileData(node, sinceReset(node));
+            }
+        }
+        return null;
+    }
+
+    // the profiles are read without creating them, so the monitor doesn't allocate one for every node never evaluated
+    private static NodeProfile.Snapshot sinceReset(BaseNode node) {
+        NodeProfile profile = node.getProfileIfPresent();
+        return profile != null ? profile.sinceReset() : NodeProfile.Snapshot.EMPTY;
+    }
+
+    public static String getRuleNames(BaseNode node) {
+        return Arrays.stream(node.getAssociatedRules())
+                .map(rule -> rule.getPackageName() + "." + rule.getName())
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    public static class NodeProfileData implements INodeProfileData {
+
+        private final int nodeId;
+        private final String nodeType;
+        private final String rules;
+        private final long evaluations;
+        private final long insertedTuples;
+        private final long propagatedTuples;
+        private final long estimatedTime;
+
+        public NodeProfileData(BaseNode node, NodeProfile.Snapshot profile) {
+            this.nodeId = node.getId();
+            this.nodeType = node.getClass().getSimpleName();
+            this.rules = getRuleNames(node);
+            this.evaluations = profile.getEvaluations();
+            this.insertedTuples = profile.getInsertedTuples();
+            this.propagatedTuples = profile.getPropagatedTuples();
+            this.estimatedTime = profile.getEstimatedNanos();
+        }
+
+        @Override
+        public int getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getNodeType() {
+            return nodeType;
+        }
+
+        @Override
+        public String getRules() {
+            return rules;
+        }
+
+        @Override
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        @Override
+        public long getInsertedTuples() {
+            return insertedTuples;
+        }
+
+        @Override
+        public long getPropagatedTuples() {
+            return propagatedTuples;
+        }
+
+        @Override
+        public long getEstimatedTime() {
+            return estimatedTime;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.management;
+
+import java.util.List;
+
+/**
+ * The MXBean exposing the node evaluations aggregated by the node profiler for all the nodes of a KieBase
+ */
+public interface NodeProfilerMonitorMXBean {
+
+    /**
+     * Resets the values reported by this MXBean, that from then on only count the following evaluations
+     */
+    void reset();
+
+    long getTotalEvaluations();
+
+    /**
+     * @return the total time spent evaluating the nodes in nanoseconds, estimated from the sampled evaluations
+     */
+    long getTotalEstimatedTime();
+
+    interface INodeProfileData {
+        int getNodeId();
+        String getNodeType();
+        String getRules();
+        long getEvaluations();
+        long getInsertedTuples();
+        long getPropagatedTuples();
+        long getEstimatedTime();
+    }
+
+    /**
+     * @return the profiles of all the evaluated nodes, starting from the one with the highest estimated time
+     */
+    List<INodeProfileData> getNodeProfiles();
+
+    INodeProfileData getNodeProfile(int nodeId);
+}
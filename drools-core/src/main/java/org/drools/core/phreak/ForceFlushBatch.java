@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.drools.core.common.ActivationsManager;
+import org.drools.core.common.ReteEvaluator;
+import org.drools.core.common.TupleSets;
+import org.drools.core.common.TupleSetsImpl;
+import org.drools.core.reteoo.LeftTuple;
+import org.drools.core.reteoo.PathMemory;
+import org.drools.core.reteoo.SegmentMemory;
+import org.drools.core.reteoo.Tuple;
+
+/**
+ * Collects the forced flushes of the tuples of events, that in stream mode are otherwise evaluated immediately one by one,
+ * so that all the tuples staged while the batch is open are evaluated together when it is closed, with a single
+ * network evaluation for each segment. This is used when many events expire at the same time, like when a sliding
+ * window advances, so they are all retracted as a single TupleSets.
+ */
+public class ForceFlushBatch {
+
+    private final ActivationsManager activationsManager;
+
+    private final Map<SegmentMemory, PathFlush> flushes = new LinkedHashMap<>();
+
+    private ForceFlushBatch(ActivationsManager activationsManager) {
+        this.activationsManager = activationsManager;
+    }
+
+    /**
+     * Opens a batch on the given ReteEvaluator, or returns null if a batch is already open, so the tuples
+     * are flushed when the outermost batch is closed
+     */
+    public static ForceFlushBatch open(ReteEvaluator reteEvaluator) {
+        ActivationsManager activationsManager = reteEvaluator.getActivationsManager();
+        if (activationsManager.getForceFlushBatch() != null) {
+            return null;
+        }
+        ForceFlushBatch batch = new ForceFlushBatch(activationsManager);
+        activationsManager.setForceFlushBatch(batch);
+        return batch;
+    }
+
+    public static void close(ForceFlushBatch batch, ReteEvaluator reteEvaluator) {
+        if (batch != null) {
+            batch.activationsManager.setForceFlushBatch(null);
+            batch.flush(reteEvaluator);
+        }
+    }
+
+    void add(PathMemory pmem, SegmentMemory sm, LeftTuple leftTuple, short stagedType) {
+        PathFlush flush = flushes.computeIfAbsent(sm, s -> new PathFlush(pmem));
+        if (leftTuple != null) {
+            switch (stagedType) {
+                case Tuple.INSERT:
+                    flush.leftTuples.addInsert(leftTuple);
+                    break;
+                case Tuple.DELETE:
+                    flush.leftTuples.addDelete(leftTuple);
+                    break;
+                case Tuple.UPDATE:
+                    flush.leftTuples.addUpdate(leftTuple);
+                    break;
+            }
+        }
+    }
+
+    private void flush(ReteEvaluator reteEvaluator) {
+        for (Map.Entry<SegmentMemory, PathFlush> entry : flushes.entrySet()) {
+            PathMemory pmem = entry.getValue().pmem;
+            TupleEvaluationUtil.forceFlushLeftTuple(pmem, entry.getKey(), reteEvaluator, entry.getValue().leftTuples);
+            TupleEvaluationUtil.forceFlushWhenRiaNode(reteEvaluator, pmem);
+        }
+        flushes.clear();
+    }
+
+    private static class PathFlush {
+        private final PathMemory pmem;
+        private final TupleSets<LeftTuple> leftTuples = new TupleSetsImpl<>();
+
+        private PathFlush(PathMemory pmem) {
+            this.pmem = pmem;
+        }
+    }
+}
@@ -15,6 +15,10 @@
 
 package org.drools.core.phreak;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import org.drools.core.common.BetaConstraints;
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.ReteEvaluator;
@@ -586,6 +590,8 @@ public class PhreakAccumulateNode {
                                 TupleSets<LeftTuple> trgLeftTuples) {
         TupleMemory rtm = am.getBetaMemory().getRightTupleMemory();
         Accumulate accumulate = accNode.getAccumulate();
+        boolean deferReaccumulation = isReaccumulationDeferrable();
+        Set<LeftTuple> dirtyLeftTuples = null;
 
         for (RightTuple rightTuple = srcRightTuples.getDeleteFirst(); rightTuple != null; ) {
             RightTuple next = rightTuple.getStagedNext();
@@ -601,8 +607,15 @@ public class PhreakAccumulateNode {
 
                         LeftTuple leftTuple = match.getLeftParent();
                         final BaseAccumulation accctx = (BaseAccumulation) leftTuple.getContextObject();
-                        // FIXME This will be really slow, if it re-accumulates on the same LeftTuple (MDP)
-                        removeMatch(accNode, accumulate, rightTuple, match, reteEvaluator, am, accctx, true);
+                        boolean reversed = removeMatch(accNode, accumulate, rightTuple, match, reteEvaluator, am, accctx, !deferReaccumulation);
+                        if (!reversed && deferReaccumulation) {
+                            // when many right tuples are deleted together, like when a burst of events expires,
+                            // the left tuples that can't be reversed are re-accumulated only once after all the deletes
+                            if (dirtyLeftTuples == null) {
+                                dirtyLeftTuples = Collections.newSetFromMap(new IdentityHashMap<>());
+                            }
+                            dirtyLeftTuples.add(leftTuple);
+                        }
 
                         if (leftTuple.getStagedType() == LeftTuple.NONE) {
                             trgLeftTuples.addUpdate(leftTuple);
@@ -615,6 +628,18 @@ public class PhreakAccumulateNode {
             rightTuple.clearStaged();
             rightTuple = next;
         }
+
+        if (dirtyLeftTuples != null) {
+            for (LeftTuple leftTuple : dirtyLeftTuples) {
+                reaccumulateForLeftTuple(accNode, accumulate, leftTuple, null, null, reteEvaluator, am,
+                                         (BaseAccumulation) leftTuple.getContextObject(), true);
+            }
+        }
+    }
+
+    boolean isReaccumulationDeferrable() {
+        // this is overridden by GroupBy, that re-accumulates only the group of the removed match
+        return true;
     }
 
     protected void evaluateResultConstraints(final AccumulateNode accNode,
@@ -38,6 +38,11 @@ public class PhreakGroupByNode extends PhreakAccumulateNode {
         return accContext;
     }
 
+    @Override
+    boolean isReaccumulationDeferrable() {
+        return false;
+    }
+
     @Override
     protected Object createResult( AccumulateNode accNode, Object key, Object result ) {
         Object[] array;
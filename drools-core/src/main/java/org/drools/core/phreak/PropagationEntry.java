@@ -209,10 +209,18 @@ public interface PropagationEntry {
         public Insert() { }
 
         public Insert( InternalFactHandle handle, PropagationContext context, ReteEvaluator reteEvaluator, ObjectTypeConf objectTypeConf) {
+            init( handle, context, objectTypeConf );
+            scheduleExpiration( handle, context, reteEvaluator, objectTypeConf );
+        }
+
+        void init( InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf ) {
             this.handle = handle;
             this.context = context;
             this.objectTypeConf = objectTypeConf;
+            this.next = null;
+        }
 
+        static void scheduleExpiration( InternalFactHandle handle, PropagationContext context, ReteEvaluator reteEvaluator, ObjectTypeConf objectTypeConf ) {
             if ( handle.isEvent() ) {
                 scheduleExpiration(reteEvaluator, handle, context, objectTypeConf, reteEvaluator.getTimerService().getCurrentTime());
             }
@@ -316,9 +324,14 @@ public interface PropagationEntry {
         public Update(){}
 
         public Update(InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+            init(handle, context, objectTypeConf);
+        }
+
+        void init(InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
             this.handle = handle;
             this.context = context;
             this.objectTypeConf = objectTypeConf;
+            this.next = null;
         }
 
         public void internalExecute(ReteEvaluator reteEvaluator) {
@@ -407,16 +420,23 @@ public interface PropagationEntry {
     }
 
     class Delete extends AbstractPropagationEntry {
-        private final EntryPointNode epn;
-        private final InternalFactHandle handle;
-        private final PropagationContext context;
-        private final ObjectTypeConf objectTypeConf;
+        private EntryPointNode epn;
+        private InternalFactHandle handle;
+        private PropagationContext context;
+        private ObjectTypeConf objectTypeConf;
+
+        Delete() { }
 
         public Delete(EntryPointNode epn, InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+            init(epn, handle, context, objectTypeConf);
+        }
+
+        void init(EntryPointNode epn, InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
             this.epn = epn;
             this.handle = handle;
             this.context = context;
             this.objectTypeConf = objectTypeConf;
+            this.next = null;
         }
 
         public void internalExecute(ReteEvaluator reteEvaluator) {
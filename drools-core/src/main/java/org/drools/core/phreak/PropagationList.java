@@ -16,10 +16,29 @@
 package org.drools.core.phreak;
 
 import java.util.Iterator;
+import java.util.function.BooleanSupplier;
+
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.PropagationContext;
+import org.drools.core.common.ReteEvaluator;
+import org.drools.core.reteoo.EntryPointNode;
+import org.drools.core.reteoo.ObjectTypeConf;
 
 public interface PropagationList {
     void addEntry(PropagationEntry propagationEntry);
 
+    default void addInsert(InternalFactHandle handle, PropagationContext context, ReteEvaluator reteEvaluator, ObjectTypeConf objectTypeConf) {
+        addEntry(new PropagationEntry.Insert(handle, context, reteEvaluator, objectTypeConf));
+    }
+
+    default void addUpdate(InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+        addEntry(new PropagationEntry.Update(handle, context, objectTypeConf));
+    }
+
+    default void addDelete(EntryPointNode epn, InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+        addEntry(new PropagationEntry.Delete(epn, handle, context, objectTypeConf));
+    }
+
     PropagationEntry takeAll();
 
     void flush();
@@ -35,6 +54,20 @@ public interface PropagationList {
 
     void waitOnRest();
 
+    /**
+     * Takes all the entries of this list and, if there is none and the given condition holds, waits on rest
+     * until a new entry is added, then takes them again. Taking the entries, evaluating the condition and starting
+     * to wait happen atomically, so an entry added concurrently can never be missed by the resting thread.
+     */
+    default PropagationEntry takeAllOrWaitOnRest(BooleanSupplier waitCondition) {
+        PropagationEntry head = takeAll();
+        if (head == null && waitCondition.getAsBoolean()) {
+            waitOnRest();
+            head = takeAll();
+        }
+        return head;
+    }
+
     void notifyWaitOnRest();
 
     void onEngineInactive();
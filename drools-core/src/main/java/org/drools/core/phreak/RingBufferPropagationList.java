@@ -0,0 +1,486 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.PropagationContext;
+import org.drools.core.common.ReteEvaluator;
+import org.drools.core.reteoo.EntryPointNode;
+import org.drools.core.reteoo.ObjectTypeConf;
+
+/**
+ * A thread safe PropagationList backed by a bounded ring buffer, meant for sessions receiving high rate streams of
+ * facts from many producer threads.
+ *
+ * Producers claim a slot of the ring with a compare and swap on the producer index and publish their entry in it,
+ * so they never contend on a lock, while the entries are linked together only by the single thread consuming them.
+ * Each slot also owns a preallocated Insert, Update and Delete entry, that is reused for the fact propagations
+ * enqueued in that slot once the entry previously stored there has been executed, so in the steady state these
+ * propagations don't allocate. When the ring is full the entries are appended to a lock protected overflow list,
+ * that is drained after the ring preserving the order of the entries added by each thread.
+ */
+public class RingBufferPropagationList implements PropagationList {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    // how many times the consumer spins on a claimed but not yet published slot before yielding
+    private static final int SPINS_BEFORE_YIELD = 100;
+
+    private final ReteEvaluator reteEvaluator;
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<PropagationEntry> ring;
+
+    private final RecyclableInsert[] inserts;
+
+    private final RecyclableUpdate[] updates;
+
+    private final RecyclableDelete[] deletes;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+
+    // only written by the consumer, while holding the lock
+    private volatile long consumerIndex;
+
+    // guards the consumer side, the overflow list and the wait on rest
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition rest = lock.newCondition();
+
+    private PropagationEntry overflowHead;
+
+    private PropagationEntry overflowTail;
+
+    private volatile boolean overflowing = false;
+
+    private volatile boolean resting = false;
+
+    private volatile boolean disposed = false;
+
+    private volatile boolean hasEntriesDeferringExpiration = false;
+
+    private volatile boolean firingUntilHalt = false;
+
+    public RingBufferPropagationList(ReteEvaluator reteEvaluator) {
+        this(reteEvaluator, DEFAULT_CAPACITY);
+    }
+
+    public RingBufferPropagationList(ReteEvaluator reteEvaluator, int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity of a RingBufferPropagationList must be a power of 2, but was " + capacity);
+        }
+        this.reteEvaluator = reteEvaluator;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.inserts = new RecyclableInsert[capacity];
+        this.updates = new RecyclableUpdate[capacity];
+        this.deletes = new RecyclableDelete[capacity];
+        for (int i = 0; i < capacity; i++) {
+            inserts[i] = new RecyclableInsert();
+            updates[i] = new RecyclableUpdate();
+            deletes[i] = new RecyclableDelete();
+        }
+    }
+
+    @Override
+    public void addEntry(final PropagationEntry entry) {
+        if (entry.requiresImmediateFlushing()) {
+            if (entry.isCalledFromRHS()) {
+                entry.execute(reteEvaluator);
+            } else {
+                reteEvaluator.getActivationsManager().executeTask( new ExecutableEntry() {
+                    @Override
+                    public void execute() {
+                        if (entry instanceof PhreakTimerNode.TimerAction) {
+                            ( (PhreakTimerNode.TimerAction) entry ).execute( reteEvaluator, true );
+                        } else {
+                            entry.execute( reteEvaluator );
+                        }
+                    }
+
+                    @Override
+                    public void enqueue() {
+                        internalAddEntry( entry );
+                    }
+                } );
+            }
+        } else {
+            internalAddEntry( entry );
+        }
+    }
+
+    @Override
+    public void addInsert(InternalFactHandle handle, PropagationContext context, ReteEvaluator reteEvaluator, ObjectTypeConf objectTypeConf) {
+        // this can fail, so it has to be done before claiming a slot that otherwise would never be published
+        PropagationEntry.Insert.scheduleExpiration( handle, context, reteEvaluator, objectTypeConf );
+
+        long index = claim();
+        if (index < 0) {
+            PropagationEntry.Insert insert = new PropagationEntry.Insert();
+            insert.init( handle, context, objectTypeConf );
+            addToOverflow( insert );
+            return;
+        }
+
+        RecyclableInsert recyclable = inserts[(int) index & mask];
+        PropagationEntry.Insert insert;
+        if (recyclable.free) {
+            recyclable.free = false;
+            insert = recyclable;
+        } else {
+            // the entry previously enqueued in this slot has not been executed yet
+            insert = new PropagationEntry.Insert();
+        }
+        insert.init( handle, context, objectTypeConf );
+        publish( index, insert );
+    }
+
+    @Override
+    public void addUpdate(InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+        long index = claim();
+        if (index < 0) {
+            addToOverflow( new PropagationEntry.Update( handle, context, objectTypeConf ) );
+            return;
+        }
+
+        RecyclableUpdate recyclable = updates[(int) index & mask];
+        PropagationEntry.Update update;
+        if (recyclable.free) {
+            recyclable.free = false;
+            update = recyclable;
+        } else {
+            // the entry previously enqueued in this slot has not been executed yet
+            update = new PropagationEntry.Update();
+        }
+        update.init( handle, context, objectTypeConf );
+        publish( index, update );
+    }
+
+    @Override
+    public void addDelete(EntryPointNode epn, InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+        long index = claim();
+        if (index < 0) {
+            addToOverflow( new PropagationEntry.Delete( epn, handle, context, objectTypeConf ) );
+            return;
+        }
+
+        RecyclableDelete recyclable = deletes[(int) index & mask];
+        PropagationEntry.Delete delete;
+        if (recyclable.free) {
+            recyclable.free = false;
+            delete = recyclable;
+        } else {
+            // the entry previously enqueued in this slot has not been executed yet
+            delete = new PropagationEntry.Delete();
+        }
+        delete.init( epn, handle, context, objectTypeConf );
+        publish( index, delete );
+    }
+
+    void internalAddEntry( PropagationEntry entry ) {
+        long index = claim();
+        if (index < 0) {
+            addToOverflow( entry );
+        } else {
+            publish( index, entry );
+        }
+    }
+
+    /**
+     * Claims the next slot of the ring, returning its index or -1 if the entry has to be added to the overflow list,
+     * either because the ring is full or because it already contains entries that must be executed before this one.
+     */
+    private long claim() {
+        if (overflowing) {
+            return -1;
+        }
+        long limit = consumerIndex + capacity;
+        while (true) {
+            long index = producerIndex.get();
+            if (index >= limit) {
+                limit = consumerIndex + capacity;
+                if (index >= limit) {
+                    return -1;
+                }
+            }
+            if (producerIndex.compareAndSet( index, index + 1 )) {
+                return index;
+            }
+        }
+    }
+
+    private void publish( long index, PropagationEntry entry ) {
+        ring.set( (int) index & mask, entry );
+        // set only after the publication, so a consumer resetting this flag either takes this entry or sees the flag
+        if (entry.defersExpiration()) {
+            hasEntriesDeferringExpiration = true;
+        }
+        if (firingUntilHalt && resting) {
+            notifyWaitOnRest();
+        }
+    }
+
+    private void addToOverflow( PropagationEntry entry ) {
+        lock.lock();
+        try {
+            overflowing = true;
+            if (overflowHead == null) {
+                overflowHead = entry;
+            } else {
+                overflowTail.setNext( entry );
+            }
+            overflowTail = entry;
+            if (entry.defersExpiration()) {
+                hasEntriesDeferringExpiration = true;
+            }
+            if (firingUntilHalt) {
+                rest.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public PropagationEntry takeAll() {
+        lock.lock();
+        try {
+            hasEntriesDeferringExpiration = false;
+
+            PropagationEntry head = null;
+            PropagationEntry tail = null;
+            boolean takeOverflow = false;
+            long index = consumerIndex;
+            while (true) {
+                for (long lastIndex = producerIndex.get(); index < lastIndex; index++) {
+                    PropagationEntry entry = awaitPublished( (int) index & mask );
+                    ring.lazySet( (int) index & mask, null );
+                    if (head == null) {
+                        head = entry;
+                    } else {
+                        tail.setNext( entry );
+                    }
+                    tail = entry;
+                }
+                if (takeOverflow || !overflowing) {
+                    break;
+                }
+                // a thread could have claimed a slot after the producer index has been read and then overflowed,
+                // so drain again the ring, now including all the slots claimed before the overflowing entries
+                takeOverflow = true;
+            }
+            consumerIndex = index;
+
+            if (takeOverflow) {
+                if (head == null) {
+                    head = overflowHead;
+                } else {
+                    tail.setNext( overflowHead );
+                }
+                overflowHead = null;
+                overflowTail = null;
+                overflowing = false;
+            }
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PropagationEntry awaitPublished( int slot ) {
+        // the slot has been claimed, but the producer could still have to store its entry there
+        PropagationEntry entry = ring.get( slot );
+        for (int spins = 0; entry == null; spins++) {
+            if (spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            entry = ring.get( slot );
+        }
+        return entry;
+    }
+
+    @Override
+    public PropagationEntry takeAllOrWaitOnRest(BooleanSupplier waitCondition) {
+        lock.lock();
+        try {
+            // flag the rest before taking the entries, so a producer publishing after the take will notify this thread
+            resting = true;
+            try {
+                PropagationEntry head = takeAll();
+                if (head == null && waitCondition.getAsBoolean()) {
+                    rest.await();
+                    head = takeAll();
+                }
+                return head;
+            } catch (InterruptedException e) {
+                // do nothing
+                return takeAll();
+            } finally {
+                resting = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void flush() {
+        flush( takeAll() );
+    }
+
+    @Override
+    public void flush( PropagationEntry currentHead ) {
+        for (PropagationEntry entry = currentHead; !disposed && entry != null; ) {
+            // read the next entry before executing this one, because once executed it can be recycled
+            PropagationEntry next = entry.getNext();
+            entry.execute( reteEvaluator );
+            if (entry instanceof Recyclable) {
+                ((Recyclable) entry).recycle();
+            }
+            entry = next;
+        }
+    }
+
+    @Override
+    public void reset() {
+        lock.lock();
+        try {
+            takeAll();
+            for (int i = 0; i < capacity; i++) {
+                inserts[i].recycle();
+                updates[i].recycle();
+                deletes[i].recycle();
+            }
+            disposed = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex && !overflowing;
+    }
+
+    @Override
+    public boolean hasEntriesDeferringExpiration() {
+        return hasEntriesDeferringExpiration;
+    }
+
+    @Override
+    public Iterator<PropagationEntry> iterator() {
+        lock.lock();
+        try {
+            List<PropagationEntry> entries = new ArrayList<>();
+            for (long index = consumerIndex, lastIndex = producerIndex.get(); index < lastIndex; index++) {
+                entries.add( awaitPublished( (int) index & mask ) );
+            }
+            for (PropagationEntry entry = overflowHead; entry != null; entry = entry.getNext()) {
+                entries.add( entry );
+            }
+            return entries.iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void waitOnRest() {
+        lock.lock();
+        try {
+            resting = true;
+            rest.await();
+        } catch (InterruptedException e) {
+            // do nothing
+        } finally {
+            resting = false;
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void notifyWaitOnRest() {
+        lock.lock();
+        try {
+            rest.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onEngineInactive() { }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public void setFiringUntilHalt( boolean firingUntilHalt ) {
+        this.firingUntilHalt = firingUntilHalt;
+    }
+
+    private interface Recyclable {
+        void recycle();
+    }
+
+    private static class RecyclableInsert extends PropagationEntry.Insert implements Recyclable {
+        private volatile boolean free = true;
+
+        @Override
+        public void recycle() {
+            // don't retain the fact until the slot is reused
+            init( null, null, null );
+            free = true;
+        }
+    }
+
+    private static class RecyclableUpdate extends PropagationEntry.Update implements Recyclable {
+        private volatile boolean free = true;
+
+        @Override
+        public void recycle() {
+            init( null, null, null );
+            free = true;
+        }
+    }
+
+    private static class RecyclableDelete extends PropagationEntry.Delete implements Recyclable {
+        private volatile boolean free = true;
+
+        @Override
+        public void recycle() {
+            init( null, null, null, null );
+            free = true;
+        }
+    }
+}
@@ -19,8 +19,10 @@ import java.util.List;
 
 import org.drools.core.base.DroolsQueryImpl;
 import org.drools.core.common.ActivationsManager;
+import org.drools.core.common.BaseNode;
 import org.drools.core.common.BetaConstraints;
 import org.drools.core.common.Memory;
+import org.drools.core.common.NodeProfile;
 import org.drools.base.common.NetworkNode;
 import org.drools.core.common.ReteEvaluator;
 import org.drools.core.common.TupleSets;
@@ -345,7 +347,12 @@ public class RuleNetworkEvaluator {
             stagedLeftTuples = getTargetStagedLeftTuples(node, activationsManager.getReteEvaluator(), smem);
             LeftTupleSinkNode sink = ((LeftTupleSource) node).getSinkPropagator().getFirstLeftTupleSink();
 
+            boolean profiled = NodeProfile.isEnabled();
+            long profileStart = profiled ? NodeProfile.start((BaseNode) node, srcTuples) : 0L;
             trgTuples = evalNode( pmem, node, bit, nodeMem, smems, smemIndex, activationsManager, stack, processRian, executor, srcTuples, smem, stagedLeftTuples, sink );
+            if (profiled) {
+                NodeProfile.end((BaseNode) node, profileStart, trgTuples);
+            }
             if ( trgTuples == null ) {
                 break; // Queries exists and has been placed StackEntry, and there are no current trgTuples to process
             }
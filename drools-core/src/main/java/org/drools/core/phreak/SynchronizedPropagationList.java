@@ -20,6 +20,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
 
 public class SynchronizedPropagationList implements PropagationList {
 
@@ -36,6 +39,12 @@ public class SynchronizedPropagationList implements PropagationList {
 
     protected volatile boolean firingUntilHalt = false;
 
+    // an explicit lock instead of the monitor of this list, so a thread resting on it parks without pinning its carrier
+    // thread when running on a virtual thread
+    protected final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition rest = lock.newCondition();
+
     public SynchronizedPropagationList(ReteEvaluator reteEvaluator) {
         this.reteEvaluator = reteEvaluator;
     }
@@ -69,17 +78,22 @@ public class SynchronizedPropagationList implements PropagationList {
         }
     }
 
-    synchronized void internalAddEntry( PropagationEntry entry ) {
-        if ( head == null ) {
-            head = entry;
-            if (firingUntilHalt) {
-                notifyWaitOnRest();
+    void internalAddEntry( PropagationEntry entry ) {
+        lock.lock();
+        try {
+            if ( head == null ) {
+                head = entry;
+                if (firingUntilHalt) {
+                    rest.signalAll();
+                }
+            } else {
+                tail.setNext( entry );
             }
-        } else {
-            tail.setNext( entry );
+            tail = entry;
+            hasEntriesDeferringExpiration |= entry.defersExpiration();
+        } finally {
+            lock.unlock();
         }
-        tail = entry;
-        hasEntriesDeferringExpiration |= entry.defersExpiration();
     }
 
     @Override
@@ -108,43 +122,86 @@ public class SynchronizedPropagationList implements PropagationList {
     }
 
     @Override
-    public synchronized PropagationEntry takeAll() {
-        PropagationEntry currentHead = head;
-        head = null;
-        tail = null;
-        hasEntriesDeferringExpiration = false;
-        return currentHead;
+    public PropagationEntry takeAll() {
+        lock.lock();
+        try {
+            PropagationEntry currentHead = head;
+            head = null;
+            tail = null;
+            hasEntriesDeferringExpiration = false;
+            return currentHead;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public PropagationEntry takeAllOrWaitOnRest(BooleanSupplier waitCondition) {
+        lock.lock();
+        try {
+            PropagationEntry currentHead = takeAll();
+            if (currentHead == null && waitCondition.getAsBoolean()) {
+                waitOnRest();
+                currentHead = takeAll();
+            }
+            return currentHead;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized void reset() {
-        head = null;
-        tail = null;
-        disposed = false;
+    public void reset() {
+        lock.lock();
+        try {
+            head = null;
+            tail = null;
+            disposed = false;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized boolean isEmpty() {
-        return head == null;
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return head == null;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void waitOnRest() {
+    public void waitOnRest() {
+        lock.lock();
         try {
-            wait();
+            rest.await();
         } catch (InterruptedException e) {
             // do nothing
+        } finally {
+            lock.unlock();
         }
     }
 
 
     @Override
-    public synchronized void notifyWaitOnRest() {
-        notifyAll();
+    public void notifyWaitOnRest() {
+        lock.lock();
+        try {
+            rest.signalAll();
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized Iterator<PropagationEntry> iterator() {
-        return new PropagationEntryIterator(head);
+    public Iterator<PropagationEntry> iterator() {
+        lock.lock();
+        try {
+            return new PropagationEntryIterator(head);
+        } finally {
+            lock.unlock();
+        }
     }
 
     public static class PropagationEntryIterator implements Iterator<PropagationEntry> {
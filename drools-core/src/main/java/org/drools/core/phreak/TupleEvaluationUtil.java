@@ -47,6 +47,13 @@ public class TupleEvaluationUtil {
             return false;
         }
 
+        ForceFlushBatch batch = pmem.getActualActivationsManager( reteEvaluator ).getForceFlushBatch();
+        if ( batch != null ) {
+            // the tuple is evaluated together with the others collected in the batch when it is closed
+            batch.add( pmem, sm, leftTuple, stagedType );
+            return true;
+        }
+
         forceFlushLeftTuple( pmem, sm, reteEvaluator, createLeftTupleTupleSets(leftTuple, stagedType) );
         forceFlushWhenRiaNode(reteEvaluator, pmem);
         return true;
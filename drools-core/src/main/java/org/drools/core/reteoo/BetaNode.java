@@ -25,6 +25,7 @@ import org.drools.base.reteoo.NodeTypeEnums;
 import org.drools.core.RuleBaseConfiguration;
 import org.drools.base.base.ObjectType;
 import org.drools.core.common.BetaConstraints;
+import org.drools.core.common.CompiledBetaConstraints;
 import org.drools.core.common.DoubleBetaConstraints;
 import org.drools.core.common.DoubleNonIndexSkipBetaConstraints;
 import org.drools.core.common.InternalFactHandle;
@@ -382,7 +383,7 @@ public abstract class BetaNode extends LeftTupleSource
         if ( this.indexedUnificationJoin ) {
             return (RightTuple) it.next( null );
         } else {
-            return (RightTuple) memory.getFirst(leftTuple);
+            return (RightTuple) memory.getFirst(leftTuple, it);
         }
     }
 
@@ -407,7 +408,7 @@ public abstract class BetaNode extends LeftTupleSource
             if ( this.indexedUnificationJoin ) {
                 return (LeftTuple) it.next(null );
             } else {
-                return (LeftTuple) memory.getFirst(rightTuple);
+                return (LeftTuple) memory.getFirst(rightTuple, it);
             }
         }
     }
@@ -452,6 +453,17 @@ public abstract class BetaNode extends LeftTupleSource
         this.constraints = constraints.cloneIfInUse();
     }
 
+    /**
+     * Replaces the constraints of this node with the ones generated for it by the beta network compiler
+     */
+    public void setCompiledConstraints(CompiledBetaConstraints compiledConstraints) {
+        this.constraints = compiledConstraints;
+    }
+
+    private static BetaConstraints uncompiled(BetaConstraints constraints) {
+        return constraints instanceof CompiledBetaConstraints ? ((CompiledBetaConstraints) constraints).getDelegate() : constraints;
+    }
+
     public void networkUpdated(UpdateContext updateContext) {
         updateContext.startVisitNode( leftInput );
         rightInput.networkUpdated( updateContext );
@@ -556,7 +568,7 @@ public abstract class BetaNode extends LeftTupleSource
 
         BetaNode other = (BetaNode) object;
         return this.getClass() == other.getClass() &&
-               this.constraints.equals( other.constraints ) &&
+               uncompiled( this.constraints ).equals( uncompiled( other.constraints ) ) &&
                this.rightInputIsPassive == other.rightInputIsPassive &&
                Objects.equals(this.leftListenedProperties, other.leftListenedProperties) &&
                Objects.equals(this.rightListenedProperties, other.rightListenedProperties) &&
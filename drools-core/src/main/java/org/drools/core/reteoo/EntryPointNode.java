@@ -196,7 +196,7 @@ public class EntryPointNode extends ObjectSource implements ObjectSink {
             // of the different agendas
             PropagationEntry.Insert.execute( handle, context, reteEvaluator, objectTypeConf );
         } else {
-            reteEvaluator.addPropagation( new PropagationEntry.Insert( handle, context, reteEvaluator, objectTypeConf ) );
+            reteEvaluator.getActivationsManager().addInsertPropagation( handle, context, reteEvaluator, objectTypeConf );
         }
     }
 
@@ -210,7 +210,7 @@ public class EntryPointNode extends ObjectSource implements ObjectSink {
         }
 
         if (reteEvaluator.isThreadSafe()) {
-            reteEvaluator.addPropagation( new PropagationEntry.Update( handle, pctx, objectTypeConf ) );
+            reteEvaluator.getActivationsManager().addUpdatePropagation( handle, pctx, objectTypeConf );
         } else {
             PropagationEntry.Update.execute( handle, pctx, objectTypeConf, reteEvaluator );
         }
@@ -294,7 +294,7 @@ public class EntryPointNode extends ObjectSource implements ObjectSink {
             log.trace( "Delete {}", handle.toString()  );
         }
 
-        reteEvaluator.addPropagation(new PropagationEntry.Delete(this, handle, context, objectTypeConf));
+        reteEvaluator.getActivationsManager().addDeletePropagation(this, handle, context, objectTypeConf);
     }
 
     public void immediateDeleteObject(InternalFactHandle handle, PropagationContext context,
@@ -41,6 +41,14 @@ public interface TupleMemory {
      * the same as the context fact.
      */
     Tuple getFirst( Tuple tuple );
+
+    /**
+     * Returns the first Tuple matching the given one, also allowing the given FastIterator, obtained from this memory,
+     * to stop when the following tuples cannot match it anymore, like when a range index is bounded on both sides.
+     */
+    default Tuple getFirst( Tuple tuple, FastIterator<Tuple> it ) {
+        return getFirst( tuple );
+    }
     
     void removeAdd( Tuple tuple );
 
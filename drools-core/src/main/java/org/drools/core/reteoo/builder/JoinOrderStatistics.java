@@ -0,0 +1,300 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.reteoo.builder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.drools.base.base.ClassObjectType;
+import org.drools.base.rule.Declaration;
+import org.drools.base.rule.GroupElement;
+import org.drools.base.rule.Pattern;
+import org.drools.base.rule.RuleConditionElement;
+import org.kie.api.runtime.rule.EntryPoint;
+import org.kie.api.runtime.rule.RuleRuntime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.drools.util.Config.getConfig;
+
+/**
+ * The number of facts of each class observed in a session, used when building the network to reorder the patterns
+ * of a rule, so the ones matching fewer facts are joined first and the intermediate left tuples are kept as few as possible.
+ * A pattern joined to the ones already placed is always preferred to a pattern unrelated to them, so a small unrelated
+ * pattern isn't moved ahead as a cross product.
+ *
+ * The statistics are collected from a running session and stored in a properties file. When the drools.joinOrder.statistics
+ * system property points to that file, the rules of the KieBases built afterwards have their patterns reordered. Only
+ * the consecutive plain patterns of a rule are reordered, and a pattern is never moved before the patterns declaring
+ * the variables it uses, so the reordering doesn't change the matches of a rule, but it can change the order in which
+ * the matches having the same salience are fired. Since only the relative order of the counts matters,
+ * {@link #hasDrifted(JoinOrderStatistics)} tells when the network built with some statistics would be different
+ * and then is worth rebuilding.
+ */
+public class JoinOrderStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(JoinOrderStatistics.class);
+
+    public static final String JOIN_ORDER_STATISTICS_PROPERTY = "drools.joinOrder.statistics";
+
+    private final Map<String, Long> factCounts;
+
+    public JoinOrderStatistics() {
+        this(new HashMap<>());
+    }
+
+    private JoinOrderStatistics(Map<String, Long> factCounts) {
+        this.factCounts = factCounts;
+    }
+
+    /**
+     * Counts the facts of each class currently in all the entry points of the given session.
+     * This iterates all the facts, so it is meant to be used once in a while, for example at the end of a batch.
+     */
+    public static JoinOrderStatistics collect(RuleRuntime ruleRuntime) {
+        JoinOrderStatistics statistics = new JoinOrderStatistics();
+        for (EntryPoint entryPoint : ruleRuntime.getEntryPoints()) {
+            for (Object fact : entryPoint.getObjects()) {
+                statistics.factCounts.merge(fact.getClass().getName(), 1L, Long::sum);
+            }
+        }
+        return statistics;
+    }
+
+    static JoinOrderStatistics fromConfig() {
+        String file = getConfig(JOIN_ORDER_STATISTICS_PROPERTY);
+        if (file == null) {
+            return null;
+        }
+        try {
+            return load(Paths.get(file));
+        } catch (UncheckedIOException e) {
+            logger.warn("Cannot read the join order statistics from {}, the patterns will be joined in the order they are written", file, e);
+            return null;
+        }
+    }
+
+    public static JoinOrderStatistics load(Path path) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, Long> factCounts = new HashMap<>();
+        for (String className : properties.stringPropertyNames()) {
+            factCounts.put(className, Long.parseLong(properties.getProperty(className).trim()));
+        }
+        return new JoinOrderStatistics(factCounts);
+    }
+
+    public void store(Path path) {
+        Properties properties = new Properties();
+        factCounts.forEach((className, count) -> properties.setProperty(className, Long.toString(count)));
+        try (OutputStream out = Files.newOutputStream(path)) {
+            properties.store(out, "Number of facts by class");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public JoinOrderStatistics setFactCount(String className, long count) {
+        factCounts.put(className, count);
+        return this;
+    }
+
+    public long getFactCount(String className) {
+        return factCounts.getOrDefault(className, 0L);
+    }
+
+    public Map<String, Long> getFactCounts() {
+        return Collections.unmodifiableMap(factCounts);
+    }
+
+    /**
+     * Returns true if the given statistics order any couple of classes differently from these ones,
+     * so the patterns of some rules could be reordered differently
+     */
+    public boolean hasDrifted(JoinOrderStatistics other) {
+        Set<String> classNames = new HashSet<>(factCounts.keySet());
+        classNames.addAll(other.factCounts.keySet());
+        List<String> names = new ArrayList<>(classNames);
+        for (int i = 0; i < names.size(); i++) {
+            for (int j = i + 1; j < names.size(); j++) {
+                int thisOrder = Long.compare(getFactCount(names.get(i)), getFactCount(names.get(j)));
+                int otherOrder = Long.compare(other.getFactCount(names.get(i)), other.getFactCount(names.get(j)));
+                if (thisOrder != otherOrder) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reorders each run of consecutive plain patterns in the given AND so the patterns matching fewer facts come first,
+     * among the ones joined to the patterns already placed, while keeping each pattern after the ones declaring
+     * the variables it requires
+     */
+    void reorderPatterns(GroupElement and) {
+        List<RuleConditionElement> children = and.getChildren();
+        int runStart = 0;
+        for (int i = 0; i <= children.size(); i++) {
+            if (i == children.size() || !isReorderable(children.get(i))) {
+                if (i - runStart > 1) {
+                    reorderRun(children.subList(runStart, i));
+                }
+                runStart = i + 1;
+            }
+        }
+    }
+
+    private static boolean isReorderable(RuleConditionElement element) {
+        if (!(element instanceof Pattern)) {
+            return false;
+        }
+        Pattern pattern = (Pattern) element;
+        return pattern.getSource() == null && !pattern.isPassive() && !pattern.hasXPath() &&
+                pattern.getObjectType() instanceof ClassObjectType && !pattern.getObjectType().isTemplate() &&
+                !ClassObjectType.InitialFact_ObjectType.equals(pattern.getObjectType());
+    }
+
+    private void reorderRun(List<RuleConditionElement> run) {
+        List<Pattern> remaining = new ArrayList<>();
+        Map<Pattern, Long> counts = new HashMap<>();
+        for (RuleConditionElement element : run) {
+            Pattern pattern = (Pattern) element;
+            remaining.add(pattern);
+            counts.put(pattern, estimateFactCount(pattern));
+        }
+
+        Set<String> runDeclarations = new HashSet<>();
+        for (Pattern pattern : remaining) {
+            runDeclarations.addAll(pattern.getDeclarations().keySet());
+        }
+
+        // the patterns joined to at least another one of the run
+        Set<Pattern> connected = new HashSet<>();
+        for (Pattern pattern : remaining) {
+            for (Pattern other : remaining) {
+                if (pattern != other && isJoined(pattern, other)) {
+                    connected.add(pattern);
+                }
+            }
+        }
+
+        Set<String> placedDeclarations = new HashSet<>();
+        List<Pattern> ordered = new ArrayList<>(remaining.size());
+        while (!remaining.isEmpty()) {
+            Pattern next = null;
+            int nextRank = 0;
+            for (Pattern pattern : remaining) {
+                if (!isReady(pattern, runDeclarations, placedDeclarations)) {
+                    continue;
+                }
+                int rank = rank(pattern, ordered, connected);
+                if (next == null || rank < nextRank || (rank == nextRank && counts.get(pattern) < counts.get(next))) {
+                    next = pattern;
+                    nextRank = rank;
+                }
+            }
+            if (next == null) {
+                // unresolvable dependencies, keep the original order
+                return;
+            }
+            remaining.remove(next);
+            ordered.add(next);
+            placedDeclarations.addAll(next.getDeclarations().keySet());
+        }
+
+        for (int i = 0; i < ordered.size(); i++) {
+            run.set(i, ordered.get(i));
+        }
+    }
+
+    /**
+     * Returns 0 for a pattern joined to the placed ones, 1 for a pattern only joined to the ones not placed yet,
+     * and 2 for a pattern not joined to any other one of the run, that is better joined last
+     */
+    private static int rank(Pattern pattern, List<Pattern> placed, Set<Pattern> connected) {
+        for (Pattern other : placed) {
+            if (isJoined(pattern, other)) {
+                return 0;
+            }
+        }
+        return connected.contains(pattern) ? 1 : 2;
+    }
+
+    private static boolean isJoined(Pattern pattern, Pattern other) {
+        return requires(pattern, other) || requires(other, pattern);
+    }
+
+    private static boolean requires(Pattern pattern, Pattern declaring) {
+        for (Declaration declaration : pattern.getRequiredDeclarations()) {
+            String identifier = declaration.getIdentifier();
+            if (declaring.getDeclarations().containsKey(identifier) && !pattern.getDeclarations().containsKey(identifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isReady(Pattern pattern, Set<String> runDeclarations, Set<String> placedDeclarations) {
+        for (Declaration declaration : pattern.getRequiredDeclarations()) {
+            String identifier = declaration.getIdentifier();
+            if (runDeclarations.contains(identifier) && !placedDeclarations.contains(identifier) &&
+                    !pattern.getDeclarations().containsKey(identifier)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long estimateFactCount(Pattern pattern) {
+        Class<?> patternClass = ((ClassObjectType) pattern.getObjectType()).getClassType();
+        long count = 0;
+        for (Map.Entry<String, Long> entry : factCounts.entrySet()) {
+            if (entry.getKey().equals(patternClass.getName()) || isSubclass(entry.getKey(), patternClass)) {
+                count += entry.getValue();
+            }
+        }
+        return count;
+    }
+
+    private static boolean isSubclass(String className, Class<?> patternClass) {
+        if (patternClass == Object.class) {
+            return true;
+        }
+        try {
+            return patternClass.isAssignableFrom(Class.forName(className, false, patternClass.getClassLoader()));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
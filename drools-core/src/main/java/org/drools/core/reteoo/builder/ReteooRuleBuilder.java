@@ -59,8 +59,11 @@ public class ReteooRuleBuilder implements RuleBuilder {
 
     protected BuildUtils utils;
 
+    private final JoinOrderStatistics joinOrderStatistics;
+
     public ReteooRuleBuilder() {
         this.utils = new BuildUtils();
+        this.joinOrderStatistics = JoinOrderStatistics.fromConfig();
 
         this.utils.addBuilder( GroupElement.class,
                                new GroupElementBuilder() );
@@ -116,6 +119,12 @@ public class ReteooRuleBuilder implements RuleBuilder {
         // transform rule and gets the array of subrules
         final GroupElement[] subrules = rule.getTransformedLhs( LogicTransformer.getInstance(), kBase.getGlobals() );
 
+        if (joinOrderStatistics != null && !rule.isQuery()) {
+            for (GroupElement subrule : subrules) {
+                joinOrderStatistics.reorderPatterns( subrule );
+            }
+        }
+
         for (int i = 0; i < subrules.length; i++) {
             // creates a clean build context for each subrule
             final BuildContext context = new BuildContext( kBase, workingMemories );
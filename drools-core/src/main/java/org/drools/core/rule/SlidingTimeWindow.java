@@ -29,6 +29,7 @@ import org.drools.core.common.PhreakPropagationContextFactory;
 import org.drools.core.common.ReteEvaluator;
 import org.drools.core.common.WorkingMemoryAction;
 import org.drools.core.marshalling.MarshallerReaderContext;
+import org.drools.core.phreak.ForceFlushBatch;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.reteoo.ObjectTypeNode;
 import org.drools.core.reteoo.WindowNode;
@@ -170,14 +171,22 @@ public class SlidingTimeWindow
         SlidingTimeWindowContext queue = (SlidingTimeWindowContext) context;
 
         DefaultEventHandle handle = queue.peek();
-        while ( handle != null && isExpired( currentTime, handle ) ) {
-            queue.remove();
-            if( handle.isValid()) {
-                // if not expired yet, expire it
-                final PropagationContext expiresPctx = PhreakPropagationContextFactory.createPropagationContextForFact(reteEvaluator, handle, PropagationContext.Type.EXPIRATION);
-                ObjectTypeNode.doRetractObject(handle, expiresPctx, reteEvaluator);
+        if ( handle != null && isExpired( currentTime, handle ) ) {
+            // all the events falling out of the window are retracted together and evaluated as a single batch
+            ForceFlushBatch flushBatch = ForceFlushBatch.open( reteEvaluator );
+            try {
+                do {
+                    queue.remove();
+                    if ( handle.isValid() ) {
+                        // if not expired yet, expire it
+                        final PropagationContext expiresPctx = PhreakPropagationContextFactory.createPropagationContextForFact(reteEvaluator, handle, PropagationContext.Type.EXPIRATION);
+                        ObjectTypeNode.doRetractObject(handle, expiresPctx, reteEvaluator);
+                    }
+                    handle = queue.peek();
+                } while ( handle != null && isExpired( currentTime, handle ) );
+            } finally {
+                ForceFlushBatch.close( flushBatch, reteEvaluator );
             }
-            handle = queue.peek();
         }
         // update next expiration time
         updateNextExpiration( handle, reteEvaluator, queue, nodeId );
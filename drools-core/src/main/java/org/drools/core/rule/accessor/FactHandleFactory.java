@@ -74,6 +74,21 @@ public interface FactHandleFactory {
     long getNextId();
 
     long getNextRecency();
+
+    /**
+     * Reserves a block of count consecutive ids, so the handles of a batch of facts can be created without
+     * contending on the id generator for each of them.
+     *
+     * @return the first id of the block, or -1 if the ids are being recycled and must be taken one by one
+     */
+    long reserveIds(int count);
+
+    /**
+     * Reserves a block of count consecutive recencies.
+     *
+     * @return the first recency of the block
+     */
+    long reserveRecencies(int count);
     
     void clear(long id, long counter);
 
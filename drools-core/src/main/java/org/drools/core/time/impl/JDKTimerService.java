@@ -23,6 +23,7 @@ import org.drools.base.time.JobHandle;
 import org.drools.core.time.TimerService;
 import org.drools.base.time.Trigger;
 import org.kie.api.time.SessionClock;
+import org.kie.internal.concurrent.ExecutorProviderFactory;
 
 import java.util.Collection;
 import java.util.Date;
@@ -53,7 +54,7 @@ public class JDKTimerService implements TimerService, SessionClock, InternalSche
 
     public JDKTimerService(int size) {
         this.size = size;
-        this.scheduler = new ScheduledThreadPoolExecutor(size);
+        this.scheduler = ExecutorProviderFactory.getExecutorProvider().newScheduledThreadPool(size);
         this.idCounter = new AtomicLong(0L);
     }
 
@@ -75,7 +76,7 @@ public class JDKTimerService implements TimerService, SessionClock, InternalSche
     public void reset() {
         if (idCounter.get() != 0L) {
             this.scheduler.shutdownNow();
-            this.scheduler = new ScheduledThreadPoolExecutor( size );
+            this.scheduler = ExecutorProviderFactory.getExecutorProvider().newScheduledThreadPool( size );
             this.idCounter.set( 0L );
         }
     }
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel holding TimerJobInstances bucketed by the tick of their next fire time.
+ *
+ * Level 0 has a slot for each tick, while each slot of level n covers all the slots of level n - 1, so a job is put in
+ * the lowest level where its tick and the current one only differ in the bits of that level. When the current tick reaches
+ * the start of a slot of an upper level, the jobs of that slot are cascaded to the lower levels, and all the jobs of a
+ * level 0 slot are expired together when the current tick reaches it. Adding and expiring a job are then constant time
+ * operations, and the slots are arrays of jobs, so no node is allocated per job. Canceled jobs are lazily discarded.
+ *
+ * This class is not thread safe.
+ */
+public class TimingWheel {
+
+    private static final int DEFAULT_WHEEL_BITS = 8;
+
+    private final long tickMillis;
+    private final int wheelBits;
+    private final int wheelMask;
+
+    private final Bucket[][] levels;
+    private final int[] levelSizes;
+
+    private long currentTick;
+    private int size;
+    private int canceled;
+
+    public TimingWheel(long tickMillis, long currentTime) {
+        this(tickMillis, DEFAULT_WHEEL_BITS, currentTime);
+    }
+
+    public TimingWheel(long tickMillis, int wheelBits, long currentTime) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("The tick of a timing wheel must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.wheelBits = wheelBits;
+        this.wheelMask = (1 << wheelBits) - 1;
+        int levelsNr = (Long.SIZE - 1 + wheelBits - 1) / wheelBits;
+        this.levels = new Bucket[levelsNr][];
+        this.levelSizes = new int[levelsNr];
+        this.currentTick = currentTime / tickMillis;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds the given job, unless its fire time is already expired
+     *
+     * @return false if the fire time of the job is not after the current tick, so it has to be executed immediately
+     */
+    public boolean add(TimerJobInstance job, long fireTime) {
+        long tick = fireTime / tickMillis + (fireTime % tickMillis == 0 ? 0 : 1);
+        if (tick <= currentTick) {
+            return false;
+        }
+        addToLevel(job, tick);
+        size++;
+        return true;
+    }
+
+    private void addToLevel(TimerJobInstance job, long tick) {
+        int level = 0;
+        while (level < levels.length - 1 && ((tick ^ currentTick) >>> (wheelBits * (level + 1))) != 0) {
+            level++;
+        }
+        int slot = (int) (tick >>> (wheelBits * level)) & wheelMask;
+        Bucket[] buckets = levels[level];
+        if (buckets == null) {
+            buckets = new Bucket[wheelMask + 1];
+            levels[level] = buckets;
+        }
+        Bucket bucket = buckets[slot];
+        if (bucket == null) {
+            bucket = new Bucket();
+            buckets[slot] = bucket;
+        }
+        bucket.add(job, tick);
+        levelSizes[level]++;
+    }
+
+    /**
+     * Advances the wheel up to the given time, passing to the given consumer all the jobs expired in the meanwhile,
+     * in the order of their ticks. The canceled jobs are discarded.
+     */
+    public void advanceTo(long time, Consumer<TimerJobInstance> expiredJobs) {
+        long targetTick = time / tickMillis;
+        while (size > 0) {
+            long nextTick = nextTick();
+            if (nextTick > targetTick) {
+                break;
+            }
+            currentTick = nextTick;
+            for (int level = levels.length - 1; level > 0; level--) {
+                if (levelSizes[level] > 0 && (currentTick & ((1L << (wheelBits * level)) - 1)) == 0) {
+                    cascade(level);
+                }
+            }
+            expire(expiredJobs);
+        }
+        if (targetTick > currentTick) {
+            currentTick = targetTick;
+        }
+    }
+
+    /**
+     * Returns the time of the next tick where a job has to be expired or cascaded from an upper level,
+     * or -1 if there isn't any job
+     */
+    public long nextTickTime() {
+        return size == 0 ? -1 : nextTick() * tickMillis;
+    }
+
+    private long nextTick() {
+        for (int level = 0; level < levels.length; level++) {
+            if (levelSizes[level] == 0) {
+                continue;
+            }
+            int shift = wheelBits * level;
+            int currentSlot = (int) (currentTick >>> shift) & wheelMask;
+            Bucket[] buckets = levels[level];
+            for (int slot = currentSlot + 1; slot <= wheelMask; slot++) {
+                if (buckets[slot] != null && buckets[slot].size > 0) {
+                    long upperBits = shift + wheelBits >= Long.SIZE ? 0 : (currentTick >>> (shift + wheelBits)) << (shift + wheelBits);
+                    return upperBits | ((long) slot << shift);
+                }
+            }
+        }
+        throw new IllegalStateException("Inconsistent timing wheel: " + size + " jobs not found");
+    }
+
+    private void cascade(int level) {
+        int slot = (int) (currentTick >>> (wheelBits * level)) & wheelMask;
+        Bucket bucket = levels[level][slot];
+        if (bucket == null || bucket.size == 0) {
+            return;
+        }
+        TimerJobInstance[] jobs = bucket.jobs;
+        long[] ticks = bucket.ticks;
+        int bucketSize = bucket.size;
+        levelSizes[level] -= bucketSize;
+        levels[level][slot] = null;
+        for (int i = 0; i < bucketSize; i++) {
+            if (jobs[i].getJobHandle().isCancel()) {
+                size--;
+                discardCanceled();
+            } else {
+                addToLevel(jobs[i], ticks[i]);
+            }
+        }
+    }
+
+    private void expire(Consumer<TimerJobInstance> expiredJobs) {
+        int slot = (int) currentTick & wheelMask;
+        Bucket[] buckets = levels[0];
+        Bucket bucket = buckets != null ? buckets[slot] : null;
+        if (bucket == null || bucket.size == 0) {
+            return;
+        }
+        int bucketSize = bucket.size;
+        TimerJobInstance[] jobs = bucket.jobs;
+        // the bucket is detached before running the jobs, since they could reschedule themselves
+        buckets[slot] = null;
+        levelSizes[0] -= bucketSize;
+        size -= bucketSize;
+        for (int i = 0; i < bucketSize; i++) {
+            if (jobs[i].getJobHandle().isCancel()) {
+                discardCanceled();
+            } else {
+                expiredJobs.accept(jobs[i]);
+            }
+        }
+    }
+
+    /**
+     * Notifies that a job in the wheel has been canceled, purging all the canceled jobs when they are the majority
+     */
+    public void jobCanceled() {
+        if (++canceled > 1000 && canceled > size / 2) {
+            purgeCanceledJobs();
+        }
+    }
+
+    private void discardCanceled() {
+        if (canceled > 0) {
+            canceled--;
+        }
+    }
+
+    private void purgeCanceledJobs() {
+        for (int level = 0; level < levels.length; level++) {
+            Bucket[] buckets = levels[level];
+            if (buckets == null) {
+                continue;
+            }
+            for (Bucket bucket : buckets) {
+                if (bucket != null) {
+                    int removed = bucket.removeCanceled();
+                    levelSizes[level] -= removed;
+                    size -= removed;
+                }
+            }
+        }
+        canceled = 0;
+    }
+
+    public void clear() {
+        Arrays.fill(levels, null);
+        Arrays.fill(levelSizes, 0);
+        size = 0;
+        canceled = 0;
+    }
+
+    private static class Bucket {
+
+        private TimerJobInstance[] jobs = new TimerJobInstance[4];
+        private long[] ticks = new long[4];
+        private int size;
+
+        void add(TimerJobInstance job, long tick) {
+            if (size == jobs.length) {
+                jobs = Arrays.copyOf(jobs, size * 2);
+                ticks = Arrays.copyOf(ticks, size * 2);
+            }
+            jobs[size] = job;
+            ticks[size] = tick;
+            size++;
+        }
+
+        int removeCanceled() {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!jobs[i].getJobHandle().isCancel()) {
+                    jobs[kept] = jobs[i];
+                    ticks[kept] = ticks[i];
+                    kept++;
+                }
+            }
+            Arrays.fill(jobs, kept, size, null);
+            int removed = size - kept;
+            size = kept;
+            return removed;
+        }
+    }
+}
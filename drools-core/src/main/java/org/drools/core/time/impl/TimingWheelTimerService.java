@@ -0,0 +1,185 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.drools.base.time.JobHandle;
+import org.drools.base.time.Trigger;
+import org.drools.core.time.InternalSchedulerService;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.TimerService;
+import org.kie.api.time.SessionClock;
+import org.kie.internal.concurrent.ExecutorProviderFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.drools.util.Config.getConfig;
+
+/**
+ * A realtime TimerService keeping the scheduled jobs in a hierarchical TimingWheel instead of the priority queue
+ * of a ScheduledThreadPoolExecutor, so scheduling a job, like the expiration of an event, is a constant time operation
+ * that doesn't allocate any future, and all the jobs falling in the same tick are expired together.
+ *
+ * A single thread wakes up only at the ticks where there is something to expire or to cascade between the levels
+ * of the wheel. The length of the tick, and then the precision of the timers, is configured through the
+ * drools.timingWheel.tickMillis system property and defaults to 1 millisecond.
+ */
+public class TimingWheelTimerService implements TimerService, SessionClock, InternalSchedulerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheelTimerService.class);
+
+    public static final String TICK_MILLIS_PROPERTY = "drools.timingWheel.tickMillis";
+
+    private final AtomicLong idCounter = new AtomicLong(0L);
+
+    private final TimingWheel wheel;
+
+    private ScheduledThreadPoolExecutor scheduler;
+
+    private ScheduledFuture<?> wakeUp;
+
+    private long wakeUpTime = Long.MAX_VALUE;
+
+    private TimerJobFactoryManager jobFactoryManager = DefaultTimerJobFactoryManager.INSTANCE;
+
+    public TimingWheelTimerService() {
+        this(Long.parseLong(getConfig(TICK_MILLIS_PROPERTY, "1")));
+    }
+
+    public TimingWheelTimerService(long tickMillis) {
+        this.wheel = new TimingWheel(tickMillis, getCurrentTime());
+        this.scheduler = ExecutorProviderFactory.getExecutorProvider().newScheduledThreadPool(1);
+    }
+
+    @Override
+    public void setTimerJobFactoryManager(TimerJobFactoryManager timerJobFactoryManager) {
+        this.jobFactoryManager = timerJobFactoryManager;
+    }
+
+    @Override
+    public TimerJobFactoryManager getTimerJobFactoryManager() {
+        return this.jobFactoryManager;
+    }
+
+    @Override
+    public long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public JobHandle scheduleJob(Job job, JobContext ctx, Trigger trigger) {
+        Date date = trigger.hasNextFireTime();
+        if (date == null) {
+            return null;
+        }
+        DefaultJobHandle jobHandle = new DefaultJobHandle(idCounter.getAndIncrement());
+        TimerJobInstance jobInstance = jobFactoryManager.createTimerJobInstance(job, ctx, trigger, jobHandle, this);
+        jobHandle.setTimerJobInstance(jobInstance);
+        internalSchedule(jobInstance);
+        return jobHandle;
+    }
+
+    @Override
+    public void internalSchedule(TimerJobInstance timerJobInstance) {
+        jobFactoryManager.addTimerJobInstance(timerJobInstance);
+        long fireTime = timerJobInstance.getTrigger().hasNextFireTime().getTime();
+        synchronized (this) {
+            if (!wheel.add(timerJobInstance, fireTime)) {
+                // already expired: it is executed at the next tick, as the ScheduledThreadPoolExecutor would do
+                wheel.add(timerJobInstance, (getCurrentTime() / wheel.getTickMillis() + 1) * wheel.getTickMillis());
+            }
+            scheduleWakeUp();
+        }
+    }
+
+    @Override
+    public synchronized void removeJob(JobHandle jobHandle) {
+        jobHandle.cancel();
+        jobFactoryManager.removeTimerJobInstance(jobHandle);
+        wheel.jobCanceled();
+    }
+
+    private void scheduleWakeUp() {
+        long nextTickTime = wheel.nextTickTime();
+        if (nextTickTime < 0 || nextTickTime >= wakeUpTime || scheduler.isShutdown()) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpTime = nextTickTime;
+        wakeUp = scheduler.schedule(this::expireJobs, Math.max(0, nextTickTime - getCurrentTime()), TimeUnit.MILLISECONDS);
+    }
+
+    private void expireJobs() {
+        List<TimerJobInstance> expired = new ArrayList<>();
+        synchronized (this) {
+            wakeUpTime = Long.MAX_VALUE;
+            wakeUp = null;
+            wheel.advanceTo(getCurrentTime(), expired::add);
+        }
+        for (TimerJobInstance job : expired) {
+            try {
+                ((Callable<Void>) job).call();
+            } catch (Exception e) {
+                logger.error("Exception running timer job: ", e);
+            }
+        }
+        synchronized (this) {
+            scheduleWakeUp();
+        }
+    }
+
+    @Override
+    public synchronized void reset() {
+        if (idCounter.get() != 0L) {
+            scheduler.shutdownNow();
+            scheduler = ExecutorProviderFactory.getExecutorProvider().newScheduledThreadPool(1);
+            wheel.clear();
+            wakeUp = null;
+            wakeUpTime = Long.MAX_VALUE;
+            idCounter.set(0L);
+        }
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        scheduler.shutdownNow();
+        wheel.clear();
+    }
+
+    @Override
+    public synchronized long getTimeToNextJob() {
+        long nextTickTime = wheel.nextTickTime();
+        return nextTickTime < 0 ? -1 : Math.max(0, nextTickTime - getCurrentTime());
+    }
+
+    @Override
+    public Collection<TimerJobInstance> getTimerJobInstances(long id) {
+        return jobFactoryManager.getTimerJobInstances();
+    }
+}
@@ -20,6 +20,7 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Arrays;
 import java.util.Objects;
 
 import org.drools.base.util.FieldIndex;
@@ -396,6 +397,63 @@ public abstract class AbstractHashTable
         }
     }
 
+    public static class MultiCompositeIndex implements Index {
+
+        private static final long serialVersionUID = 510l;
+
+        private FieldIndex[] indexes;
+
+        private int startResult;
+
+        private transient MultiHashEntry hashEntry;
+
+        public MultiCompositeIndex() {
+
+        }
+
+        public MultiCompositeIndex(final FieldIndex[] indexes,
+                                   final int startResult) {
+            this.startResult = startResult;
+            this.indexes = indexes;
+            this.hashEntry = new MultiHashEntry( indexes.length );
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            indexes = (FieldIndex[]) in.readObject();
+            startResult = in.readInt();
+            hashEntry = new MultiHashEntry( indexes.length );
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( indexes );
+            out.writeInt( startResult );
+        }
+
+        @Override
+        public FieldIndex getFieldIndex(int index) {
+            if ( index < 0 || index >= indexes.length ) {
+                throw new IllegalArgumentException( "IndexUtil position " + index + " does not exist" );
+            }
+            return indexes[index];
+        }
+
+        @Override
+        public HashEntry hashCodeOf(Tuple tuple, boolean left) {
+            // the values are written in the reused entry, so no key is allocated unless a new bucket has to be created
+            Object[] values = hashEntry.values;
+            int hashCode = startResult;
+            for ( int i = 0; i < indexes.length; i++ ) {
+                values[i] = indexes[i].indexedValueOf( tuple, left );
+                hashCode = PRIME * hashCode + Objects.hashCode( values[i] );
+            }
+            hashEntry.hashCode = rehash( hashCode );
+            return hashEntry;
+        }
+    }
+
     public void clear() {
         this.table = new TupleList[Math.min( this.table.length,
                                          16 )];
@@ -569,4 +627,50 @@ public abstract class AbstractHashTable
                    '}';
         }
     }
+
+    public static class MultiHashEntry implements HashEntry {
+
+        private int hashCode;
+        private final Object[] values;
+
+        public MultiHashEntry(int size) {
+            this.values = new Object[size];
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if ( this == o ) return true;
+            if ( o == null || getClass() != o.getClass() ) return false;
+            MultiHashEntry that = ( MultiHashEntry ) o;
+            if ( hashCode != that.hashCode || values.length != that.values.length ) {
+                return false;
+            }
+            for ( int i = 0; i < values.length; i++ ) {
+                if ( !Objects.equals( values[i], that.values[i] ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public HashEntry clone() {
+            MultiHashEntry multiEntry = new MultiHashEntry( values.length );
+            multiEntry.hashCode = hashCode;
+            System.arraycopy( values, 0, multiEntry.values, 0, values.length );
+            return multiEntry;
+        }
+
+        @Override
+        public String toString() {
+            return "MultiHashEntry{" +
+                   "hashCode=" + hashCode +
+                   ", values=" + Arrays.toString( values ) +
+                   '}';
+        }
+    }
 }
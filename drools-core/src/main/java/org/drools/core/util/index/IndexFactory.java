@@ -25,6 +25,10 @@ public interface IndexFactory {
     }
 
     private static TupleMemory createRightMemory(RuleBaseConfiguration config, IndexSpec indexSpec) {
+        if ( config.isIndexRightBetaMemory() && indexSpec.getTemporalIndex() != null ) {
+            return IndexMemory.createTemporalMemory(indexSpec, false);
+        }
+
         if ( !config.isIndexRightBetaMemory() || !indexSpec.getConstraintType().isIndexable() || indexSpec.getIndexes().length == 0 ) {
             return new TupleList();
         }
@@ -44,6 +48,9 @@ public interface IndexFactory {
         if (config.isSequential()) {
             return null;
         }
+        if ( config.isIndexLeftBetaMemory() && indexSpec.getTemporalIndex() != null ) {
+            return IndexMemory.createTemporalMemory(indexSpec, true);
+        }
         if ( !config.isIndexLeftBetaMemory() || !indexSpec.getConstraintType().isIndexable() || indexSpec.getIndexes().length == 0 ) {
             return new TupleList();
         }
@@ -61,9 +61,13 @@ public class IndexMemory {
 
     private static ComparisonMemoryType COMPARISON_MEMORY_TYPE; // did not set this as final, as some tests need to change this
 
+    // when enabled, equality joins on a single int, long or enum key use a TupleIndexLongHashTable regardless of the EqualityMemoryType
+    private static boolean PRIMITIVE_EQUALITY_MEMORY; // did not set this as final, as some tests need to change this
+
     static {
         EQUALITY_MEMORY_TYPE = EqualityMemoryType.get(getConfig("org.drools.equalitymemory", DEFAULT_INDEX));
         COMPARISON_MEMORY_TYPE = ComparisonMemoryType.get(getConfig("org.drools.comparisonmemory", DEFAULT_INDEX));
+        PRIMITIVE_EQUALITY_MEMORY = Boolean.parseBoolean(getConfig("org.drools.equalitymemory.primitive", "false"));
     }
 
     public static EqualityMemoryType getEqualityMemoryType() {
@@ -84,7 +88,18 @@ public class IndexMemory {
         ComparisonMemoryFactoryHolder.reinit();
     }
 
+    public static boolean isPrimitiveEqualityMemory() {
+        return PRIMITIVE_EQUALITY_MEMORY;
+    }
+
+    public static void setPrimitiveEqualityMemory(boolean primitiveEqualityMemory) {
+        PRIMITIVE_EQUALITY_MEMORY = primitiveEqualityMemory;
+    }
+
     public static TupleMemory createEqualityMemory(IndexSpec indexSpec, boolean isLeft) {
+        if (PRIMITIVE_EQUALITY_MEMORY && TupleIndexLongHashTable.isIndexable(indexSpec.getIndexes())) {
+            return new TupleIndexLongHashTable(indexSpec.getIndex(0), isLeft);
+        }
         return EqualityMemoryFactoryHolder.INSTANCE.createMemory(indexSpec, isLeft);
     }
 
@@ -92,6 +107,10 @@ public class IndexMemory {
         return ComparisonMemoryFactoryHolder.INSTANCE.createMemory(indexSpec, isLeft);
     }
 
+    public static TupleMemory createTemporalMemory(IndexSpec indexSpec, boolean isLeft) {
+        return new TemporalTupleIndexRBTree(indexSpec.getTemporalIndex(), isLeft);
+    }
+
     public interface Factory {
         TupleMemory createMemory(IndexSpec indexSpec, boolean isLeft);
     }
@@ -124,6 +143,10 @@ public class IndexMemory {
 
         @Override
         public TupleMemory createMemory(IndexSpec indexSpec, boolean isLeft) {
+            if (!isLeft && indexSpec.getBoundIndex() != null) {
+                // the bound can be applied only to the right memory, where it is on the same field of the index
+                return new TupleIndexRBTree(indexSpec.getConstraintType(), indexSpec.getIndex(0), indexSpec.getBoundConstraintType(), indexSpec.getBoundIndex(), false);
+            }
             return new TupleIndexRBTree(indexSpec.getConstraintType(), indexSpec.getIndex(0), isLeft);
         }
     }
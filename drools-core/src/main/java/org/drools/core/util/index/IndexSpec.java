@@ -1,9 +1,13 @@
 package org.drools.core.util.index;
 
+import org.drools.base.reteoo.NodeTypeEnums;
 import org.drools.base.rule.IndexableConstraint;
+import org.drools.base.rule.IntervalProviderConstraint;
 import org.drools.base.rule.constraint.BetaNodeFieldConstraint;
 import org.drools.base.util.FieldIndex;
+import org.drools.base.util.TemporalIndex;
 import org.drools.base.util.index.ConstraintTypeOperator;
+import org.drools.base.util.index.IndexUtil;
 import org.drools.core.RuleBaseConfiguration;
 import org.kie.internal.conf.IndexPrecedenceOption;
 
@@ -16,6 +20,13 @@ public class IndexSpec {
     private ConstraintTypeOperator constraintType = ConstraintTypeOperator.UNKNOWN;
     private FieldIndex[] indexes;
 
+    // the comparison on the same field of the range index bounding it on the other side, if any
+    private ConstraintTypeOperator boundConstraintType;
+    private FieldIndex boundIndex;
+
+    // the temporal constraint indexing the events on their timestamps when there isn't any other index
+    private TemporalIndex temporalIndex;
+
     IndexSpec(short nodeType, BetaNodeFieldConstraint[] constraints, RuleBaseConfiguration config) {
         init(nodeType, constraints, config);
     }
@@ -32,6 +43,18 @@ public class IndexSpec {
         return indexes[pos];
     }
 
+    public ConstraintTypeOperator getBoundConstraintType() {
+        return boundConstraintType;
+    }
+
+    public FieldIndex getBoundIndex() {
+        return boundIndex;
+    }
+
+    public TemporalIndex getTemporalIndex() {
+        return temporalIndex;
+    }
+
     private void init(short nodeType, BetaNodeFieldConstraint[] constraints, RuleBaseConfiguration config) {
         int keyDepth = config.getCompositeKeyDepth();
         IndexPrecedenceOption indexPrecedenceOption = config.getIndexPrecedenceOption();
@@ -54,8 +77,42 @@ public class IndexSpec {
             indexes = indexList.toArray(new FieldIndex[indexList.size()]);
 
         } else if (constraintType.isComparison()) {
-            // look for a dual constraint to create a range index
             indexes = new FieldIndex[]{((IndexableConstraint)constraints[firstIndexableConstraint]).getFieldIndex() };
+            if (nodeType == NodeTypeEnums.JoinNode) {
+                // look for a dual constraint to create a range index
+                findBoundConstraint(nodeType, constraints, firstIndexableConstraint, config);
+            }
+
+        } else if (IndexUtil.canHaveTemporalIndex(nodeType, config)) {
+            findTemporalIndex(constraints);
+        }
+    }
+
+    private void findTemporalIndex(BetaNodeFieldConstraint[] constraints) {
+        for (BetaNodeFieldConstraint constraint : constraints) {
+            if (constraint instanceof IntervalProviderConstraint) {
+                temporalIndex = ((IntervalProviderConstraint) constraint).getTemporalIndex();
+                if (temporalIndex != null) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void findBoundConstraint(short nodeType, BetaNodeFieldConstraint[] constraints, int indexedConstraint, RuleBaseConfiguration config) {
+        for (int i = 0; i < constraints.length; i++) {
+            if (i == indexedConstraint || !(constraints[i] instanceof IndexableConstraint)) {
+                continue;
+            }
+            IndexableConstraint indexableConstraint = (IndexableConstraint) constraints[i];
+            ConstraintTypeOperator type = indexableConstraint.getConstraintType();
+            if (type.isComparison() && type.isAscending() != constraintType.isAscending() && !indexableConstraint.isUnification() &&
+                    type.isIndexableForNode(nodeType, indexableConstraint, config) &&
+                    indexableConstraint.getFieldIndex().getRightExtractor().equals(indexes[0].getRightExtractor())) {
+                boundConstraintType = type;
+                boundIndex = indexableConstraint.getFieldIndex();
+                return;
+            }
         }
     }
 
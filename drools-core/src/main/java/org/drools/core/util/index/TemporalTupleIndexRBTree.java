@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util.index;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.drools.base.util.TemporalIndex;
+import org.drools.base.util.index.ConstraintTypeOperator;
+import org.drools.core.reteoo.Tuple;
+
+/**
+ * A range index of the events joined by a temporal constraint, like after[0, 5m], on their timestamps.
+ *
+ * The right tuples are keyed by the timestamp of their event and looked up from the lowest one that can match the left tuple,
+ * stopping after the highest one. The left tuples are keyed by the lowest right timestamp they can match and looked up
+ * from the highest key not greater than the right timestamp, stopping before the lowest one. The temporal constraint is still
+ * evaluated for all the tuples in the range, so it doesn't need to be exact, like for coincides that is indexed only on the starts.
+ */
+public class TemporalTupleIndexRBTree extends TupleIndexRBTree {
+
+    private TemporalIndex temporalIndex;
+
+    public TemporalTupleIndexRBTree() {
+        // constructor for serialisation
+    }
+
+    public TemporalTupleIndexRBTree(TemporalIndex temporalIndex, boolean left) {
+        super(ConstraintTypeOperator.GREATER_OR_EQUAL, null,
+              left ? ConstraintTypeOperator.GREATER_OR_EQUAL : ConstraintTypeOperator.LESS_OR_EQUAL, null, left);
+        this.temporalIndex = temporalIndex;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+        out.writeObject(temporalIndex);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+        temporalIndex = (TemporalIndex) in.readObject();
+    }
+
+    @Override
+    protected Comparable getIndexedValue(Tuple tuple, boolean left) {
+        return left ?
+               add(temporalIndex.getLeftTimestamp(tuple), temporalIndex.getLowerDistance()) :
+               temporalIndex.getRightTimestamp(tuple.getFactHandle());
+    }
+
+    @Override
+    protected Comparable getBound(Tuple tuple) {
+        if (left) {
+            // the key of a left tuple is lower than the highest right timestamp it can match by the width of the range
+            long width = add(temporalIndex.getUpperDistance(), TemporalIndex.negate(temporalIndex.getLowerDistance()));
+            return add(temporalIndex.getRightTimestamp(tuple.getFactHandle()), TemporalIndex.negate(width));
+        }
+        return add(temporalIndex.getLeftTimestamp(tuple), temporalIndex.getUpperDistance());
+    }
+
+    @Override
+    protected Comparable coerceKey(Comparable key) {
+        return key;
+    }
+
+    // saturated, so the open ranges of the temporal operators don't overflow
+    private static long add(long timestamp, long distance) {
+        long result = timestamp + distance;
+        if (((timestamp ^ result) & (distance ^ result)) < 0) {
+            return distance > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return result;
+    }
+}
@@ -84,7 +84,8 @@ public class TupleIndexHashTable extends AbstractHashTable implements TupleMemor
                                                        this.startResult );
                 break;
             default :
-                throw new IllegalArgumentException( "FieldIndexHashTable cannot use an index[] of length  great than 3" );
+                this.index = new MultiCompositeIndex( index,
+                                                      this.startResult );
         }
     }
 
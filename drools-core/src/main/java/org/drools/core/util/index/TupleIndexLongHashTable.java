@@ -0,0 +1,374 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util.index;
+
+import org.drools.base.base.ValueType;
+import org.drools.base.rule.Declaration;
+import org.drools.base.rule.accessor.ReadAccessor;
+import org.drools.base.rule.accessor.TupleValueExtractor;
+import org.drools.base.util.FieldIndex;
+import org.drools.core.reteoo.Tuple;
+import org.drools.core.reteoo.TupleMemory;
+import org.drools.core.util.FastIterator;
+import org.drools.core.util.Iterator;
+import org.drools.core.util.LinkedList;
+
+/**
+ * An equality indexed TupleMemory for a single join key of integral primitive (byte, short, int, long) or enum type.
+ *
+ * Unlike TupleIndexHashTable, which wraps every extracted key in a HashEntry and compares it with equals, this memory
+ * extracts the key as a primitive long (the ordinal for enums) and keeps it in an open addressing table with
+ * linear probing made of a long[] of keys and a parallel array of buckets, so adding, removing and looking up
+ * a tuple neither boxes the key nor allocates a key object.
+ *
+ * Linear probing degrades quickly when the clusters of adjacent entries grow long, so the table is kept at most
+ * half full. Removals use backward shift deletion instead of tombstones: the following entries of the cluster
+ * that would still be reachable from their home slot are moved back into the freed slot, so lookups never have
+ * to skip deleted entries and the table never needs to be rebuilt to purge them.
+ */
+public class TupleIndexLongHashTable implements TupleMemory {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    // enum ordinals are never negative, so a negative key can only represent a null enum
+    private static final long NULL_ENUM_KEY = -1L;
+
+    private final boolean                left;
+
+    private final boolean                enumKey;
+
+    private final ReadAccessor           rightExtractor;
+
+    private final TupleValueExtractor    leftExtractor;
+
+    private long[]                       keys;
+
+    private LongKeyTupleList[]           buckets;
+
+    private int                          mask;
+
+    private int                          threshold;
+
+    private int                          bucketsSize;
+
+    private int                          factSize;
+
+    private transient FullFastIterator   fullFastIterator;
+
+    public TupleIndexLongHashTable(FieldIndex index, boolean left) {
+        this.left = left;
+        this.rightExtractor = index.getRightExtractor();
+        this.leftExtractor = index.getLeftExtractor();
+        this.enumKey = !rightExtractor.getValueType().isIntegerNumber();
+        initTable(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns true if the join described by the given indexes can be stored in a TupleIndexLongHashTable:
+     * a single equality index on a byte, short, int or long field compared with a value of the same type
+     * or on an enum field compared with a declaration of the same enum.
+     */
+    public static boolean isIndexable(FieldIndex[] indexes) {
+        if (indexes.length != 1 || indexes[0].requiresCoercion()) {
+            return false;
+        }
+        ReadAccessor rightExtractor = indexes[0].getRightExtractor();
+        ValueType valueType = rightExtractor.getValueType();
+        if (valueType == ValueType.PBYTE_TYPE || valueType == ValueType.PSHORT_TYPE ||
+            valueType == ValueType.PINTEGER_TYPE || valueType == ValueType.PLONG_TYPE) {
+            return true;
+        }
+        Class<?> rightClass = rightExtractor.getExtractToClass();
+        if (rightClass == null || !rightClass.isEnum()) {
+            return false;
+        }
+        // ordinals can be compared only if the other side is guaranteed to be of the same enum
+        TupleValueExtractor leftExtractor = indexes[0].getLeftExtractor();
+        return leftExtractor instanceof Declaration && ((Declaration) leftExtractor).getDeclarationClass() == rightClass;
+    }
+
+    private void initTable(int capacity) {
+        this.keys = new long[capacity];
+        this.buckets = new LongKeyTupleList[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private long keyOf(Tuple tuple, boolean isLeftTuple) {
+        if (enumKey) {
+            Object value = isLeftTuple ?
+                    leftExtractor.getValue(tuple) :
+                    rightExtractor.getValue(null, tuple.getFactHandle().getObject());
+            return value != null ? ((Enum<?>) value).ordinal() : NULL_ENUM_KEY;
+        }
+        return isLeftTuple ?
+                leftExtractor.getLongValue(null, tuple) :
+                rightExtractor.getLongValue(null, tuple.getFactHandle().getObject());
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int slotOf(long key) {
+        int slot = hash(key) & mask;
+        while (buckets[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private LongKeyTupleList get(long key) {
+        int slot = slotOf(key);
+        return slot >= 0 ? buckets[slot] : null;
+    }
+
+    private LongKeyTupleList getOrCreate(long key) {
+        int slot = hash(key) & mask;
+        while (buckets[slot] != null) {
+            if (keys[slot] == key) {
+                return buckets[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        LongKeyTupleList bucket = new LongKeyTupleList(key);
+        keys[slot] = key;
+        buckets[slot] = bucket;
+        if (++bucketsSize >= threshold) {
+            resize(buckets.length * 2);
+        }
+        return bucket;
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        LongKeyTupleList[] oldBuckets = buckets;
+        initTable(newCapacity);
+        for (int i = 0; i < oldBuckets.length; i++) {
+            if (oldBuckets[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (buckets[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                buckets[slot] = oldBuckets[i];
+            }
+        }
+    }
+
+    private void removeBucket(LongKeyTupleList bucket) {
+        int slot = slotOf(bucket.key);
+        bucketsSize--;
+
+        while (true) {
+            int last = slot;
+            slot = (slot + 1) & mask;
+            while (true) {
+                if (buckets[slot] == null) {
+                    buckets[last] = null;
+                    return;
+                }
+                int ideal = hash(keys[slot]) & mask;
+                if (last <= slot ? last >= ideal || ideal > slot : last >= ideal && ideal > slot) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = keys[slot];
+            buckets[last] = buckets[slot];
+        }
+    }
+
+    @Override
+    public Tuple getFirst(Tuple tuple) {
+        LongKeyTupleList bucket = get(keyOf(tuple, !left));
+        return bucket != null ? bucket.getFirst() : null;
+    }
+
+    @Override
+    public void removeAdd(Tuple tuple) {
+        LongKeyTupleList memory = (LongKeyTupleList) tuple.getMemory();
+        memory.remove(tuple);
+
+        if (keyOf(tuple, left) == memory.key) {
+            // it's the same bucket, so re-use and return
+            memory.add(tuple);
+            return;
+        }
+
+        this.factSize--;
+        if (memory.getFirst() == null) {
+            removeBucket(memory);
+        }
+        add(tuple);
+    }
+
+    @Override
+    public void add(Tuple tuple) {
+        getOrCreate(keyOf(tuple, left)).add(tuple);
+        this.factSize++;
+    }
+
+    @Override
+    public void remove(Tuple tuple) {
+        LongKeyTupleList memory = (LongKeyTupleList) tuple.getMemory();
+        memory.remove(tuple);
+        this.factSize--;
+        if (memory.getFirst() == null) {
+            removeBucket(memory);
+        }
+        tuple.clear();
+    }
+
+    @Override
+    public boolean isIndexed() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return this.factSize;
+    }
+
+    @Override
+    public Iterator<Tuple> iterator() {
+        FullFastIterator it = new FullFastIterator(this);
+        return new FastIterator.IteratorAdapter<>(it, it.next(null));
+    }
+
+    @Override
+    public FastIterator<Tuple> fastIterator() {
+        return LinkedList.fastIterator;
+    }
+
+    @Override
+    public FastIterator<Tuple> fullFastIterator() {
+        if (fullFastIterator == null) {
+            fullFastIterator = new FullFastIterator(this);
+        } else {
+            fullFastIterator.reset();
+        }
+        return fullFastIterator;
+    }
+
+    @Override
+    public FastIterator<Tuple> fullFastIterator(Tuple tuple) {
+        if (fullFastIterator == null) {
+            fullFastIterator = new FullFastIterator(this);
+        }
+        fullFastIterator.resume(tuple);
+        return fullFastIterator;
+    }
+
+    @Override
+    public Tuple[] toArray() {
+        Tuple[] result = new Tuple[this.factSize];
+        int index = 0;
+        for (LongKeyTupleList bucket : this.buckets) {
+            if (bucket != null) {
+                for (Tuple entry = bucket.getFirst(); entry != null; entry = entry.getNext()) {
+                    result[index++] = entry;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public IndexType getIndexType() {
+        return IndexType.EQUAL;
+    }
+
+    @Override
+    public void clear() {
+        initTable(DEFAULT_CAPACITY);
+        this.bucketsSize = 0;
+        this.factSize = 0;
+        this.fullFastIterator = null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        Iterator<Tuple> it = iterator();
+        for (Tuple tuple = it.next(); tuple != null; tuple = it.next()) {
+            builder.append(tuple).append("\n");
+        }
+        return builder.toString();
+    }
+
+    public static class LongKeyTupleList extends TupleList {
+
+        private final long key;
+
+        public LongKeyTupleList(long key) {
+            this.key = key;
+        }
+
+        public long getKey() {
+            return key;
+        }
+    }
+
+    public static class FullFastIterator implements FastIterator<Tuple> {
+        private final TupleIndexLongHashTable hashTable;
+        private int row;
+
+        public FullFastIterator(TupleIndexLongHashTable hashTable) {
+            this.hashTable = hashTable;
+        }
+
+        public void reset() {
+            this.row = 0;
+        }
+
+        public void resume(Tuple tuple) {
+            // row always points to the slot after the current bucket
+            this.row = hashTable.slotOf(((LongKeyTupleList) tuple.getMemory()).key) + 1;
+        }
+
+        @Override
+        public Tuple next(Tuple tuple) {
+            if (tuple != null) {
+                Tuple next = tuple.getNext();
+                if (next != null) {
+                    return next;
+                }
+            }
+
+            LongKeyTupleList[] buckets = hashTable.buckets;
+            while (row < buckets.length) {
+                LongKeyTupleList bucket = buckets[row++];
+                if (bucket != null) {
+                    return bucket.getFirst();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean isFullIterator() {
+            return true;
+        }
+    }
+}
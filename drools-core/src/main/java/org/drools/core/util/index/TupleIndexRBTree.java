@@ -38,13 +38,23 @@ public class TupleIndexRBTree extends AbstractTupleIndexTree implements External
 
     private TupleRBTree<Comparable<Comparable>> tree;
 
+    // a comparison on the indexed field bounding the range on the other side, so the iteration can stop when it is not satisfied
+    private ConstraintTypeOperator boundConstraintType;
+    private FieldIndex boundIndex;
+
     public TupleIndexRBTree() {
         // constructor for serialisation
     }
 
     public TupleIndexRBTree(ConstraintTypeOperator constraintType, FieldIndex index, boolean left) {
+        this(constraintType, index, null, null, left);
+    }
+
+    public TupleIndexRBTree(ConstraintTypeOperator constraintType, FieldIndex index, ConstraintTypeOperator boundConstraintType, FieldIndex boundIndex, boolean left) {
         this.index = index;
         this.constraintType = constraintType;
+        this.boundConstraintType = boundConstraintType;
+        this.boundIndex = boundIndex;
         this.left = left;
         tree = new TupleRBTree<>();
     }
@@ -55,6 +65,8 @@ public class TupleIndexRBTree extends AbstractTupleIndexTree implements External
         out.writeObject( constraintType );
         out.writeInt(factSize);
         out.writeBoolean( left );
+        out.writeObject( boundConstraintType );
+        out.writeObject( boundIndex );
     }
 
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
@@ -63,6 +75,8 @@ public class TupleIndexRBTree extends AbstractTupleIndexTree implements External
         constraintType = (ConstraintTypeOperator) in.readObject();
         factSize = in.readInt();
         left = in.readBoolean();
+        boundConstraintType = (ConstraintTypeOperator) in.readObject();
+        boundIndex = (FieldIndex) in.readObject();
     }
 
     public void add(Tuple tuple) {
@@ -116,6 +130,26 @@ public class TupleIndexRBTree extends AbstractTupleIndexTree implements External
         return getNext(key, true);
     }
 
+    @Override
+    public Tuple getFirst(Tuple tuple, FastIterator<Tuple> it) {
+        if (boundConstraintType == null || !(it instanceof TupleFastIterator)) {
+            return getFirst(tuple);
+        }
+        TupleFastIterator rangeIt = (TupleFastIterator) it;
+        rangeIt.bound = getBound(tuple);
+        Tuple first = getFirst(tuple);
+        return first != null && rangeIt.isInBound(first) ? first : null;
+    }
+
+    /**
+     * Returns the value bounding the keys of the tuples matching the given one, on the opposite side of the indexed constraint
+     */
+    protected Comparable getBound(Tuple tuple) {
+        // the bound is always on the right field, so here the tuple is the left one looking for its matching right tuples
+        Comparable bound = (Comparable) boundIndex.getLeftExtractor().getValue( tuple );
+        return coerceType(boundIndex, tree.root != null ? tree.root.key : null, bound);
+    }
+
     public Iterator<Tuple> iterator() {
         TupleList list = tree.first();
         Tuple firstTuple = list != null ? list.getFirst() : null;
@@ -142,7 +176,7 @@ public class TupleIndexRBTree extends AbstractTupleIndexTree implements External
     }
 
     private Tuple getNextLeft(Comparable key, boolean first) {
-        key = coerceType(index, tree.root != null ? tree.root.key : null, key);
+        key = coerceKey(key);
         Node<Comparable<Comparable>> firstNode;
         switch (constraintType) {
             case LESS_THAN:
@@ -167,7 +201,7 @@ public class TupleIndexRBTree extends AbstractTupleIndexTree implements External
         if (key == null) {
             return null;
         }
-        key = coerceType(index, tree.root != null ? tree.root.key : null, key);
+        key = coerceKey(key);
         Node<Comparable<Comparable>> firstNode;
         switch (constraintType) {
             case LESS_THAN:
@@ -188,6 +222,10 @@ public class TupleIndexRBTree extends AbstractTupleIndexTree implements External
         return firstNode == null ? null : firstNode.getFirst();
     }
 
+    protected Comparable coerceKey(Comparable key) {
+        return coerceType(index, tree.root != null ? tree.root.key : null, key);
+    }
+
     public static Comparable coerceType(FieldIndex index, Comparable treeRootKey, Comparable key) {
         // We don't do dynamic coercion other than Numbers. See IndexUtil.areRangeIndexCompatibleOperands().
         if (index.requiresCoercion() && key != null && treeRootKey != null && !key.getClass().equals(treeRootKey.getClass())) {
@@ -201,8 +239,13 @@ public class TupleIndexRBTree extends AbstractTupleIndexTree implements External
     }
 
     public class TupleFastIterator implements FastIterator<Tuple> {
+
+        private Comparable bound;
+
         public Tuple next(Tuple tuple) {
             if (tuple == null) {
+                // iterating from the first node, so there is no tuple to be bound to
+                bound = null;
                 Node<Comparable<Comparable>> firstNode = tree.first();
                 return firstNode == null ? null : firstNode.getFirst();
             }
@@ -211,7 +254,33 @@ public class TupleIndexRBTree extends AbstractTupleIndexTree implements External
                 return next;
             }
             Comparable key = getLeftIndexedValue(tuple);
-            return getNext(key, false);
+            next = getNext(key, false);
+            return next == null || bound == null || isInBound(next) ? next : null;
+        }
+
+        private boolean isInBound(Tuple tuple) {
+            if (bound == null) {
+                return true;
+            }
+            Comparable key = ((Node<Comparable<Comparable>>) tuple.getMemory()).key;
+            if (key == null) {
+                return true;
+            }
+            // the nodes are iterated moving away from the indexed constraint, so all the ones after the first
+            // not satisfying the bound constraint cannot satisfy it
+            int comparison = key.compareTo(bound);
+            switch (boundConstraintType) {
+                case LESS_THAN:
+                    return comparison < 0;
+                case LESS_OR_EQUAL:
+                    return comparison <= 0;
+                case GREATER_THAN:
+                    return comparison > 0;
+                case GREATER_OR_EQUAL:
+                    return comparison >= 0;
+                default:
+                    return true;
+            }
         }
 
         public boolean isFullIterator() {
@@ -224,6 +293,6 @@ public class TupleIndexRBTree extends AbstractTupleIndexTree implements External
     }
 
     public IndexType getIndexType() {
-        return IndexType.COMPARISON;
+        return boundConstraintType != null ? IndexType.RANGE : IndexType.COMPARISON;
     }
 }
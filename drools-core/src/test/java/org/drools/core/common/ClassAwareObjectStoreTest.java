@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -168,15 +169,26 @@ public class ClassAwareObjectStoreTest {
         return result;
     }
 
-    public ClassAwareObjectStoreTest(boolean isEqualityBehaviour) {
+    private final boolean wasCompactObjectStore = ClassAwareObjectStore.isCompactObjectStore();
+
+    public ClassAwareObjectStoreTest(boolean isEqualityBehaviour, boolean isCompactObjectStore) {
+        // the maps of the store are lazily created, so the flag has to be kept for the whole test
+        ClassAwareObjectStore.setCompactObjectStore(isCompactObjectStore);
         underTest = new ClassAwareObjectStore(isEqualityBehaviour, new ReentrantLock());
     }
 
-    @Parameterized.Parameters
+    @After
+    public void restoreCompactObjectStore() {
+        ClassAwareObjectStore.setCompactObjectStore(wasCompactObjectStore);
+    }
+
+    @Parameterized.Parameters(name = "equality={0}, compact={1}")
     public static Collection<Object[]> ruleBaseConfigurations() {
-        List<Object[]> configurations = new ArrayList<Object[]>(2);
-        configurations.add(new Object[]{true});
-        configurations.add(new Object[]{false});
+        List<Object[]> configurations = new ArrayList<Object[]>(4);
+        configurations.add(new Object[]{true, false});
+        configurations.add(new Object[]{false, false});
+        configurations.add(new Object[]{true, true});
+        configurations.add(new Object[]{false, true});
         return configurations;
     }
 
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FactHandleHashTableTest {
+
+    @Test
+    public void putGetAndRemoveWithResizes() {
+        FactHandleHashTable table = new FactHandleHashTable(false);
+        List<InternalFactHandle> handles = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            InternalFactHandle handle = new DefaultFactHandle(i, "fact" + i);
+            handles.add(handle);
+            assertThat(table.put(handle.getObject(), handle)).isNull();
+        }
+        assertThat(table).hasSize(1000);
+
+        // removing every other entry exercises the backward shift of the colliding entries
+        for (int i = 0; i < 1000; i += 2) {
+            assertThat(table.remove("fact" + i)).isSameAs(handles.get(i));
+        }
+        assertThat(table).hasSize(500);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(table.get("fact" + i)).isEqualTo(i % 2 == 0 ? null : handles.get(i));
+        }
+        assertThat(table.values()).hasSize(500).allMatch(handle -> handle.getId() % 2 == 1);
+        assertThat(table.keySet()).hasSize(500);
+    }
+
+    @Test
+    public void removeAndResizeAfterModifyingEqualityKeyedFacts() {
+        FactHandleHashTable table = new FactHandleHashTable(false);
+        List<MutableFact> facts = new ArrayList<>();
+        List<InternalFactHandle> handles = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            MutableFact fact = new MutableFact(i);
+            InternalFactHandle handle = new DefaultFactHandle(i, fact);
+            facts.add(fact);
+            handles.add(handle);
+            table.put(fact, handle);
+        }
+
+        // the modified facts no longer hash to the slot they have been stored in
+        for (int i = 0; i < 6; i += 2) {
+            facts.get(i).value = 1000 + i;
+        }
+
+        // removing an unmodified fact shifts back the entries of its cluster, modified ones included
+        assertThat(table.remove(facts.get(1))).isSameAs(handles.get(1));
+        // a modified fact can't be found by its current hash, but its handle can
+        assertThat(table.remove(facts.get(2))).isNull();
+        assertThat(table.removeHandle(handles.get(2))).isSameAs(handles.get(2));
+        assertThat(table.removeHandle(handles.get(2))).isNull();
+
+        // resizing rehashes the modified facts on the hash they had when they were put
+        for (int i = 6; i < 100; i++) {
+            MutableFact fact = new MutableFact(i);
+            InternalFactHandle handle = new DefaultFactHandle(i, fact);
+            facts.add(fact);
+            handles.add(handle);
+            table.put(fact, handle);
+        }
+        assertThat(table).hasSize(98);
+
+        for (int i = 0; i < 100; i++) {
+            if (i == 1 || i == 2) {
+                continue;
+            }
+            assertThat(table.removeHandle(handles.get(i))).as("fact " + i).isSameAs(handles.get(i));
+        }
+        assertThat(table).isEmpty();
+        assertThat(table.values()).isEmpty();
+    }
+
+    @Test
+    public void identityTableDoesNotMatchEqualObjects() {
+        FactHandleHashTable table = new FactHandleHashTable(true);
+        String fact = new String("fact");
+        InternalFactHandle handle = new DefaultFactHandle(1, fact);
+        table.put(fact, handle);
+
+        assertThat(table.get(fact)).isSameAs(handle);
+        assertThat(table.get(new String("fact"))).isNull();
+        assertThat(table.remove(new String("fact"))).isNull();
+        assertThat(table.remove(fact)).isSameAs(handle);
+        assertThat(table).isEmpty();
+
+        table.put(fact, handle);
+        assertThat(table.removeHandle(new DefaultFactHandle(2, new String("fact")))).isNull();
+        assertThat(table.removeHandle(handle)).isSameAs(handle);
+        assertThat(table).isEmpty();
+    }
+
+    @Test
+    public void keyMustBeTheObjectOfTheHandle() {
+        FactHandleHashTable table = new FactHandleHashTable(true);
+        assertThatThrownBy(() -> table.put("other", new DefaultFactHandle(1, "fact")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static class MutableFact {
+
+        private int value;
+
+        private MutableFact(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MutableFact && ((MutableFact) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(value);
+        }
+    }
+}
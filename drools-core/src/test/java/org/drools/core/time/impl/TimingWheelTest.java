@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.drools.core.ClockType;
+import org.drools.core.SessionConfiguration;
+import org.drools.core.impl.RuleBaseFactory;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.impl.JDKTimerServiceTest.DelayedTrigger;
+import org.drools.core.time.impl.JDKTimerServiceTest.HelloWorldJob;
+import org.drools.core.time.impl.JDKTimerServiceTest.HelloWorldJobContext;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testJobsExpiredInTickOrder() {
+        long start = 1_000_000L;
+        TimingWheel wheel = new TimingWheel(1, 4, start);
+        Random random = new Random(0);
+        List<Long> fireTimes = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long fireTime = start + 1 + random.nextInt(1_000_000);
+            fireTimes.add(fireTime);
+            assertThat(wheel.add(newJob(i), fireTime)).isTrue();
+        }
+        assertThat(wheel.size()).isEqualTo(10_000);
+
+        List<Long> expired = new ArrayList<>();
+        long time = start;
+        while (!wheel.isEmpty()) {
+            time += random.nextInt(50_000);
+            long now = time;
+            wheel.advanceTo(now, job -> {
+                long fireTime = fireTimes.get((int) job.getJobHandle().getId());
+                assertThat(fireTime).isLessThanOrEqualTo(now);
+                expired.add(fireTime);
+            });
+        }
+        assertThat(expired).hasSize(10_000).isSorted();
+    }
+
+    @Test
+    public void testExpiredJobIsNotAdded() {
+        TimingWheel wheel = new TimingWheel(10, 100);
+        assertThat(wheel.add(newJob(0), 100)).isFalse();
+        assertThat(wheel.add(newJob(1), 105)).isTrue();
+        assertThat(wheel.nextTickTime()).isEqualTo(110);
+
+        List<TimerJobInstance> expired = new ArrayList<>();
+        wheel.advanceTo(109, expired::add);
+        assertThat(expired).isEmpty();
+        wheel.advanceTo(110, expired::add);
+        assertThat(expired).hasSize(1);
+        assertThat(wheel.nextTickTime()).isEqualTo(-1);
+    }
+
+    @Test
+    public void testCanceledJobsAreDiscarded() {
+        TimingWheel wheel = new TimingWheel(1, 0);
+        List<TimerJobInstance> jobs = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            TimerJobInstance job = newJob(i);
+            jobs.add(job);
+            wheel.add(job, 1 + i * 1000L);
+        }
+        for (int i = 0; i < 2000; i++) {
+            jobs.get(i).getJobHandle().cancel();
+            wheel.jobCanceled();
+        }
+        // the canceled jobs have been purged when they became the majority
+        assertThat(wheel.size()).isLessThan(3000);
+
+        List<TimerJobInstance> expired = new ArrayList<>();
+        wheel.advanceTo(Long.MAX_VALUE / 2, expired::add);
+        assertThat(expired).containsExactlyElementsOf(jobs.subList(2000, 3000));
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testTimingWheelTimerService() throws Exception {
+        SessionConfiguration config = RuleBaseFactory.newKnowledgeSessionConfiguration().as(SessionConfiguration.KEY);
+        config.setClockType(ClockType.TIMING_WHEEL_CLOCK);
+        TimerService timeService = config.createTimerService();
+        assertThat(timeService).isInstanceOf(TimingWheelTimerService.class);
+
+        HelloWorldJobContext single = new HelloWorldJobContext("single", timeService);
+        timeService.scheduleJob(new HelloWorldJob(), single, new DelayedTrigger(100));
+        HelloWorldJobContext repeated = new HelloWorldJobContext("repeated", timeService);
+        timeService.scheduleJob(new HelloWorldJob(), repeated, new DelayedTrigger(new long[] { 100, 100, 100 }));
+        Thread.sleep(1000);
+        timeService.shutdown();
+        assertThat(single.getList()).hasSize(1);
+        assertThat(repeated.getList()).hasSize(3);
+    }
+
+    private static TimerJobInstance newJob(long id) {
+        DefaultJobHandle handle = new DefaultJobHandle(id);
+        DefaultTimerJobInstance job = new DefaultTimerJobInstance(null, null, null, handle, null);
+        handle.setTimerJobInstance(job);
+        return job;
+    }
+}
@@ -34,6 +34,7 @@ import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.reteoo.BetaMemory;
 import org.drools.core.util.AbstractHashTable.DoubleCompositeIndex;
 import org.drools.core.util.AbstractHashTable.Index;
+import org.drools.core.util.AbstractHashTable.MultiCompositeIndex;
 import org.junit.Test;
 import org.kie.api.KieBaseConfiguration;
 import org.kie.api.runtime.rule.FactHandle;
@@ -71,6 +72,27 @@ public class IndexUtilTest {
         assertThat(betaMemory.getRightTupleMemory()).isInstanceOf(TupleIndexHashTable.class);
     }
 
+    @Test
+    public void createBetaMemoryWithIntEqualsAndPrimitiveEqualityMemory_shouldBeTupleIndexLongHashTable() {
+        RuleBaseConfiguration config = getRuleBaseConfiguration();
+        FakeBetaNodeFieldConstraint intEqualsConstraint = new FakeBetaNodeFieldConstraint(ConstraintTypeOperator.EQUAL, new FakeReadAccessor(ValueType.PINTEGER_TYPE));
+        FakeBetaNodeFieldConstraint stringEqualsConstraint = new FakeBetaNodeFieldConstraint(ConstraintTypeOperator.EQUAL, new FakeReadAccessor(ValueType.STRING_TYPE));
+        boolean originalPrimitiveEqualityMemory = IndexMemory.isPrimitiveEqualityMemory();
+        try {
+            IndexMemory.setPrimitiveEqualityMemory(true);
+
+            BetaMemory betaMemory = IndexFactory.createBetaMemory(config, NodeTypeEnums.JoinNode, intEqualsConstraint);
+            assertThat(betaMemory.getLeftTupleMemory()).isInstanceOf(TupleIndexLongHashTable.class);
+            assertThat(betaMemory.getRightTupleMemory()).isInstanceOf(TupleIndexLongHashTable.class);
+
+            betaMemory = IndexFactory.createBetaMemory(config, NodeTypeEnums.JoinNode, stringEqualsConstraint);
+            assertThat(betaMemory.getLeftTupleMemory()).isInstanceOf(TupleIndexHashTable.class);
+            assertThat(betaMemory.getRightTupleMemory()).isInstanceOf(TupleIndexHashTable.class);
+        } finally {
+            IndexMemory.setPrimitiveEqualityMemory(originalPrimitiveEqualityMemory);
+        }
+    }
+
     private RuleBaseConfiguration getRuleBaseConfiguration() {
         return new RuleBaseConfiguration(new CompositeConfiguration<>(ChainedProperties.getChainedProperties(null), null));
     }
@@ -140,6 +162,43 @@ public class IndexUtilTest {
         assertThat(indexed).as("BigDecimal is not indexed").containsExactly(false);
     }
 
+    @Test
+    public void isIndexableForNodeWithMoreEqualitiesThanKeyDepth_shouldLeaveOutBoolean() {
+        RuleBaseConfiguration config = getRuleBaseConfiguration();
+        FakeBetaNodeFieldConstraint booleanEqualsConstraint = new FakeBetaNodeFieldConstraint(ConstraintTypeOperator.EQUAL, new FakeReadAccessor(ValueType.PBOOLEAN_TYPE));
+        FakeBetaNodeFieldConstraint intEqualsConstraint = new FakeBetaNodeFieldConstraint(ConstraintTypeOperator.EQUAL, new FakeReadAccessor(ValueType.PINTEGER_TYPE));
+        FakeBetaNodeFieldConstraint stringEqualsConstraint = new FakeBetaNodeFieldConstraint(ConstraintTypeOperator.EQUAL, new FakeReadAccessor(ValueType.STRING_TYPE));
+        FakeBetaNodeFieldConstraint longEqualsConstraint = new FakeBetaNodeFieldConstraint(ConstraintTypeOperator.EQUAL, new FakeReadAccessor(ValueType.PLONG_TYPE));
+        BetaNodeFieldConstraint[] constraints = new FakeBetaNodeFieldConstraint[]{booleanEqualsConstraint, intEqualsConstraint, stringEqualsConstraint, longEqualsConstraint};
+        boolean[] indexed = IndexUtil.isIndexableForNode(IndexPrecedenceOption.EQUALITY_PRIORITY, NodeTypeEnums.JoinNode, 3, constraints, config);
+        assertThat(indexed).as("boolean is sorted to the last").containsExactly(true, true, true, false);
+        assertThat(constraints).containsExactly(intEqualsConstraint, stringEqualsConstraint, longEqualsConstraint, booleanEqualsConstraint);
+
+        constraints = new FakeBetaNodeFieldConstraint[]{booleanEqualsConstraint, intEqualsConstraint, stringEqualsConstraint};
+        indexed = IndexUtil.isIndexableForNode(IndexPrecedenceOption.EQUALITY_PRIORITY, NodeTypeEnums.JoinNode, 3, constraints, config);
+        assertThat(indexed).as("boolean is indexed when all the equalities fit in the key").containsExactly(true, true, true);
+        assertThat(constraints).containsExactly(booleanEqualsConstraint, intEqualsConstraint, stringEqualsConstraint);
+    }
+
+    @Test
+    public void createBetaMemoryWithFourEquals_shouldBeMultiCompositeIndex() {
+        RuleBaseConfiguration config = getRuleBaseConfiguration();
+        config.setCompositeKeyDepth(4);
+        FakeBetaNodeFieldConstraint intEqualsConstraint = new FakeBetaNodeFieldConstraint(ConstraintTypeOperator.EQUAL, new FakeReadAccessor(ValueType.PINTEGER_TYPE));
+        FakeBetaNodeFieldConstraint stringEqualsConstraint = new FakeBetaNodeFieldConstraint(ConstraintTypeOperator.EQUAL, new FakeReadAccessor(ValueType.STRING_TYPE));
+        FakeBetaNodeFieldConstraint longEqualsConstraint = new FakeBetaNodeFieldConstraint(ConstraintTypeOperator.EQUAL, new FakeReadAccessor(ValueType.PLONG_TYPE));
+        FakeBetaNodeFieldConstraint charEqualsConstraint = new FakeBetaNodeFieldConstraint(ConstraintTypeOperator.EQUAL, new FakeReadAccessor(ValueType.PCHAR_TYPE));
+        BetaMemory betaMemory = IndexFactory.createBetaMemory(config, NodeTypeEnums.JoinNode, intEqualsConstraint, stringEqualsConstraint, longEqualsConstraint, charEqualsConstraint);
+
+        assertThat(betaMemory.getRightTupleMemory()).isInstanceOf(TupleIndexHashTable.class);
+        Index rightIndex = ((TupleIndexHashTable) betaMemory.getRightTupleMemory()).getIndex();
+        assertThat(rightIndex).isInstanceOf(MultiCompositeIndex.class);
+        assertThat(rightIndex.getFieldIndex(0).getRightExtractor().getValueType()).isEqualTo(ValueType.PINTEGER_TYPE);
+        assertThat(rightIndex.getFieldIndex(1).getRightExtractor().getValueType()).isEqualTo(ValueType.STRING_TYPE);
+        assertThat(rightIndex.getFieldIndex(2).getRightExtractor().getValueType()).isEqualTo(ValueType.PLONG_TYPE);
+        assertThat(rightIndex.getFieldIndex(3).getRightExtractor().getValueType()).isEqualTo(ValueType.PCHAR_TYPE);
+    }
+
     static class FakeBetaNodeFieldConstraint implements BetaNodeFieldConstraint,
                                                         IndexableConstraint {
 
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.drools.base.base.ValueResolver;
+import org.drools.base.base.ValueType;
+import org.drools.base.base.extractors.BaseObjectClassFieldReader;
+import org.drools.base.rule.Declaration;
+import org.drools.base.rule.Pattern;
+import org.drools.base.util.FieldIndex;
+import org.drools.core.common.DefaultFactHandle;
+import org.drools.core.reteoo.JoinNodeLeftTuple;
+import org.drools.core.reteoo.RightTupleImpl;
+import org.drools.core.reteoo.Tuple;
+import org.drools.core.reteoo.TupleMemory;
+import org.drools.core.util.FastIterator;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TupleIndexLongHashTableTest {
+
+    public enum Status { OPEN, CLOSED }
+
+    public static class Order {
+        private int accountId;
+        private Status status;
+
+        public Order(int accountId, Status status) {
+            this.accountId = accountId;
+            this.status = status;
+        }
+    }
+
+    private static final TestReadAccessor ACCOUNT_ID = new TestReadAccessor(int.class, ValueType.PINTEGER_TYPE, o -> ((Order) o).accountId);
+    private static final TestReadAccessor STATUS = new TestReadAccessor(Status.class, ValueType.OBJECT_TYPE, o -> ((Order) o).status);
+
+    @Test
+    public void isIndexable() {
+        assertThat(TupleIndexLongHashTable.isIndexable(new FieldIndex[] { fieldIndex(ACCOUNT_ID) })).isTrue();
+        assertThat(TupleIndexLongHashTable.isIndexable(new FieldIndex[] { fieldIndex(STATUS) })).isTrue();
+        assertThat(TupleIndexLongHashTable.isIndexable(new FieldIndex[] { fieldIndex(ACCOUNT_ID), fieldIndex(STATUS) })).as("Composite keys are not supported").isFalse();
+
+        TestReadAccessor boxed = new TestReadAccessor(Integer.class, ValueType.INTEGER_TYPE, o -> ((Order) o).accountId);
+        assertThat(TupleIndexLongHashTable.isIndexable(new FieldIndex[] { fieldIndex(boxed) })).as("A boxed key can be null").isFalse();
+
+        TestReadAccessor string = new TestReadAccessor(String.class, ValueType.STRING_TYPE, o -> "" + ((Order) o).accountId);
+        assertThat(TupleIndexLongHashTable.isIndexable(new FieldIndex[] { fieldIndex(string) })).isFalse();
+    }
+
+    @Test
+    public void addLookupAndRemoveOnRightMemory() {
+        TupleMemory memory = new TupleIndexLongHashTable(fieldIndex(ACCOUNT_ID), false);
+
+        List<RightTupleImpl> rightTuples = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            RightTupleImpl rightTuple = new RightTupleImpl(new DefaultFactHandle(i, new Order(i % 10, Status.OPEN)));
+            rightTuples.add(rightTuple);
+            memory.add(rightTuple);
+        }
+        assertThat(memory.size()).isEqualTo(1000);
+        assertThat(countMatches(memory, leftTuple(new Order(3, Status.OPEN)))).isEqualTo(100);
+        assertThat(countMatches(memory, leftTuple(new Order(10, Status.OPEN)))).isZero();
+
+        // move a tuple to a new key
+        RightTupleImpl moved = rightTuples.get(3);
+        ((Order) moved.getFactHandle().getObject()).accountId = 10;
+        memory.removeAdd(moved);
+        assertThat(memory.size()).isEqualTo(1000);
+        assertThat(countMatches(memory, leftTuple(new Order(3, Status.OPEN)))).isEqualTo(99);
+        assertThat(countMatches(memory, leftTuple(new Order(10, Status.OPEN)))).isEqualTo(1);
+
+        for (RightTupleImpl rightTuple : rightTuples) {
+            memory.remove(rightTuple);
+        }
+        assertThat(memory.size()).isZero();
+        assertThat(memory.toArray()).isEmpty();
+        assertThat(countMatches(memory, leftTuple(new Order(10, Status.OPEN)))).isZero();
+    }
+
+    @Test
+    public void fullIterationAfterResizeAndRemovals() {
+        TupleMemory memory = new TupleIndexLongHashTable(fieldIndex(ACCOUNT_ID), false);
+
+        List<RightTupleImpl> rightTuples = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // spread keys in the whole int range to exercise collisions and the resizes of the table
+            RightTupleImpl rightTuple = new RightTupleImpl(new DefaultFactHandle(i, new Order(i * 65599, Status.OPEN)));
+            rightTuples.add(rightTuple);
+            memory.add(rightTuple);
+        }
+        for (int i = 0; i < 500; i += 2) {
+            memory.remove(rightTuples.get(i));
+        }
+
+        assertThat(memory.size()).isEqualTo(250);
+        assertThat(memory.toArray()).hasSize(250);
+
+        int count = 0;
+        FastIterator<Tuple> it = memory.fullFastIterator();
+        for (Tuple tuple = it.next(null); tuple != null; tuple = it.next(tuple)) {
+            assertThat(tuple.getFactHandle().getId() % 2).isEqualTo(1);
+            count++;
+        }
+        assertThat(count).isEqualTo(250);
+
+        for (int i = 1; i < 500; i += 2) {
+            Order order = (Order) rightTuples.get(i).getFactHandle().getObject();
+            assertThat(countMatches(memory, leftTuple(order))).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void enumKeysWithNull() {
+        TupleMemory memory = new TupleIndexLongHashTable(fieldIndex(STATUS), false);
+        memory.add(new RightTupleImpl(new DefaultFactHandle(1, new Order(1, Status.OPEN))));
+        memory.add(new RightTupleImpl(new DefaultFactHandle(2, new Order(2, Status.CLOSED))));
+        memory.add(new RightTupleImpl(new DefaultFactHandle(3, new Order(3, null))));
+        memory.add(new RightTupleImpl(new DefaultFactHandle(4, new Order(4, Status.OPEN))));
+
+        assertThat(countMatches(memory, leftTuple(new Order(0, Status.OPEN)))).isEqualTo(2);
+        assertThat(countMatches(memory, leftTuple(new Order(0, Status.CLOSED)))).isEqualTo(1);
+        assertThat(countMatches(memory, leftTuple(new Order(0, null)))).isEqualTo(1);
+    }
+
+    @Test
+    public void leftMemory() {
+        TupleMemory memory = new TupleIndexLongHashTable(fieldIndex(ACCOUNT_ID), true);
+        for (int i = 0; i < 100; i++) {
+            memory.add(leftTuple(new Order(i % 4, Status.OPEN)));
+        }
+        RightTupleImpl rightTuple = new RightTupleImpl(new DefaultFactHandle(1000, new Order(2, Status.OPEN)));
+        assertThat(countMatches(memory, rightTuple)).isEqualTo(25);
+    }
+
+    private static int countMatches(TupleMemory memory, Tuple tuple) {
+        int count = 0;
+        FastIterator<Tuple> it = memory.fastIterator();
+        for (Tuple match = memory.getFirst(tuple); match != null; match = it.next(match)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static JoinNodeLeftTuple leftTuple(Order order) {
+        return new JoinNodeLeftTuple(new DefaultFactHandle(0, order), null, true);
+    }
+
+    private static FieldIndex fieldIndex(TestReadAccessor accessor) {
+        return new FieldIndex(accessor, new Declaration("$key", accessor, new Pattern(0, null)));
+    }
+
+    private static class TestReadAccessor extends BaseObjectClassFieldReader {
+
+        private final Function<Object, Object> extractor;
+
+        private TestReadAccessor(Class<?> fieldType, ValueType valueType, Function<Object, Object> extractor) {
+            super(0, fieldType, valueType);
+            this.extractor = extractor;
+        }
+
+        @Override
+        public Object getValue(ValueResolver valueResolver, Object object) {
+            return extractor.apply(object);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.drools.core.util.AbstractHashTable.DoubleCompositeIndex;
 import org.drools.base.util.FieldIndex;
 import org.drools.core.util.AbstractHashTable.HashEntry;
 import org.drools.core.util.AbstractHashTable.Index;
+import org.drools.core.util.AbstractHashTable.MultiCompositeIndex;
 import org.drools.core.util.AbstractHashTable.SingleIndex;
 import org.drools.core.util.AbstractHashTable.TripleCompositeIndex;
 import org.drools.core.util.FastIterator;
@@ -94,7 +95,8 @@ public class FastUtilHashTupleMemory implements TupleMemory {
                                                       this.startResult );
                 break;
             default :
-                throw new IllegalArgumentException( "FieldIndexHashTable cannot use an index[] of length  great than 3" );
+                this.index = new MultiCompositeIndex(index,
+                                                     this.startResult);
         }
     }
 
@@ -30,6 +30,7 @@ import org.drools.core.common.RuleFlowGroup;
 import org.drools.core.event.AgendaEventSupport;
 import org.drools.core.impl.InternalRuleBase;
 import org.drools.core.phreak.ExecutableEntry;
+import org.drools.core.phreak.ForceFlushBatch;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.phreak.RuleAgendaItem;
@@ -488,6 +489,17 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
         throw new UnsupportedOperationException( "This method has to be called on the single partitioned agendas" );
     }
 
+    @Override
+    public ForceFlushBatch getForceFlushBatch() {
+        // the tuples are flushed by the single partitioned agendas, so no batch is ever open on the composite one
+        return null;
+    }
+
+    @Override
+    public void setForceFlushBatch( ForceFlushBatch forceFlushBatch ) {
+        // a batch opened on the composite agenda is ignored and the tuples are flushed immediately
+    }
+
     @Override
     public KnowledgeHelper getKnowledgeHelper() {
         throw new UnsupportedOperationException( "This method has to be called on the single partitioned agendas" );
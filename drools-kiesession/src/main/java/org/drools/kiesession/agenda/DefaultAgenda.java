@@ -40,14 +40,18 @@ import org.drools.core.concurrent.SequentialGroupEvaluator;
 import org.drools.core.event.AgendaEventSupport;
 import org.drools.core.impl.InternalRuleBase;
 import org.drools.core.phreak.ExecutableEntry;
+import org.drools.core.phreak.ForceFlushBatch;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
+import org.drools.core.phreak.RingBufferPropagationList;
 import org.drools.core.phreak.RuleAgendaItem;
 import org.drools.core.phreak.RuleExecutor;
 import org.drools.core.phreak.SynchronizedBypassPropagationList;
 import org.drools.core.phreak.SynchronizedPropagationList;
 import org.drools.core.phreak.ThreadUnsafePropagationList;
 import org.drools.core.reteoo.AgendaComponentFactory;
+import org.drools.core.reteoo.EntryPointNode;
+import org.drools.core.reteoo.ObjectTypeConf;
 import org.drools.core.reteoo.ObjectTypeNode;
 import org.drools.core.reteoo.PathMemory;
 import org.drools.core.reteoo.RuleTerminalNodeLeftTuple;
@@ -71,6 +75,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Rule-firing Agenda.
@@ -113,6 +120,8 @@ public class DefaultAgenda implements InternalAgenda {
 
     private final List<PropagationContext> expirationContexts;
 
+    private ForceFlushBatch forceFlushBatch;
+
     private final GroupEvaluator groupEvaluator;
 
     private final PropagationList propagationList;
@@ -189,8 +198,12 @@ public class DefaultAgenda implements InternalAgenda {
             return new ThreadUnsafePropagationList( workingMemory );
         }
 
-        return workingMemory.getRuleSessionConfiguration().hasForceEagerActivationFilter() ?
-               new SynchronizedBypassPropagationList( workingMemory ) :
+        if (workingMemory.getRuleSessionConfiguration().hasForceEagerActivationFilter()) {
+            return new SynchronizedBypassPropagationList( workingMemory );
+        }
+
+        return workingMemory.getRuleSessionConfiguration().isRingBufferPropagationList() ?
+               new RingBufferPropagationList( workingMemory ) :
                new SynchronizedPropagationList( workingMemory );
     }
 
@@ -660,12 +673,16 @@ public class DefaultAgenda implements InternalAgenda {
         class FireAllRulesRestHandler implements RestHandler {
             @Override
             public PropagationEntry handleRest(DefaultAgenda agenda, boolean isInternalFire) {
-                synchronized (agenda.executionStateMachine.getStateMachineLock()) {
+                Lock stateMachineLock = agenda.executionStateMachine.getStateMachineLock();
+                stateMachineLock.lock();
+                try {
                     PropagationEntry head = agenda.propagationList.takeAll();
                     if (isInternalFire && head == null) {
                         agenda.internalHalt();
                     }
                     return head;
+                } finally {
+                    stateMachineLock.unlock();
                 }
             }
         }
@@ -679,20 +696,12 @@ public class DefaultAgenda implements InternalAgenda {
                     deactivated = true;
                 }
 
-                PropagationEntry head;
-                // this must use the same sync target as takeAllPropagations, to ensure this entire block is atomic, up to the point of wait
-                synchronized (agenda.propagationList) {
-                    head = agenda.propagationList.takeAll();
-
-                    // if halt() has called, the thread should not be put into a wait state
-                    // instead this is just a safe way to make sure the queue is flushed before exiting the loop
-                    if (head == null && (
-                            agenda.executionStateMachine.getCurrentState() == ExecutionStateMachine.ExecutionState.FIRING_UNTIL_HALT ||
-                            agenda.executionStateMachine.getCurrentState() == ExecutionStateMachine.ExecutionState.INACTIVE_ON_FIRING_UNTIL_HALT )) {
-                        agenda.propagationList.waitOnRest();
-                        head = agenda.propagationList.takeAll();
-                    }
-                }
+                // the propagation list takes the entries and waits atomically, so no propagation can be missed.
+                // If halt() has called, the thread should not be put into a wait state
+                // instead this is just a safe way to make sure the queue is flushed before exiting the loop
+                PropagationEntry head = agenda.propagationList.takeAllOrWaitOnRest( () ->
+                        agenda.executionStateMachine.getCurrentState() == ExecutionStateMachine.ExecutionState.FIRING_UNTIL_HALT ||
+                        agenda.executionStateMachine.getCurrentState() == ExecutionStateMachine.ExecutionState.INACTIVE_ON_FIRING_UNTIL_HALT );
 
                 if (deactivated) {
                     agenda.executionStateMachine.toFireUntilHalt();
@@ -835,6 +844,21 @@ public class DefaultAgenda implements InternalAgenda {
         propagationList.addEntry( propagationEntry );
     }
 
+    @Override
+    public void addInsertPropagation(InternalFactHandle handle, PropagationContext context, ReteEvaluator reteEvaluator, ObjectTypeConf objectTypeConf) {
+        propagationList.addInsert( handle, context, reteEvaluator, objectTypeConf );
+    }
+
+    @Override
+    public void addUpdatePropagation(InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+        propagationList.addUpdate( handle, context, objectTypeConf );
+    }
+
+    @Override
+    public void addDeletePropagation(EntryPointNode epn, InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+        propagationList.addDelete( epn, handle, context, objectTypeConf );
+    }
+
     @Override
     public void flushPropagations() {
         propagationList.flush();
@@ -914,12 +938,12 @@ public class DefaultAgenda implements InternalAgenda {
 
         ExecutionState getCurrentState();
 
-        Object getStateMachineLock();
+        Lock getStateMachineLock();
     }
 
     static class UnsafeExecutionStateMachine implements ExecutionStateMachine {
 
-        private final Object stateMachineLock = new Object();
+        private final Lock stateMachineLock = new ReentrantLock();
 
         private ExecutionState currentState = ExecutionState.INACTIVE;
 
@@ -1004,7 +1028,7 @@ public class DefaultAgenda implements InternalAgenda {
         }
 
         @Override
-        public Object getStateMachineLock() {
+        public Lock getStateMachineLock() {
             return stateMachineLock;
         }
     }
@@ -1013,7 +1037,10 @@ public class DefaultAgenda implements InternalAgenda {
         private volatile ExecutionState currentState = ExecutionState.INACTIVE;
         private volatile boolean wasFiringUntilHalt = false;
 
-        private final Object stateMachineLock = new Object();
+        // an explicit lock instead of a monitor, so a thread waiting for the engine to become inactive parks without
+        // pinning its carrier thread when running on a virtual thread
+        private final ReentrantLock stateMachineLock = new ReentrantLock();
+        private final Condition inactive = stateMachineLock.newCondition();
 
         private long fireUntilHaltThreadId = -1;
 
@@ -1027,27 +1054,34 @@ public class DefaultAgenda implements InternalAgenda {
         }
 
         public boolean toFireAllRules() {
-            synchronized (stateMachineLock) {
+            stateMachineLock.lock();
+            try {
                 if (currentState.isFiring() || !currentState.isAlive()) {
                     return false;
                 }
                 waitAndEnterExecutionState( ExecutionState.FIRING_ALL_RULES );
+            } finally {
+                stateMachineLock.unlock();
             }
             return true;
         }
 
         public boolean toFireUntilHalt() {
-            synchronized (stateMachineLock) {
+            stateMachineLock.lock();
+            try {
                 if ( currentState == ExecutionState.FIRING_UNTIL_HALT || currentState == ExecutionState.HALTING ) {
                     return false;
                 }
                 waitAndEnterExecutionState( ExecutionState.FIRING_UNTIL_HALT );
+            } finally {
+                stateMachineLock.unlock();
             }
             return true;
         }
 
         public boolean toExecuteTask( ExecutableEntry executable ) {
-            synchronized (stateMachineLock) {
+            stateMachineLock.lock();
+            try {
                 // state is never changed outside of a sync block, so this is safe.
                 if (isFiring()) {
                     executable.enqueue();
@@ -1058,17 +1092,22 @@ public class DefaultAgenda implements InternalAgenda {
                     waitAndEnterExecutionState( ExecutionState.EXECUTING_TASK );
                 }
                 return true;
+            } finally {
+                stateMachineLock.unlock();
             }
         }
 
         public boolean toExecuteTaskState() {
-            synchronized (stateMachineLock) {
+            stateMachineLock.lock();
+            try {
                 // state is never changed outside of a sync block, so this is safe.
                 if (!currentState.isAlive() || currentState.isFiring()) {
                     return false;
                 }
                 waitAndEnterExecutionState( ExecutionState.EXECUTING_TASK );
                 return true;
+            } finally {
+                stateMachineLock.unlock();
             }
         }
 
@@ -1080,7 +1119,7 @@ public class DefaultAgenda implements InternalAgenda {
         private void waitInactive() {
             while ( currentState != ExecutionState.INACTIVE && currentState != ExecutionState.INACTIVE_ON_FIRING_UNTIL_HALT && currentState != ExecutionState.DISPOSED ) {
                 try {
-                    stateMachineLock.wait();
+                    inactive.await();
                 } catch (InterruptedException e) {
                     throw new RuntimeException( e );
                 }
@@ -1118,16 +1157,20 @@ public class DefaultAgenda implements InternalAgenda {
         }
 
         public void deactivate() {
-            synchronized (stateMachineLock) {
+            stateMachineLock.lock();
+            try {
                 pauseFiringUntilHalt();
                 if ( currentState != ExecutionState.DEACTIVATED && currentState.isAlive() ) {
                     waitAndEnterExecutionState( ExecutionState.DEACTIVATED );
                 }
+            } finally {
+                stateMachineLock.unlock();
             }
         }
 
         public boolean tryDeactivate() {
-            synchronized (stateMachineLock) {
+            stateMachineLock.lock();
+            try {
                 if ( !currentState.isAlive() ) {
                     return true;
                 }
@@ -1136,6 +1179,8 @@ public class DefaultAgenda implements InternalAgenda {
                     setCurrentState( ExecutionState.DEACTIVATED );
                     return true;
                 }
+            } finally {
+                stateMachineLock.unlock();
             }
             return false;
         }
@@ -1149,38 +1194,48 @@ public class DefaultAgenda implements InternalAgenda {
         }
 
         public void immediateHalt(PropagationList propagationList) {
-            synchronized (stateMachineLock) {
+            stateMachineLock.lock();
+            try {
                 if (currentState != ExecutionState.INACTIVE) {
                     setCurrentState( ExecutionState.INACTIVE );
-                    stateMachineLock.notifyAll();
+                    inactive.signalAll();
                     propagationList.onEngineInactive();
                     if (wasFiringUntilHalt) {
                         // if it is halting a thread that was running a fireUntilHalt registers its id
                         fireUntilHaltThreadId = Thread.currentThread().getId();
                     }
                 }
+            } finally {
+                stateMachineLock.unlock();
             }
         }
 
         public void inactiveOnFireUntilHalt() {
-            synchronized (stateMachineLock) {
+            stateMachineLock.lock();
+            try {
                 if (currentState != ExecutionState.INACTIVE && currentState != ExecutionState.INACTIVE_ON_FIRING_UNTIL_HALT) {
                     setCurrentState( ExecutionState.INACTIVE_ON_FIRING_UNTIL_HALT );
-                    stateMachineLock.notifyAll();
+                    inactive.signalAll();
                 }
+            } finally {
+                stateMachineLock.unlock();
             }
         }
 
         public void internalHalt() {
-            synchronized (stateMachineLock) {
+            stateMachineLock.lock();
+            try {
                 if (isFiring()) {
                     setCurrentState( ExecutionState.HALTING );
                 }
+            } finally {
+                stateMachineLock.unlock();
             }
         }
 
         public boolean dispose(InternalWorkingMemory workingMemory) {
-            synchronized (stateMachineLock) {
+            stateMachineLock.lock();
+            try {
                 if (!currentState.isAlive()) {
                     return false;
                 }
@@ -1189,14 +1244,19 @@ public class DefaultAgenda implements InternalAgenda {
                     workingMemory.notifyWaitOnRest();
                 }
                 waitAndEnterExecutionState( ExecutionState.DISPOSED );
-                stateMachineLock.notifyAll();
+                inactive.signalAll();
                 return true;
+            } finally {
+                stateMachineLock.unlock();
             }
         }
 
         public boolean isAlive() {
-            synchronized (stateMachineLock) {
+            stateMachineLock.lock();
+            try {
                 return currentState.isAlive();
+            } finally {
+                stateMachineLock.unlock();
             }
         }
 
@@ -1204,7 +1264,7 @@ public class DefaultAgenda implements InternalAgenda {
             return currentState;
         }
 
-        public Object getStateMachineLock() {
+        public Lock getStateMachineLock() {
             return stateMachineLock;
         }
     }
@@ -1216,6 +1276,16 @@ public class DefaultAgenda implements InternalAgenda {
         expirationContexts.add(ectx);
     }
 
+    @Override
+    public ForceFlushBatch getForceFlushBatch() {
+        return forceFlushBatch;
+    }
+
+    @Override
+    public void setForceFlushBatch(ForceFlushBatch forceFlushBatch) {
+        this.forceFlushBatch = forceFlushBatch;
+    }
+
     private boolean flushExpirations() {
         if (expirationContexts == null || expirationContexts.isEmpty() || propagationList.hasEntriesDeferringExpiration()) {
             return false;
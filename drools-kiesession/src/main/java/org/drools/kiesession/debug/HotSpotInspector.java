@@ -0,0 +1,161 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.kiesession.debug;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.base.definitions.InternalKnowledgePackage;
+import org.drools.core.common.BaseNode;
+import org.drools.core.common.Memory;
+import org.drools.core.common.NodeProfile;
+import org.drools.core.impl.InternalRuleBase;
+import org.drools.core.reteoo.AccumulateNode.AccumulateMemory;
+import org.drools.core.reteoo.BetaMemory;
+import org.drools.core.reteoo.FromNode.FromMemory;
+import org.drools.core.reteoo.LeftTupleSource;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.reteoo.ReteDumper;
+import org.drools.core.reteoo.TerminalNode;
+import org.drools.kiesession.session.StatefulKnowledgeSessionImpl;
+import org.kie.api.definition.rule.Rule;
+import org.kie.api.runtime.KieSession;
+
+/**
+ * An inspector reporting the nodes of the network that hold the biggest memories or that cost the most, so they
+ * can be attributed to the rules to be rewritten.
+ *
+ * Differently from the {@link SessionInspector}, the network is walked only the first time and then again only when
+ * rules are added or removed, while each inspection just reads the sizes of the existing memories of the session and
+ * the existing node profiles, without creating the missing ones. The tuple insertions and the evaluation cost of each
+ * inspection are the ones recorded by the node profiler since the previous inspection, so they are available only when
+ * the profiler is enabled through the drools.nodeProfiler.enabled system property. Since the node profiles are shared by all
+ * the sessions of the KieBase, they report the activity of all of them.
+ */
+public class HotSpotInspector {
+
+    private final StatefulKnowledgeSessionImpl session;
+
+    private List<BaseNode> nodes;
+    private long networkVersion = -1;
+
+    private final Map<BaseNode, long[]> previousCounters = new HashMap<>();
+    private long previousInspection;
+
+    public HotSpotInspector(KieSession session) {
+        this.session = (StatefulKnowledgeSessionImpl) session;
+        this.previousInspection = System.nanoTime();
+    }
+
+    public HotSpotReport inspect() {
+        refreshNodes();
+
+        long now = System.nanoTime();
+        double elapsedSeconds = Math.max(now - previousInspection, 1L) / 1_000_000_000.0;
+        previousInspection = now;
+
+        List<HotSpotReport.NodeHotSpot> hotSpots = new ArrayList<>(nodes.size());
+        for (BaseNode node : nodes) {
+            // a node never evaluated by the profiler has no profile, and creating it would only waste memory
+            NodeProfile profile = node.getProfileIfPresent();
+            long tuples = profile != null ? profile.getInsertedTuples() + profile.getPropagatedTuples() : 0;
+            long evaluations = profile != null ? profile.getEvaluations() : 0;
+            long nanos = profile != null ? profile.getEstimatedNanos() : 0;
+            long[] previous = previousCounters.put(node, new long[] { tuples, evaluations, nanos });
+            if (previous != null) {
+                tuples -= previous[0];
+                evaluations -= previous[1];
+                nanos -= previous[2];
+            }
+
+            long leftMemorySize = -1;
+            long rightMemorySize = -1;
+            BetaMemory betaMemory = getBetaMemory(session.getNodeMemories().peekNodeMemory(node));
+            if (betaMemory != null) {
+                leftMemorySize = betaMemory.getLeftTupleMemory() != null ? betaMemory.getLeftTupleMemory().size() : -1;
+                rightMemorySize = betaMemory.getRightTupleMemory() != null ? betaMemory.getRightTupleMemory().size() : -1;
+            }
+
+            if (leftMemorySize > 0 || rightMemorySize > 0 || evaluations > 0) {
+                hotSpots.add(new HotSpotReport.NodeHotSpot(node.getId(),
+                                                           node.getClass().getSimpleName(),
+                                                           getRuleNames(node),
+                                                           getPattern(node),
+                                                           leftMemorySize,
+                                                           rightMemorySize,
+                                                           evaluations,
+                                                           tuples / elapsedSeconds,
+                                                           nanos));
+            }
+        }
+        return new HotSpotReport(hotSpots);
+    }
+
+    private void refreshNodes() {
+        InternalRuleBase kbase = session.getKnowledgeBase();
+        long version = getNetworkVersion(kbase);
+        if (nodes != null && version == networkVersion) {
+            return;
+        }
+        List<BaseNode> collected = new ArrayList<>();
+        for (BaseNode node : ReteDumper.collectRete(kbase)) {
+            if (node instanceof LeftTupleSource && !(node instanceof TerminalNode)) {
+                collected.add(node);
+            }
+        }
+        nodes = collected;
+        networkVersion = version;
+        previousCounters.keySet().retainAll(collected);
+    }
+
+    private static long getNetworkVersion(InternalRuleBase kbase) {
+        long rules = 0;
+        for (InternalKnowledgePackage pkg : kbase.getPackages()) {
+            rules += pkg.getRules().size();
+        }
+        return ((long) kbase.getNodeCount() << 32) + rules;
+    }
+
+    private static BetaMemory getBetaMemory(Memory memory) {
+        if (memory instanceof BetaMemory) {
+            return (BetaMemory) memory;
+        }
+        if (memory instanceof AccumulateMemory) {
+            return ((AccumulateMemory) memory).getBetaMemory();
+        }
+        if (memory instanceof FromMemory) {
+            return ((FromMemory) memory).getBetaMemory();
+        }
+        return null;
+    }
+
+    private static List<String> getRuleNames(BaseNode node) {
+        List<String> ruleNames = new ArrayList<>();
+        for (Rule rule : node.getAssociatedRules()) {
+            ruleNames.add(rule.getPackageName() + "." + rule.getName());
+        }
+        ruleNames.sort(null);
+        return ruleNames;
+    }
+
+    private static String getPattern(BaseNode node) {
+        // the right input of a beta node, or the first pattern of the chain for the other nodes
+        ObjectTypeNode otn = node.getObjectTypeNode();
+        return otn != null ? otn.getObjectType().getClassName() : null;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.kiesession.debug;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * The nodes found by a {@link HotSpotInspector}, that can be ranked by memory size, tuple insertions or evaluation cost,
+ * and the evaluation cost of the rules they belong to
+ */
+public class HotSpotReport {
+
+    private final List<NodeHotSpot> hotSpots;
+
+    public HotSpotReport(List<NodeHotSpot> hotSpots) {
+        this.hotSpots = Collections.unmodifiableList(hotSpots);
+    }
+
+    public List<NodeHotSpot> getHotSpots() {
+        return hotSpots;
+    }
+
+    /**
+     * Returns the nodes with the most tuples and facts in their left and right memories
+     */
+    public List<NodeHotSpot> getTopByMemorySize(int limit) {
+        return getTop(Comparator.comparingLong(NodeHotSpot::getMemorySize), limit);
+    }
+
+    public List<NodeHotSpot> getTopByTupleInsertions(int limit) {
+        return getTop(Comparator.comparingDouble(NodeHotSpot::getTupleInsertionsPerSecond), limit);
+    }
+
+    public List<NodeHotSpot> getTopByEvaluationCost(int limit) {
+        return getTop(Comparator.comparingLong(NodeHotSpot::getEvaluationNanos), limit);
+    }
+
+    private List<NodeHotSpot> getTop(Comparator<NodeHotSpot> comparator, int limit) {
+        return hotSpots.stream()
+                .sorted(comparator.reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the evaluation cost of each rule, summing the ones of its nodes, so the nodes shared by many rules
+     * are accounted to all of them
+     */
+    public Map<String, Long> getEvaluationNanosByRule() {
+        Map<String, Long> costs = new TreeMap<>();
+        for (NodeHotSpot hotSpot : hotSpots) {
+            for (String rule : hotSpot.getRules()) {
+                costs.merge(rule, hotSpot.getEvaluationNanos(), Long::sum);
+            }
+        }
+        return costs;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (NodeHotSpot hotSpot : getTop(Comparator.comparingLong(NodeHotSpot::getEvaluationNanos)
+                                                  .thenComparingLong(NodeHotSpot::getMemorySize), hotSpots.size())) {
+            sb.append(hotSpot).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static class NodeHotSpot {
+
+        private final int nodeId;
+        private final String nodeType;
+        private final List<String> rules;
+        private final String pattern;
+        private final long leftMemorySize;
+        private final long rightMemorySize;
+        private final long evaluations;
+        private final double tupleInsertionsPerSecond;
+        private final long evaluationNanos;
+
+        public NodeHotSpot(int nodeId, String nodeType, List<String> rules, String pattern, long leftMemorySize, long rightMemorySize,
+                           long evaluations, double tupleInsertionsPerSecond, long evaluationNanos) {
+            this.nodeId = nodeId;
+            this.nodeType = nodeType;
+            this.rules = new ArrayList<>(rules);
+            this.pattern = pattern;
+            this.leftMemorySize = leftMemorySize;
+            this.rightMemorySize = rightMemorySize;
+            this.evaluations = evaluations;
+            this.tupleInsertionsPerSecond = tupleInsertionsPerSecond;
+            this.evaluationNanos = evaluationNanos;
+        }
+
+        public int getNodeId() {
+            return nodeId;
+        }
+
+        public String getNodeType() {
+            return nodeType;
+        }
+
+        public List<String> getRules() {
+            return rules;
+        }
+
+        /**
+         * Returns the class of the pattern matched by this node, or null if the node is in a subnetwork
+         */
+        public String getPattern() {
+            return pattern;
+        }
+
+        /**
+         * Returns the number of tuples in the left memory, or -1 if the node has no left memory
+         */
+        public long getLeftMemorySize() {
+            return leftMemorySize;
+        }
+
+        /**
+         * Returns the number of facts in the right memory, or -1 if the node has no right memory
+         */
+        public long getRightMemorySize() {
+            return rightMemorySize;
+        }
+
+        public long getMemorySize() {
+            return Math.max(leftMemorySize, 0) + Math.max(rightMemorySize, 0);
+        }
+
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        /**
+         * Returns the tuples inserted into the node and propagated as insertions to its children per second since
+         * the previous inspection. Deletions and updates are not counted by the node profiler.
+         */
+        public double getTupleInsertionsPerSecond() {
+            return tupleInsertionsPerSecond;
+        }
+
+        /**
+         * Returns the estimated time spent evaluating the node since the previous inspection
+         */
+        public long getEvaluationNanos() {
+            return evaluationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return nodeType + "(" + nodeId + ") pattern=" + pattern + " rules=" + rules +
+                    " left=" + leftMemorySize + " right=" + rightMemorySize + " evaluations=" + evaluations +
+                    " insertions=" + String.format("%.1f", tupleInsertionsPerSecond) + "/s cost=" + evaluationNanos + "ns";
+        }
+    }
+}
@@ -63,6 +63,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
 
 import static java.util.Arrays.asList;
 import static org.drools.base.reteoo.PropertySpecificUtil.allSetBitMask;
@@ -183,59 +184,111 @@ public class NamedEntryPoint implements InternalWorkingMemoryEntryPoint, Propert
             this.reteEvaluator.startOperation(ReteEvaluator.InternalOperationType.INSERT);
 
             ObjectTypeConf typeConf = getObjectTypeConfigurationRegistry().getOrCreateObjectTypeConf( this.entryPoint, object );
+            return insert( object, typeConf, dynamic, rule, terminalNode );
+        } finally {
+            this.reteEvaluator.endOperation(ReteEvaluator.InternalOperationType.INSERT);
+        }
+    }
 
-            final PropagationContext propagationContext = this.pctxFactory.createPropagationContext(this.reteEvaluator.getNextPropagationIdCounter(),
-                    PropagationContext.Type.INSERTION,
-                    rule,
-                    terminalNode,
-                    null,
-                    entryPoint);
-            if ( this.reteEvaluator.isSequential() ) {
-                InternalFactHandle handle = createHandle( object, typeConf );
-                propagationContext.setFactHandle(handle);
-                insert( handle, object, rule, typeConf, propagationContext );
-                return handle;
+    /**
+     * Inserts the given objects holding the lock and keeping the engine busy for the whole batch, so the end of
+     * operation work is done only once, and creating the handles of the new facts from a single block of ids
+     * and recencies reserved upfront.
+     */
+    @Override
+    public List<FactHandle> insertAll(Collection<?> objects) {
+        List<FactHandle> handles = new ArrayList<>(objects.size());
+        lock();
+        try {
+            this.reteEvaluator.startOperation(ReteEvaluator.InternalOperationType.INSERT);
+            try {
+                HandleBlock handleBlock = new HandleBlock(objects.size());
+                // facts of the same class share the same ObjectTypeConf, so look it up only when the class changes
+                Class<?> lastClass = null;
+                ObjectTypeConf typeConf = null;
+                for (Object object : objects) {
+                    if ( object == null ) {
+                        // you cannot assert a null object
+                        handles.add( null );
+                        continue;
+                    }
+                    if ( object.getClass() != lastClass || object instanceof Fact ) {
+                        typeConf = getObjectTypeConfigurationRegistry().getOrCreateObjectTypeConf( this.entryPoint, object );
+                        lastClass = object.getClass();
+                    }
+                    handles.add( insert( object, typeConf, false, null, null, handleBlock ) );
+                }
+            } finally {
+                this.reteEvaluator.endOperation(ReteEvaluator.InternalOperationType.INSERT);
             }
+        } finally {
+            unlock();
+        }
+        return handles;
+    }
 
-            InternalFactHandle handle;
-            try {
-                lock();
+    private FactHandle insert(final Object object,
+                              final ObjectTypeConf typeConf,
+                              final boolean dynamic,
+                              final RuleImpl rule,
+                              final TerminalNode terminalNode) {
+        return insert( object, typeConf, dynamic, rule, terminalNode, this::createHandle );
+    }
 
-                // check if the object already exists in the WM
-                handle = this.objectStore.getHandleForObject( object );
+    private FactHandle insert(final Object object,
+                              final ObjectTypeConf typeConf,
+                              final boolean dynamic,
+                              final RuleImpl rule,
+                              final TerminalNode terminalNode,
+                              final BiFunction<Object, ObjectTypeConf, InternalFactHandle> handleCreator) {
+        final PropagationContext propagationContext = this.pctxFactory.createPropagationContext(this.reteEvaluator.getNextPropagationIdCounter(),
+                PropagationContext.Type.INSERTION,
+                rule,
+                terminalNode,
+                null,
+                entryPoint);
+        if ( this.reteEvaluator.isSequential() ) {
+            InternalFactHandle handle = handleCreator.apply( object, typeConf );
+            propagationContext.setFactHandle(handle);
+            insert( handle, object, rule, typeConf, propagationContext );
+            return handle;
+        }
 
-                if ( typeConf.isTMSEnabled() ) {
-                    if ( handle != null && handle.getEqualityKey().getStatus() == EqualityKey.STATED ) {
-                        // it's already stated, so just return the handle
-                        return handle;
-                    }
+        InternalFactHandle handle;
+        try {
+            lock();
 
-                    handle = TruthMaintenanceSystemFactory.get().getOrCreateTruthMaintenanceSystem(this).insertOnTms(object, typeConf, propagationContext, handle, this::createHandle);
-                } else {
-                    // TMS not enabled for this object type
-                    if ( handle != null ) {
-                        return handle;
-                    }
-                    handle = createHandle( object, typeConf );
-                }
+            // check if the object already exists in the WM
+            handle = this.objectStore.getHandleForObject( object );
 
-                propagationContext.setFactHandle(handle);
+            if ( typeConf.isTMSEnabled() ) {
+                if ( handle != null && handle.getEqualityKey().getStatus() == EqualityKey.STATED ) {
+                    // it's already stated, so just return the handle
+                    return handle;
+                }
 
-                // if the dynamic parameter is true or if the user declared the fact type with the meta tag:
-                // @propertyChangeSupport
-                if ( dynamic || typeConf.isDynamic() ) {
-                    addPropertyChangeListener( handle, dynamic );
+                handle = TruthMaintenanceSystemFactory.get().getOrCreateTruthMaintenanceSystem(this).insertOnTms(object, typeConf, propagationContext, handle, handleCreator);
+            } else {
+                // TMS not enabled for this object type
+                if ( handle != null ) {
+                    return handle;
                 }
+                handle = handleCreator.apply( object, typeConf );
+            }
 
-                insert( handle, object, rule, typeConf, propagationContext );
-            } finally {
-                unlock();
+            propagationContext.setFactHandle(handle);
+
+            // if the dynamic parameter is true or if the user declared the fact type with the meta tag:
+            // @propertyChangeSupport
+            if ( dynamic || typeConf.isDynamic() ) {
+                addPropertyChangeListener( handle, dynamic );
             }
-            return handle;
+
+            insert( handle, object, rule, typeConf, propagationContext );
         } finally {
-            this.reteEvaluator.endOperation(ReteEvaluator.InternalOperationType.INSERT);
+            unlock();
         }
-
+        return handle;
     }
 
     public void insert(InternalFactHandle handle) {
@@ -289,6 +342,30 @@ public class NamedEntryPoint implements InternalWorkingMemoryEntryPoint, Propert
                 null );
     }
 
+    @Override
+    public void updateAll(Collection<? extends FactHandle> handles) {
+        updateAll( handles, allSetBitMask() );
+    }
+
+    @Override
+    public void updateAll(Collection<? extends FactHandle> handles, BitMask mask) {
+        // keep the engine busy for the whole batch, so the end of operation work is done only once
+        lock();
+        try {
+            this.reteEvaluator.startOperation(ReteEvaluator.InternalOperationType.UPDATE);
+            try {
+                for (FactHandle handle : handles) {
+                    InternalFactHandle internalHandle = (InternalFactHandle) handle;
+                    update( internalHandle, internalHandle.getObject(), mask, Object.class, null );
+                }
+            } finally {
+                this.reteEvaluator.endOperation(ReteEvaluator.InternalOperationType.UPDATE);
+            }
+        } finally {
+            unlock();
+        }
+    }
+
     public void update(FactHandle handle, Object object, String... modifiedProperties) {
         BitMask mask = calculateUpdateBitMask(ruleBase, object, modifiedProperties);
         update( (InternalFactHandle) handle, object, mask, object.getClass(), null);
@@ -409,6 +486,24 @@ public class NamedEntryPoint implements InternalWorkingMemoryEntryPoint, Propert
         delete( handle, null, null, fhState );
     }
 
+    @Override
+    public void deleteAll(Collection<? extends FactHandle> handles) {
+        // keep the engine busy for the whole batch, so the end of operation work is done only once
+        lock();
+        try {
+            this.reteEvaluator.startOperation(ReteEvaluator.InternalOperationType.DELETE);
+            try {
+                for (FactHandle handle : handles) {
+                    delete( handle, null, null, FactHandle.State.ALL );
+                }
+            } finally {
+                this.reteEvaluator.endOperation(ReteEvaluator.InternalOperationType.DELETE);
+            }
+        } finally {
+            unlock();
+        }
+    }
+
     public void delete(FactHandle factHandle,
                        RuleImpl rule,
                        TerminalNode terminalNode) {
@@ -661,6 +756,34 @@ public class NamedEntryPoint implements InternalWorkingMemoryEntryPoint, Propert
         return this.handleFactory.newFactHandle( object, typeConf, this.reteEvaluator, this );
     }
 
+    /**
+     * Creates the handles of a batch of facts from a block of ids and recencies reserved upfront, falling back
+     * to the ones of the handle factory when the block is exhausted or could not be reserved.
+     */
+    private class HandleBlock implements BiFunction<Object, ObjectTypeConf, InternalFactHandle> {
+
+        private long nextId;
+        private long nextRecency;
+        private int remaining;
+
+        private HandleBlock(int size) {
+            this.nextId = handleFactory.reserveIds(size);
+            if (this.nextId > 0) {
+                this.nextRecency = handleFactory.reserveRecencies(size);
+                this.remaining = size;
+            }
+        }
+
+        @Override
+        public InternalFactHandle apply(Object object, ObjectTypeConf typeConf) {
+            if (remaining == 0) {
+                return createHandle( object, typeConf );
+            }
+            remaining--;
+            return handleFactory.newFactHandle( nextId++, object, nextRecency++, typeConf, reteEvaluator, NamedEntryPoint.this );
+        }
+    }
+
     public void propertyChange(final PropertyChangeEvent event) {
         final Object object = event.getSource();
         FactHandle handle = getFactHandle( object );
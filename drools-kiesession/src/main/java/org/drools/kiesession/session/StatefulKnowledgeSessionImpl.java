@@ -1265,6 +1265,24 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         return this.entryPointsManager.getDefaultEntryPoint().insert(object, dynamic, rule, terminalNode);
     }
 
+    @Override
+    public List<FactHandle> insertAll(Collection<?> objects) {
+        checkAlive();
+        return this.entryPointsManager.getDefaultEntryPoint().insertAll(objects);
+    }
+
+    @Override
+    public void updateAll(Collection<? extends FactHandle> handles) {
+        checkAlive();
+        this.entryPointsManager.getDefaultEntryPoint().updateAll(handles, allSetButTraitBitMask());
+    }
+
+    @Override
+    public void deleteAll(Collection<? extends FactHandle> handles) {
+        checkAlive();
+        this.entryPointsManager.getDefaultEntryPoint().deleteAll(handles);
+    }
+
     public void retract(FactHandle handle) {
         delete(handle);
     }
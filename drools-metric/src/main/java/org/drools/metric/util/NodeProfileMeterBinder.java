@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.metric.util;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.drools.core.common.BaseNode;
+import org.drools.core.common.NodeProfile;
+import org.drools.core.management.NodeProfilerMonitor;
+import org.drools.core.reteoo.ReteDumper;
+import org.kie.api.KieBase;
+
+/**
+ * Binds the node profiles of all the nodes of a KieBase, aggregated by the node profiler of drools-core, to a
+ * MeterRegistry. Differently from the metric nodes, that record each evaluation, the meters only read the counters
+ * of the profiles when the registry is scraped, so nothing is added to the evaluation of the nodes. The nodes added
+ * to the KieBase after the binding are not bound.
+ */
+public class NodeProfileMeterBinder implements MeterBinder {
+
+    private final KieBase kieBase;
+
+    public NodeProfileMeterBinder(KieBase kieBase) {
+        this.kieBase = kieBase;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (BaseNode node : ReteDumper.collectRete(kieBase)) {
+            NodeProfile profile = node.getProfile();
+            Tags tags = Tags.of("node.id", Long.toString(node.getId()),
+                                "node.type", node.getClass().getSimpleName(),
+                                "rule", NodeProfilerMonitor.getRuleNames(node));
+            FunctionTimer.builder("org.drools.profile.evaluation.time", profile,
+                                  NodeProfile::getEvaluations, NodeProfile::getEstimatedNanos, TimeUnit.NANOSECONDS)
+                    .description("Node evaluations and their estimated time")
+                    .tags(tags)
+                    .register(registry);
+            FunctionCounter.builder("org.drools.profile.inserted.tuples", profile, NodeProfile::getInsertedTuples)
+                    .description("Tuples inserted into the node")
+                    .tags(tags)
+                    .register(registry);
+            FunctionCounter.builder("org.drools.profile.propagated.tuples", profile, NodeProfile::getPropagatedTuples)
+                    .description("Tuples inserted by the node into its children")
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+}
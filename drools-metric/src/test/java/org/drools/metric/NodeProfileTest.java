@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.metric;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.drools.core.common.NodeProfile;
+import org.drools.core.management.NodeProfilerMonitor;
+import org.drools.core.management.NodeProfilerMonitorMXBean.INodeProfileData;
+import org.drools.core.impl.InternalRuleBase;
+import org.drools.core.reteoo.ReteDumper;
+import org.drools.metric.util.NodeProfileMeterBinder;
+import org.drools.mvel.compiler.Person;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NodeProfileTest extends AbstractMetricTest {
+
+    @Before
+    public void enableProfiler() {
+        NodeProfile.setEnabled(true);
+    }
+
+    @After
+    public void disableProfiler() {
+        NodeProfile.setEnabled(false);
+    }
+
+    @Test
+    public void testJoinProfile() {
+        String str =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "rule R1\n" +
+                "when\n" +
+                "  $p1 : Person(age > 5)\n" +
+                "  $p2 : Person(age > $p1.age)\n" +
+                "then\n" +
+                "end\n";
+
+        KieBase kbase = loadKnowledgeBaseFromString(str);
+
+        List<Person> personList = IntStream.range(0, 10)
+                .mapToObj(i -> new Person("John" + i, i))
+                .collect(Collectors.toList());
+
+        KieSession ksession = kbase.newKieSession();
+        personList.forEach(ksession::insert);
+        assertThat(ksession.fireAllRules()).isEqualTo(6);
+        ksession.dispose();
+
+        NodeProfilerMonitor monitor = new NodeProfilerMonitor((InternalRuleBase) kbase);
+        List<INodeProfileData> profiles = monitor.getNodeProfiles();
+        assertThat(profiles).hasSize(1);
+        INodeProfileData joinProfile = profiles.get(0);
+        assertThat(joinProfile.getNodeType()).isEqualTo("JoinNode");
+        assertThat(joinProfile.getRules()).isEqualTo("defaultpkg.R1");
+        assertThat(joinProfile.getEvaluations()).isEqualTo(1);
+        assertThat(joinProfile.getInsertedTuples()).isEqualTo(4);
+        assertThat(joinProfile.getPropagatedTuples()).isEqualTo(6);
+        // the first evaluation is always sampled
+        assertThat(joinProfile.getEstimatedTime()).isPositive();
+        assertThat(monitor.getTotalEvaluations()).isEqualTo(1);
+        // reading the profiles doesn't create them for the nodes never evaluated
+        assertThat(ReteDumper.collectRete(kbase)).anyMatch(node -> node.getProfileIfPresent() == null);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new NodeProfileMeterBinder(kbase).bindTo(registry);
+        FunctionTimer timer = registry.find("org.drools.profile.evaluation.time")
+                .tag("node.id", Integer.toString(joinProfile.getNodeId()))
+                .functionTimer();
+        assertThat(timer.count()).isEqualTo(1);
+        FunctionCounter propagated = registry.find("org.drools.profile.propagated.tuples")
+                .tag("node.id", Integer.toString(joinProfile.getNodeId()))
+                .functionCounter();
+        assertThat(propagated.count()).isEqualTo(6);
+
+        monitor.reset();
+        assertThat(monitor.getNodeProfiles()).isEmpty();
+        assertThat(monitor.getTotalEvaluations()).isZero();
+        // the meters keep reading the cumulative counters, so they never go backwards
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(propagated.count()).isEqualTo(6);
+
+        ksession = kbase.newKieSession();
+        personList.forEach(ksession::insert);
+        assertThat(ksession.fireAllRules()).isEqualTo(6);
+        ksession.dispose();
+
+        assertThat(monitor.getNodeProfile(joinProfile.getNodeId()).getEvaluations()).isEqualTo(1);
+        assertThat(monitor.getNodeProfile(joinProfile.getNodeId()).getPropagatedTuples()).isEqualTo(6);
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(propagated.count()).isEqualTo(12);
+    }
+}
@@ -42,6 +42,14 @@ public class AfterPredicate extends AbstractTemporalPredicate<AfterPredicate> {
         this.finalRange = finalRange;
     }
 
+    public long getInitRange() {
+        return initRange;
+    }
+
+    public long getFinalRange() {
+        return finalRange;
+    }
+
     @Override
     public String toString() {
         return (negated ? "not " : "") + "after[" + initRange + ", " + finalRange + "]";
@@ -42,6 +42,14 @@ public class BeforePredicate extends AbstractTemporalPredicate<BeforePredicate>
         this.finalRange = finalRange;
     }
 
+    public long getInitRange() {
+        return initRange;
+    }
+
+    public long getFinalRange() {
+        return finalRange;
+    }
+
     @Override
     public String toString() {
         return (negated ? "not " : "") + "before[" + initRange + ", " + finalRange + "]";
@@ -38,6 +38,14 @@ public class CoincidesPredicate extends AbstractTemporalPredicate<CoincidesPredi
         this.endDevLong = endDev;
     }
 
+    public long getStartDev() {
+        return startDevLong;
+    }
+
+    public long getEndDev() {
+        return endDevLong;
+    }
+
     @Override
     public String toString() {
         return (negated ? "not " : "") + "coincides[" + startDevLong + ", " + endDevLong + "]";
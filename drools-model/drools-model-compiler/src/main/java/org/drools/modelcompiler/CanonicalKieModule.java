@@ -93,9 +93,11 @@ import org.kie.internal.builder.KnowledgeBuilderFactory;
 import org.kie.internal.builder.ResourceChange;
 import org.kie.internal.builder.ResourceChangeSet;
 import org.kie.internal.builder.conf.AlphaNetworkCompilerOption;
+import org.kie.internal.builder.conf.BetaNetworkCompilerOption;
 import org.kie.util.maven.support.DependencyFilter;
 import org.kie.util.maven.support.PomModel;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
@@ -257,10 +259,13 @@ public class CanonicalKieModule implements InternalKieModule {
         if(knowledgeBuilderForKieBase instanceof KnowledgeBuilderImpl) {// When using executable module in tests
             KnowledgeBuilderImpl knowledgeBuilderForImpl = (KnowledgeBuilderImpl) knowledgeBuilderForKieBase;
             KnowledgeBuilderConfigurationImpl builderConfiguration = knowledgeBuilderForImpl.getBuilderConfiguration();
-            options = singletonList(
+            options = asList(
                     new KieBaseUpdaterOptions.OptionEntry(
                             AlphaNetworkCompilerOption.class,
-                            builderConfiguration.getOption(AlphaNetworkCompilerOption.KEY)));
+                            builderConfiguration.getOption(AlphaNetworkCompilerOption.KEY)),
+                    new KieBaseUpdaterOptions.OptionEntry(
+                            BetaNetworkCompilerOption.class,
+                            builderConfiguration.getOption(BetaNetworkCompilerOption.KEY)));
         } else if(resourceFileExists(getANCFile(internalKieModule.getReleaseId()))) { // executable model with ANC
             options = singletonList(
                     new KieBaseUpdaterOptions.OptionEntry(
@@ -37,6 +37,7 @@ import org.drools.base.rule.accessor.ReadAccessor;
 import org.drools.base.rule.accessor.TupleValueExtractor;
 import org.drools.base.time.Interval;
 import org.drools.base.util.FieldIndex;
+import org.drools.base.util.TemporalIndex;
 import org.drools.base.util.index.ConstraintTypeOperator;
 import org.drools.core.util.bitmask.BitMask;
 import org.drools.model.AlphaIndex;
@@ -176,6 +177,11 @@ public class LambdaConstraint extends AbstractConstraint {
         return evaluator.getInterval();
     }
 
+    @Override
+    public TemporalIndex getTemporalIndex() {
+        return evaluator instanceof TemporalConstraintEvaluator ? (( TemporalConstraintEvaluator ) evaluator).getTemporalIndex() : null;
+    }
+
     @Override
     public boolean isAllowed(FactHandle handle, ValueResolver valueResolver) {
         try {
@@ -21,11 +21,15 @@ import org.drools.base.reteoo.BaseTuple;
 import org.drools.base.rule.Declaration;
 import org.drools.base.rule.Pattern;
 import org.drools.base.time.Interval;
+import org.drools.base.util.TemporalIndex;
 import org.drools.core.common.DefaultEventHandle;
 import org.drools.model.SingleConstraint;
 import org.drools.model.constraints.FixedTemporalConstraint;
 import org.drools.model.constraints.TemporalConstraint;
 import org.drools.model.functions.Function1;
+import org.drools.model.functions.temporal.AfterPredicate;
+import org.drools.model.functions.temporal.BeforePredicate;
+import org.drools.model.functions.temporal.CoincidesPredicate;
 import org.drools.model.functions.temporal.TemporalPredicate;
 import org.kie.api.runtime.rule.FactHandle;
 
@@ -121,6 +125,47 @@ public class TemporalConstraintEvaluator extends ConstraintEvaluator {
         return interval;
     }
 
+    public TemporalIndex getTemporalIndex() {
+        TemporalConstraint temporalConstraint = (TemporalConstraint) constraint;
+        if (declarations.length != 2 || temporalConstraint.getF1() != null || temporalConstraint.getF2() != null) {
+            return null;
+        }
+        int patternPos = declarations[0] == patternDeclaration ? 0 : declarations[1] == patternDeclaration ? 1 : -1;
+        if (patternPos < 0 || !isEventDeclaration( declarations[0] ) || !isEventDeclaration( declarations[1] )) {
+            return null;
+        }
+        Declaration declaration = declarations[1 - patternPos];
+        TemporalPredicate temporalPredicate = temporalConstraint.getTemporalPredicate();
+        if (temporalPredicate.isNegated()) {
+            return null;
+        }
+        // the predicate is evaluated on the first and then on the second event, so if the pattern is the second one
+        // 'first after second' is indexed as 'this before first' and vice versa
+        boolean patternIsFirst = (patternPos == 0) != temporalPredicate.isThisOnRight();
+        if (temporalPredicate instanceof AfterPredicate) {
+            AfterPredicate after = (AfterPredicate) temporalPredicate;
+            return patternIsFirst ?
+                    TemporalIndex.after( declaration, after.getInitRange(), after.getFinalRange() ) :
+                    TemporalIndex.before( declaration, after.getInitRange(), after.getFinalRange() );
+        }
+        if (temporalPredicate instanceof BeforePredicate) {
+            BeforePredicate before = (BeforePredicate) temporalPredicate;
+            return patternIsFirst ?
+                    TemporalIndex.before( declaration, before.getInitRange(), before.getFinalRange() ) :
+                    TemporalIndex.after( declaration, before.getInitRange(), before.getFinalRange() );
+        }
+        if (temporalPredicate instanceof CoincidesPredicate) {
+            return TemporalIndex.coincides( declaration, (( CoincidesPredicate ) temporalPredicate).getStartDev() );
+        }
+        return null;
+    }
+
+    // the timestamps are the ones of the event handles, as in getStartTimestamp, only for the events not read with a lambda
+    private static boolean isEventDeclaration( Declaration declaration ) {
+        return declaration.getPattern() != null && declaration.getPattern().getObjectType().isEvent() &&
+               !(declaration.getExtractor() instanceof LambdaReadAccessor);
+    }
+
     @Override
     protected void setPatternDeclaration( Declaration patternDeclaration ) {
         this.patternDeclaration = patternDeclaration;
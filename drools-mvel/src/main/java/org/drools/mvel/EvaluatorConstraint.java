@@ -31,6 +31,7 @@ import org.drools.base.rule.accessor.Evaluator;
 import org.drools.base.rule.accessor.FieldValue;
 import org.drools.base.rule.accessor.ReadAccessor;
 import org.drools.base.time.Interval;
+import org.drools.base.util.TemporalIndex;
 import org.drools.mvel.evaluators.MvelEvaluator;
 import org.drools.mvel.evaluators.VariableRestriction;
 import org.drools.mvel.evaluators.VariableRestriction.VariableContextEntry;
@@ -122,6 +123,15 @@ public class EvaluatorConstraint extends MutableTypeConstraint implements Interv
         return evaluator == null ? null : evaluator.getInterval();
     }
 
+    @Override
+    public TemporalIndex getTemporalIndex() {
+        // only the timestamps of the event handles can be indexed, not the ones read from the fields of the events
+        if (isLiteral() || !isSelf() || !declarations[0].getExtractor().isSelfReference() || !(evaluator instanceof MvelEvaluator)) {
+            return null;
+        }
+        return ((MvelEvaluator) evaluator).getTemporalIndex(declarations[0]);
+    }
+
     public Evaluator getEvaluator() {
         return evaluator;
     }
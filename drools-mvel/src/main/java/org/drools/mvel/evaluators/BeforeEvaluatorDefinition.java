@@ -28,8 +28,10 @@ import org.drools.compiler.rule.builder.EvaluatorDefinition;
 import org.drools.drl.parser.impl.Operator;
 import org.drools.base.util.TimeIntervalParser;
 import org.drools.core.common.DefaultEventHandle;
+import org.drools.base.rule.Declaration;
 import org.drools.base.rule.accessor.Evaluator;
 import org.drools.base.time.Interval;
+import org.drools.base.util.TemporalIndex;
 import org.kie.api.runtime.rule.FactHandle;
 
 /**
@@ -242,6 +244,11 @@ public class BeforeEvaluatorDefinition
             return this.getOperator().isNegated() ^ (dist >= this.initRange && dist <= this.finalRange);
         }
 
+        @Override
+        public TemporalIndex getTemporalIndex( Declaration declaration ) {
+            return this.getOperator().isNegated() ? null : TemporalIndex.before( declaration, this.initRange, this.finalRange );
+        }
+
         @Override
         protected long getLeftTimestamp( FactHandle handle) {
             return ( (DefaultEventHandle) handle ).getStartTimestamp();
@@ -31,10 +31,12 @@ import org.drools.base.util.TimeIntervalParser;
 import org.drools.core.common.DefaultEventHandle;
 import org.drools.mvel.evaluators.VariableRestriction.TemporalVariableContextEntry;
 import org.drools.mvel.evaluators.VariableRestriction.VariableContextEntry;
+import org.drools.base.rule.Declaration;
 import org.drools.base.rule.accessor.Evaluator;
 import org.drools.base.rule.accessor.FieldValue;
 import org.drools.base.rule.accessor.ReadAccessor;
 import org.drools.base.time.Interval;
+import org.drools.base.util.TemporalIndex;
 import org.kie.api.runtime.rule.FactHandle;
 
 /**
@@ -252,6 +254,11 @@ public class CoincidesEvaluatorDefinition
                                  0 );
         }
 
+        @Override
+        public TemporalIndex getTemporalIndex( Declaration declaration ) {
+            return this.getOperator().isNegated() ? null : TemporalIndex.coincides( declaration, this.startDev );
+        }
+
         public boolean evaluate(ValueResolver valueResolver,
                                 final ReadAccessor extractor,
                                 final FactHandle object1,
@@ -17,7 +17,9 @@
 package org.drools.mvel.evaluators;
 
 import org.drools.base.base.ValueResolver;
+import org.drools.base.rule.Declaration;
 import org.drools.base.rule.accessor.Evaluator;
+import org.drools.base.util.TemporalIndex;
 import org.kie.api.runtime.rule.FactHandle;
 
 public interface MvelEvaluator extends Evaluator {
@@ -84,4 +86,12 @@ public interface MvelEvaluator extends Evaluator {
     boolean evaluateCachedRight(ValueResolver valueResolver,
                                 VariableRestriction.VariableContextEntry context,
                                 FactHandle left);
+
+    /**
+     * Returns the range of the timestamps of the right event that can satisfy this evaluator against the event
+     * of the given declaration, when this is a temporal evaluator comparing the timestamps of the two events, or null
+     */
+    default TemporalIndex getTemporalIndex(Declaration declaration) {
+        return null;
+    }
 }
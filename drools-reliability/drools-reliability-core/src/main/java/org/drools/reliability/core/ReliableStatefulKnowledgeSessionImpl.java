@@ -49,6 +49,7 @@ public class ReliableStatefulKnowledgeSessionImpl extends StatefulKnowledgeSessi
 
     @Override
     public void dispose() {
+        WriteBehindStorageDecorator.discardSessionStorages(getSessionIdentifier(this));
         StorageManagerFactory.get().getStorageManager().removeStoragesBySessionId(String.valueOf(getSessionIdentifier(this)));
         super.dispose();
     }
@@ -67,8 +68,11 @@ public class ReliableStatefulKnowledgeSessionImpl extends StatefulKnowledgeSessi
         super.endOperation(operationType);
         if (operationType == InternalOperationType.FIRE) {
             ((ReliableGlobalResolver) getGlobalResolver()).updateStorage();
-            if (getSessionConfiguration().getPersistedSessionOption().getSafepointStrategy() == PersistedSessionOption.SafepointStrategy.AFTER_FIRE) {
+            PersistedSessionOption persistedSessionOption = getSessionConfiguration().getPersistedSessionOption();
+            if (persistedSessionOption.getSafepointStrategy() == PersistedSessionOption.SafepointStrategy.AFTER_FIRE) {
                 safepoint();
+            } else if (persistedSessionOption.getSafepointStrategy() == PersistedSessionOption.SafepointStrategy.WRITE_BEHIND && persistedSessionOption.isWriteBehindCommitAfterFire()) {
+                WriteBehindStorageDecorator.requestCommitForSession(getSessionIdentifier(this));
             }
         }
     }
@@ -76,5 +80,9 @@ public class ReliableStatefulKnowledgeSessionImpl extends StatefulKnowledgeSessi
     @Override
     public void safepoint() {
         getEntryPoints().stream().map(ReliableNamedEntryPoint.class::cast).forEach(ReliableNamedEntryPoint::safepoint);
+        if (getSessionConfiguration().getPersistedSessionOption().getSafepointStrategy() == PersistedSessionOption.SafepointStrategy.WRITE_BEHIND) {
+            // also the storages not belonging to an entry point, like the agenda ones, have to be written
+            WriteBehindStorageDecorator.commitSessionStorages(getSessionIdentifier(this));
+        }
     }
 }
@@ -31,7 +31,9 @@ public interface StorageManager {
 
     default <K, V> Storage<K, V> getOrCreateStorageForSession(ReteEvaluator reteEvaluator, PersistedSessionOption.SafepointStrategy safepointStrategy, String storageName) {
         Storage<K, V> storage = internalGetOrCreateStorageForSession(reteEvaluator, storageName);
-        if (safepointStrategy.useSafepoints()) {
+        if (safepointStrategy == PersistedSessionOption.SafepointStrategy.WRITE_BEHIND) {
+            storage = new WriteBehindStorageDecorator<>(storage, getSessionIdentifier(reteEvaluator), reteEvaluator.getSessionConfiguration().getPersistedSessionOption());
+        } else if (safepointStrategy.useSafepoints()) {
             storage = new BatchingStorageDecorator<>(storage);
         }
         return storage;
@@ -0,0 +1,455 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.reliability.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.drools.core.common.Storage;
+import org.kie.api.runtime.conf.PersistedSessionOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A Storage journaling the changes in memory and writing them to the underlying storage from a background thread,
+ * so the session thread doesn't pay the latency of the storage for each operation.
+ *
+ * The changes to the same key are coalesced in the journal and all the journaled changes are written together
+ * (group commit) when the commit interval expires, when the configured number of operations is reached or when
+ * a commit is explicitly requested. When the journal reaches its capacity the session thread waits for a commit
+ * to free it. A flush synchronously writes all the pending changes and propagates a failure of the storage,
+ * while a failed background commit keeps the changes in the journal, so they are retried by the next commit.
+ *
+ * The background commits of all the sessions are executed by a single shared thread, which commits each storage
+ * on its own: the storages of a session (its entry points, agenda, globals...) are not committed atomically, so
+ * after a failure some of them can contain changes that the others don't have yet. Only a safepoint, flushing all
+ * of them from the session thread, leaves the whole session consistent in the underlying storages.
+ *
+ * The session keeps mutating the objects it puts in the storage, like the facts wrapped by the StoredObjects, so
+ * a value is serialized on the session thread when it is journaled and the background thread only writes a copy
+ * deserialized from those bytes: this way what is written is the state of the value when it was put, as it happens
+ * with the storages writing synchronously. A value that can't be serialized with the java serialization is instead
+ * written through, after having written all the journaled changes.
+ */
+public class WriteBehindStorageDecorator<K, V> implements Storage<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindStorageDecorator.class);
+
+    private static final Object REMOVED = new Object();
+
+    private static final Map<Long, List<WriteBehindStorageDecorator<?, ?>>> sessionStorages = new ConcurrentHashMap<>();
+
+    private static class ExecutorHolder {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "drools-reliability-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final Storage<K, V> storage;
+
+    private final long sessionId;
+
+    private final int commitOperations;
+
+    private final int journalCapacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition journalNotFull = lock.newCondition();
+
+    private final Object commitLock = new Object();
+
+    private final AtomicBoolean commitRequested = new AtomicBoolean();
+
+    private Map<K, Object> journal = new LinkedHashMap<>();
+
+    private Map<K, Object> committing = Collections.emptyMap();
+
+    private final ScheduledFuture<?> periodicCommit;
+
+    public WriteBehindStorageDecorator(Storage<K, V> storage, long sessionId, PersistedSessionOption option) {
+        this.storage = storage;
+        this.sessionId = sessionId;
+        this.commitOperations = option.getWriteBehindCommitOperations();
+        this.journalCapacity = Math.max(1, option.getWriteBehindJournalCapacity());
+        long commitInterval = option.getWriteBehindCommitIntervalMillis();
+        this.periodicCommit = commitInterval > 0 ?
+                ExecutorHolder.EXECUTOR.scheduleWithFixedDelay(this::backgroundCommit, commitInterval, commitInterval, TimeUnit.MILLISECONDS) :
+                null;
+        sessionStorages.computeIfAbsent(sessionId, id -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    @Override
+    public V get(K key) {
+        return getOrDefault(key, null);
+    }
+
+    @Override
+    public V getOrDefault(K key, V value) {
+        Object journaled = getJournaled(key);
+        if (journaled == REMOVED) {
+            return value;
+        }
+        return journaled != null ? ((JournaledValue<V>) journaled).value : storage.getOrDefault(key, value);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        Object journaled = getJournaled(key);
+        return journaled != null ? journaled != REMOVED : storage.containsKey(key);
+    }
+
+    private Object getJournaled(K key) {
+        lock.lock();
+        try {
+            Object journaled = journal.get(key);
+            // the batch being committed has to be checked too, because it could be not yet written to the storage
+            return journaled != null ? journaled : committing.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return journalValue(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> otherMap) {
+        otherMap.forEach(this::journalValue);
+    }
+
+    @Override
+    public V remove(K key) {
+        return journal(key, REMOVED);
+    }
+
+    private V journalValue(K key, V value) {
+        byte[] bytes;
+        try {
+            bytes = serialize(value);
+        } catch (NotSerializableException e) {
+            return writeThrough(key, value);
+        }
+        return journal(key, new JournaledValue<>(value, bytes));
+    }
+
+    private V writeThrough(K key, V value) {
+        synchronized (commitLock) {
+            // the journaled changes have to be written first, so they don't overwrite this one later
+            commit();
+            return storage.put(key, value);
+        }
+    }
+
+    private V journal(K key, Object value) {
+        Object previous;
+        int journalSize;
+        lock.lock();
+        try {
+            awaitJournalCapacity(key);
+            previous = journal.put(key, value);
+            journalSize = journal.size();
+        } finally {
+            lock.unlock();
+        }
+        if (commitOperations > 0 && journalSize >= commitOperations) {
+            requestCommit();
+        }
+        return previous == null || previous == REMOVED ? null : ((JournaledValue<V>) previous).value;
+    }
+
+    private void awaitJournalCapacity(K key) {
+        while (journal.size() >= journalCapacity && !journal.containsKey(key)) {
+            requestCommit();
+            try {
+                // wait with a timeout, so a commit is requested again if the previous one failed
+                journalNotFull.await(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ReliabilityRuntimeException(e);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (commitLock) {
+            lock.lock();
+            try {
+                journal.clear();
+                journalNotFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            storage.clear();
+        }
+    }
+
+    @Override
+    public Collection<V> values() {
+        flush();
+        return storage.values();
+    }
+
+    @Override
+    public Set<K> keySet() {
+        flush();
+        return storage.keySet();
+    }
+
+    @Override
+    public int size() {
+        flush();
+        return storage.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean requiresFlush() {
+        return true;
+    }
+
+    /**
+     * Synchronously writes all the journaled changes to the underlying storage
+     */
+    @Override
+    public void flush() {
+        commit();
+    }
+
+    /**
+     * Asks the background thread to write the journaled changes, without waiting for it
+     */
+    public void requestCommit() {
+        if (commitRequested.compareAndSet(false, true)) {
+            ExecutorHolder.EXECUTOR.execute(() -> {
+                commitRequested.set(false);
+                backgroundCommit();
+            });
+        }
+    }
+
+    /**
+     * Writes all the journaled changes to the underlying storage and then stops the periodic commit of this storage.
+     * If the write fails the storage is left open, so the changes can be flushed again
+     */
+    public void close() {
+        flush();
+        discard();
+    }
+
+    /**
+     * Stops the periodic commit of this storage, discarding the changes not yet written
+     */
+    public void discard() {
+        if (periodicCommit != null) {
+            periodicCommit.cancel(false);
+        }
+        sessionStorages.computeIfPresent(sessionId, (id, storages) -> {
+            storages.remove(this);
+            return storages.isEmpty() ? null : storages;
+        });
+        lock.lock();
+        try {
+            journal.clear();
+            journalNotFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void backgroundCommit() {
+        try {
+            commit();
+        } catch (RuntimeException e) {
+            log.error("Failed to write the journaled changes of session " + sessionId + ", they will be retried by the next commit", e);
+        }
+    }
+
+    private void commit() {
+        synchronized (commitLock) {
+            Map<K, Object> batch;
+            lock.lock();
+            try {
+                if (journal.isEmpty()) {
+                    return;
+                }
+                batch = journal;
+                committing = batch;
+                journal = new LinkedHashMap<>();
+                journalNotFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                lock.lock();
+                try {
+                    // put the batch back in the journal, letting the changes happened in the meanwhile win
+                    batch.putAll(journal);
+                    journal = batch;
+                    committing = Collections.emptyMap();
+                } finally {
+                    lock.unlock();
+                }
+                throw e;
+            }
+
+            lock.lock();
+            try {
+                committing = Collections.emptyMap();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void write(Map<K, Object> batch) {
+        Map<K, V> puts = new HashMap<>();
+        List<K> removes = new ArrayList<>();
+        batch.forEach((key, value) -> {
+            if (value == REMOVED) {
+                removes.add(key);
+            } else {
+                puts.put(key, ((JournaledValue<V>) value).copy());
+            }
+        });
+        if (!puts.isEmpty()) {
+            storage.putAll(puts);
+        }
+        removes.forEach(storage::remove);
+    }
+
+    private static byte[] serialize(Object value) throws NotSerializableException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(value);
+        } catch (NotSerializableException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new ReliabilityRuntimeException(e);
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * A journaled value: the value put by the session, returned by the reads until it is written, and its bytes,
+     * serialized when it was put, from which the background thread writes a copy not shared with the session
+     */
+    private static class JournaledValue<V> {
+
+        private final V value;
+
+        private final byte[] bytes;
+
+        private final ClassLoader classLoader;
+
+        private JournaledValue(V value, byte[] bytes) {
+            this.value = value;
+            this.bytes = bytes;
+            // the classes of the facts could be not visible from the write behind thread
+            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            this.classLoader = contextClassLoader != null || value == null ? contextClassLoader : value.getClass().getClassLoader();
+        }
+
+        private V copy() {
+            try (ObjectInputStream ois = new ClassLoaderObjectInputStream(new ByteArrayInputStream(bytes), classLoader)) {
+                return (V) ois.readObject();
+            } catch (IOException | ClassNotFoundException e) {
+                throw new ReliabilityRuntimeException(e);
+            }
+        }
+    }
+
+    private static class ClassLoaderObjectInputStream extends ObjectInputStream {
+
+        private final ClassLoader classLoader;
+
+        private ClassLoaderObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+            super(in);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // fall back to the default resolution
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+
+    /**
+     * Synchronously writes the journaled changes of all the storages of the given session, one storage after the other
+     */
+    public static void commitSessionStorages(long sessionId) {
+        sessionStorages.getOrDefault(sessionId, Collections.emptyList()).forEach(WriteBehindStorageDecorator::flush);
+    }
+
+    /**
+     * Asks the background thread to write the journaled changes of all the storages of the given session
+     */
+    public static void requestCommitForSession(long sessionId) {
+        sessionStorages.getOrDefault(sessionId, Collections.emptyList()).forEach(WriteBehindStorageDecorator::requestCommit);
+    }
+
+    /**
+     * Discards all the storages of the given session, stopping their periodic commit
+     */
+    public static void discardSessionStorages(long sessionId) {
+        List<WriteBehindStorageDecorator<?, ?>> storages = sessionStorages.remove(sessionId);
+        if (storages != null) {
+            storages.forEach(WriteBehindStorageDecorator::discard);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.reliability.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.drools.core.common.MapStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.conf.PersistedSessionOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteBehindStorageDecoratorTest {
+
+    private static final AtomicLong SESSION_IDS = new AtomicLong(1_000_000);
+
+    private final long sessionId = SESSION_IDS.incrementAndGet();
+
+    @AfterEach
+    void tearDown() {
+        WriteBehindStorageDecorator.discardSessionStorages(sessionId);
+    }
+
+    @Test
+    void changesToTheSameKeyAreCoalesced() {
+        InMemoryStorage storage = new InMemoryStorage();
+        WriteBehindStorageDecorator<String, String> writeBehind = newWriteBehind(storage, 0, 100);
+
+        writeBehind.put("a", "1");
+        writeBehind.put("a", "2");
+        writeBehind.put("b", "1");
+        writeBehind.remove("b");
+        writeBehind.put("c", "1");
+        writeBehind.remove("c");
+        writeBehind.put("c", "3");
+
+        // nothing is written before the commit, but the journaled changes are visible
+        assertThat(storage.operations).isEmpty();
+        assertThat(writeBehind.get("a")).isEqualTo("2");
+        assertThat(writeBehind.containsKey("b")).isFalse();
+        assertThat(writeBehind.get("c")).isEqualTo("3");
+
+        writeBehind.flush();
+
+        assertThat(storage.operations).containsExactly("putAll {a=2, c=3}", "remove b");
+        assertThat(storage.get("a")).isEqualTo("2");
+        assertThat(storage.containsKey("b")).isFalse();
+        assertThat(storage.get("c")).isEqualTo("3");
+    }
+
+    @Test
+    void valuesAreWrittenAsTheyWereWhenJournaled() {
+        MapStorage<String, List<String>> storage = new MapStorage<>(Collections.synchronizedMap(new HashMap<>()));
+        WriteBehindStorageDecorator<String, List<String>> writeBehind = newWriteBehind(storage, 0, 100);
+
+        List<String> fact = new ArrayList<>();
+        fact.add("journaled");
+        writeBehind.put("a", fact);
+        // the session keeps mutating the value after having put it
+        fact.add("mutated");
+        assertThat(writeBehind.get("a")).isSameAs(fact);
+
+        writeBehind.flush();
+
+        assertThat(storage.get("a")).containsExactly("journaled").isNotSameAs(fact);
+    }
+
+    @Test
+    void notSerializableValuesAreWrittenThrough() {
+        MapStorage<String, Object> storage = new MapStorage<>(Collections.synchronizedMap(new HashMap<>()));
+        WriteBehindStorageDecorator<String, Object> writeBehind = newWriteBehind(storage, 0, 100);
+
+        writeBehind.put("a", "1");
+        Object notSerializable = new Object();
+        writeBehind.put("b", notSerializable);
+
+        // the journaled changes are written before the not serializable value
+        assertThat(storage.get("a")).isEqualTo("1");
+        assertThat(storage.get("b")).isSameAs(notSerializable);
+    }
+
+    @Test
+    void fullJournalBlocksUntilACommitFreesIt() throws Exception {
+        InMemoryStorage storage = new InMemoryStorage();
+        WriteBehindStorageDecorator<String, String> writeBehind = newWriteBehind(storage, 0, 2);
+
+        // keep the shared write behind thread busy writing the first batch
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        storage.beforeWrite = () -> {
+            writeStarted.countDown();
+            await(releaseWrite);
+        };
+        writeBehind.put("a", "1");
+        writeBehind.put("b", "1");
+        writeBehind.requestCommit();
+        assertThat(writeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        storage.beforeWrite = null;
+
+        writeBehind.put("c", "1");
+        writeBehind.put("d", "1");
+        // a key already in the journal doesn't need more capacity
+        writeBehind.put("c", "2");
+
+        CompletableFuture<Void> blockedPut = CompletableFuture.runAsync(() -> writeBehind.put("e", "1"));
+        Thread.sleep(200);
+        assertThat(blockedPut).isNotDone();
+
+        // once the first batch is written, the commit requested by the blocked put frees the journal
+        releaseWrite.countDown();
+        blockedPut.get(5, TimeUnit.SECONDS);
+
+        writeBehind.flush();
+        assertThat(storage.size()).isEqualTo(5);
+        assertThat(storage.get("c")).isEqualTo("2");
+        assertThat(storage.get("e")).isEqualTo("1");
+    }
+
+    @Test
+    void failedCommitIsRetried() {
+        InMemoryStorage storage = new InMemoryStorage();
+        storage.failing = true;
+        WriteBehindStorageDecorator<String, String> writeBehind = newWriteBehind(storage, 10, 100);
+
+        writeBehind.put("a", "1");
+        waitUntil(() -> storage.failures.get() >= 2);
+
+        // a flush propagates the failure and keeps the changes in the journal
+        assertThatThrownBy(writeBehind::flush).isInstanceOf(IllegalStateException.class);
+        writeBehind.put("b", "1");
+        assertThat(writeBehind.get("a")).isEqualTo("1");
+        assertThat(storage.isEmpty()).isTrue();
+
+        // the periodic commit writes them as soon as the storage is available again
+        storage.failing = false;
+        waitUntil(() -> storage.containsKey("a") && storage.containsKey("b"));
+        assertThat(storage.get("a")).isEqualTo("1");
+        assertThat(storage.get("b")).isEqualTo("1");
+    }
+
+    @Test
+    void flushAndCloseDrainTheJournal() {
+        InMemoryStorage storage1 = new InMemoryStorage();
+        InMemoryStorage storage2 = new InMemoryStorage();
+        WriteBehindStorageDecorator<String, String> writeBehind1 = newWriteBehind(storage1, 0, 1000);
+        WriteBehindStorageDecorator<String, String> writeBehind2 = newWriteBehind(storage2, 0, 1000);
+
+        for (int i = 0; i < 500; i++) {
+            writeBehind1.put("key" + i, "value" + i);
+            writeBehind2.put("key" + i, "value" + i);
+        }
+        assertThat(storage1.isEmpty()).isTrue();
+        assertThat(storage2.isEmpty()).isTrue();
+
+        WriteBehindStorageDecorator.commitSessionStorages(sessionId);
+        assertThat(storage1.size()).isEqualTo(500);
+        assertThat(storage2.size()).isEqualTo(500);
+
+        writeBehind1.remove("key0");
+        writeBehind1.put("key500", "value500");
+        writeBehind1.close();
+        assertThat(storage1.size()).isEqualTo(500);
+        assertThat(storage1.containsKey("key0")).isFalse();
+        assertThat(storage1.get("key500")).isEqualTo("value500");
+
+        // a closed storage is no longer committed with its session
+        writeBehind2.put("key500", "value500");
+        int operations = storage1.operations.size();
+        WriteBehindStorageDecorator.commitSessionStorages(sessionId);
+        assertThat(storage1.operations).hasSize(operations);
+        assertThat(storage2.get("key500")).isEqualTo("value500");
+    }
+
+    private <V> WriteBehindStorageDecorator<String, V> newWriteBehind(MapStorage<String, V> storage, long commitIntervalMillis, int journalCapacity) {
+        PersistedSessionOption option = PersistedSessionOption.newSession()
+                .withSafepointStrategy(PersistedSessionOption.SafepointStrategy.WRITE_BEHIND)
+                .withWriteBehindCommitIntervalMillis(commitIntervalMillis)
+                .withWriteBehindCommitOperations(0)
+                .withWriteBehindJournalCapacity(journalCapacity);
+        return new WriteBehindStorageDecorator<>(storage, sessionId, option);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class InMemoryStorage extends MapStorage<String, String> {
+
+        private final List<String> operations = Collections.synchronizedList(new ArrayList<>());
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private volatile boolean failing;
+
+        private volatile Runnable beforeWrite;
+
+        private InMemoryStorage() {
+            super(Collections.synchronizedMap(new HashMap<>()));
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends String> otherMap) {
+            checkAvailable();
+            operations.add("putAll " + new TreeMap<>(otherMap));
+            super.putAll(otherMap);
+        }
+
+        @Override
+        public String remove(String key) {
+            checkAvailable();
+            operations.add("remove " + key);
+            return super.remove(key);
+        }
+
+        private void checkAvailable() {
+            Runnable action = beforeWrite;
+            if (action != null) {
+                action.run();
+            }
+            if (failing) {
+                failures.incrementAndGet();
+                throw new IllegalStateException("storage not available");
+            }
+        }
+    }
+}
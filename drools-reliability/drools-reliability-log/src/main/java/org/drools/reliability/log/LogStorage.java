@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.reliability.log;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.core.common.Storage;
+
+/**
+ * A Storage backed by a SegmentLog. Since decoding the previous value of a key would cost a read of the log,
+ * put and remove don't return it and always return null.
+ */
+public class LogStorage<K, V> implements Storage<K, V> {
+
+    private final SegmentLog log;
+
+    private final String storageName;
+
+    LogStorage(SegmentLog log, String storageName) {
+        this.log = log;
+        this.storageName = storageName;
+    }
+
+    @Override
+    public V get(K key) {
+        return (V) log.get(storageName, key);
+    }
+
+    @Override
+    public V getOrDefault(K key, V value) {
+        V result = get(key);
+        return result != null || log.containsKey(storageName, key) ? result : value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        log.put(storageName, key, value);
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> otherMap) {
+        log.putAll(storageName, otherMap);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return log.containsKey(storageName, key);
+    }
+
+    @Override
+    public V remove(K key) {
+        log.remove(storageName, key);
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        log.clear(storageName);
+    }
+
+    @Override
+    public Collection<V> values() {
+        return (Collection<V>) log.values(storageName);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return (Set<K>) log.keySet(storageName);
+    }
+
+    @Override
+    public int size() {
+        return log.size(storageName);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.reliability.log;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.drools.core.common.ReteEvaluator;
+import org.drools.core.common.Storage;
+import org.drools.reliability.core.TestableStorageManager;
+import org.drools.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.drools.reliability.core.StorageManager.createStorageId;
+import static org.drools.reliability.core.StorageManagerFactory.DELIMITER;
+import static org.drools.reliability.core.StorageManagerFactory.SESSION_STORAGE_PREFIX;
+import static org.drools.reliability.core.StorageManagerFactory.SHARED_STORAGE_PREFIX;
+import static org.drools.reliability.log.LogStorageManagerFactory.LOG_STORAGE_COMPACTION_RATIO;
+import static org.drools.reliability.log.LogStorageManagerFactory.LOG_STORAGE_DIR;
+import static org.drools.reliability.log.LogStorageManagerFactory.LOG_STORAGE_SEGMENT_SIZE;
+import static org.drools.reliability.log.LogStorageManagerFactory.LOG_STORAGE_SYNC;
+import static org.drools.util.Config.getConfig;
+
+/**
+ * A StorageManager keeping all the storages in a single append-only log of memory-mapped segments, so each change
+ * is a sequential write and the state is recovered after a crash by sequentially replaying the log.
+ */
+public class LogStorageManager implements TestableStorageManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LogStorageManager.class);
+
+    static final LogStorageManager INSTANCE = new LogStorageManager();
+
+    public static final String DEFAULT_LOG_DIR = "drools-reliability-log";
+
+    private SegmentLog log;
+
+    private LogStorageManager() {
+    }
+
+    @Override
+    public void initStorageManager() {
+        LOG.info("Using LogStorageManager");
+        log = SegmentLog.open(getLogDir(),
+                              Integer.parseInt(getConfig(LOG_STORAGE_SEGMENT_SIZE, String.valueOf(16 * 1024 * 1024))),
+                              Double.parseDouble(getConfig(LOG_STORAGE_COMPACTION_RATIO, "0.5")),
+                              Boolean.parseBoolean(getConfig(LOG_STORAGE_SYNC, "false")));
+    }
+
+    private static Path getLogDir() {
+        return Path.of(getConfig(LOG_STORAGE_DIR, DEFAULT_LOG_DIR));
+    }
+
+    @Override
+    public <K, V> Storage<K, V> internalGetOrCreateStorageForSession(ReteEvaluator reteEvaluator, String cacheName) {
+        return getOrCreateStorage(createStorageId(reteEvaluator, cacheName));
+    }
+
+    @Override
+    public <K, V> Storage<K, V> getOrCreateSharedStorage(String cacheName) {
+        return getOrCreateStorage(SHARED_STORAGE_PREFIX + cacheName);
+    }
+
+    private <K, V> Storage<K, V> getOrCreateStorage(String storageName) {
+        log.create(storageName);
+        return new LogStorage<>(log, storageName);
+    }
+
+    @Override
+    public void close() {
+        log.close();
+    }
+
+    @Override
+    public void removeStorage(String storageName) {
+        log.drop(storageName);
+    }
+
+    @Override
+    public void removeStoragesBySessionId(String sessionId) {
+        log.storageNames()
+                .stream()
+                .filter(storageName -> storageName.startsWith(SESSION_STORAGE_PREFIX + sessionId + DELIMITER))
+                .forEach(this::removeStorage);
+    }
+
+    @Override
+    public void removeAllSessionStorages() {
+        log.storageNames()
+                .stream()
+                .filter(storageName -> storageName.startsWith(SESSION_STORAGE_PREFIX))
+                .forEach(this::removeStorage);
+    }
+
+    @Override
+    public Set<String> getStorageNames() {
+        return log.storageNames();
+    }
+
+    //--- test purpose
+
+    @Override
+    public void restart() {
+        // JVM crashed
+        log.close();
+        log = null;
+
+        // Reboot
+        initStorageManager();
+    }
+
+    @Override
+    public void restartWithCleanUp() {
+        // JVM crashed
+        log.close();
+        log = null;
+
+        // remove the log segments
+        cleanUpLog();
+
+        // Reboot
+        initStorageManager();
+    }
+
+    @Override
+    public boolean isRemote() {
+        return false;
+    }
+
+    public static void cleanUpLog() {
+        FileUtils.deleteDirectory(getLogDir());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.reliability.log;
+
+import org.drools.reliability.core.StorageManager;
+import org.drools.reliability.core.StorageManagerFactory;
+
+public class LogStorageManagerFactory implements StorageManagerFactory {
+
+    static int servicePriorityValue = 0; // package access for test purposes
+
+    public static final String LOG_STORAGE_DIR = RELIABILITY_STORAGE_PREFIX + ".log.dir";
+    public static final String LOG_STORAGE_SEGMENT_SIZE = RELIABILITY_STORAGE_PREFIX + ".log.segment.size";
+    public static final String LOG_STORAGE_COMPACTION_RATIO = RELIABILITY_STORAGE_PREFIX + ".log.compaction.ratio";
+    public static final String LOG_STORAGE_SYNC = RELIABILITY_STORAGE_PREFIX + ".log.sync";
+
+    private final StorageManager storageManager;
+
+    public LogStorageManagerFactory() {
+        storageManager = LogStorageManager.INSTANCE;
+
+        // initStorageManager() is called by StorageManagerFactory.Holder.createInstance()
+    }
+
+    @Override
+    public StorageManager getStorageManager() {
+        return storageManager;
+    }
+
+    @Override
+    public int servicePriority() {
+        return servicePriorityValue;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.reliability.log;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.charset.StandardCharsets;
+
+import org.drools.reliability.core.ReliabilityRuntimeException;
+import org.drools.reliability.core.SerializableStoredEvent;
+import org.drools.reliability.core.SerializableStoredObject;
+import org.drools.reliability.core.StoredEvent;
+import org.drools.reliability.core.StoredObject;
+
+/**
+ * The binary format of the keys and values written in the log. The types used by the reliability
+ * components, including the StoredObjects and StoredEvents wrapping the facts, are written with a compact
+ * tagged encoding, while any other object is written with java serialization.
+ */
+final class RecordCodec {
+
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte INTEGER = 2;
+    private static final byte STRING = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte STORED_OBJECT = 5;
+    private static final byte STORED_EVENT = 6;
+    private static final byte SERIALIZED = 7;
+
+    private RecordCodec() {
+        // utils class
+    }
+
+    static byte[] encode(Object object) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(baos)) {
+            write(out, object);
+        } catch (IOException e) {
+            throw new ReliabilityRuntimeException(e);
+        }
+        return baos.toByteArray();
+    }
+
+    static Object decode(byte[] bytes, int offset, int length) {
+        try {
+            return read(new DataInputStream(new ByteArrayInputStream(bytes, offset, length)));
+        } catch (IOException | ClassNotFoundException e) {
+            throw new ReliabilityRuntimeException(e);
+        }
+    }
+
+    private static void write(DataOutput out, Object object) throws IOException {
+        if (object == null) {
+            out.writeByte(NULL);
+        } else if (object instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) object);
+        } else if (object instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) object);
+        } else if (object instanceof String) {
+            byte[] bytes = ((String) object).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (object instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) object);
+        } else if (object.getClass() == SerializableStoredObject.class) {
+            StoredObject storedObject = (StoredObject) object;
+            out.writeByte(STORED_OBJECT);
+            out.writeBoolean(storedObject.isPropagated());
+            write(out, storedObject.getObject());
+        } else if (object.getClass() == SerializableStoredEvent.class) {
+            StoredEvent storedEvent = (StoredEvent) object;
+            out.writeByte(STORED_EVENT);
+            out.writeBoolean(storedEvent.isPropagated());
+            out.writeLong(storedEvent.getTimestamp());
+            out.writeLong(storedEvent.getDuration());
+            write(out, storedEvent.getObject());
+        } else {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+                oos.writeObject(object);
+            }
+            out.writeByte(SERIALIZED);
+            out.writeInt(baos.size());
+            out.write(baos.toByteArray());
+        }
+    }
+
+    private static Object read(DataInput in) throws IOException, ClassNotFoundException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case LONG:
+                return in.readLong();
+            case INTEGER:
+                return in.readInt();
+            case STRING:
+                return new String(readBytes(in), StandardCharsets.UTF_8);
+            case BOOLEAN:
+                return in.readBoolean();
+            case STORED_OBJECT:
+                boolean propagated = in.readBoolean();
+                return new SerializableStoredObject(read(in), propagated);
+            case STORED_EVENT:
+                boolean eventPropagated = in.readBoolean();
+                long timestamp = in.readLong();
+                long duration = in.readLong();
+                return new SerializableStoredEvent(read(in), eventPropagated, timestamp, duration);
+            case SERIALIZED:
+                try (ObjectInputStream ois = new ClassLoaderObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+                    return ois.readObject();
+                }
+            default:
+                throw new ReliabilityRuntimeException("Unknown record value type: " + type);
+        }
+    }
+
+    private static byte[] readBytes(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static class ClassLoaderObjectInputStream extends ObjectInputStream {
+
+        private ClassLoaderObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // fall back to the default resolution
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
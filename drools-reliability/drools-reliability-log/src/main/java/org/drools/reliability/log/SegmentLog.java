@@ -0,0 +1,504 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.reliability.log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only log of the changes of all the storages, split in memory-mapped segment files.
+ *
+ * Each record is written as [body length][crc32 of the body][body], where the body is
+ * [operation][storage name][key][value], so the log can be replayed sequentially when it is opened, stopping at the
+ * first torn or corrupted record: the following records, also the ones in later segments, are not replayed, since
+ * they could depend on the lost one, and the later segments are renamed with the .discarded suffix. Only the position of the last record of each key is kept in memory and the values
+ * are decoded from the mapped segments when they are read.
+ * When a segment is full and the space taken by overwritten or removed records exceeds the compaction ratio,
+ * the live records are copied in new segments and the old ones are deleted.
+ */
+class SegmentLog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentLog.class);
+
+    private static final byte CREATE = 1;
+    private static final byte PUT = 2;
+    private static final byte REMOVE = 3;
+    private static final byte CLEAR = 4;
+    private static final byte DROP = 5;
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String DISCARDED_SUFFIX = ".discarded";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final double compactionRatio;
+    private final boolean sync;
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<String, Map<Object, RecordLocation>> indexes = new LinkedHashMap<>();
+
+    private Segment activeSegment;
+    private long totalBytes;
+    private long deadBytes;
+    private boolean compacting;
+
+    private SegmentLog(Path directory, int segmentSize, double compactionRatio, boolean sync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.compactionRatio = compactionRatio;
+        this.sync = sync;
+    }
+
+    static SegmentLog open(Path directory, int segmentSize, double compactionRatio, boolean sync) {
+        SegmentLog log = new SegmentLog(directory, segmentSize, compactionRatio, sync);
+        try {
+            Files.createDirectories(directory);
+            log.recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return log;
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX) && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            Segment segment = Segment.open(file, segmentId(file));
+            segments.put(segment.id, segment);
+        }
+        Segment corrupted = null;
+        for (Segment segment : new ArrayList<>(segments.values())) {
+            if (corrupted == null) {
+                if (!replay(segment)) {
+                    corrupted = segment;
+                }
+            } else {
+                discard(segment, corrupted);
+            }
+        }
+        if (segments.isEmpty()) {
+            activeSegment = newSegment(segmentSize);
+        } else {
+            activeSegment = segments.lastEntry().getValue();
+            // clean what follows the last valid record, so a torn record cannot be mistaken for a new one after a restart
+            ByteBuffer buffer = activeSegment.buffer;
+            for (int i = activeSegment.position; i < buffer.capacity(); i++) {
+                if (buffer.get(i) != 0) {
+                    buffer.put(i, (byte) 0);
+                }
+            }
+        }
+        LOG.debug("Replayed {} segments of the log {}", segments.size(), directory);
+    }
+
+    /**
+     * Replays the records of the given segment, returning false if it stopped at a corrupted one
+     */
+    private boolean replay(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int position = 0;
+        CRC32 crc = new CRC32();
+        boolean valid = true;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int bodyLength = buffer.getInt(position);
+            if (bodyLength == 0) {
+                // the end of the written records
+                break;
+            }
+            if (bodyLength < 0 || position + HEADER_SIZE + bodyLength > buffer.capacity()) {
+                valid = false;
+            } else {
+                byte[] body = read(buffer, position + HEADER_SIZE, bodyLength);
+                crc.reset();
+                crc.update(body);
+                if ((int) crc.getValue() == buffer.getInt(position + 4)) {
+                    apply(new RecordLocation(segment, position, body, bodyLength));
+                    position += HEADER_SIZE + bodyLength;
+                    continue;
+                }
+                valid = false;
+            }
+            LOG.warn("Found a corrupted record in segment {} at position {}, ignoring the rest of the log", segment.path, position);
+            break;
+        }
+        segment.position = position;
+        return valid;
+    }
+
+    private void discard(Segment segment, Segment corrupted) throws IOException {
+        LOG.warn("Discarding segment {} following the corrupted segment {}", segment.path, corrupted.path);
+        segments.remove(segment.id);
+        segment.close();
+        Files.move(segment.path, segment.path.resolveSibling(segment.path.getFileName() + DISCARDED_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static byte[] read(ByteBuffer buffer, int position, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(position);
+        duplicate.get(bytes);
+        return bytes;
+    }
+
+    private void apply(RecordLocation location) {
+        byte[] body = location.body;
+        totalBytes += location.size();
+        String storageName = location.storageName(body);
+        Map<Object, RecordLocation> index;
+        switch (body[0]) {
+            case CREATE:
+                indexes.computeIfAbsent(storageName, name -> new LinkedHashMap<>());
+                break;
+            case PUT:
+                index = indexes.computeIfAbsent(storageName, name -> new LinkedHashMap<>());
+                RecordLocation previous = index.put(location.key(body), location.release());
+                if (previous != null) {
+                    deadBytes += previous.size();
+                }
+                break;
+            case REMOVE:
+                index = indexes.get(storageName);
+                RecordLocation removed = index != null ? index.remove(location.key(body)) : null;
+                deadBytes += location.size() + (removed != null ? removed.size() : 0);
+                break;
+            case CLEAR:
+                index = indexes.get(storageName);
+                deadBytes += location.size() + (index != null ? sizeOf(index.values()) : 0);
+                if (index != null) {
+                    index.clear();
+                }
+                break;
+            case DROP:
+                index = indexes.remove(storageName);
+                deadBytes += location.size() + (index != null ? sizeOf(index.values()) : 0);
+                break;
+            default:
+                throw new IllegalStateException("Unknown record operation " + body[0] + " in segment " + location.segment.path);
+        }
+    }
+
+    synchronized void create(String storageName) {
+        if (!indexes.containsKey(storageName)) {
+            append(body(CREATE, storageName, null, null));
+            force();
+        }
+    }
+
+    synchronized Object get(String storageName, Object key) {
+        RecordLocation location = index(storageName).get(key);
+        return location != null ? location.value() : null;
+    }
+
+    synchronized boolean containsKey(String storageName, Object key) {
+        return index(storageName).containsKey(key);
+    }
+
+    synchronized void put(String storageName, Object key, Object value) {
+        putRecord(storageName, key, value);
+        force();
+    }
+
+    synchronized void putAll(String storageName, Map<?, ?> map) {
+        map.forEach((key, value) -> putRecord(storageName, key, value));
+        force();
+    }
+
+    private void putRecord(String storageName, Object key, Object value) {
+        append(body(PUT, storageName, RecordCodec.encode(key), RecordCodec.encode(value)));
+    }
+
+    synchronized void remove(String storageName, Object key) {
+        if (index(storageName).containsKey(key)) {
+            append(body(REMOVE, storageName, RecordCodec.encode(key), null));
+            force();
+        }
+    }
+
+    synchronized void clear(String storageName) {
+        append(body(CLEAR, storageName, null, null));
+        force();
+    }
+
+    synchronized void drop(String storageName) {
+        if (indexes.containsKey(storageName)) {
+            append(body(DROP, storageName, null, null));
+            force();
+        }
+    }
+
+    synchronized Set<Object> keySet(String storageName) {
+        return new HashSet<>(index(storageName).keySet());
+    }
+
+    synchronized List<Object> values(String storageName) {
+        return index(storageName).values().stream().map(RecordLocation::value).collect(Collectors.toList());
+    }
+
+    synchronized int size(String storageName) {
+        return index(storageName).size();
+    }
+
+    synchronized Set<String> storageNames() {
+        return new HashSet<>(indexes.keySet());
+    }
+
+    synchronized void close() {
+        segments.values().forEach(Segment::close);
+        segments.clear();
+        indexes.clear();
+        activeSegment = null;
+    }
+
+    private Map<Object, RecordLocation> index(String storageName) {
+        return indexes.getOrDefault(storageName, Map.of());
+    }
+
+    private static byte[] body(byte operation, String storageName, byte[] key, byte[] value) {
+        byte[] name = storageName.getBytes(StandardCharsets.UTF_8);
+        int keyLength = key != null ? key.length : 0;
+        int valueLength = value != null ? value.length : 0;
+        ByteBuffer body = ByteBuffer.allocate(1 + 4 + name.length + 4 + keyLength + valueLength);
+        body.put(operation);
+        body.putInt(name.length);
+        body.put(name);
+        body.putInt(keyLength);
+        if (key != null) {
+            body.put(key);
+        }
+        if (value != null) {
+            body.put(value);
+        }
+        return body.array();
+    }
+
+    private RecordLocation append(byte[] body) {
+        int recordSize = HEADER_SIZE + body.length;
+        if (activeSegment.position + recordSize > activeSegment.buffer.capacity()) {
+            rollSegment(recordSize);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer buffer = activeSegment.buffer;
+        int position = activeSegment.position;
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(position + HEADER_SIZE);
+        duplicate.put(body);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        // the length is written last, so a record is never seen by a replay before being completely written
+        buffer.putInt(position, body.length);
+        activeSegment.position += recordSize;
+
+        RecordLocation location = new RecordLocation(activeSegment, position, body, body.length);
+        apply(location);
+        return location;
+    }
+
+    private void rollSegment(int recordSize) {
+        if (!compacting && totalBytes >= segmentSize && deadBytes >= totalBytes * compactionRatio) {
+            compact();
+            if (activeSegment.position + recordSize <= activeSegment.buffer.capacity()) {
+                return;
+            }
+        }
+        activeSegment.force();
+        activeSegment = newSegment(Math.max(segmentSize, recordSize));
+    }
+
+    private void compact() {
+        LOG.debug("Compacting the log {}: {} bytes of {} are no longer used", directory, deadBytes, totalBytes);
+        compacting = true;
+        try {
+            List<Segment> oldSegments = new ArrayList<>(segments.values());
+            Map<String, Map<Object, RecordLocation>> liveIndexes = new LinkedHashMap<>(indexes);
+            indexes.clear();
+            totalBytes = 0;
+            deadBytes = 0;
+            activeSegment = newSegment(segmentSize);
+
+            // the live records are copied as they are, without decoding them
+            for (Map.Entry<String, Map<Object, RecordLocation>> entry : liveIndexes.entrySet()) {
+                append(body(CREATE, entry.getKey(), null, null));
+                for (RecordLocation location : entry.getValue().values()) {
+                    append(location.readBody());
+                }
+            }
+            force();
+            activeSegment.force();
+
+            // the old segments are deleted from the oldest one, so a crash in the meanwhile leaves a replayable log
+            for (Segment segment : oldSegments) {
+                segments.remove(segment.id);
+                segment.close();
+                Files.deleteIfExists(segment.path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            compacting = false;
+        }
+    }
+
+    private void force() {
+        if (sync) {
+            activeSegment.force();
+        }
+    }
+
+    private Segment newSegment(int size) {
+        long id = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        Segment segment = Segment.create(directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX)), id, size);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private static long segmentId(Path file) {
+        String fileName = file.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static long sizeOf(Collection<RecordLocation> locations) {
+        long size = 0;
+        for (RecordLocation location : locations) {
+            size += location.size();
+        }
+        return size;
+    }
+
+    private static class Segment {
+
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        private Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, long id, int size) {
+            try {
+                FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        static Segment open(Path path, long id) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOG.warn("Unable to close the segment " + path, e);
+            }
+        }
+    }
+
+    private static class RecordLocation {
+
+        private final Segment segment;
+        private final int position;
+        private final int bodyLength;
+
+        // only available while the record is being applied, to avoid reading it again from the segment
+        private byte[] body;
+
+        private RecordLocation(Segment segment, int position, byte[] body, int bodyLength) {
+            this.segment = segment;
+            this.position = position;
+            this.body = body;
+            this.bodyLength = bodyLength;
+        }
+
+        int size() {
+            return HEADER_SIZE + bodyLength;
+        }
+
+        RecordLocation release() {
+            body = null;
+            return this;
+        }
+
+        byte[] readBody() {
+            return read(segment.buffer, position + HEADER_SIZE, bodyLength);
+        }
+
+        String storageName(byte[] body) {
+            return new String(body, 5, nameLength(body), StandardCharsets.UTF_8);
+        }
+
+        Object key(byte[] body) {
+            int keyOffset = 5 + nameLength(body);
+            return RecordCodec.decode(body, keyOffset + 4, keyLength(body, keyOffset));
+        }
+
+        Object value() {
+            byte[] bytes = readBody();
+            int keyOffset = 5 + nameLength(bytes);
+            int valueOffset = keyOffset + 4 + keyLength(bytes, keyOffset);
+            return RecordCodec.decode(bytes, valueOffset, bytes.length - valueOffset);
+        }
+
+        private static int nameLength(byte[] body) {
+            return ByteBuffer.wrap(body, 1, 4).getInt();
+        }
+
+        private static int keyLength(byte[] body, int keyOffset) {
+            return ByteBuffer.wrap(body, keyOffset, 4).getInt();
+        }
+    }
+}
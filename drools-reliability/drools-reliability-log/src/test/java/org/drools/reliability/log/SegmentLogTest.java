@@ -0,0 +1,174 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.reliability.log;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.drools.reliability.core.SerializableStoredEvent;
+import org.drools.reliability.core.SerializableStoredObject;
+import org.drools.reliability.core.StoredEvent;
+import org.drools.reliability.core.StoredObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayAfterRestart() {
+        SegmentLog log = SegmentLog.open(dir, 1024, 0.5, false);
+        log.create("objects");
+        log.create("empty");
+        log.put("objects", 1L, new SerializableStoredObject("one", true));
+        log.put("objects", 2L, new SerializableStoredEvent("two", false, 10L, 5L));
+        log.putAll("objects", Map.of(3L, new SerializableStoredObject("three", false)));
+        log.put("objects", 1L, new SerializableStoredObject("uno", true));
+        log.remove("objects", 3L);
+        log.put("globals", "list", List.of("a", "b"));
+        log.close();
+
+        SegmentLog restored = SegmentLog.open(dir, 1024, 0.5, false);
+        assertThat(restored.storageNames()).containsExactlyInAnyOrder("objects", "empty", "globals");
+        assertThat(restored.keySet("objects")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(((StoredObject) restored.get("objects", 1L)).getObject()).isEqualTo("uno");
+        StoredEvent event = (StoredEvent) restored.get("objects", 2L);
+        assertThat(event.getObject()).isEqualTo("two");
+        assertThat(event.getTimestamp()).isEqualTo(10L);
+        assertThat(event.getDuration()).isEqualTo(5L);
+        assertThat(restored.get("globals", "list")).isEqualTo(List.of("a", "b"));
+
+        restored.drop("objects");
+        restored.clear("globals");
+        restored.close();
+
+        SegmentLog dropped = SegmentLog.open(dir, 1024, 0.5, false);
+        assertThat(dropped.storageNames()).containsExactlyInAnyOrder("empty", "globals");
+        assertThat(dropped.size("globals")).isZero();
+        dropped.close();
+    }
+
+    @Test
+    void compactionRemovesOverwrittenRecords() throws IOException {
+        SegmentLog log = SegmentLog.open(dir, 1024, 0.5, false);
+        for (int i = 0; i < 1000; i++) {
+            log.put("counters", (long) (i % 10), i);
+        }
+        log.close();
+
+        // without compaction 1000 records would need more than 30 segments
+        assertThat(segments()).hasSizeLessThan(5);
+
+        SegmentLog restored = SegmentLog.open(dir, 1024, 0.5, false);
+        assertThat(restored.size("counters")).isEqualTo(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(restored.get("counters", (long) i)).isEqualTo(990 + i);
+        }
+        restored.close();
+    }
+
+    @Test
+    void tornRecordIsIgnored() throws IOException {
+        SegmentLog log = SegmentLog.open(dir, 1024, 0.5, false);
+        log.put("objects", 1L, "one");
+        log.put("objects", 2L, "two");
+        log.close();
+
+        // corrupt the last byte of the second record, as if the process crashed while writing it
+        Path segment = segments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long position = 0;
+            long lastByte = 0;
+            while (true) {
+                file.seek(position);
+                int length = file.readInt();
+                if (length == 0) {
+                    break;
+                }
+                lastByte = position + 8 + length - 1;
+                position += 8 + length;
+            }
+            file.seek(lastByte);
+            byte value = file.readByte();
+            file.seek(lastByte);
+            file.writeByte(value ^ 0xFF);
+        }
+
+        SegmentLog restored = SegmentLog.open(dir, 1024, 0.5, false);
+        assertThat(restored.keySet("objects")).containsExactly(1L);
+        restored.put("objects", 3L, "three");
+        restored.close();
+
+        SegmentLog reopened = SegmentLog.open(dir, 1024, 0.5, false);
+        assertThat(reopened.keySet("objects")).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(reopened.get("objects", 3L)).isEqualTo("three");
+        reopened.close();
+    }
+
+    @Test
+    void replayStopsAtTheFirstCorruptedRecordOfTheLog() throws IOException {
+        // segments small enough to roll after a few records
+        SegmentLog log = SegmentLog.open(dir, 256, 0.9, false);
+        for (long i = 0; i < 30; i++) {
+            log.put("objects", i, "value" + i);
+        }
+        log.close();
+        List<Path> written = segments();
+        assertThat(written).hasSizeGreaterThan(2);
+
+        // corrupt the body of the second record of the first segment
+        try (RandomAccessFile file = new RandomAccessFile(written.get(0).toFile(), "rw")) {
+            int firstLength = file.readInt();
+            long secondRecord = 8 + firstLength;
+            file.seek(secondRecord);
+            int secondLength = file.readInt();
+            long lastByte = secondRecord + 8 + secondLength - 1;
+            file.seek(lastByte);
+            byte value = file.readByte();
+            file.seek(lastByte);
+            file.writeByte(value ^ 0xFF);
+        }
+
+        // the records of the following segments are not replayed, even if they are valid
+        SegmentLog restored = SegmentLog.open(dir, 256, 0.9, false);
+        assertThat(restored.keySet("objects")).containsExactly(0L);
+        assertThat(segments().stream().filter(path -> path.toString().endsWith(".log"))).containsExactly(written.get(0));
+        assertThat(segments().stream().filter(path -> path.toString().endsWith(".discarded"))).hasSize(written.size() - 1);
+        restored.put("objects", 100L, "value100");
+        restored.close();
+
+        SegmentLog reopened = SegmentLog.open(dir, 256, 0.9, false);
+        assertThat(reopened.keySet("objects")).containsExactlyInAnyOrder(0L, 100L);
+        assertThat(reopened.get("objects", 100L)).isEqualTo("value100");
+        reopened.close();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.nio.file.Path;
 
 import org.drools.reliability.h2mvstore.H2MVStoreStorageManager;
 import org.drools.reliability.infinispan.EmbeddedStorageManager;
+import org.drools.reliability.log.LogStorageManager;
 import org.drools.reliability.test.util.TestConfigurationUtils;
 import org.drools.util.FileUtils;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
@@ -57,6 +58,9 @@ public class BeforeAllMethodExtension implements BeforeAllCallback {
         H2MVStoreStorageManager.cleanUpDatabase();
         LOG.info("### Deleted database file {}", H2MVStoreStorageManager.STORE_FILE_NAME);
 
+        LogStorageManager.cleanUpLog();
+        LOG.info("### Deleted log directory {}", LogStorageManager.DEFAULT_LOG_DIR);
+
         LOG.info("### Set marshaller to {}", System.getProperty(INFINISPAN_STORAGE_MARSHALLER));
         LOG.info("### Set initializer to {}", System.getProperty(INFINISPAN_STORAGE_SERIALIZATION_CONTEXT_INITIALIZER));
     }
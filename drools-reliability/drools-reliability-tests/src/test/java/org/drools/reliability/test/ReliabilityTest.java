@@ -102,6 +102,38 @@ class ReliabilityTest extends ReliabilityTestBasics {
     }
 
 
+    @Test
+    void insertSafepointInsertCrashWithPendingWrites_shouldRestoreTheSafepoint() {
+        PersistedSessionOption persistedSessionOption = PersistedSessionOption.newSession()
+                .withPersistenceStrategy(PersistedSessionOption.PersistenceStrategy.STORES_ONLY)
+                .withSafepointStrategy(PersistedSessionOption.SafepointStrategy.WRITE_BEHIND)
+                .withWriteBehindCommitIntervalMillis(0)
+                .withWriteBehindCommitOperations(0)
+                .withWriteBehindCommitAfterFire(false);
+        getKieSession(BASIC_RULE, persistedSessionOption);
+
+        insert("M");
+        insertMatchingPerson("Matching Person One", 37);
+        safepoint();
+
+        // these changes are only in the journal when the session crashes
+        insertMatchingPerson("Matching Person Two", 40);
+        Person person = getPersonByName("Matching Person One").get();
+        person.setName("Mutated Person One");
+        update(getFactHandle(person).get(), person);
+
+        crash();
+
+        restoreSession(BASIC_RULE, PersistedSessionOption.PersistenceStrategy.STORES_ONLY, PersistedSessionOption.SafepointStrategy.WRITE_BEHIND);
+
+        assertThat(getPersonByName("Matching Person Two")).isEmpty();
+        assertThat(getPersonByName("Mutated Person One")).isEmpty();
+
+        fireAllRules();
+
+        assertThat(getResults()).containsExactly("Matching Person One");
+    }
+
     @ParameterizedTest
     @MethodSource("strategyProviderStoresOnlyWithExplicitSafepoints") // FULL fails with "ReliablePropagationList; no valid constructor"
     void insertFireInsertFailoverInsertFire_shouldMatchFactInsertedBeforeFailover(PersistedSessionOption.PersistenceStrategy persistenceStrategy, PersistedSessionOption.SafepointStrategy safepointStrategy) {
@@ -24,8 +24,10 @@ import org.drools.modelcompiler.KieBaseBuilder;
 import org.drools.reliability.core.ReliableGlobalResolver;
 import org.drools.reliability.core.ReliableKieSession;
 import org.drools.reliability.core.ReliableRuntimeComponentFactoryImpl;
+import org.drools.reliability.core.StorageManager;
 import org.drools.reliability.core.StorageManagerFactory;
 import org.drools.reliability.core.TestableStorageManager;
+import org.drools.reliability.core.WriteBehindStorageDecorator;
 import org.drools.reliability.infinispan.InfinispanStorageManager;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.server.test.core.InfinispanContainer;
@@ -108,7 +110,8 @@ public abstract class ReliabilityTestBasics {
         return Stream.of(
                 arguments(PersistedSessionOption.PersistenceStrategy.STORES_ONLY, PersistedSessionOption.SafepointStrategy.ALWAYS),
                 arguments(PersistedSessionOption.PersistenceStrategy.STORES_ONLY, PersistedSessionOption.SafepointStrategy.EXPLICIT),
-                arguments(PersistedSessionOption.PersistenceStrategy.STORES_ONLY, PersistedSessionOption.SafepointStrategy.AFTER_FIRE)
+                arguments(PersistedSessionOption.PersistenceStrategy.STORES_ONLY, PersistedSessionOption.SafepointStrategy.AFTER_FIRE),
+                arguments(PersistedSessionOption.PersistenceStrategy.STORES_ONLY, PersistedSessionOption.SafepointStrategy.WRITE_BEHIND)
         );
     }
 
@@ -156,9 +159,20 @@ public abstract class ReliabilityTestBasics {
     }
 
     public void failover() {
-        if (safepointStrategy == PersistedSessionOption.SafepointStrategy.EXPLICIT) {
+        if (safepointStrategy == PersistedSessionOption.SafepointStrategy.EXPLICIT || safepointStrategy == PersistedSessionOption.SafepointStrategy.WRITE_BEHIND) {
             this.sessions.stream().map(ReliableKieSession.class::cast).forEach(ReliableKieSession::safepoint);
         }
+        crash();
+    }
+
+    /**
+     * Fails over without any further safepoint, so with the WRITE_BEHIND strategy the changes still in the journal are lost
+     */
+    public void crash() {
+        if (safepointStrategy == PersistedSessionOption.SafepointStrategy.WRITE_BEHIND) {
+            // the crashed sessions must not write anything else after the restart
+            this.sessions.stream().map(s -> StorageManager.getSessionIdentifier((StatefulKnowledgeSessionImpl) s)).forEach(WriteBehindStorageDecorator::discardSessionStorages);
+        }
         sessions.clear();
         kieBaseCache.clear();
 
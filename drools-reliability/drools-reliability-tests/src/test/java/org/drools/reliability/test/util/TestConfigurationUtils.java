@@ -18,16 +18,19 @@ package org.drools.reliability.test.util;
 import org.drools.reliability.core.CoreServicePrioritySupport;
 import org.drools.reliability.h2mvstore.H2MVStoreServicePrioritySupport;
 import org.drools.reliability.infinispan.InfinispanServicePrioritySupport;
+import org.drools.reliability.log.LogServicePrioritySupport;
 
 import static org.drools.reliability.test.util.TestConfigurationUtils.Module.H2MVSTORE;
 import static org.drools.reliability.test.util.TestConfigurationUtils.Module.INFINISPAN;
+import static org.drools.reliability.test.util.TestConfigurationUtils.Module.LOG;
 import static org.drools.util.Config.getConfig;
 
 public class TestConfigurationUtils {
 
     public enum Module {
         INFINISPAN,
-        H2MVSTORE
+        H2MVSTORE,
+        LOG
     }
 
     public static final String DROOLS_RELIABILITY_MODULE_TEST = "drools.reliability.module.test";
@@ -42,6 +45,8 @@ public class TestConfigurationUtils {
             prioritizeInfinispanServices();
         } else if (module == H2MVSTORE) {
             prioritizeH2MVStoreServices();
+        } else if (module == LOG) {
+            prioritizeLogServices();
         } else {
             throw new IllegalStateException("Unknown module: " + module);
         }
@@ -58,4 +63,10 @@ public class TestConfigurationUtils {
         CoreServicePrioritySupport.setSimpleSerializationReliableObjectStoreFactoryPriority(100);
         CoreServicePrioritySupport.setReliableGlobalResolverFactoryImplPriority(100);
     }
+
+    private static void prioritizeLogServices() {
+        LogServicePrioritySupport.setLogStorageManagerFactoryPriority(100);
+        CoreServicePrioritySupport.setSimpleSerializationReliableObjectStoreFactoryPriority(100);
+        CoreServicePrioritySupport.setReliableGlobalResolverFactoryImplPriority(100);
+    }
 }
@@ -19,6 +19,8 @@ package org.drools.serialization.protobuf;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.security.InvalidKeyException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
@@ -149,6 +151,21 @@ public class PersisterHelper extends MarshallingHelper {
     
     public static void writeToStreamWithHeader( MarshallerWriteContext context,
                                                 Message payload ) throws IOException {
+        context.write( buildHeader( context, payload ).toByteArray() );
+    }
+
+    static ProtobufMessages.Header buildHeader( MarshallerWriteContext context,
+                                                Message payload ) throws IOException {
+        return buildHeader( context, payload, null );
+    }
+
+    /**
+     * Builds a header whose strategy contexts, when a StrategyContextsOutput is given, are written in the stream
+     * shared by all the headers written through it
+     */
+    static ProtobufMessages.Header buildHeader( MarshallerWriteContext context,
+                                                Message payload,
+                                                StrategyContextsOutput contextsOutput ) throws IOException {
         ProtobufMessages.Header.Builder _header = ProtobufMessages.Header.newBuilder();
         _header.setVersion( ProtobufMessages.Version.newBuilder()
                                             .setVersionMajor( Drools.getMajorVersion() )
@@ -156,7 +173,7 @@ public class PersisterHelper extends MarshallingHelper {
                                             .setVersionRevision( Drools.getRevisionVersion() )
                             .build() );
         
-        writeStrategiesIndex( context, _header );
+        writeStrategiesIndex( context, _header, contextsOutput );
 
         InternalRuleBase kBase = context.getKnowledgeBase();
         if (kBase != null) {
@@ -170,7 +187,7 @@ public class PersisterHelper extends MarshallingHelper {
         sign( _header, buff );
         _header.setPayload( ByteString.copyFrom( buff ) );
 
-        context.write( _header.build().toByteArray() );
+        return _header.build();
     }
 
     private static void writeRuntimeDefinedClasses( TraitFactory traitFactory, MarshallerWriteContext context, ProtobufMessages.Header.Builder _header) {
@@ -197,14 +214,17 @@ public class PersisterHelper extends MarshallingHelper {
     }
 
     private static void writeStrategiesIndex( MarshallerWriteContext context,
-                                              ProtobufMessages.Header.Builder _header) throws IOException {
+                                              ProtobufMessages.Header.Builder _header,
+                                              StrategyContextsOutput contextsOutput) throws IOException {
         for( Entry<ObjectMarshallingStrategy,Integer> entry : context.getUsedStrategies().entrySet() ) {
 			Builder _strat = ProtobufMessages.Header.StrategyIndex.newBuilder()
                                      .setId( entry.getValue().intValue() )
                                      .setName( entry.getKey().getName()  );
 			
             Context ctx = context.getStrategyContext().get( entry.getKey() );
-            if( ctx != null ) {
+            if( ctx != null && contextsOutput != null ) {
+                _strat.setData( contextsOutput.write( ctx ) );
+            } else if( ctx != null ) {
                 try (Output os = ByteString.newOutput()) {
                     ctx.write( new DroolsObjectOutputStream( os ) );
                     _strat.setData( os.toByteString() );
@@ -230,8 +250,16 @@ public class PersisterHelper extends MarshallingHelper {
         }
     }
     
-    private static ProtobufMessages.Header loadStrategiesCheckSignature( MarshallerReaderContext context, ProtobufMessages.Header _header) throws ClassNotFoundException, IOException {
-        loadStrategiesIndex( context, _header );
+    static ProtobufMessages.Header loadStrategiesCheckSignature( MarshallerReaderContext context, ProtobufMessages.Header _header) throws ClassNotFoundException, IOException {
+        return loadStrategiesCheckSignature( context, _header, null );
+    }
+
+    /**
+     * Loads the strategies of a header whose contexts, when a StrategyContextsInput is given, are read from the
+     * stream shared by all the headers read through it, in the same order they have been written
+     */
+    static ProtobufMessages.Header loadStrategiesCheckSignature( MarshallerReaderContext context, ProtobufMessages.Header _header, StrategyContextsInput contextsInput) throws ClassNotFoundException, IOException {
+        loadStrategiesIndex( context, _header, contextsInput );
 
         byte[] sessionbuff = _header.getPayload().toByteArray();
 
@@ -265,7 +293,7 @@ public class PersisterHelper extends MarshallingHelper {
         return preloaded.toByteArray();
     }
 
-	private static void loadStrategiesIndex( MarshallerReaderContext context, ProtobufMessages.Header _header) throws IOException, ClassNotFoundException {
+	private static void loadStrategiesIndex( MarshallerReaderContext context, ProtobufMessages.Header _header, StrategyContextsInput contextsInput) throws IOException, ClassNotFoundException {
         for ( ProtobufMessages.Header.StrategyIndex _entry : _header.getStrategyList() ) {
             ObjectMarshallingStrategy strategyObject = context.getResolverStrategyFactory().getStrategyObject( _entry.getName() );
             if ( strategyObject == null ) {
@@ -284,7 +312,11 @@ public class PersisterHelper extends MarshallingHelper {
                 if ( classLoader instanceof ProjectClassLoader ) {
                    readRuntimeDefinedClasses( _header, (ProjectClassLoader) classLoader );
                 }
-                ctx.read( new DroolsObjectInputStream( _entry.getData().newInput(), classLoader) );
+                if ( contextsInput != null ) {
+                    ctx.read( contextsInput.next( _entry.getData(), classLoader ) );
+                } else {
+                    ctx.read( new DroolsObjectInputStream( _entry.getData().newInput(), classLoader) );
+                }
             }
         }
     }
@@ -346,4 +378,60 @@ public class PersisterHelper extends MarshallingHelper {
         }
         return registry;
     }
+
+    /**
+     * Writes the strategy contexts of a sequence of headers in a single object stream, so that an object referenced
+     * by the contexts of different headers is written only once and then referenced by the following ones.
+     * The data of each context is the part of the stream written for it.
+     */
+    static class StrategyContextsOutput {
+
+        private final Output buffer = ByteString.newOutput();
+        private ObjectOutputStream stream;
+
+        ByteString write( Context ctx ) throws IOException {
+            if ( stream == null ) {
+                // the stream header is part of the data of the first context
+                stream = new DroolsObjectOutputStream( buffer );
+            }
+            ctx.write( stream );
+            stream.flush();
+            ByteString data = buffer.toByteString();
+            buffer.reset();
+            return data;
+        }
+    }
+
+    /**
+     * Reads the strategy contexts written by a StrategyContextsOutput, feeding the data of each context, in the
+     * same order, to a single object stream
+     */
+    static class StrategyContextsInput extends InputStream {
+
+        private InputStream data;
+        private ObjectInputStream stream;
+
+        ObjectInputStream next( ByteString data, ClassLoader classLoader ) throws IOException {
+            this.data = data.newInput();
+            if ( stream == null ) {
+                stream = new DroolsObjectInputStream( this, classLoader );
+            }
+            return stream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return data.read();
+        }
+
+        @Override
+        public int read( byte[] b, int off, int len ) throws IOException {
+            return data.read( b, off, len );
+        }
+
+        @Override
+        public int available() throws IOException {
+            return data.available();
+        }
+    }
 }
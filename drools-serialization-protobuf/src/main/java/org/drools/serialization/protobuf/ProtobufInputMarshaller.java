@@ -194,17 +194,33 @@ public class ProtobufInputMarshaller {
                                                                             Environment environment,
                                                                             SessionConfiguration config,
                                                                             ProtobufMessages.KnowledgeSession _session) throws IOException {
-        FactHandleFactory handleFactory = context.getKnowledgeBase().newFactHandleFactory( _session.getRuleData().getLastId(),
-                                                                                 _session.getRuleData().getLastRecency() );
+        StatefulKnowledgeSessionImpl session = createSession( context,
+                                                              id,
+                                                              environment,
+                                                              config,
+                                                              _session.getRuleData() );
 
-        StatefulKnowledgeSessionImpl session = ( StatefulKnowledgeSessionImpl ) PhreakWorkingMemoryFactory.getInstance()
+        readAgenda( context, _session.getRuleData(), session.getAgenda() );
+
+        return session;
+    }
+
+    static StatefulKnowledgeSessionImpl createSession( ProtobufMarshallerReaderContext context,
+                                                       int id,
+                                                       Environment environment,
+                                                       SessionConfiguration config,
+                                                       RuleData _ruleData) throws IOException {
+        FactHandleFactory handleFactory = context.getKnowledgeBase().newFactHandleFactory( _ruleData.getLastId(),
+                                                                                 _ruleData.getLastRecency() );
+
+        return ( StatefulKnowledgeSessionImpl ) PhreakWorkingMemoryFactory.getInstance()
                 .createWorkingMemory( id, context.getKnowledgeBase(), handleFactory,
                                       1, // pCTx starts at 1, as InitialFact is 0
                                       config, environment );
+    }
 
-        readAgenda( context, _session.getRuleData(), session.getAgenda() );
-
-        return session;
+    static ExtensionRegistry buildRegistry( MarshallerReaderContext context ) {
+        return PersisterHelper.buildRegistry( context, processMarshaller );
     }
 
     private static ProtobufMessages.KnowledgeSession loadAndParseSession( MarshallerReaderContext context) throws IOException,
@@ -221,16 +237,9 @@ public class ProtobufInputMarshaller {
                                                             InternalAgenda agenda,
                                                             ProtobufMarshallerReaderContext context) throws IOException,
                                                                                     ClassNotFoundException {
-        GlobalResolver globalResolver = (GlobalResolver) context.env.get( EnvironmentName.GLOBALS );
-        if ( globalResolver != null ) {
-            session.setGlobalResolver( globalResolver );
-        }
-
-        if ( session.getTimerService() instanceof PseudoClockScheduler ) {
-            PseudoClockScheduler clock = (PseudoClockScheduler) session.getTimerService();
-            clock.advanceTime( _session.getTime(),
-                               TimeUnit.MILLISECONDS );
-        }
+        readGlobalsAndTime( _session,
+                            session,
+                            context );
 
         context.setWorkingMemory( session );
 
@@ -241,10 +250,9 @@ public class ProtobufInputMarshaller {
 
         List<PropagationContext> pctxs = new ArrayList<>();
 
-        if ( _session.getRuleData().hasInitialFact() ) {
-            session.setInitialFactHandle( session.initInitialFact(context) );
-            context.getHandles().put( session.getInitialFactHandle().getId(), session.getInitialFactHandle() );
-        }
+        readInitialFact( _session.getRuleData(),
+                         session,
+                         context );
 
         for ( ProtobufMessages.EntryPoint _ep : _session.getRuleData().getEntryPointList() ) {
             EntryPoint wmep = context.getWorkingMemory().getEntryPoint(_ep.getEntryPointId());
@@ -267,6 +275,50 @@ public class ProtobufInputMarshaller {
         readActionQueue( context,
                          _session.getRuleData() );
 
+        readProcessData( context,
+                         _session );
+
+        if ( _session.hasTimers() ) {
+            for ( ProtobufMessages.Timers.Timer _timer : _session.getTimers().getTimerList() ) {
+                readTimer( context,
+                           _timer );
+            }
+        }
+        scheduleTimerNodeTimers( context );
+
+        // remove the activations filter
+        agenda.setActivationsFilter( null );
+
+        return session;
+    }
+
+    static void readGlobalsAndTime( ProtobufMessages.KnowledgeSession _session,
+                                    StatefulKnowledgeSessionImpl session,
+                                    ProtobufMarshallerReaderContext context) {
+        GlobalResolver globalResolver = (GlobalResolver) context.env.get( EnvironmentName.GLOBALS );
+        if ( globalResolver != null ) {
+            session.setGlobalResolver( globalResolver );
+        }
+
+        if ( session.getTimerService() instanceof PseudoClockScheduler ) {
+            PseudoClockScheduler clock = (PseudoClockScheduler) session.getTimerService();
+            clock.advanceTime( _session.getTime(),
+                               TimeUnit.MILLISECONDS );
+        }
+    }
+
+    static void readInitialFact( RuleData _ruleData,
+                                 StatefulKnowledgeSessionImpl session,
+                                 ProtobufMarshallerReaderContext context) {
+        if ( _ruleData.hasInitialFact() ) {
+            session.setInitialFactHandle( session.initInitialFact(context) );
+            context.getHandles().put( session.getInitialFactHandle().getId(), session.getInitialFactHandle() );
+        }
+    }
+
+    static void readProcessData( ProtobufMarshallerReaderContext context,
+                                 ProtobufMessages.KnowledgeSession _session) throws IOException,
+                                                                            ClassNotFoundException {
         if ( processMarshaller != null ) {
             if ( _session.hasProcessData() ) {
                 context.setParameterObject( _session.getProcessData() );
@@ -285,13 +337,9 @@ public class ProtobufInputMarshaller {
                 throw new IllegalStateException( "No process marshaller, unable to unmarshall process data." );
             }
         }
+    }
 
-        if ( _session.hasTimers() ) {
-            for ( ProtobufMessages.Timers.Timer _timer : _session.getTimers().getTimerList() ) {
-                readTimer( context,
-                           _timer );
-            }
-        }
+    static void scheduleTimerNodeTimers( ProtobufMarshallerReaderContext context ) {
         // need to process any eventual left over timer node timers
         if( ! context.timerNodeSchedulers.isEmpty() ) {
             for( Map<TupleKey, Scheduler> schedulers : context.timerNodeSchedulers.values() ) {
@@ -301,14 +349,9 @@ public class ProtobufInputMarshaller {
             }
             context.timerNodeSchedulers.clear();
         }
-
-        // remove the activations filter
-        agenda.setActivationsFilter( null );
-
-        return session;
     }
 
-    private static void readNodeMemories( ProtobufMarshallerReaderContext context,
+    static void readNodeMemories( ProtobufMarshallerReaderContext context,
                                           RuleData _session) {
         for ( ProtobufMessages.NodeMemory _node : _session.getNodeMemoryList() ) {
             Object memory = null;
@@ -459,7 +502,7 @@ public class ProtobufInputMarshaller {
         }
     }
 
-    private static void assertHandleIntoOTN( ProtobufMarshallerReaderContext context,
+    static void assertHandleIntoOTN( ProtobufMarshallerReaderContext context,
                                              InternalWorkingMemory wm,
                                              InternalFactHandle handle,
                                              List<PropagationContext> pctxs) {
@@ -481,7 +524,7 @@ public class ProtobufInputMarshaller {
         wm.flushPropagations();
     }
 
-    private static void cleanReaderContexts(List<PropagationContext> pctxs) {
+    static void cleanReaderContexts(List<PropagationContext> pctxs) {
         for ( PropagationContext ctx : pctxs ) {
             ctx.cleanReaderContext();
         }
@@ -638,7 +681,7 @@ public class ProtobufInputMarshaller {
         }
     }
 
-    private static void readActivations( ProtobufMarshallerReaderContext context,
+    static void readActivations( ProtobufMarshallerReaderContext context,
                                          List<ProtobufMessages.Activation> _dormant,
                                          List<ProtobufMessages.Activation> _rneas) {
 
@@ -110,19 +110,23 @@ public class ProtobufMarshaller
                          final KieSession ksession,
                          final long clockTime) throws IOException {
         ((InternalWorkingMemory) ksession).flushPropagations();
-        ProtobufMarshallerWriteContext context = new ProtobufMarshallerWriteContext( stream,
-                                                                     (InternalKnowledgeBase) kbase,
-                                                                     (InternalWorkingMemory) ksession,
-                                                                     RuleBaseNodes.getNodeMap( (InternalKnowledgeBase) kbase),
-                                                                     this.strategyStore,
-                                                                     this.marshallingConfig.isMarshallProcessInstances(),
-                                                                     this.marshallingConfig.isMarshallWorkItems(),
-                                                                     ksession.getEnvironment() );
+        ProtobufMarshallerWriteContext context = getMarshallerWriteContext( stream, ksession );
         context.setClockTime( clockTime );
         ProtobufOutputMarshaller.writeSession( context );
         context.close();
     }
 
+    protected ProtobufMarshallerWriteContext getMarshallerWriteContext( final OutputStream stream, final KieSession ksession) throws IOException {
+        return new ProtobufMarshallerWriteContext( stream,
+                                                   (InternalKnowledgeBase) kbase,
+                                                   (InternalWorkingMemory) ksession,
+                                                   RuleBaseNodes.getNodeMap( (InternalKnowledgeBase) kbase),
+                                                   this.strategyStore,
+                                                   this.marshallingConfig.isMarshallProcessInstances(),
+                                                   this.marshallingConfig.isMarshallWorkItems(),
+                                                   ksession.getEnvironment() );
+    }
+
     public MarshallingConfiguration getMarshallingConfiguration() {
         return marshallingConfig;
     }
@@ -152,7 +156,7 @@ public class ProtobufMarshaller
         return readSessionResult;
     }
 
-    private ProtobufMarshallerReaderContext getMarshallerReaderContext( final InputStream inputStream, final Environment environment) throws IOException {
+    protected ProtobufMarshallerReaderContext getMarshallerReaderContext( final InputStream inputStream, final Environment environment) throws IOException {
         return new ProtobufMarshallerReaderContext(inputStream,
                                            (InternalKnowledgeBase) kbase,
                                            RuleBaseNodes.getNodeMap((InternalKnowledgeBase) kbase),
@@ -32,7 +32,6 @@ import org.drools.core.common.InternalAgendaGroup;
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.common.Memory;
-import org.drools.core.common.NodeMemories;
 import org.drools.core.common.ObjectStore;
 import org.drools.core.common.ObjectTypeConfigurationRegistry;
 import org.drools.core.common.QueryElementFactHandle;
@@ -137,16 +136,7 @@ public class ProtobufOutputMarshaller {
             _ruleData.setLastId( wm.getFactHandleFactory().getId() );
             _ruleData.setLastRecency( wm.getFactHandleFactory().getRecency() );
 
-            InternalFactHandle handle = context.getWorkingMemory().getInitialFactHandle();
-            if ( handle != null ) {
-                // can be null for RETE, if fireAllRules has not yet been called
-                ProtobufMessages.FactHandle _ifh = ProtobufMessages.FactHandle.newBuilder()
-                        .setType( ProtobufMessages.FactHandle.HandleType.INITIAL_FACT )
-                        .setId( handle.getId() )
-                        .setRecency( handle.getRecency() )
-                        .build();
-                _ruleData.setInitialFact( _ifh );
-            }
+            writeInitialFact( context, _ruleData );
 
             writeAgenda( context, _ruleData );
 
@@ -177,24 +167,7 @@ public class ProtobufOutputMarshaller {
                     .setTime( time )
                     .setRuleData( _ruleData.build() );
 
-            if ( processMarshaller != null ) {
-                ProtobufMessages.ProcessData.Builder _pdata = ProtobufMessages.ProcessData.newBuilder();
-                if ( context.isMarshalProcessInstances() ) {
-                    context.setParameterObject( _pdata );
-                    processMarshaller.writeProcessInstances( context );
-                }
-
-                if ( context.isMarshalWorkItems() ) {
-                    context.setParameterObject( _pdata );
-                    processMarshaller.writeWorkItems( context );
-                }
-
-                // this now just assigns the writer, it will not write out any timer information
-                context.setParameterObject( _pdata );
-                processMarshaller.writeProcessTimers( context );
-
-                _session.setProcessData( _pdata.build() );
-            }
+            writeProcessData( context, _session );
 
             ProtobufMessages.Timers _timers = writeTimers( context.getWorkingMemory().getTimerJobInstances( context.getWorkingMemory().getIdentifier() ),
                                           context );
@@ -213,7 +186,43 @@ public class ProtobufOutputMarshaller {
         }
     }
 
-    private static void writeObjectTypeConfiguration( ObjectTypeConfigurationRegistry otcr,
+    static void writeInitialFact( MarshallerWriteContext context,
+                                  ProtobufMessages.RuleData.Builder _ruleData) {
+        InternalFactHandle handle = context.getWorkingMemory().getInitialFactHandle();
+        if ( handle != null ) {
+            // can be null for RETE, if fireAllRules has not yet been called
+            ProtobufMessages.FactHandle _ifh = ProtobufMessages.FactHandle.newBuilder()
+                    .setType( ProtobufMessages.FactHandle.HandleType.INITIAL_FACT )
+                    .setId( handle.getId() )
+                    .setRecency( handle.getRecency() )
+                    .build();
+            _ruleData.setInitialFact( _ifh );
+        }
+    }
+
+    static void writeProcessData( MarshallerWriteContext context,
+                                  ProtobufMessages.KnowledgeSession.Builder _session) throws IOException {
+        if ( processMarshaller != null ) {
+            ProtobufMessages.ProcessData.Builder _pdata = ProtobufMessages.ProcessData.newBuilder();
+            if ( context.isMarshalProcessInstances() ) {
+                context.setParameterObject( _pdata );
+                processMarshaller.writeProcessInstances( context );
+            }
+
+            if ( context.isMarshalWorkItems() ) {
+                context.setParameterObject( _pdata );
+                processMarshaller.writeWorkItems( context );
+            }
+
+            // this now just assigns the writer, it will not write out any timer information
+            context.setParameterObject( _pdata );
+            processMarshaller.writeProcessTimers( context );
+
+            _session.setProcessData( _pdata.build() );
+        }
+    }
+
+    static void writeObjectTypeConfiguration( ObjectTypeConfigurationRegistry otcr,
     		                                          ProtobufMessages.EntryPoint.Builder _epb) {
         
         Collection<ObjectTypeConf> values = otcr.values();
@@ -231,7 +240,7 @@ public class ProtobufOutputMarshaller {
     	}
 	}
 
-	private static void evaluateRuleActivations(StatefulKnowledgeSessionImpl wm) {
+	static void evaluateRuleActivations(StatefulKnowledgeSessionImpl wm) {
         // need to evaluate all lazy partially evaluated activations before serializing
         boolean dirty = true;
         while ( dirty) {
@@ -260,6 +269,24 @@ public class ProtobufOutputMarshaller {
 
         ProtobufMessages.Agenda.Builder _ab = ProtobufMessages.Agenda.newBuilder();
 
+        writeAgendaGroups( agenda, _ab );
+
+        // serialize all dormant activations
+        for ( InternalMatch internalMatch : getDormantActivations( wm ) ) {
+            _ab.addMatch( writeActivation(context, internalMatch, true));
+        }
+
+        // serialize all network evaluator activations
+        for ( RuleAgendaItem activation : agenda.getAgendaGroupsManager().getActivations() ) {
+            // serialize it
+            _ab.addRuleActivation( writeActivation( context, activation) );
+        }
+
+        _ksb.setAgenda( _ab.build() );
+    }
+
+    static void writeAgendaGroups( InternalAgenda agenda,
+                                   ProtobufMessages.Agenda.Builder _ab) {
         InternalAgendaGroup[] agendaGroups = agenda.getAgendaGroupsManager().getAgendaGroupsMap().values().toArray( new InternalAgendaGroup[agenda.getAgendaGroupsManager().getAgendaGroupsMap().size()] );
         Arrays.sort( agendaGroups,
                      AgendaGroupSorter.instance );
@@ -294,8 +321,9 @@ public class ProtobufOutputMarshaller {
             _fsb.addGroupName( groupName );
         }
         _ab.setFocusStack( _fsb.build() );
+    }
 
-        // serialize all dormant activations
+    static List<InternalMatch> getDormantActivations( InternalWorkingMemory wm ) {
         org.drools.core.util.Iterator it = ActivationIterator.iterator( wm );
         List<InternalMatch> dormant = new ArrayList<>();
         for (InternalMatch item = (InternalMatch) it.next(); item != null; item = (InternalMatch) it.next() ) {
@@ -305,41 +333,34 @@ public class ProtobufOutputMarshaller {
         }
 
         Collections.sort( dormant, ActivationsSorter.INSTANCE );
-        for ( InternalMatch internalMatch : dormant ) {
-            _ab.addMatch( writeActivation(context, internalMatch, true));
-        }
-
-        // serialize all network evaluator activations
-        for ( RuleAgendaItem activation : agenda.getAgendaGroupsManager().getActivations() ) {
-            // serialize it
-            _ab.addRuleActivation( writeActivation( context, activation) );
-        }
-
-        _ksb.setAgenda( _ab.build() );
+        return dormant;
     }
 
     private static void writeNodeMemories( MarshallerWriteContext context,
                                            ProtobufMessages.RuleData.Builder _ksb) throws IOException {
         InternalWorkingMemory wm = context.getWorkingMemory();
-        NodeMemories memories = wm.getNodeMemories();
         // only some of the node memories require special serialization handling
         // so we iterate over all of them and process only those that require it
         for (BaseNode baseNode : context.getSinks().values()) {
-            Memory memory = memories.peekNodeMemory( baseNode );
-            if ( memory != null ) {
-                ProtobufMessages.NodeMemory _node = null;
-                switch ( memory.getNodeType() ) {
-                    case NodeTypeEnums.QueryElementNode: {
-                        _node = writeQueryElementNodeMemory( baseNode.getId(), memory, wm );
-                        break;
-                    }
-                }
-                if ( _node != null ) {
-                    // not all node memories require serialization
-                    _ksb.addNodeMemory( _node );
+            ProtobufMessages.NodeMemory _node = writeNodeMemory( wm, baseNode );
+            if ( _node != null ) {
+                // not all node memories require serialization
+                _ksb.addNodeMemory( _node );
+            }
+        }
+    }
+
+    static ProtobufMessages.NodeMemory writeNodeMemory( InternalWorkingMemory wm,
+                                                        BaseNode baseNode) {
+        Memory memory = wm.getNodeMemories().peekNodeMemory( baseNode );
+        if ( memory != null ) {
+            switch ( memory.getNodeType() ) {
+                case NodeTypeEnums.QueryElementNode: {
+                    return writeQueryElementNodeMemory( baseNode.getId(), memory, wm );
                 }
             }
         }
+        return null;
     }
 
     private static ByteString serializeObject( MarshallerWriteContext context, ObjectMarshallingStrategy strategy, Object object) {
@@ -439,40 +460,48 @@ public class ProtobufOutputMarshaller {
         TruthMaintenanceSystem tms = TruthMaintenanceSystemFactory.get().getOrCreateTruthMaintenanceSystem((NamedEntryPoint) wmep);
 
         if ( tms.getEqualityKeysSize() != 0 ) {
-            EqualityKey[] keys = new EqualityKey[tms.getEqualityKeysSize()];
-            int i = 0;
-            for (EqualityKey key : tms.getEqualityKeys()) {
-                keys[i++] = key;
+            ProtobufMessages.TruthMaintenanceSystem.Builder _tms = ProtobufMessages.TruthMaintenanceSystem.newBuilder();
+
+            // write the assert map of Equality keys
+            for ( EqualityKey key : orderEqualityKeys( tms ) ) {
+                _tms.addKey( writeEqualityKey( context, key ) );
             }
 
-            Arrays.sort( keys,
-                         EqualityKeySorter.instance );
+            _epb.setTms( _tms.build() );
+        }
+    }
 
-            ProtobufMessages.TruthMaintenanceSystem.Builder _tms = ProtobufMessages.TruthMaintenanceSystem.newBuilder();
+    static EqualityKey[] orderEqualityKeys( TruthMaintenanceSystem tms ) {
+        EqualityKey[] keys = new EqualityKey[tms.getEqualityKeysSize()];
+        int i = 0;
+        for (EqualityKey key : tms.getEqualityKeys()) {
+            keys[i++] = key;
+        }
 
-            // write the assert map of Equality keys
-            for ( EqualityKey key : keys ) {
-                ProtobufMessages.EqualityKey.Builder _key = ProtobufMessages.EqualityKey.newBuilder();
-                _key.setStatus( key.getStatus() );
-                _key.setHandleId( key.getFactHandle().getId() );
-
-                if ( key.size() > 1 ) {
-                    // add all the other key's if they exist
-                    FastIterator keyIter = key.fastIterator();
-                    for ( DefaultFactHandle handle = key.getFirst().getNext(); handle != null; handle = (DefaultFactHandle) keyIter.next( handle ) ) {
-                        _key.addOtherHandle( handle.getId() );
-                    }
-                }
+        Arrays.sort( keys,
+                     EqualityKeySorter.instance );
+        return keys;
+    }
 
-                if ( ((TruthMaintenanceSystemEqualityKey)key).getBeliefSet() != null ) {
-                    writeBeliefSet( context, ((TruthMaintenanceSystemEqualityKey)key).getBeliefSet(), _key );
-                }
+    static ProtobufMessages.EqualityKey writeEqualityKey( MarshallerWriteContext context,
+                                                          EqualityKey key) throws IOException {
+        ProtobufMessages.EqualityKey.Builder _key = ProtobufMessages.EqualityKey.newBuilder();
+        _key.setStatus( key.getStatus() );
+        _key.setHandleId( key.getFactHandle().getId() );
 
-                _tms.addKey( _key.build() );
+        if ( key.size() > 1 ) {
+            // add all the other key's if they exist
+            FastIterator keyIter = key.fastIterator();
+            for ( DefaultFactHandle handle = key.getFirst().getNext(); handle != null; handle = (DefaultFactHandle) keyIter.next( handle ) ) {
+                _key.addOtherHandle( handle.getId() );
             }
+        }
 
-            _epb.setTms( _tms.build() );
+        if ( ((TruthMaintenanceSystemEqualityKey)key).getBeliefSet() != null ) {
+            writeBeliefSet( context, ((TruthMaintenanceSystemEqualityKey)key).getBeliefSet(), _key );
         }
+
+        return _key.build();
     }
 
     private static void writeBeliefSet( MarshallerWriteContext context,
@@ -547,8 +576,8 @@ public class ProtobufOutputMarshaller {
         }
     }
 
-    private static ProtobufMessages.FactHandle writeFactHandle( MarshallerWriteContext context,
-                                                                ObjectMarshallingStrategyStore objectMarshallingStrategyStore,
+    static ProtobufMessages.FactHandle writeFactHandle( MarshallerWriteContext context,
+                                                        ObjectMarshallingStrategyStore objectMarshallingStrategyStore,
                                                                 InternalFactHandle handle) throws IOException {
         ProtobufMessages.FactHandle.Builder _handle = ProtobufMessages.FactHandle.newBuilder();
 
@@ -742,27 +771,9 @@ public class ProtobufOutputMarshaller {
     private static ProtobufMessages.Timers writeTimers(Collection<TimerJobInstance> timers,
                                                        MarshallerWriteContext outCtx) {
         if ( !timers.isEmpty() ) {
-            List<TimerJobInstance> sortedTimers = new ArrayList<>( timers );
-            Collections.sort( sortedTimers,
-                              new Comparator<TimerJobInstance>() {
-                                  public int compare(TimerJobInstance o1,
-                                                     TimerJobInstance o2) {
-                                      return (int) (o1.getJobHandle().getId() - o2.getJobHandle().getId());
-                                  }
-                              } );
-
             ProtobufMessages.Timers.Builder _timers = ProtobufMessages.Timers.newBuilder();
-            for ( TimerJobInstance timer : sortedTimers ) {
-                JobContext jctx = timer.getJobContext();
-                if ( jctx instanceof SelfRemovalJobContext ) {
-                    jctx = ((SelfRemovalJobContext) jctx).getJobContext();
-                }
-                if (jctx instanceof ObjectTypeNode.ExpireJobContext &&
-                    !((ObjectTypeNode.ExpireJobContext) jctx).getExpireAction().getFactHandle().isValid()) {                    
-                    continue;
-                }
-                TimersOutputMarshaller writer = ( TimersOutputMarshaller ) outCtx.getWriterForClass( jctx.getClass() );
-                Timer _timer = writer.serialize( jctx, outCtx );
+            for ( TimerJobInstance timer : orderTimers( timers ) ) {
+                Timer _timer = writeTimer( timer, outCtx );
                 if ( _timer != null ) {
                     _timers.addTimer( _timer );
                 }
@@ -772,6 +783,32 @@ public class ProtobufOutputMarshaller {
         return null;
     }
 
+    static List<TimerJobInstance> orderTimers(Collection<TimerJobInstance> timers) {
+        List<TimerJobInstance> sortedTimers = new ArrayList<>( timers );
+        Collections.sort( sortedTimers,
+                          new Comparator<TimerJobInstance>() {
+                              public int compare(TimerJobInstance o1,
+                                                 TimerJobInstance o2) {
+                                  return (int) (o1.getJobHandle().getId() - o2.getJobHandle().getId());
+                              }
+                          } );
+        return sortedTimers;
+    }
+
+    static Timer writeTimer(TimerJobInstance timer,
+                            MarshallerWriteContext outCtx) {
+        JobContext jctx = timer.getJobContext();
+        if ( jctx instanceof SelfRemovalJobContext ) {
+            jctx = ((SelfRemovalJobContext) jctx).getJobContext();
+        }
+        if (jctx instanceof ObjectTypeNode.ExpireJobContext &&
+            !((ObjectTypeNode.ExpireJobContext) jctx).getExpireAction().getFactHandle().isValid()) {
+            return null;
+        }
+        TimersOutputMarshaller writer = ( TimersOutputMarshaller ) outCtx.getWriterForClass( jctx.getClass() );
+        return writer.serialize( jctx, outCtx );
+    }
+
     public static ProtobufMessages.Trigger writeTrigger(Trigger trigger, MarshallerWriteContext outCtx) {
         if ( trigger instanceof CronTrigger ) {
             CronTrigger cronTrigger = (CronTrigger) trigger;
@@ -0,0 +1,756 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.serialization.protobuf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.ExtensionRegistry;
+import com.google.protobuf.Message;
+import org.drools.core.SessionConfiguration;
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.common.BaseNode;
+import org.drools.core.common.DefaultEventHandle;
+import org.drools.core.common.EqualityKey;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.PropagationContext;
+import org.drools.core.common.TruthMaintenanceSystem;
+import org.drools.core.common.TruthMaintenanceSystemFactory;
+import org.drools.core.impl.RuleBaseFactory;
+import org.drools.core.impl.WorkingMemoryReteExpireAction;
+import org.drools.core.phreak.RuleAgendaItem;
+import org.drools.core.rule.consequence.InternalMatch;
+import org.drools.core.time.impl.PseudoClockScheduler;
+import org.drools.core.time.impl.TimerJobInstance;
+import org.drools.kiesession.entrypoints.NamedEntryPoint;
+import org.drools.kiesession.rulebase.InternalKnowledgeBase;
+import org.drools.kiesession.session.StatefulKnowledgeSessionImpl;
+import org.drools.serialization.protobuf.marshalling.RuleBaseNodes;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.event.rule.ObjectDeletedEvent;
+import org.kie.api.event.rule.ObjectInsertedEvent;
+import org.kie.api.event.rule.ObjectUpdatedEvent;
+import org.kie.api.event.rule.RuleRuntimeEventListener;
+import org.kie.api.marshalling.MarshallingConfiguration;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.rule.EntryPoint;
+
+/**
+ * A ProtobufMarshaller that is also able to write a session as a sequence of snapshots, suitable for frequent
+ * checkpoints of big sessions.
+ *
+ * A snapshot is a sequence of records, each one a tag followed by a length-delimited Header with the strategies
+ * used by that record only, so neither writing nor reading a snapshot ever holds more than a record in memory.
+ * The records are written in this order: the session, with the ids counters, the agenda groups and the entry points,
+ * the chunks of fact handles and of deleted fact handle ids, the chunks of node memories and of agenda activations,
+ * the chunks of truth maintenance equality keys of each entry point, the action queue with the process data,
+ * the chunks of timers and finally an end tag.
+ *
+ * A full snapshot writes all the fact handles of the session, while a delta snapshot only writes the ones
+ * inserted, updated or deleted since the previous snapshot of the same session; both write the rest of the session
+ * in full. A session is restored reading a full snapshot followed by any number of the deltas written after it:
+ * the fact handles are put in the object stores chunk by chunk as they are read, the rest of the session is only
+ * read from the last snapshot, and the fact handles are propagated into the network once it has been read.
+ *
+ * The strategy contexts of all the records of a snapshot are written in a single object stream, so an object
+ * referenced by different records, e.g. by two facts written in different chunks, is written only once and restored
+ * as the same instance by the strategies preserving the identity within their context, as the default serializable
+ * one. The records of a snapshot have to be read in order for this reason. A delta writes the changed facts with
+ * the current state of their objects, so its stream starts anew instead of continuing the one of the previous snapshot.
+ *
+ * Changes are tracked through the rule runtime events, so objects modified without notifying the engine are
+ * not included in a delta.
+ */
+public class ProtobufSnapshotMarshaller extends ProtobufMarshaller {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    static final byte FULL_SNAPSHOT = 0;
+    static final byte DELTA_SNAPSHOT = 1;
+
+    static final byte END_RECORD = 0;
+    static final byte SESSION_RECORD = 1;
+    static final byte HANDLES_RECORD = 2;
+    static final byte DELETED_HANDLES_RECORD = 3;
+    static final byte NODE_MEMORIES_RECORD = 4;
+    static final byte AGENDA_RECORD = 5;
+    static final byte TMS_RECORD = 6;
+    static final byte ACTIONS_RECORD = 7;
+    static final byte TIMERS_RECORD = 8;
+
+    private final int chunkSize;
+
+    public ProtobufSnapshotMarshaller(KieBase kbase,
+                                      MarshallingConfiguration marshallingConfig) {
+        this( kbase, marshallingConfig, DEFAULT_CHUNK_SIZE );
+    }
+
+    public ProtobufSnapshotMarshaller(KieBase kbase,
+                                      MarshallingConfiguration marshallingConfig,
+                                      int chunkSize) {
+        super( kbase, marshallingConfig );
+        if ( chunkSize <= 0 ) {
+            throw new IllegalArgumentException( "The chunk size must be positive: " + chunkSize );
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Writes all the fact handles of the session and starts tracking the ones changed after this snapshot
+     */
+    public void writeSnapshot(final OutputStream stream,
+                              final KieSession ksession) throws IOException {
+        FactHandleChangesTracker tracker = getTracker( ksession );
+        if ( tracker == null ) {
+            tracker = new FactHandleChangesTracker( this );
+            ksession.addEventListener( tracker );
+        }
+        FactHandleChangesTracker changesTracker = tracker;
+        writeSnapshot( stream, ksession, FULL_SNAPSHOT, (context, entryPoint) -> {
+            changesTracker.reset( entryPoint.getEntryPointId() );
+            writeHandles( context, entryPoint.getEntryPointId(), entryPoint.getObjectStore().iterateFactHandles() );
+        }, tracker );
+    }
+
+    /**
+     * Writes only the fact handles inserted, updated or deleted since the last snapshot of the session
+     */
+    public void writeDelta(final OutputStream stream,
+                           final KieSession ksession) throws IOException {
+        FactHandleChangesTracker tracker = getTracker( ksession );
+        if ( tracker == null || !tracker.isValid() ) {
+            throw new IllegalStateException( "A full snapshot of the session must be written before a delta" );
+        }
+        writeSnapshot( stream, ksession, DELTA_SNAPSHOT, (context, entryPoint) -> {
+            String entryPointId = entryPoint.getEntryPointId();
+            List<InternalFactHandle> changed = new ArrayList<>();
+            Set<Long> deleted = tracker.drain( entryPointId, changed );
+            List<InternalFactHandle> valid = new ArrayList<>( changed.size() );
+            for ( InternalFactHandle handle : changed ) {
+                if ( handle.isValid() ) {
+                    valid.add( handle );
+                } else {
+                    deleted.add( handle.getId() );
+                }
+            }
+            writeHandles( context, entryPointId, valid.iterator() );
+            writeDeletedHandles( context, entryPointId, deleted );
+        }, tracker );
+    }
+
+    private interface FactHandlesWriter {
+        void writeFactHandles(SnapshotWriteContext context,
+                              NamedEntryPoint entryPoint) throws IOException;
+    }
+
+    private void writeSnapshot(OutputStream stream,
+                               KieSession ksession,
+                               byte snapshotType,
+                               FactHandlesWriter factHandlesWriter,
+                               FactHandleChangesTracker tracker) throws IOException {
+        StatefulKnowledgeSessionImpl wm = (StatefulKnowledgeSessionImpl) ksession;
+        wm.flushPropagations();
+        SnapshotWriteContext context = new SnapshotWriteContext( stream, ksession );
+        context.setClockTime( ksession.getSessionClock().getCurrentTime() );
+        try {
+            wm.getLock().lock();
+            for ( EntryPoint ep : wm.getEntryPoints() ) {
+                ((NamedEntryPoint) ep).lock();
+            }
+            try {
+                context.writeByte( snapshotType );
+
+                ProtobufOutputMarshaller.evaluateRuleActivations( wm );
+                writeSessionRecord( context, wm );
+                for ( EntryPoint ep : wm.getEntryPoints() ) {
+                    factHandlesWriter.writeFactHandles( context, (NamedEntryPoint) ep );
+                }
+                writeNodeMemories( context, wm );
+                writeAgenda( context, wm );
+                for ( EntryPoint ep : wm.getEntryPoints() ) {
+                    writeTruthMaintenanceSystem( context, ep );
+                }
+                writeActions( context );
+                writeTimers( context, wm );
+                context.writeByte( END_RECORD );
+            } finally {
+                for ( EntryPoint ep : wm.getEntryPoints() ) {
+                    ((NamedEntryPoint) ep).unlock();
+                }
+                wm.getLock().unlock();
+            }
+            context.close();
+        } catch ( IOException | RuntimeException e ) {
+            // the drained changes are lost, so the next delta wouldn't be consistent with the previous snapshots
+            tracker.invalidate();
+            throw e;
+        }
+    }
+
+    private static void writeSessionRecord(SnapshotWriteContext context,
+                                           StatefulKnowledgeSessionImpl wm) throws IOException {
+        ProtobufMessages.RuleData.Builder _ruleData = ProtobufMessages.RuleData.newBuilder();
+        _ruleData.setLastId( wm.getFactHandleFactory().getId() );
+        _ruleData.setLastRecency( wm.getFactHandleFactory().getRecency() );
+        ProtobufOutputMarshaller.writeInitialFact( context, _ruleData );
+
+        ProtobufMessages.Agenda.Builder _agenda = ProtobufMessages.Agenda.newBuilder();
+        ProtobufOutputMarshaller.writeAgendaGroups( wm.getAgenda(), _agenda );
+        _ruleData.setAgenda( _agenda );
+
+        for ( EntryPoint ep : wm.getEntryPoints() ) {
+            ProtobufMessages.EntryPoint.Builder _epb = ProtobufMessages.EntryPoint.newBuilder().setEntryPointId( ep.getEntryPointId() );
+            ProtobufOutputMarshaller.writeObjectTypeConfiguration( ((WorkingMemoryEntryPoint) ep).getObjectTypeConfigurationRegistry(), _epb );
+            _ruleData.addEntryPoint( _epb );
+        }
+
+        long time = 0;
+        if ( wm.getTimerService() instanceof PseudoClockScheduler ) {
+            time = context.getClockTime();
+        }
+        writeRecord( context, SESSION_RECORD, ProtobufMessages.KnowledgeSession.newBuilder()
+                .setMultithread( false )
+                .setTime( time )
+                .setRuleData( _ruleData )
+                .build() );
+    }
+
+    private void writeHandles(SnapshotWriteContext context,
+                              String entryPointId,
+                              Iterator<InternalFactHandle> handles) throws IOException {
+        ProtobufMessages.EntryPoint.Builder _chunk = ProtobufMessages.EntryPoint.newBuilder().setEntryPointId( entryPointId );
+        while ( handles.hasNext() ) {
+            _chunk.addHandle( ProtobufOutputMarshaller.writeFactHandle( context, context.getObjectMarshallingStrategyStore(), handles.next() ) );
+            if ( _chunk.getHandleCount() == chunkSize ) {
+                writeRecord( context, HANDLES_RECORD, _chunk.build() );
+                _chunk.clearHandle();
+            }
+        }
+        if ( _chunk.getHandleCount() > 0 ) {
+            writeRecord( context, HANDLES_RECORD, _chunk.build() );
+        }
+    }
+
+    private void writeDeletedHandles(SnapshotWriteContext context,
+                                     String entryPointId,
+                                     Set<Long> deleted) throws IOException {
+        ProtobufMessages.EntryPoint.Builder _chunk = ProtobufMessages.EntryPoint.newBuilder().setEntryPointId( entryPointId );
+        for ( Long id : deleted ) {
+            _chunk.addHandle( ProtobufMessages.FactHandle.newBuilder().setId( id ) );
+            if ( _chunk.getHandleCount() == chunkSize ) {
+                writeRecord( context, DELETED_HANDLES_RECORD, _chunk.build() );
+                _chunk.clearHandle();
+            }
+        }
+        if ( _chunk.getHandleCount() > 0 ) {
+            writeRecord( context, DELETED_HANDLES_RECORD, _chunk.build() );
+        }
+    }
+
+    private void writeNodeMemories(SnapshotWriteContext context,
+                                   StatefulKnowledgeSessionImpl wm) throws IOException {
+        ProtobufMessages.RuleData.Builder _chunk = ProtobufMessages.RuleData.newBuilder();
+        for ( BaseNode baseNode : context.getSinks().values() ) {
+            ProtobufMessages.NodeMemory _node = ProtobufOutputMarshaller.writeNodeMemory( wm, baseNode );
+            if ( _node != null ) {
+                _chunk.addNodeMemory( _node );
+                if ( _chunk.getNodeMemoryCount() == chunkSize ) {
+                    writeRecord( context, NODE_MEMORIES_RECORD, _chunk.build() );
+                    _chunk.clearNodeMemory();
+                }
+            }
+        }
+        if ( _chunk.getNodeMemoryCount() > 0 ) {
+            writeRecord( context, NODE_MEMORIES_RECORD, _chunk.build() );
+        }
+    }
+
+    private void writeAgenda(SnapshotWriteContext context,
+                             StatefulKnowledgeSessionImpl wm) throws IOException {
+        ProtobufMessages.Agenda.Builder _chunk = ProtobufMessages.Agenda.newBuilder();
+        for ( InternalMatch internalMatch : ProtobufOutputMarshaller.getDormantActivations( wm ) ) {
+            _chunk.addMatch( ProtobufOutputMarshaller.writeActivation( context, internalMatch, true ) );
+            if ( _chunk.getMatchCount() == chunkSize ) {
+                writeRecord( context, AGENDA_RECORD, _chunk.build() );
+                _chunk.clearMatch();
+            }
+        }
+        for ( RuleAgendaItem activation : wm.getAgenda().getAgendaGroupsManager().getActivations() ) {
+            _chunk.addRuleActivation( ProtobufOutputMarshaller.writeActivation( context, activation ) );
+            if ( _chunk.getMatchCount() + _chunk.getRuleActivationCount() == chunkSize ) {
+                writeRecord( context, AGENDA_RECORD, _chunk.build() );
+                _chunk.clearMatch().clearRuleActivation();
+            }
+        }
+        if ( _chunk.getMatchCount() + _chunk.getRuleActivationCount() > 0 ) {
+            writeRecord( context, AGENDA_RECORD, _chunk.build() );
+        }
+    }
+
+    private void writeTruthMaintenanceSystem(SnapshotWriteContext context,
+                                             EntryPoint ep) throws IOException {
+        TruthMaintenanceSystem tms = TruthMaintenanceSystemFactory.get().getOrCreateTruthMaintenanceSystem( (NamedEntryPoint) ep );
+        if ( tms.getEqualityKeysSize() == 0 ) {
+            return;
+        }
+        ProtobufMessages.TruthMaintenanceSystem.Builder _chunk = ProtobufMessages.TruthMaintenanceSystem.newBuilder();
+        for ( EqualityKey key : ProtobufOutputMarshaller.orderEqualityKeys( tms ) ) {
+            _chunk.addKey( ProtobufOutputMarshaller.writeEqualityKey( context, key ) );
+            if ( _chunk.getKeyCount() == chunkSize ) {
+                writeTruthMaintenanceSystemRecord( context, ep, _chunk );
+            }
+        }
+        if ( _chunk.getKeyCount() > 0 ) {
+            writeTruthMaintenanceSystemRecord( context, ep, _chunk );
+        }
+    }
+
+    private static void writeTruthMaintenanceSystemRecord(SnapshotWriteContext context,
+                                                          EntryPoint ep,
+                                                          ProtobufMessages.TruthMaintenanceSystem.Builder _chunk) throws IOException {
+        writeRecord( context, TMS_RECORD, ProtobufMessages.EntryPoint.newBuilder()
+                .setEntryPointId( ep.getEntryPointId() )
+                .setTms( _chunk )
+                .build() );
+        _chunk.clearKey();
+    }
+
+    private static void writeActions(SnapshotWriteContext context) throws IOException {
+        ProtobufMessages.RuleData.Builder _ruleData = ProtobufMessages.RuleData.newBuilder();
+        ProtobufOutputMarshaller.writeActionQueue( context, _ruleData );
+        ProtobufMessages.KnowledgeSession.Builder _session = ProtobufMessages.KnowledgeSession.newBuilder().setRuleData( _ruleData );
+        ProtobufOutputMarshaller.writeProcessData( context, _session );
+        writeRecord( context, ACTIONS_RECORD, _session.build() );
+    }
+
+    private void writeTimers(SnapshotWriteContext context,
+                             StatefulKnowledgeSessionImpl wm) throws IOException {
+        ProtobufMessages.Timers.Builder _chunk = ProtobufMessages.Timers.newBuilder();
+        for ( TimerJobInstance timer : ProtobufOutputMarshaller.orderTimers( wm.getTimerJobInstances( wm.getIdentifier() ) ) ) {
+            ProtobufMessages.Timers.Timer _timer = ProtobufOutputMarshaller.writeTimer( timer, context );
+            if ( _timer != null ) {
+                _chunk.addTimer( _timer );
+                if ( _chunk.getTimerCount() == chunkSize ) {
+                    writeRecord( context, TIMERS_RECORD, _chunk.build() );
+                    _chunk.clearTimer();
+                }
+            }
+        }
+        if ( _chunk.getTimerCount() > 0 ) {
+            writeRecord( context, TIMERS_RECORD, _chunk.build() );
+        }
+    }
+
+    private static void writeRecord(SnapshotWriteContext context,
+                                    byte recordType,
+                                    Message payload) throws IOException {
+        byte[] buff = PersisterHelper.buildHeader( context, payload, context.contextsOutput ).toByteArray();
+        // the strategies and their contexts are written in the header of each record, so they can be released
+        context.getUsedStrategies().clear();
+        context.getStrategyContext().clear();
+        context.writeByte( recordType );
+        context.writeInt( buff.length );
+        context.write( buff );
+    }
+
+    /**
+     * The write context of a snapshot, whose records write their strategy contexts in a stream shared by the whole snapshot
+     */
+    private class SnapshotWriteContext extends ProtobufMarshallerWriteContext {
+
+        private final PersisterHelper.StrategyContextsOutput contextsOutput = new PersisterHelper.StrategyContextsOutput();
+
+        private SnapshotWriteContext(OutputStream stream,
+                                     KieSession ksession) throws IOException {
+            super( stream,
+                   (InternalKnowledgeBase) kbase,
+                   (InternalWorkingMemory) ksession,
+                   RuleBaseNodes.getNodeMap( (InternalKnowledgeBase) kbase ),
+                   strategyStore,
+                   marshallingConfig.isMarshallProcessInstances(),
+                   marshallingConfig.isMarshallWorkItems(),
+                   ksession.getEnvironment() );
+        }
+    }
+
+    private FactHandleChangesTracker getTracker(KieSession ksession) {
+        for ( RuleRuntimeEventListener listener : ksession.getRuleRuntimeEventListeners() ) {
+            if ( listener instanceof FactHandleChangesTracker && ((FactHandleChangesTracker) listener).owner == this ) {
+                return (FactHandleChangesTracker) listener;
+            }
+        }
+        return null;
+    }
+
+    public KieSession readSnapshots(final InputStream... snapshots) throws IOException, ClassNotFoundException {
+        return readSnapshots( Arrays.asList( snapshots ), null, null );
+    }
+
+    /**
+     * Creates a new session from a full snapshot followed by the deltas written after it, in the same order
+     */
+    public KieSession readSnapshots(final List<InputStream> snapshots,
+                                    KieSessionConfiguration config,
+                                    Environment environment) throws IOException, ClassNotFoundException {
+        if ( snapshots.isEmpty() ) {
+            throw new IllegalArgumentException( "At least a full snapshot is required" );
+        }
+        if ( config == null ) {
+            config = RuleBaseFactory.newKnowledgeSessionConfiguration();
+        }
+        if ( environment == null ) {
+            environment = KieServices.get().newEnvironment();
+        }
+
+        List<ProtobufMarshallerReaderContext> contexts = new ArrayList<>();
+        try {
+            // a full snapshot replaces all the ones before it, so the session is restored from the last one
+            int first = -1;
+            for ( InputStream snapshot : snapshots ) {
+                ProtobufMarshallerReaderContext context = getMarshallerReaderContext( snapshot, environment );
+                contexts.add( context );
+                byte snapshotType = context.readByte();
+                if ( snapshotType == FULL_SNAPSHOT ) {
+                    first = contexts.size() - 1;
+                } else if ( snapshotType != DELTA_SNAPSHOT ) {
+                    throw new IllegalStateException( "Unknown snapshot type: " + snapshotType );
+                } else if ( first < 0 ) {
+                    throw new IllegalStateException( "The first snapshot must be a full one" );
+                }
+            }
+
+            SnapshotsReader reader = new SnapshotsReader( ((InternalKnowledgeBase) this.kbase).nextWorkingMemoryCounter(),
+                                                          environment,
+                                                          config.as( SessionConfiguration.KEY ) );
+            for ( int i = first; i < contexts.size(); i++ ) {
+                reader.readSnapshot( contexts.get( i ), i == contexts.size() - 1 );
+            }
+
+            if ( (config.as( SessionConfiguration.KEY )).isKeepReference() ) {
+                ((InternalKnowledgeBase) this.kbase).addStatefulSession( reader.session );
+            }
+            return reader.session;
+        } finally {
+            for ( ProtobufMarshallerReaderContext context : contexts ) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Restores a session from a sequence of snapshots, reading them one record at a time
+     */
+    private class SnapshotsReader {
+
+        private final int id;
+        private final Environment environment;
+        private final SessionConfiguration config;
+
+        private StatefulKnowledgeSessionImpl session;
+
+        // the fact handles of each entry point, not yet propagated into the network
+        private final Map<String, TreeMap<Long, InternalFactHandle>> handles = new LinkedHashMap<>();
+        private final Set<Long> justified = new HashSet<>();
+
+        // the session record of the last snapshot
+        private ProtobufMessages.KnowledgeSession _session;
+        private final List<PropagationContext> pctxs = new ArrayList<>();
+        private int propagatedEntryPoints;
+        private boolean recyclingIds;
+
+        private SnapshotsReader(int id,
+                                Environment environment,
+                                SessionConfiguration config) {
+            this.id = id;
+            this.environment = environment;
+            this.config = config;
+        }
+
+        private void readSnapshot(ProtobufMarshallerReaderContext context,
+                                  boolean last) throws IOException, ClassNotFoundException {
+            ExtensionRegistry registry = ProtobufInputMarshaller.buildRegistry( context );
+            PersisterHelper.StrategyContextsInput contextsInput = new PersisterHelper.StrategyContextsInput();
+            for ( byte recordType = context.readByte(); recordType != END_RECORD; recordType = context.readByte() ) {
+                byte[] buff = new byte[context.readInt()];
+                context.readFully( buff );
+                if ( !last && recordType != SESSION_RECORD && recordType != HANDLES_RECORD && recordType != DELETED_HANDLES_RECORD ) {
+                    // only the fact handles of the previous snapshots are still needed, and no record following
+                    // them reads the strategy contexts they share
+                    continue;
+                }
+
+                ProtobufMessages.Header _header = PersisterHelper.loadStrategiesCheckSignature( context, ProtobufMessages.Header.parseFrom( buff, registry ), contextsInput );
+                ByteString _payload = _header.getPayload();
+                switch ( recordType ) {
+                    case SESSION_RECORD:
+                        readSession( context, ProtobufMessages.KnowledgeSession.parseFrom( _payload, registry ), last );
+                        break;
+                    case HANDLES_RECORD:
+                        readHandles( context, ProtobufMessages.EntryPoint.parseFrom( _payload, registry ) );
+                        break;
+                    case DELETED_HANDLES_RECORD:
+                        readDeletedHandles( ProtobufMessages.EntryPoint.parseFrom( _payload, registry ) );
+                        break;
+                    case NODE_MEMORIES_RECORD:
+                        ProtobufInputMarshaller.readNodeMemories( context, ProtobufMessages.RuleData.parseFrom( _payload, registry ) );
+                        break;
+                    case AGENDA_RECORD:
+                        ProtobufMessages.Agenda _agenda = ProtobufMessages.Agenda.parseFrom( _payload, registry );
+                        ProtobufInputMarshaller.readActivations( context, _agenda.getMatchList(), _agenda.getRuleActivationList() );
+                        break;
+                    case TMS_RECORD:
+                        readTruthMaintenanceSystem( context, ProtobufMessages.EntryPoint.parseFrom( _payload, registry ) );
+                        break;
+                    case ACTIONS_RECORD:
+                        readActions( context, ProtobufMessages.KnowledgeSession.parseFrom( _payload, registry ) );
+                        break;
+                    case TIMERS_RECORD:
+                        for ( ProtobufMessages.Timers.Timer _timer : ProtobufMessages.Timers.parseFrom( _payload, registry ).getTimerList() ) {
+                            ProtobufInputMarshaller.readTimer( context, _timer );
+                        }
+                        break;
+                    default:
+                        throw new IllegalStateException( "Unknown snapshot record type: " + recordType );
+                }
+            }
+
+            if ( last ) {
+                ProtobufInputMarshaller.scheduleTimerNodeTimers( context );
+                // remove the activations filter
+                session.getAgenda().setActivationsFilter( null );
+            }
+        }
+
+        private void readSession(ProtobufMarshallerReaderContext context,
+                                 ProtobufMessages.KnowledgeSession _snapshotSession,
+                                 boolean last) throws IOException {
+            if ( session == null ) {
+                session = ProtobufInputMarshaller.createSession( context, id, environment, config, _snapshotSession.getRuleData() );
+                // Initialize the session before unmarshalling data
+                if ( initializer != null ) {
+                    initializer.init( session );
+                }
+            }
+            context.setWorkingMemory( session );
+            if ( last ) {
+                _session = _snapshotSession;
+                session.getFactHandleFactory().clear( _session.getRuleData().getLastId(), _session.getRuleData().getLastRecency() );
+                ProtobufInputMarshaller.readAgenda( context, _session.getRuleData(), session.getAgenda() );
+            }
+        }
+
+        private void readHandles(ProtobufMarshallerReaderContext context,
+                                 ProtobufMessages.EntryPoint _chunk) throws IOException, ClassNotFoundException {
+            WorkingMemoryEntryPoint entryPoint = (WorkingMemoryEntryPoint) session.getEntryPoint( _chunk.getEntryPointId() );
+            TreeMap<Long, InternalFactHandle> epHandles = handles.computeIfAbsent( _chunk.getEntryPointId(), k -> new TreeMap<>() );
+            for ( ProtobufMessages.FactHandle _handle : _chunk.getHandleList() ) {
+                InternalFactHandle handle = ProtobufInputMarshaller.readFactHandle( context, entryPoint, _handle );
+                removeFromObjectStore( entryPoint, epHandles.put( handle.getId(), handle ) );
+                if ( _handle.getIsJustified() ) {
+                    // BeliefSystem adds it to the object store
+                    justified.add( handle.getId() );
+                } else if ( handle.getObject() != null ) {
+                    entryPoint.getObjectStore().addHandle( handle, handle.getObject() );
+                }
+            }
+        }
+
+        private void readDeletedHandles(ProtobufMessages.EntryPoint _chunk) {
+            WorkingMemoryEntryPoint entryPoint = (WorkingMemoryEntryPoint) session.getEntryPoint( _chunk.getEntryPointId() );
+            TreeMap<Long, InternalFactHandle> epHandles = handles.get( _chunk.getEntryPointId() );
+            if ( epHandles != null ) {
+                for ( ProtobufMessages.FactHandle _handle : _chunk.getHandleList() ) {
+                    removeFromObjectStore( entryPoint, epHandles.remove( _handle.getId() ) );
+                }
+            }
+        }
+
+        private void removeFromObjectStore(WorkingMemoryEntryPoint entryPoint,
+                                           InternalFactHandle handle) {
+            if ( handle != null && !justified.remove( handle.getId() ) && handle.getObject() != null ) {
+                entryPoint.getObjectStore().removeHandle( handle );
+            }
+        }
+
+        private void readTruthMaintenanceSystem(ProtobufMarshallerReaderContext context,
+                                                ProtobufMessages.EntryPoint _chunk) throws IOException, ClassNotFoundException {
+            ProtobufMessages.EntryPoint _ep = propagateUpTo( context, _chunk.getEntryPointId() );
+            ProtobufInputMarshaller.readTruthMaintenanceSystem( session,
+                                                                context,
+                                                                session.getEntryPoint( _chunk.getEntryPointId() ),
+                                                                _ep.toBuilder().setTms( _chunk.getTms() ).build(),
+                                                                pctxs );
+        }
+
+        private void readActions(ProtobufMarshallerReaderContext context,
+                                 ProtobufMessages.KnowledgeSession _actions) throws IOException, ClassNotFoundException {
+            propagateUpTo( context, null );
+            for ( String entryPointId : new ArrayList<>( handles.keySet() ) ) {
+                // an entry point that is no longer in the last snapshot
+                propagate( context, ProtobufMessages.EntryPoint.newBuilder().setEntryPointId( entryPointId ).build() );
+            }
+            stopRecyclingIds();
+
+            ProtobufInputMarshaller.cleanReaderContexts( pctxs );
+            ProtobufInputMarshaller.readActionQueue( context, _actions.getRuleData() );
+            ProtobufInputMarshaller.readProcessData( context, _actions );
+        }
+
+        /**
+         * Propagates the fact handles of the entry points of the last snapshot, in their order, up to the one with
+         * the given id, or all of them if it is null, and returns that entry point
+         */
+        private ProtobufMessages.EntryPoint propagateUpTo(ProtobufMarshallerReaderContext context,
+                                                          String entryPointId) {
+            List<ProtobufMessages.EntryPoint> _eps = _session.getRuleData().getEntryPointList();
+            if ( propagatedEntryPoints == 0 ) {
+                // the node memories and the agenda have been read, since they are required during fact propagation
+                ProtobufInputMarshaller.readGlobalsAndTime( _session, session, context );
+                ProtobufInputMarshaller.readInitialFact( _session.getRuleData(), session, context );
+            } else if ( _eps.get( propagatedEntryPoints - 1 ).getEntryPointId().equals( entryPointId ) ) {
+                return _eps.get( propagatedEntryPoints - 1 );
+            }
+            while ( propagatedEntryPoints < _eps.size() ) {
+                ProtobufMessages.EntryPoint _ep = _eps.get( propagatedEntryPoints++ );
+                propagate( context, _ep );
+                if ( _ep.getEntryPointId().equals( entryPointId ) ) {
+                    return _ep;
+                }
+            }
+            if ( entryPointId != null ) {
+                throw new IllegalStateException( "The entry point " + entryPointId + " is not in the snapshot or is out of order" );
+            }
+            return null;
+        }
+
+        private void propagate(ProtobufMarshallerReaderContext context,
+                               ProtobufMessages.EntryPoint _ep) {
+            stopRecyclingIds();
+            TreeMap<Long, InternalFactHandle> epHandles = handles.remove( _ep.getEntryPointId() );
+            if ( epHandles != null ) {
+                for ( InternalFactHandle handle : epHandles.values() ) {
+                    context.getHandles().put( handle.getId(), handle );
+                    if ( !justified.contains( handle.getId() ) ) {
+                        // add handle to object type node
+                        ProtobufInputMarshaller.assertHandleIntoOTN( context, session, handle, pctxs );
+                    }
+                    if ( handle.isExpired() ) {
+                        session.addPropagation( new WorkingMemoryReteExpireAction( (DefaultEventHandle) handle ) );
+                    }
+                }
+            }
+
+            session.getFactHandleFactory().doRecycleIds( context.getHandles().keySet() );
+            recyclingIds = true;
+
+            context.getFilter().fireRNEAs( session );
+        }
+
+        private void stopRecyclingIds() {
+            if ( recyclingIds ) {
+                session.getFactHandleFactory().stopRecycleIds();
+                recyclingIds = false;
+            }
+        }
+    }
+
+    /**
+     * Keeps track, for each entry point, of the fact handles inserted, updated or deleted since the last snapshot
+     */
+    static class FactHandleChangesTracker implements RuleRuntimeEventListener {
+
+        private final ProtobufSnapshotMarshaller owner;
+
+        private final Map<String, Map<Long, InternalFactHandle>> changed = new HashMap<>();
+        private final Map<String, Set<Long>> deleted = new HashMap<>();
+
+        private boolean valid = true;
+
+        FactHandleChangesTracker(ProtobufSnapshotMarshaller owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public synchronized void objectInserted(ObjectInsertedEvent event) {
+            changed( (InternalFactHandle) event.getFactHandle() );
+        }
+
+        @Override
+        public synchronized void objectUpdated(ObjectUpdatedEvent event) {
+            changed( (InternalFactHandle) event.getFactHandle() );
+        }
+
+        @Override
+        public synchronized void objectDeleted(ObjectDeletedEvent event) {
+            InternalFactHandle handle = (InternalFactHandle) event.getFactHandle();
+            String entryPointId = handle.getEntryPointName();
+            Map<Long, InternalFactHandle> epChanged = changed.get( entryPointId );
+            if ( epChanged != null ) {
+                epChanged.remove( handle.getId() );
+            }
+            deleted.computeIfAbsent( entryPointId, k -> new HashSet<>() ).add( handle.getId() );
+        }
+
+        private void changed(InternalFactHandle handle) {
+            String entryPointId = handle.getEntryPointName();
+            changed.computeIfAbsent( entryPointId, k -> new LinkedHashMap<>() ).put( handle.getId(), handle );
+            Set<Long> epDeleted = deleted.get( entryPointId );
+            if ( epDeleted != null ) {
+                epDeleted.remove( handle.getId() );
+            }
+        }
+
+        synchronized void reset(String entryPointId) {
+            changed.remove( entryPointId );
+            deleted.remove( entryPointId );
+            valid = true;
+        }
+
+        synchronized Set<Long> drain(String entryPointId, List<InternalFactHandle> changedHandles) {
+            Map<Long, InternalFactHandle> epChanged = changed.remove( entryPointId );
+            if ( epChanged != null ) {
+                changedHandles.addAll( epChanged.values() );
+            }
+            Set<Long> epDeleted = deleted.remove( entryPointId );
+            return epDeleted != null ? epDeleted : new HashSet<>();
+        }
+
+        synchronized boolean isValid() {
+            return valid;
+        }
+
+        synchronized void invalidate() {
+            valid = false;
+        }
+    }
+}
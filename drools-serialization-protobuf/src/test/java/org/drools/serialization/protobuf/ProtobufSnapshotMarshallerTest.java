@@ -0,0 +1,289 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.serialization.protobuf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.impl.RuleBaseFactory;
+import org.drools.core.marshalling.ClassObjectMarshallingStrategyAcceptor;
+import org.drools.core.marshalling.SerializablePlaceholderResolverStrategy;
+import org.drools.mvel.compiler.Address;
+import org.drools.mvel.compiler.Person;
+import org.drools.serialization.protobuf.marshalling.JavaSerializableResolverStrategy;
+import org.drools.serialization.protobuf.marshalling.MarshallingConfigurationImpl;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.marshalling.ObjectMarshallingStrategy;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.api.time.SessionPseudoClock;
+import org.kie.internal.utils.KieHelper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProtobufSnapshotMarshallerTest {
+
+    private static final String DRL =
+            "import " + Person.class.getCanonicalName() + ";\n" +
+            "global java.util.List list;\n" +
+            "rule Adults when\n" +
+            "    $n : Number() from accumulate( Person( age >= 18 ), count() )\n" +
+            "then\n" +
+            "    list.add( $n.intValue() );\n" +
+            "end\n";
+
+    private ProtobufSnapshotMarshaller createMarshaller(KieBase kbase) {
+        ObjectMarshallingStrategy[] strategies = new ObjectMarshallingStrategy[] { new JavaSerializableResolverStrategy( ClassObjectMarshallingStrategyAcceptor.DEFAULT ) };
+        return new ProtobufSnapshotMarshaller( kbase, new MarshallingConfigurationImpl( strategies, true, true ), 2 );
+    }
+
+    @Test
+    public void testFullSnapshotAndDeltas() throws Exception {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        ProtobufSnapshotMarshaller marshaller = createMarshaller( kbase );
+
+        KieSession ksession = kbase.newKieSession();
+        List<Integer> list = new ArrayList<>();
+        ksession.setGlobal( "list", list );
+
+        List<FactHandle> handles = new ArrayList<>();
+        for ( int i = 0; i < 5; i++ ) {
+            handles.add( ksession.insert( new Person( "Person" + i, 20 + i ) ) );
+        }
+        ksession.fireAllRules();
+        assertThat( list ).containsExactly( 5 );
+
+        ByteArrayOutputStream full = new ByteArrayOutputStream();
+        marshaller.writeSnapshot( full, ksession );
+
+        Person young = new Person( "Young", 10 );
+        ksession.insert( young );
+        Person person0 = (Person) ksession.getObject( handles.get( 0 ) );
+        person0.setAge( 15 );
+        ksession.update( handles.get( 0 ), person0 );
+        ByteArrayOutputStream delta1 = new ByteArrayOutputStream();
+        marshaller.writeDelta( delta1, ksession );
+
+        ksession.delete( handles.get( 1 ) );
+        ByteArrayOutputStream delta2 = new ByteArrayOutputStream();
+        marshaller.writeDelta( delta2, ksession );
+
+        // the deltas only contain the changed fact handles
+        assertThat( delta1.size() ).isLessThan( full.size() );
+        assertThat( delta2.size() ).isLessThan( delta1.size() );
+
+        ksession.fireAllRules();
+        assertThat( list ).containsExactly( 5, 3 );
+
+        KieSession restored = marshaller.readSnapshots( new ByteArrayInputStream( full.toByteArray() ),
+                                                        new ByteArrayInputStream( delta1.toByteArray() ),
+                                                        new ByteArrayInputStream( delta2.toByteArray() ) );
+        try {
+            assertThat( restored.getObjects() ).hasSize( 5 );
+            assertThat( restored.getObjects() ).extracting( o -> ((Person) o).getName() )
+                    .containsExactlyInAnyOrder( "Person0", "Person2", "Person3", "Person4", "Young" );
+
+            List<Integer> restoredList = new ArrayList<>();
+            restored.setGlobal( "list", restoredList );
+            restored.insert( new Person( "Another", 30 ) );
+            restored.fireAllRules();
+            assertThat( restoredList ).containsExactly( 4 );
+        } finally {
+            restored.dispose();
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testAgendaTruthMaintenanceAndTimersAreRestoredFromChunks() throws Exception {
+        String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n" +
+                "rule Adult when\n" +
+                "    $p : Person( age >= 18 )\n" +
+                "then\n" +
+                "    insertLogical( \"adult \" + $p.getName() );\n" +
+                "end\n" +
+                "rule Greet when\n" +
+                "    $s : String()\n" +
+                "then\n" +
+                "    list.add( $s );\n" +
+                "end\n" +
+                "rule Late timer( int: 1h ) when\n" +
+                "    Person( name == \"Late\" )\n" +
+                "then\n" +
+                "    list.add( \"late\" );\n" +
+                "end\n";
+        KieBase kbase = new KieHelper().addContent( drl, ResourceType.DRL ).build();
+        ProtobufSnapshotMarshaller marshaller = createMarshaller( kbase );
+        KieSessionConfiguration conf = RuleBaseFactory.newKnowledgeSessionConfiguration();
+        conf.setOption( ClockTypeOption.PSEUDO );
+
+        KieSession ksession = kbase.newKieSession( conf, null );
+        List<String> list = new ArrayList<>();
+        ksession.setGlobal( "list", list );
+
+        List<FactHandle> handles = new ArrayList<>();
+        for ( int i = 0; i < 5; i++ ) {
+            handles.add( ksession.insert( new Person( "Person" + i, 20 + i ) ) );
+        }
+        ksession.insert( new Person( "Late", 10 ) );
+        ksession.fireAllRules();
+        assertThat( list ).containsExactlyInAnyOrder( "adult Person0", "adult Person1", "adult Person2", "adult Person3", "adult Person4" );
+
+        ByteArrayOutputStream full = new ByteArrayOutputStream();
+        marshaller.writeSnapshot( full, ksession );
+
+        // the logical fact of Person0 is retracted, while the activations of the new persons are left on the agenda
+        ksession.delete( handles.get( 0 ) );
+        for ( int i = 5; i < 8; i++ ) {
+            ksession.insert( new Person( "Person" + i, 20 + i ) );
+        }
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        marshaller.writeDelta( delta, ksession );
+        ksession.dispose();
+
+        KieSession restored = marshaller.readSnapshots( Arrays.asList( new ByteArrayInputStream( full.toByteArray() ),
+                                                                       new ByteArrayInputStream( delta.toByteArray() ) ),
+                                                        conf,
+                                                        null );
+        try {
+            assertThat( restored.getObjects( String.class::isInstance ) ).extracting( String.class::cast )
+                    .containsExactlyInAnyOrder( "adult Person1", "adult Person2", "adult Person3", "adult Person4" );
+
+            List<String> restoredList = new ArrayList<>();
+            restored.setGlobal( "list", restoredList );
+            assertThat( restored.fireAllRules() ).isEqualTo( 6 );
+            assertThat( restoredList ).containsExactlyInAnyOrder( "adult Person5", "adult Person6", "adult Person7" );
+
+            restoredList.clear();
+            restored.<SessionPseudoClock>getSessionClock().advanceTime( 2, TimeUnit.HOURS );
+            restored.fireAllRules();
+            assertThat( restoredList ).containsExactly( "late" );
+        } finally {
+            restored.dispose();
+        }
+    }
+
+    @Test
+    public void testObjectSharedByDifferentChunksIsRestoredOnce() throws Exception {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        ObjectMarshallingStrategy[] strategies = new ObjectMarshallingStrategy[] { new SerializablePlaceholderResolverStrategy( ClassObjectMarshallingStrategyAcceptor.DEFAULT ) };
+        ProtobufSnapshotMarshaller marshaller = new ProtobufSnapshotMarshaller( kbase, new MarshallingConfigurationImpl( strategies, true, true ), 1 );
+
+        KieSession ksession = kbase.newKieSession();
+        ksession.setGlobal( "list", new ArrayList<>() );
+        Address home = new Address( "Home" );
+        for ( String name : Arrays.asList( "Mario", "Luca" ) ) {
+            Person person = new Person( name, 40 );
+            person.setAddress( home );
+            ksession.insert( person );
+        }
+        ByteArrayOutputStream full = new ByteArrayOutputStream();
+        marshaller.writeSnapshot( full, ksession );
+
+        Address office = new Address( "Office" );
+        for ( String name : Arrays.asList( "Mark", "Edson" ) ) {
+            Person person = new Person( name, 30 );
+            person.setAddress( office );
+            ksession.insert( person );
+        }
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        marshaller.writeDelta( delta, ksession );
+        ksession.dispose();
+
+        KieSession restored = marshaller.readSnapshots( new ByteArrayInputStream( full.toByteArray() ),
+                                                        new ByteArrayInputStream( delta.toByteArray() ) );
+        try {
+            List<Address> homes = new ArrayList<>();
+            List<Address> offices = new ArrayList<>();
+            for ( Object o : restored.getObjects() ) {
+                Address address = ((Person) o).getAddress();
+                (address.getStreet().equals( "Home" ) ? homes : offices).add( address );
+            }
+            // each person has been written in its own chunk
+            assertThat( homes ).hasSize( 2 );
+            assertThat( homes.get( 0 ) ).isSameAs( homes.get( 1 ) );
+            assertThat( offices ).hasSize( 2 );
+            assertThat( offices.get( 0 ) ).isSameAs( offices.get( 1 ) );
+        } finally {
+            restored.dispose();
+        }
+    }
+
+    @Test
+    public void testFullSnapshotRestartsTheSequence() throws Exception {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        ProtobufSnapshotMarshaller marshaller = createMarshaller( kbase );
+
+        KieSession ksession = kbase.newKieSession();
+        ksession.setGlobal( "list", new ArrayList<>() );
+        FactHandle fh = ksession.insert( new Person( "Mario", 40 ) );
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        marshaller.writeSnapshot( first, ksession );
+
+        ksession.delete( fh );
+        ksession.insert( new Person( "Luca", 30 ) );
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        marshaller.writeSnapshot( second, ksession );
+
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        marshaller.writeDelta( delta, ksession );
+        ksession.dispose();
+
+        KieSession restored = marshaller.readSnapshots( new ByteArrayInputStream( first.toByteArray() ),
+                                                        new ByteArrayInputStream( second.toByteArray() ),
+                                                        new ByteArrayInputStream( delta.toByteArray() ) );
+        try {
+            assertThat( restored.getObjects() ).extracting( o -> ((Person) o).getName() ).containsExactly( "Luca" );
+        } finally {
+            restored.dispose();
+        }
+    }
+
+    @Test
+    public void testDeltaRequiresFullSnapshot() throws Exception {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        ProtobufSnapshotMarshaller marshaller = createMarshaller( kbase );
+
+        KieSession ksession = kbase.newKieSession();
+        try {
+            assertThatThrownBy( () -> marshaller.writeDelta( new ByteArrayOutputStream(), ksession ) )
+                    .isInstanceOf( IllegalStateException.class );
+
+            ByteArrayOutputStream full = new ByteArrayOutputStream();
+            marshaller.writeSnapshot( full, ksession );
+            ByteArrayOutputStream delta = new ByteArrayOutputStream();
+            marshaller.writeDelta( delta, ksession );
+
+            assertThatThrownBy( () -> marshaller.readSnapshots( new ByteArrayInputStream( delta.toByteArray() ) ) )
+                    .isInstanceOf( IllegalStateException.class );
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
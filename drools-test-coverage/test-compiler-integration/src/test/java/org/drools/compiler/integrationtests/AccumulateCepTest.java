@@ -173,4 +173,73 @@ public class AccumulateCepTest {
             ksession.dispose();
         }
     }
+
+    @Test
+    public void testBurstOfEventsExpiringFromSlidingTimeWindow() {
+        final String drl = "package com.sample;\n" +
+                "\n" +
+                "global java.util.List list; \n" +
+                "" +
+                "declare Reading\n" +
+                "  @role( event ) \n" +
+                "  value : int \n" +
+                "end\n" +
+                " \n" +
+                "rule Init \n" +
+                "when \n" +
+                "  $i : Integer() \n" +
+                "then \n" +
+                "  insert( new Reading( $i ) ); \n" +
+                "  delete( $i ); \n" +
+                "end\n" +
+                "" +
+                "rule \"Stats\"\n" +
+                "when\n" +
+                "   accumulate ( Reading( $v : value ) over window:time(10s), $count : count( $v ), $min : min( $v ), $max : max( $v ) ) \n" +
+                "then\n" +
+                "  list.add( asList( $count, $min, $max ) ); \n" +
+                "end\n" +
+                "function java.util.List asList(Number count, Number min, Number max) {\n" +
+                "  return java.util.Arrays.asList( count.intValue(), min == null ? null : min.intValue(), max == null ? null : max.intValue() );\n" +
+                "}\n";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("accumulate-test", kieBaseTestConfiguration, drl);
+
+        final KieSessionConfiguration ksConf = RuleBaseFactory.newKnowledgeSessionConfiguration();
+        ksConf.setOption(ClockTypeOption.PSEUDO);
+        final KieSession ksession = kbase.newKieSession(ksConf, null);
+        try {
+            final List<List<Integer>> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+            final SessionPseudoClock clock = ksession.getSessionClock();
+
+            // a burst of readings at the same time, so they all expire together and the min and max can't be just reversed
+            for (int i = 0; i < 100; i++) {
+                ksession.insert(i % 2 == 0 ? i : 200 - i);
+            }
+            ksession.fireAllRules();
+            assertThat(list).containsExactly(asList(100, 0, 199));
+
+            clock.advanceTime(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 10; i++) {
+                ksession.insert(1000 + i);
+            }
+            ksession.fireAllRules();
+            assertThat(list.get(list.size() - 1)).isEqualTo(asList(110, 0, 1009));
+
+            // the first burst expires, while the readings inserted later are still in the window
+            list.clear();
+            clock.advanceTime(5, TimeUnit.SECONDS);
+            ksession.fireAllRules();
+            assertThat(list).containsExactly(asList(10, 1000, 1009));
+
+            // all the remaining readings expire together
+            list.clear();
+            clock.advanceTime(5, TimeUnit.SECONDS);
+            ksession.fireAllRules();
+            assertThat(list).containsExactly(asList(0, null, null));
+        } finally {
+            ksession.dispose();
+        }
+    }
 }
@@ -27,10 +27,15 @@ import java.util.Set;
 
 import org.drools.ancompiler.CompiledNetwork;
 import org.drools.core.common.BetaConstraints;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.impl.InternalRuleBase;
+import org.drools.core.reteoo.BetaMemory;
 import org.drools.core.reteoo.JoinNode;
 import org.drools.core.reteoo.ObjectSink;
 import org.drools.core.reteoo.ObjectSinkPropagator;
 import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.reteoo.TerminalNode;
+import org.drools.core.util.index.TemporalTupleIndexRBTree;
 import org.drools.testcoverage.common.model.Cheese;
 import org.drools.testcoverage.common.model.Person;
 import org.drools.testcoverage.common.model.Pet;
@@ -47,6 +52,7 @@ import org.kie.api.KieBase;
 import org.kie.api.builder.KieModule;
 import org.kie.api.conf.BetaRangeIndexOption;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -528,4 +534,215 @@ public class JoinNodeRangeIndexingTest {
             ksession.dispose();
         }
     }
+
+    @Test
+    public void testRangeBoundedOnBothSides() {
+        final String drl = "import " + Person.class.getCanonicalName() + ";\n" +
+                           "import " + AgeRange.class.getCanonicalName() + ";\n" +
+                           "global java.util.Set result;\n" +
+                           "rule R1\n" +
+                           "when\n" +
+                           "   $range : AgeRange()\n" +
+                           "   $person : Person( age > $range.min, age <= $range.max )\n" +
+                           "then\n" +
+                           "   result.add( $person.getName() + \" in \" + $range.getName() );\n" +
+                           "end\n" +
+                           "rule R2\n" +
+                           "when\n" +
+                           "   $range : AgeRange()\n" +
+                           "   $person : Person( age < $range.max, age >= $range.min )\n" +
+                           "then\n" +
+                           "   result.add( $person.getName() + \" within \" + $range.getName() );\n" +
+                           "end\n";
+
+        final KieBase kbase = getKieBaseWithRangeIndexOption(drl);
+
+        final KieSession ksession = kbase.newKieSession();
+        Set<String> result = new HashSet<>();
+        ksession.setGlobal("result", result);
+        try {
+            ksession.insert(new AgeRange("kids", 0, 10));
+            ksession.insert(new AgeRange("teens", 10, 20));
+
+            ksession.insert(new Person("John", 0));
+            ksession.insert(new Person("Paul", 10));
+            ksession.insert(new Person("George", 15));
+            ksession.insert(new Person("Ringo", 20));
+            final Person yoko = new Person("Yoko", 30);
+            final FactHandle yokoFh = ksession.insert(yoko);
+
+            assertThat(ksession.fireAllRules()).isEqualTo(6);
+            assertThat(result).containsExactlyInAnyOrder("Paul in kids", "George in teens", "Ringo in teens",
+                                                         "John within kids", "Paul within teens", "George within teens");
+
+            result.clear();
+            yoko.setAge(12);
+            ksession.update(yokoFh, yoko);
+            ksession.insert(new AgeRange("adults", 20, 100));
+
+            assertThat(ksession.fireAllRules()).isEqualTo(3);
+            assertThat(result).containsExactlyInAnyOrder("Yoko in teens", "Yoko within teens", "Ringo within adults");
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testTemporalIndexForJoin() {
+        final String drl = "package org.drools.compiler.integrationtests;\n" +
+                           "import " + TimedEvent.class.getCanonicalName() + ";\n" +
+                           "global java.util.Set result;\n" +
+                           "declare TimedEvent @role( event ) @timestamp( timestamp ) @duration( duration ) end\n" +
+                           "rule after when\n" +
+                           "   $a : TimedEvent( group == \"A\" )\n" +
+                           "   $b : TimedEvent( group == \"B\", this after[2, 5] $a )\n" +
+                           "then\n" +
+                           "   result.add( \"after \" + $a.getName() + \"-\" + $b.getName() );\n" +
+                           "end\n" +
+                           "rule afterAnyTime when\n" +
+                           "   $a : TimedEvent( group == \"A\" )\n" +
+                           "   $b : TimedEvent( group == \"B\", this after $a )\n" +
+                           "then\n" +
+                           "   result.add( \"afterAnyTime \" + $a.getName() + \"-\" + $b.getName() );\n" +
+                           "end\n" +
+                           "rule before when\n" +
+                           "   $a : TimedEvent( group == \"A\" )\n" +
+                           "   $b : TimedEvent( group == \"B\", this before[1, 4] $a )\n" +
+                           "then\n" +
+                           "   result.add( \"before \" + $a.getName() + \"-\" + $b.getName() );\n" +
+                           "end\n" +
+                           "rule coincides when\n" +
+                           "   $a : TimedEvent( group == \"A\" )\n" +
+                           "   $b : TimedEvent( group == \"B\", this coincides[1, 2] $a )\n" +
+                           "then\n" +
+                           "   result.add( \"coincides \" + $a.getName() + \"-\" + $b.getName() );\n" +
+                           "end\n" +
+                           "rule notAfter when\n" +
+                           "   $a : TimedEvent( group == \"A\" )\n" +
+                           "   $b : TimedEvent( group == \"B\", this not after[2, 5] $a )\n" +
+                           "then\n" +
+                           "   result.add( \"notAfter \" + $a.getName() + \"-\" + $b.getName() );\n" +
+                           "end\n" +
+                           "rule reversed when\n" +
+                           "   $b : TimedEvent( group == \"B\" )\n" +
+                           "   $a : TimedEvent( group == \"A\", $b after[0, 3] this )\n" +
+                           "then\n" +
+                           "   result.add( \"reversed \" + $a.getName() + \"-\" + $b.getName() );\n" +
+                           "end\n";
+
+        final KieModule kieModule = KieUtil.getKieModuleFromDrls("indexing-test", kieBaseTestConfiguration, drl);
+        final KieBase indexedKbase = KieBaseUtil.newKieBaseFromKieModuleWithAdditionalOptions(kieModule, kieBaseTestConfiguration, BetaRangeIndexOption.ENABLED);
+        final KieBase kbase = KieBaseUtil.newKieBaseFromKieModuleWithAdditionalOptions(kieModule, kieBaseTestConfiguration);
+
+        // with the declaration on the left of the operator only the executable model reads the timestamps of the event handles
+        final String[] indexedRules = kieBaseTestConfiguration.isExecutableModel() ?
+                new String[] {"after", "afterAnyTime", "before", "coincides", "reversed"} :
+                new String[] {"after", "afterAnyTime", "before", "coincides"};
+        final List<Set<String>> indexedResults = fireTimedEvents(indexedKbase, indexedRules);
+        final List<Set<String>> expectedResults = fireTimedEvents(kbase);
+
+        assertThat(indexedResults).isEqualTo(expectedResults);
+        assertThat(expectedResults.get(0)).contains("after a0-b1", "before a2-b1", "coincides a3-b4", "notAfter a1-b1", "reversed a0-b0");
+    }
+
+    private List<Set<String>> fireTimedEvents(KieBase kbase, String... temporalIndexedRules) {
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            Set<String> result = new HashSet<>();
+            ksession.setGlobal("result", result);
+            List<Set<String>> results = new ArrayList<>();
+
+            // half of the left events before the right ones, and the other half after them, so both the memories are looked up
+            List<FactHandle> handles = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                handles.add(ksession.insert(new TimedEvent("A", "a" + i, i * 3L, i % 4)));
+            }
+            ksession.fireAllRules();
+            for (int i = 0; i < 15; i++) {
+                handles.add(ksession.insert(new TimedEvent("B", "b" + i, i * 2L + 1, i % 3)));
+            }
+            for (int i = 10; i < 20; i++) {
+                handles.add(ksession.insert(new TimedEvent("A", "a" + i, i * 3L, i % 4)));
+            }
+            ksession.fireAllRules();
+            results.add(new HashSet<>(result));
+
+            // updates and deletes of both the sides
+            result.clear();
+            for (int i = 0; i < handles.size(); i += 3) {
+                ksession.update(handles.get(i), ksession.getObject(handles.get(i)));
+            }
+            for (int i = 1; i < handles.size(); i += 4) {
+                ksession.delete(handles.get(i));
+            }
+            ksession.fireAllRules();
+            results.add(new HashSet<>(result));
+
+            for (String ruleName : temporalIndexedRules) {
+                TerminalNode terminalNode = ((InternalRuleBase) kbase).getReteooBuilder().getTerminalNodes("org.drools.compiler.integrationtests." + ruleName)[0];
+                BetaMemory betaMemory = (BetaMemory) ((InternalWorkingMemory) ksession).getNodeMemory((JoinNode) terminalNode.getLeftTupleSource());
+                assertThat(betaMemory.getLeftTupleMemory()).as(ruleName).isInstanceOf(TemporalTupleIndexRBTree.class);
+                assertThat(betaMemory.getRightTupleMemory()).as(ruleName).isInstanceOf(TemporalTupleIndexRBTree.class);
+            }
+            return results;
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    public static class TimedEvent {
+
+        private final String group;
+        private final String name;
+        private final long timestamp;
+        private final long duration;
+
+        public TimedEvent(String group, String name, long timestamp, long duration) {
+            this.group = group;
+            this.name = name;
+            this.timestamp = timestamp;
+            this.duration = duration;
+        }
+
+        public String getGroup() {
+            return group;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public long getDuration() {
+            return duration;
+        }
+    }
+
+    public static class AgeRange {
+
+        private final String name;
+        private final int min;
+        private final int max;
+
+        public AgeRange(String name, int min, int max) {
+            this.name = name;
+            this.min = min;
+            this.max = max;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getMin() {
+            return min;
+        }
+
+        public int getMax() {
+            return max;
+        }
+    }
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.drools.base.base.ClassObjectType;
+import org.drools.core.impl.InternalRuleBase;
+import org.drools.core.reteoo.BetaNode;
+import org.drools.core.reteoo.LeftInputAdapterNode;
+import org.drools.core.reteoo.LeftTupleSource;
+import org.drools.core.reteoo.ObjectSource;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.reteoo.TerminalNode;
+import org.drools.core.reteoo.builder.JoinOrderStatistics;
+import org.drools.testcoverage.common.model.Cheese;
+import org.drools.testcoverage.common.model.Person;
+import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
+import org.drools.testcoverage.common.util.KieBaseUtil;
+import org.drools.testcoverage.common.util.TestParametersUtil;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Parameterized.class)
+public class JoinOrderTest {
+
+    private static final String DRL =
+            "package org.drools.compiler.integrationtests\n" +
+            "import " + Person.class.getCanonicalName() + "\n" +
+            "import " + Cheese.class.getCanonicalName() + "\n" +
+            "global java.util.List list\n" +
+            "rule R when\n" +
+            "    $p : Person( $likes : likes )\n" +
+            "    $c : Cheese( type == $likes )\n" +
+            "    $s : String( this == $likes )\n" +
+            "    $i : Integer()\n" +
+            "then\n" +
+            "    list.add( $p.getName() + \":\" + $c.getPrice() + \":\" + $i );\n" +
+            "end\n";
+
+    private final KieBaseTestConfiguration kieBaseTestConfiguration;
+
+    public JoinOrderTest(final KieBaseTestConfiguration kieBaseTestConfiguration) {
+        this.kieBaseTestConfiguration = kieBaseTestConfiguration;
+    }
+
+    @Parameterized.Parameters(name = "KieBase type={0}")
+    public static Collection<Object[]> getParameters() {
+        return TestParametersUtil.getKieBaseCloudConfigurations(true);
+    }
+
+    @Test
+    public void testPatternsInWrittenOrderWithoutStatistics() {
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("join-order-test", kieBaseTestConfiguration, DRL);
+        assertThat(getJoinedClasses(kbase)).containsExactly(Person.class, Cheese.class, String.class, Integer.class);
+        assertMatches(kbase);
+    }
+
+    @Test
+    public void testPatternsReorderedByStatistics() throws Exception {
+        final KieBase kbase = getKieBaseWithStatistics(new JoinOrderStatistics()
+                                                               .setFactCount(Person.class.getName(), 1000)
+                                                               .setFactCount(Cheese.class.getName(), 10)
+                                                               .setFactCount(String.class.getName(), 5)
+                                                               .setFactCount(Integer.class.getName(), 1000));
+        // the Cheese and String patterns can't be moved before the Person one declaring $likes
+        assertThat(getJoinedClasses(kbase)).containsExactly(Person.class, String.class, Cheese.class, Integer.class);
+        assertMatches(kbase);
+    }
+
+    @Test
+    public void testUnrelatedPatternIsNotHoisted() throws Exception {
+        final KieBase kbase = getKieBaseWithStatistics(new JoinOrderStatistics()
+                                                               .setFactCount(Person.class.getName(), 1000)
+                                                               .setFactCount(Cheese.class.getName(), 10)
+                                                               .setFactCount(String.class.getName(), 5)
+                                                               .setFactCount(Integer.class.getName(), 1));
+        // the Integer pattern matches the fewest facts, but it isn't joined to any other one, so moving it
+        // ahead would only multiply the left tuples of the following joins
+        assertThat(getJoinedClasses(kbase)).containsExactly(Person.class, String.class, Cheese.class, Integer.class);
+        assertMatches(kbase);
+    }
+
+    private KieBase getKieBaseWithStatistics(JoinOrderStatistics statistics) throws Exception {
+        final Path statisticsFile = Files.createTempFile("join-order", ".properties");
+        try {
+            statistics.store(statisticsFile);
+            System.setProperty(JoinOrderStatistics.JOIN_ORDER_STATISTICS_PROPERTY, statisticsFile.toString());
+            return KieBaseUtil.getKieBaseFromKieModuleFromDrl("join-order-test", kieBaseTestConfiguration, DRL);
+        } finally {
+            System.clearProperty(JoinOrderStatistics.JOIN_ORDER_STATISTICS_PROPERTY);
+            Files.deleteIfExists(statisticsFile);
+        }
+    }
+
+    @Test
+    public void testCollectStatistics() {
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("join-order-test", kieBaseTestConfiguration, DRL);
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            ksession.insert(new Person("Mario", "stilton"));
+            ksession.insert(new Cheese("stilton", 10));
+            ksession.insert(new Cheese("brie", 20));
+
+            final JoinOrderStatistics statistics = JoinOrderStatistics.collect(ksession);
+            assertThat(statistics.getFactCount(Person.class.getName())).isEqualTo(1);
+            assertThat(statistics.getFactCount(Cheese.class.getName())).isEqualTo(2);
+            assertThat(statistics.getFactCount(Integer.class.getName())).isZero();
+
+            final JoinOrderStatistics moreCheeses = new JoinOrderStatistics()
+                    .setFactCount(Person.class.getName(), 1)
+                    .setFactCount(Cheese.class.getName(), 5);
+            assertThat(statistics.hasDrifted(moreCheeses)).isFalse();
+
+            final JoinOrderStatistics morePersons = new JoinOrderStatistics()
+                    .setFactCount(Person.class.getName(), 5)
+                    .setFactCount(Cheese.class.getName(), 2);
+            assertThat(statistics.hasDrifted(morePersons)).isTrue();
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    private void assertMatches(KieBase kbase) {
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            final List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+            ksession.insert(new Person("Mario", "stilton"));
+            ksession.insert(new Person("Luigi", "brie"));
+            ksession.insert(new Cheese("stilton", 10));
+            ksession.insert(new Cheese("cheddar", 20));
+            ksession.insert("stilton");
+            ksession.insert(1);
+            assertThat(ksession.fireAllRules()).isEqualTo(1);
+            assertThat(list).containsExactly("Mario:10:1");
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    private List<Class<?>> getJoinedClasses(KieBase kbase) {
+        final TerminalNode terminalNode = ((InternalRuleBase) kbase).getReteooBuilder().getTerminalNodes("org.drools.compiler.integrationtests.R")[0];
+        final List<Class<?>> classes = new ArrayList<>();
+        LeftTupleSource node = terminalNode.getLeftTupleSource();
+        while (node instanceof BetaNode) {
+            classes.add(0, getObjectTypeClass(((BetaNode) node).getRightInput()));
+            node = node.getLeftTupleSource();
+        }
+        classes.add(0, getObjectTypeClass(((LeftInputAdapterNode) node).getObjectSource()));
+        return classes;
+    }
+
+    private Class<?> getObjectTypeClass(ObjectSource objectSource) {
+        while (!(objectSource instanceof ObjectTypeNode)) {
+            objectSource = objectSource.getParentObjectSource();
+        }
+        return ((ClassObjectType) ((ObjectTypeNode) objectSource).getObjectType()).getClassType();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.testcoverage.common.model.Cheese;
+import org.drools.testcoverage.common.model.Person;
+import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
+import org.drools.testcoverage.common.util.KieUtil;
+import org.drools.testcoverage.common.util.TestParametersUtil;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.Message;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.builder.conf.ParallelBuildOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Parameterized.class)
+public class ParallelPackagesBuildTest {
+
+    private static final int PACKAGES = 4;
+    private static final int RULES = 20;
+
+    private static final Map<String, String> PARALLEL_BUILD = Collections.singletonMap(ParallelBuildOption.PROPERTY_NAME, "true");
+
+    private final KieBaseTestConfiguration kieBaseTestConfiguration;
+
+    public ParallelPackagesBuildTest(final KieBaseTestConfiguration kieBaseTestConfiguration) {
+        this.kieBaseTestConfiguration = kieBaseTestConfiguration;
+    }
+
+    @Parameterized.Parameters(name = "KieBase type={0}")
+    public static Collection<Object[]> getParameters() {
+        return TestParametersUtil.getKieBaseCloudConfigurations(true);
+    }
+
+    @Test
+    public void testParallelBuildOfManyPackages() {
+        final String[] drls = new String[PACKAGES];
+        for (int p = 0; p < PACKAGES; p++) {
+            drls[p] = createDrl(p, "twice($i)");
+        }
+        final KieBuilder kieBuilder = KieUtil.getKieBuilderFromDrls(kieBaseTestConfiguration, PARALLEL_BUILD, true, drls);
+
+        final KieSession ksession = KieServices.get().newKieContainer(kieBuilder.getKieModule().getReleaseId()).newKieSession();
+        try {
+            final List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+            for (int i = 0; i < RULES; i++) {
+                ksession.insert(i);
+            }
+            assertThat(ksession.fireAllRules()).isEqualTo(PACKAGES * RULES);
+            assertThat(list).hasSize(PACKAGES * RULES).contains("R0_0:0", "R1_5:10", "R3_19:38");
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testParallelBuildReportsErrorsOfAllPackages() {
+        final String[] drls = new String[PACKAGES];
+        for (int p = 0; p < PACKAGES; p++) {
+            drls[p] = createDrl(p, p % 2 == 0 ? "twice($i)" : "undefined($i)");
+        }
+        final KieBuilder kieBuilder = KieUtil.getKieBuilderFromDrls(kieBaseTestConfiguration, PARALLEL_BUILD, false, drls);
+
+        final List<Message> errors = kieBuilder.getResults().getMessages(Message.Level.ERROR);
+        assertThat(errors).isNotEmpty();
+        assertThat(errors).anyMatch(error -> error.getText().contains("R1_"));
+        assertThat(errors).anyMatch(error -> error.getText().contains("R3_"));
+        assertThat(errors).noneMatch(error -> error.getText().contains("R0_") || error.getText().contains("R2_"));
+    }
+
+    @Test
+    public void testParallelBuildOfPackagesMatchingTheSameClasses() {
+        // the patterns of all the packages register the type declarations of the same classes concurrently
+        final int packages = 8;
+        final String[] drls = new String[packages];
+        for (int p = 0; p < packages; p++) {
+            final StringBuilder drl = new StringBuilder();
+            drl.append("package org.drools.compiler.integrationtests.p").append(p).append("\n")
+                    .append("import ").append(Person.class.getCanonicalName()).append("\n")
+                    .append("import ").append(Cheese.class.getCanonicalName()).append("\n")
+                    .append("global java.util.List list\n");
+            for (int i = 0; i < RULES; i++) {
+                drl.append("rule R").append(p).append("_").append(i).append(" when\n")
+                        .append("    $p : Person( age == ").append(i).append(", $likes : likes )\n")
+                        .append("    Cheese( type == $likes )\n")
+                        .append("then\n")
+                        .append("    list.add(\"R").append(p).append("_").append(i).append(":\" + $p.getName());\n")
+                        .append("end\n");
+            }
+            drls[p] = drl.toString();
+        }
+        final KieBuilder kieBuilder = KieUtil.getKieBuilderFromDrls(kieBaseTestConfiguration, PARALLEL_BUILD, true, drls);
+
+        final KieSession ksession = KieServices.get().newKieContainer(kieBuilder.getKieModule().getReleaseId()).newKieSession();
+        try {
+            final List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+            ksession.insert(new Person("Mario", "stilton", 3));
+            ksession.insert(new Person("Luigi", "brie", 5));
+            ksession.insert(new Cheese("stilton", 10));
+            assertThat(ksession.fireAllRules()).isEqualTo(packages);
+            assertThat(list).hasSize(packages).contains("R0_3:Mario", "R7_3:Mario");
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testParallelBuildOfRuleCallingQueryOfAnotherPackage() {
+        final String queries =
+                "package org.drools.compiler.integrationtests.queries\n" +
+                "query smallInteger(Integer $i)\n" +
+                "    $i := Integer( intValue < 10 )\n" +
+                "end\n";
+        final String[] drls = new String[PACKAGES];
+        drls[0] = queries;
+        for (int p = 1; p < PACKAGES; p++) {
+            drls[p] =
+                    "package org.drools.compiler.integrationtests.p" + p + "\n" +
+                    "import org.drools.compiler.integrationtests.queries.*\n" +
+                    "global java.util.List list\n" +
+                    "rule R" + p + " when\n" +
+                    "    $i : Integer()\n" +
+                    "    smallInteger($i;)\n" +
+                    "then\n" +
+                    "    list.add(\"R" + p + ":\" + $i);\n" +
+                    "end\n";
+        }
+        final KieBuilder kieBuilder = KieUtil.getKieBuilderFromDrls(kieBaseTestConfiguration, PARALLEL_BUILD, true, drls);
+
+        final KieSession ksession = KieServices.get().newKieContainer(kieBuilder.getKieModule().getReleaseId()).newKieSession();
+        try {
+            final List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+            ksession.insert(5);
+            ksession.insert(15);
+            assertThat(ksession.fireAllRules()).isEqualTo(PACKAGES - 1);
+            assertThat(list).containsExactlyInAnyOrder("R1:5", "R2:5", "R3:5");
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    private static String createDrl(int p, String value) {
+        final StringBuilder drl = new StringBuilder();
+        drl.append("package org.drools.compiler.integrationtests.p").append(p).append("\n")
+                .append("global java.util.List list\n")
+                .append("function int twice(int i) { return i * 2; }\n");
+        for (int i = 0; i < RULES; i++) {
+            drl.append("rule R").append(p).append("_").append(i).append(" when\n")
+                    .append("    $i : Integer( intValue == ").append(i).append(" )\n")
+                    .append("then\n")
+                    .append("    list.add(\"R").append(p).append("_").append(i).append(":\" + ").append(value).append(");\n")
+                    .append("end\n");
+        }
+        return drl.toString();
+    }
+}
@@ -20,16 +20,92 @@ import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.drools.core.common.ReteEvaluator;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
+import org.drools.core.phreak.RingBufferPropagationList;
 import org.drools.core.phreak.SynchronizedPropagationList;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
 public class PropagationListTest {
 
+    @Test(timeout = 10000)
+    public void testTakeAllOrWaitOnRest() throws Exception {
+        checkTakeAllOrWaitOnRest(new SynchronizedPropagationList(null));
+    }
+
+    @Test(timeout = 10000)
+    public void testRingBufferTakeAllOrWaitOnRest() throws Exception {
+        checkTakeAllOrWaitOnRest(new RingBufferPropagationList(null));
+    }
+
+    private void checkTakeAllOrWaitOnRest(final PropagationList propagationList) throws Exception {
+        final TestEntry entry = new TestEntry(new Checker(1), 0, 0);
+
+        // with no entries and a false condition it must return immediately
+        assertThat(propagationList.takeAllOrWaitOnRest(() -> false)).isNull();
+
+        propagationList.setFiringUntilHalt(true);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<PropagationEntry> resting = executor.submit(() -> propagationList.takeAllOrWaitOnRest(() -> true));
+            Thread.sleep(100L);
+            assertThat(resting.isDone()).isFalse();
+
+            // adding an entry wakes up the resting thread, that takes it
+            propagationList.addEntry(entry);
+            assertThat(resting.get(5, TimeUnit.SECONDS)).isSameAs(entry);
+            assertThat(propagationList.isEmpty()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRingBufferCapacityMustBePowerOfTwo() {
+        assertThatThrownBy(() -> new RingBufferPropagationList(null, 1000)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test(timeout = 30000)
+    public void testRingBufferPreservesOrderOfEachThread() throws Exception {
+        final int OBJECT_NR = 20000;
+        final int THREAD_NR = 4;
+
+        final Checker checker = new Checker(THREAD_NR);
+        // a small ring, so the producers often overflow it
+        final PropagationList propagationList = new RingBufferPropagationList(null, 16);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREAD_NR);
+        try {
+            final CompletionService<Boolean> ecs = new ExecutorCompletionService<>(executor);
+            for (int i = 0; i < THREAD_NR; i++) {
+                ecs.submit(getTask(OBJECT_NR, checker, propagationList, i));
+            }
+
+            int completed = 0;
+            while (completed < THREAD_NR) {
+                propagationList.flush();
+                if (ecs.poll() != null) {
+                    completed++;
+                }
+            }
+            propagationList.flush();
+
+            assertThat(propagationList.isEmpty()).isTrue();
+            for (int i = 0; i < THREAD_NR; i++) {
+                assertThat(checker.counters[i]).isEqualTo(OBJECT_NR);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test @Ignore
     public void test() {
         final int OBJECT_NR = 1000000;
@@ -139,6 +215,12 @@ public class PropagationListTest {
             checker.check(this);
         }
 
+        @Override
+        public void execute(final ReteEvaluator reteEvaluator) {
+            // these tests don't have a ReteEvaluator to notify
+            internalExecute(reteEvaluator);
+        }
+
         @Override
         public String toString() {
             return "[" + i + ", " + j + "]";
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.mvel.compiler.util.debug;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.drools.core.common.NodeProfile;
+import org.drools.kiesession.debug.HotSpotInspector;
+import org.drools.kiesession.debug.HotSpotReport;
+import org.drools.kiesession.debug.HotSpotReport.NodeHotSpot;
+import org.drools.testcoverage.common.model.Cheese;
+import org.drools.testcoverage.common.model.Person;
+import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
+import org.drools.testcoverage.common.util.KieBaseUtil;
+import org.drools.testcoverage.common.util.TestParametersUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Parameterized.class)
+public class HotSpotInspectorTest {
+
+    private final KieBaseTestConfiguration kieBaseTestConfiguration;
+
+    public HotSpotInspectorTest(final KieBaseTestConfiguration kieBaseTestConfiguration) {
+        this.kieBaseTestConfiguration = kieBaseTestConfiguration;
+    }
+
+    @Parameterized.Parameters(name = "KieBase type={0}")
+    public static Collection<Object[]> getParameters() {
+        return TestParametersUtil.getKieBaseCloudConfigurations(true);
+    }
+
+    @Before
+    public void enableProfiler() {
+        NodeProfile.setEnabled(true);
+    }
+
+    @After
+    public void disableProfiler() {
+        NodeProfile.setEnabled(false);
+    }
+
+    @Test
+    public void testHotSpotReport() {
+        final String drl =
+                "package org.drools.mvel.compiler.util.debug\n" +
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "import " + Cheese.class.getCanonicalName() + "\n" +
+                "rule Likes when\n" +
+                "    $p : Person( $likes : likes )\n" +
+                "    Cheese( type == $likes )\n" +
+                "then\n" +
+                "end\n" +
+                "rule Expensive when\n" +
+                "    $c : Cheese( price > 100 )\n" +
+                "then\n" +
+                "end\n";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("hot-spot-test", kieBaseTestConfiguration, drl);
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            for (int i = 0; i < 10; i++) {
+                ksession.insert(new Person("Person" + i, "cheese" + i));
+            }
+            for (int i = 0; i < 20; i++) {
+                ksession.insert(new Cheese("cheese" + i, i));
+            }
+            assertThat(ksession.fireAllRules()).isEqualTo(10);
+
+            final HotSpotInspector inspector = new HotSpotInspector(ksession);
+            final HotSpotReport report = inspector.inspect();
+
+            final NodeHotSpot join = report.getTopByMemorySize(1).get(0);
+            assertThat(join.getNodeType()).isEqualTo("JoinNode");
+            assertThat(join.getRules()).containsExactly("org.drools.mvel.compiler.util.debug.Likes");
+            assertThat(join.getPattern()).isEqualTo(Cheese.class.getName());
+            assertThat(join.getLeftMemorySize()).isEqualTo(10);
+            assertThat(join.getRightMemorySize()).isEqualTo(20);
+            assertThat(join.getEvaluations()).isEqualTo(1);
+            assertThat(join.getTupleInsertionsPerSecond()).isPositive();
+            assertThat(report.getTopByEvaluationCost(1)).containsExactly(join);
+            assertThat(report.getEvaluationNanosByRule()).containsKey("org.drools.mvel.compiler.util.debug.Likes");
+
+            // nothing happened since the previous inspection
+            final List<NodeHotSpot> idle = inspector.inspect().getHotSpots();
+            assertThat(idle).hasSize(1);
+            assertThat(idle.get(0).getLeftMemorySize()).isEqualTo(10);
+            assertThat(idle.get(0).getEvaluations()).isZero();
+            assertThat(idle.get(0).getTupleInsertionsPerSecond()).isZero();
+            assertThat(idle.get(0).getEvaluationNanos()).isZero();
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
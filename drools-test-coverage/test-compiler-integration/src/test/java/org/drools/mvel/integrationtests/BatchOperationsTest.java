@@ -0,0 +1,161 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.mvel.integrationtests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.drools.core.common.InternalFactHandle;
+import org.drools.mvel.compiler.Person;
+import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
+import org.drools.testcoverage.common.util.KieBaseUtil;
+import org.drools.testcoverage.common.util.TestParametersUtil;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.EntryPoint;
+import org.kie.api.runtime.rule.FactHandle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Parameterized.class)
+public class BatchOperationsTest {
+
+    private static final String DRL =
+            "import " + Person.class.getCanonicalName() + ";\n" +
+            "global java.util.List list;\n" +
+            "rule R when\n" +
+            "    $p : Person( age >= 18 ) from entry-point \"people\"\n" +
+            "then\n" +
+            "    list.add( $p.getName() );\n" +
+            "end\n" +
+            "rule D when\n" +
+            "    String( this == \"adults\" )\n" +
+            "    $p : Person( age >= 18 )\n" +
+            "then\n" +
+            "    list.add( $p.getName() );\n" +
+            "end\n";
+
+    private final KieBaseTestConfiguration kieBaseTestConfiguration;
+
+    public BatchOperationsTest(final KieBaseTestConfiguration kieBaseTestConfiguration) {
+        this.kieBaseTestConfiguration = kieBaseTestConfiguration;
+    }
+
+    @Parameterized.Parameters(name = "KieBase type={0}")
+    public static Collection<Object[]> getParameters() {
+        return TestParametersUtil.getKieBaseCloudConfigurations(true);
+    }
+
+    @Test
+    public void testInsertUpdateAndDeleteAllOnEntryPoint() {
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, DRL);
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            final List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+            final EntryPoint people = ksession.getEntryPoint("people");
+
+            final Person mario = new Person("Mario", 40);
+            final Person luca = new Person("Luca", 12);
+            final Person edson = new Person("Edson", 35);
+            final List<FactHandle> handles = people.insertAll(Arrays.asList(mario, luca, edson));
+
+            assertThat(handles).hasSize(3);
+            assertThat(people.getObject(handles.get(0))).isSameAs(mario);
+            assertThat(people.getObject(handles.get(1))).isSameAs(luca);
+            assertThat(people.getObject(handles.get(2))).isSameAs(edson);
+            assertThat(people.getFactCount()).isEqualTo(3);
+
+            ksession.fireAllRules();
+            assertThat(list).containsExactlyInAnyOrder("Mario", "Edson");
+
+            list.clear();
+            luca.setAge(18);
+            people.updateAll(handles.subList(1, 2));
+            ksession.fireAllRules();
+            assertThat(list).containsExactly("Luca");
+
+            people.deleteAll(handles);
+            assertThat(people.getFactCount()).isZero();
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testInsertUpdateAndDeleteAllOnSession() {
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, DRL);
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            final List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+
+            final Person mario = new Person("Mario", 40);
+            final Person luca = new Person("Luca", 12);
+            // facts of different classes in the same batch
+            final List<FactHandle> handles = ksession.insertAll(Arrays.asList(mario, "adults", luca));
+            assertThat(handles).hasSize(3);
+            assertThat(ksession.getObject(handles.get(1))).isEqualTo("adults");
+
+            ksession.fireAllRules();
+            assertThat(list).containsExactly("Mario");
+
+            list.clear();
+            mario.setAge(17);
+            luca.setAge(19);
+            ksession.updateAll(Arrays.asList(handles.get(0), handles.get(2)));
+            ksession.fireAllRules();
+            assertThat(list).containsExactly("Luca");
+
+            ksession.deleteAll(Arrays.asList(handles.get(0), handles.get(2)));
+            assertThat(new ArrayList<Object>(ksession.getObjects())).containsExactly("adults");
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testInsertAllCreatesTheHandlesFromAReservedBlock() {
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, DRL);
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            ksession.setGlobal("list", new ArrayList<>());
+            final InternalFactHandle first = (InternalFactHandle) ksession.insert("first");
+
+            final List<FactHandle> handles = ksession.insertAll(Arrays.asList(new Person("Mario", 40), "first", new Person("Luca", 12)));
+            // "first" is already in the session, so its existing handle is returned
+            assertThat(handles.get(1)).isSameAs(first);
+
+            final InternalFactHandle mario = (InternalFactHandle) handles.get(0);
+            final InternalFactHandle luca = (InternalFactHandle) handles.get(2);
+            assertThat(mario.getId()).isEqualTo(first.getId() + 1);
+            assertThat(luca.getId()).isEqualTo(mario.getId() + 1);
+            assertThat(luca.getRecency()).isEqualTo(mario.getRecency() + 1);
+
+            // the ids left unused in the block are skipped
+            final InternalFactHandle last = (InternalFactHandle) ksession.insert("last");
+            assertThat(last.getId()).isEqualTo(mario.getId() + 3);
+            assertThat(last.getRecency()).isGreaterThan(luca.getRecency());
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
@@ -19,6 +19,10 @@ package org.drools.mvel.integrationtests;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.drools.mvel.compiler.Cheese;
 import org.drools.mvel.compiler.Person;
@@ -29,9 +33,12 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.kie.api.KieBase;
+import org.kie.api.KieServices;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.rule.EntryPoint;
 import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.runtime.conf.RingBufferPropagationListOption;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -159,4 +166,55 @@ public class FireUntilHaltTest {
         assertThat(alive).as("Thread should have died!").isFalse();
         assertThat(list.size()).isEqualTo(1);
     }
+
+    @Test(timeout = 60000)
+    public void testFireUntilHaltWithRingBufferPropagationList() throws Exception {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "global java.util.concurrent.atomic.AtomicInteger counter;\n" +
+                "rule R when\n" +
+                "    Person( age >= 18 ) from entry-point \"people\"\n" +
+                "then\n" +
+                "    counter.incrementAndGet();\n" +
+                "end";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, drl);
+        final KieSessionConfiguration conf = KieServices.get().newKieSessionConfiguration();
+        conf.setOption(RingBufferPropagationListOption.YES);
+        final KieSession ksession = kbase.newKieSession(conf, null);
+
+        final AtomicInteger counter = new AtomicInteger();
+        ksession.setGlobal("counter", counter);
+        final EntryPoint people = ksession.getEntryPoint("people");
+
+        final int threads = 4;
+        // far more than the capacity of the ring, so also the overflow is exercised
+        final int factsPerThread = 5000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            executor.submit((Runnable) ksession::fireUntilHalt);
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < factsPerThread; j++) {
+                        final FactHandle fh = people.insert(new Person("p" + j, 18));
+                        if (j % 2 == 0) {
+                            people.delete(fh);
+                        }
+                    }
+                });
+            }
+
+            final int expectedFacts = threads * factsPerThread / 2;
+            while (people.getFactCount() != expectedFacts || counter.get() < expectedFacts) {
+                Thread.sleep(10L);
+            }
+            // deleted facts could have fired or not depending on when they have been propagated
+            assertThat(counter.get()).isBetween(expectedFacts, threads * factsPerThread);
+        } finally {
+            ksession.halt();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+            ksession.dispose();
+        }
+    }
 }
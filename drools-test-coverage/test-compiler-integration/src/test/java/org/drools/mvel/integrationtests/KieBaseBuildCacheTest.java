@@ -0,0 +1,256 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.mvel.integrationtests;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.drools.ancompiler.CompiledNetwork;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.compiler.kie.builder.impl.KieBaseBuildCache;
+import org.drools.compiler.kie.builder.impl.KieBuilderImpl;
+import org.drools.compiler.kie.builder.impl.KieContainerImpl;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.mvel.compiler.Message;
+import org.drools.testcoverage.common.util.KieUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.definition.type.FactType;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.builder.conf.AlphaNetworkCompilerOption;
+import org.kie.internal.builder.conf.DefaultDialectOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KieBaseBuildCacheTest {
+
+    private static final String DRL =
+            "package org.drools.compiler\n" +
+            "import " + Message.class.getCanonicalName() + "\n" +
+            "global java.util.List list\n" +
+            "declare type X\n" +
+            "    foo : String\n" +
+            "end\n" +
+            "rule R1 when\n" +
+            "   X( $foo : foo )\n" +
+            "   Message( message == $foo )\n" +
+            "then\n" +
+            "   list.add( $foo );\n" +
+            "end\n";
+
+    private Path cacheDir;
+
+    @Before
+    public void setUp() throws Exception {
+        cacheDir = Files.createTempDirectory("kbase-cache");
+        System.setProperty(KieBaseBuildCache.CACHE_DIR_PROPERTY, cacheDir.toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        System.clearProperty(KieBaseBuildCache.CACHE_DIR_PROPERTY);
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            files.map(Path::toFile).sorted((f1, f2) -> f2.compareTo(f1)).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testKieBaseRestoredFromCache() throws Exception {
+        KieServices ks = KieServices.Factory.get();
+        ReleaseId releaseId = ks.newReleaseId("org.kie", "build-cache-test", "1.0");
+        KieFileSystem kfs = ks.newKieFileSystem()
+                .generateAndWritePomXML(releaseId)
+                .write("src/main/resources/r1.drl", DRL);
+        ks.newKieBuilder(kfs).buildAll();
+        byte[] jar = ((InternalKieModule) ks.getRepository().getKieModule(releaseId)).getBytes();
+
+        // the first container built from the kjar compiles the drl and stores the result in the cache
+        KieContainer kc1 = newKieContainer(ks, jar);
+        checkKieBase(kc1);
+        assertThat(getKieModule(kc1).getKnowledgeBuilderForKieBase("defaultKieBase")).isNotNull();
+        assertThat(cacheEntries()).hasSize(1);
+
+        // the second one restores the KieBase from the cache without building it
+        KieContainer kc2 = newKieContainer(ks, jar);
+        checkKieBase(kc2);
+        InternalKieModule kModule2 = getKieModule(kc2);
+        assertThat(kModule2.getKnowledgeBuilderForKieBase("defaultKieBase")).isNull();
+        assertThat(kModule2.getModuleClassLoader()).isSameAs(((KieContainerImpl) kc2).getClassLoader());
+        assertThat(kModule2.getKnowledgePackagesForKieBase("defaultKieBase")).isNotEmpty();
+        assertThat(cacheEntries()).hasSize(1);
+
+        // a change of the drl produces a different entry
+        kfs.write("src/main/resources/r1.drl", DRL.replace("R1", "R2"));
+        ks.newKieBuilder(kfs).buildAll();
+        byte[] changedJar = ((InternalKieModule) ks.getRepository().getKieModule(releaseId)).getBytes();
+        KieContainer kc3 = newKieContainer(ks, changedJar);
+        checkKieBase(kc3);
+        assertThat(getKieModule(kc3).getKnowledgeBuilderForKieBase("defaultKieBase")).isNotNull();
+        assertThat(cacheEntries()).hasSize(2);
+    }
+
+    @Test
+    public void testCorruptedEntryIsRebuilt() throws Exception {
+        KieServices ks = KieServices.Factory.get();
+        ReleaseId releaseId = ks.newReleaseId("org.kie", "build-cache-corrupted-test", "1.0");
+        KieFileSystem kfs = ks.newKieFileSystem()
+                .generateAndWritePomXML(releaseId)
+                .write("src/main/resources/r1.drl", DRL);
+        ks.newKieBuilder(kfs).buildAll();
+        byte[] jar = ((InternalKieModule) ks.getRepository().getKieModule(releaseId)).getBytes();
+
+        checkKieBase(newKieContainer(ks, jar));
+        List<Path> entries = cacheEntries();
+        assertThat(entries).hasSize(1);
+        Files.write(entries.get(0), new byte[] { 1, 2, 3 });
+
+        KieContainer kc = newKieContainer(ks, jar);
+        checkKieBase(kc);
+        assertThat(getKieModule(kc).getKnowledgeBuilderForKieBase("defaultKieBase")).isNotNull();
+        assertThat(Files.size(cacheEntries().get(0))).isGreaterThan(3);
+    }
+
+    @Test
+    public void testCompilerConfigurationChangesTheEntry() throws Exception {
+        KieServices ks = KieServices.Factory.get();
+        ReleaseId releaseId = ks.newReleaseId("org.kie", "build-cache-configuration-test", "1.0");
+        KieFileSystem kfs = ks.newKieFileSystem()
+                .generateAndWritePomXML(releaseId)
+                .write("src/main/resources/r1.drl", DRL);
+        ks.newKieBuilder(kfs).buildAll();
+        byte[] jar = ((InternalKieModule) ks.getRepository().getKieModule(releaseId)).getBytes();
+
+        checkKieBase(newKieContainer(ks, jar));
+        assertThat(cacheEntries()).hasSize(1);
+
+        // the same kjar compiled with a different default dialect is a different entry
+        System.setProperty(DefaultDialectOption.PROPERTY_NAME, "mvel");
+        try {
+            KieContainer kc = newKieContainer(ks, jar);
+            checkKieBase(kc);
+            assertThat(getKieModule(kc).getKnowledgeBuilderForKieBase("defaultKieBase")).isNotNull();
+            assertThat(cacheEntries()).hasSize(2);
+        } finally {
+            System.clearProperty(DefaultDialectOption.PROPERTY_NAME);
+        }
+    }
+
+    @Test
+    public void testAlphaNetworkCompilerIsAppliedToCachedKieBase() throws Exception {
+        KieServices ks = KieServices.Factory.get();
+        ReleaseId releaseId = ks.newReleaseId("org.kie", "build-cache-anc-test", "1.0");
+        KieFileSystem kfs = ks.newKieFileSystem()
+                .generateAndWritePomXML(releaseId)
+                .write("src/main/resources/r1.drl", DRL);
+        ks.newKieBuilder(kfs).buildAll();
+        byte[] jar = ((InternalKieModule) ks.getRepository().getKieModule(releaseId)).getBytes();
+
+        System.setProperty(AlphaNetworkCompilerOption.PROPERTY_NAME, AlphaNetworkCompilerOption.INMEMORY.toString());
+        try {
+            KieContainer kc1 = newKieContainer(ks, jar);
+            checkKieBase(kc1);
+            assertThat(getKieModule(kc1).getKnowledgeBuilderForKieBase("defaultKieBase")).isNotNull();
+            assertCompiledAlphaNetwork(kc1.getKieBase());
+
+            // the KieBase restored from the cache has no KnowledgeBuilder, but its alpha network is compiled as well
+            KieContainer kc2 = newKieContainer(ks, jar);
+            checkKieBase(kc2);
+            assertThat(getKieModule(kc2).getKnowledgeBuilderForKieBase("defaultKieBase")).isNull();
+            assertCompiledAlphaNetwork(kc2.getKieBase());
+            assertThat(cacheEntries()).hasSize(1);
+        } finally {
+            System.clearProperty(AlphaNetworkCompilerOption.PROPERTY_NAME);
+        }
+    }
+
+    private void assertCompiledAlphaNetwork(KieBase kbase) {
+        ObjectTypeNode otn = KieUtil.getObjectTypeNode(kbase, Message.class);
+        assertThat(otn).isNotNull();
+        assertThat(otn.getObjectSinkPropagator()).isInstanceOf(CompiledNetwork.class);
+    }
+
+    @Test
+    public void testSnapshotJarDependencyIsNotCached() throws Exception {
+        KieServices ks = KieServices.Factory.get();
+        ReleaseId releaseId = ks.newReleaseId("org.kie", "build-cache-snapshot-test", "1.0");
+        String pom = KieBuilderImpl.generatePomXml(releaseId).replace("<packaging>jar</packaging>",
+                "<packaging>jar</packaging>\n" +
+                "    <dependencies>\n" +
+                "        <dependency>\n" +
+                "            <groupId>org.kie</groupId>\n" +
+                "            <artifactId>build-cache-snapshot-lib</artifactId>\n" +
+                "            <version>1.0-SNAPSHOT</version>\n" +
+                "        </dependency>\n" +
+                "    </dependencies>");
+        KieFileSystem kfs = ks.newKieFileSystem()
+                .writePomXML(pom)
+                .write("src/main/resources/r1.drl", DRL);
+        ks.newKieBuilder(kfs).buildAll();
+        byte[] jar = ((InternalKieModule) ks.getRepository().getKieModule(releaseId)).getBytes();
+
+        // the content of the SNAPSHOT dependency may change under the same release id, so the KieBase is always built
+        checkKieBase(newKieContainer(ks, jar));
+        KieContainer kc = newKieContainer(ks, jar);
+        checkKieBase(kc);
+        assertThat(getKieModule(kc).getKnowledgeBuilderForKieBase("defaultKieBase")).isNotNull();
+        assertThat(cacheEntries()).isEmpty();
+    }
+
+    private KieContainer newKieContainer(KieServices ks, byte[] jar) {
+        return ks.newKieContainer(ks.getRepository().addKieModule(ks.getResources().newByteArrayResource(jar)).getReleaseId());
+    }
+
+    private InternalKieModule getKieModule(KieContainer kc) {
+        return ((KieContainerImpl) kc).getKieProject().getKieModuleForKBase("defaultKieBase");
+    }
+
+    private List<Path> cacheEntries() throws Exception {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private void checkKieBase(KieContainer kc) throws Exception {
+        KieBase kbase = kc.getKieBase();
+        FactType type = kbase.getFactType("org.drools.compiler", "X");
+        Object x = type.newInstance();
+        type.set(x, "foo", "Hello World");
+
+        KieSession ksession = kc.newKieSession();
+        try {
+            List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+            ksession.insert(x);
+            ksession.insert(new Message("Hello World"));
+            ksession.fireAllRules();
+            assertThat(list).containsExactly("Hello World");
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
@@ -16,6 +16,11 @@
 
 package org.drools.mvel.integrationtests;
 
+import org.drools.core.common.InternalAgenda;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.concurrent.ParallelGroupEvaluator;
+import org.drools.core.impl.InternalRuleBase;
+import org.drools.core.phreak.RuleAgendaItem;
 import org.drools.mvel.compiler.util.debug.DebugList;
 import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
 import org.drools.testcoverage.common.util.KieBaseUtil;
@@ -33,6 +38,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -137,4 +143,92 @@ public class ParallelEvaluationTest {
                 .flatMap(i -> Arrays.asList(i, i+1).stream()).collect(Collectors.toList());
         assertThat(list).isEqualTo(expected);
     }
+
+    @Test
+    public void testNonPartitionedRuleBase() {
+        // all the rules share their first pattern, so the rete network cannot be partitioned, but after the
+        // LeftInputAdapterNode their paths don't share any segment and can still be evaluated in parallel
+        int ruleNr = 20;
+        StringBuilder sb = new StringBuilder( 400 );
+        sb.append( "global java.util.List list;\n" );
+        for (int i = 0; i < ruleNr; i++) {
+            sb.append( "rule R" + i + " when\n" +
+                       "    $s : String()\n" +
+                       "    $i : Integer( intValue == " + i + ", toString == $s )\n" +
+                       "then\n" +
+                       "    list.add($i);\n" +
+                       "end\n" );
+        }
+
+        final KieModule kieModule = KieUtil.getKieModuleFromDrls("test", kieBaseTestConfiguration, sb.toString());
+        final KieBase kbase = KieBaseUtil.newKieBaseFromKieModuleWithAdditionalOptions(kieModule, kieBaseTestConfiguration, ParallelExecutionOption.PARALLEL_EVALUATION );
+        assertThat(((InternalRuleBase) kbase).getRuleBaseConfiguration().isParallelEvaluation()).isTrue();
+        assertThat(((InternalRuleBase) kbase).isPartitioned()).isFalse();
+
+        KieSession ksession = kbase.newKieSession();
+
+        List<Integer> list = new DebugList<>();
+        ksession.setGlobal( "list", list );
+
+        for (int i = 0; i < ruleNr; i++) {
+            ksession.insert( i );
+            ksession.insert( "" + i );
+        }
+
+        ksession.fireAllRules();
+
+        assertThat(list).containsExactlyInAnyOrderElementsOf(IntStream.range(0, ruleNr).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRulesSharingASubnetworkOrCallingAQueryAreNotEvaluatedConcurrently() {
+        // the outer paths of R1 and R2 don't share any segment, but the evaluation of R1 walks the segments
+        // of its subnetwork, which are shared with the path of R2
+        String drl =
+                "query q(String s) Double( toString == s ) end\n" +
+                "rule R1 when\n" +
+                "    $s : String()\n" +
+                "    not( Integer( toString == $s ) and Long() )\n" +
+                "then end\n" +
+                "rule R2 when\n" +
+                "    $s : String()\n" +
+                "    Integer( toString == $s )\n" +
+                "    Long()\n" +
+                "then end\n" +
+                "rule R3 when\n" +
+                "    $s : String()\n" +
+                "    Short( toString == $s )\n" +
+                "then end\n" +
+                "rule R4 when\n" +
+                "    $s : String()\n" +
+                "    q( $s; )\n" +
+                "then end\n";
+
+        final KieModule kieModule = KieUtil.getKieModuleFromDrls("test", kieBaseTestConfiguration, drl);
+        final KieBase kbase = KieBaseUtil.newKieBaseFromKieModuleWithAdditionalOptions(kieModule, kieBaseTestConfiguration, ParallelExecutionOption.PARALLEL_EVALUATION );
+        KieSession ksession = kbase.newKieSession();
+
+        // the first firing creates all the segments, the second round of insertions makes all the rules dirty again
+        for (int i = 1; i <= 2; i++) {
+            ksession.insert( "" + i );
+            ksession.insert( i );
+            ksession.insert( (long) i );
+            ksession.insert( (short) i );
+            ksession.insert( (double) i );
+            if (i == 1) {
+                ksession.fireAllRules();
+            }
+        }
+        ((InternalWorkingMemory) ksession).flushPropagations();
+
+        Collection<RuleAgendaItem> activations = ((InternalAgenda) ksession.getAgenda()).getAgendaGroupsManager().getMainAgendaGroup().getActivations();
+        List<List<String>> groups = ParallelGroupEvaluator.groupBySharedSegments(activations).stream()
+                .map(group -> group.stream().map(item -> item.getRule().getName()).sorted().collect(Collectors.toList()))
+                .collect(Collectors.toList());
+
+        // R4 calls a query and the query propagates its results into R4, so both are left to the sequential evaluation
+        assertThat(groups).containsExactlyInAnyOrder(Arrays.asList("R1", "R2"), Arrays.asList("R3"));
+
+        ksession.dispose();
+    }
 }
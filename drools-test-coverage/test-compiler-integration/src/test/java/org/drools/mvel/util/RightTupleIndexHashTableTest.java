@@ -214,6 +214,73 @@ public class RightTupleIndexHashTableTest {
         assertThat(tuple.getNext().getFactHandle()).isSameAs(stiltonHandle2);
     }
 
+    @Test
+    public void testFourFieldsCompositeIndex() throws Exception {
+        final Pattern pattern = new Pattern( 0,
+                                             new ClassObjectType( Cheese.class ) );
+
+        final String[] fields = new String[]{"type", "price", "charType", "charObjectType"};
+        final FieldIndex[] fieldIndexes = new FieldIndex[fields.length];
+        for ( int i = 0; i < fields.length; i++ ) {
+            final ReadAccessor extractor = store.getReader( Cheese.class,
+                                                            fields[i] );
+            fieldIndexes[i] = new FieldIndex( extractor,
+                                              new Declaration( fields[i] + "OfCheese",
+                                                               extractor,
+                                                               pattern ) );
+        }
+
+        final TupleIndexHashTable map = new TupleIndexHashTable( fieldIndexes, false );
+        assertThat(map.getIndex()).isInstanceOf(AbstractHashTable.MultiCompositeIndex.class);
+
+        final InternalFactHandle stiltonHandle1 = new DefaultFactHandle( 1,
+                                                                         newCheese( "stilton", 35, 'a', 'b' ) );
+        map.add( new RightTupleImpl( stiltonHandle1,
+                                     null ) );
+
+        final InternalFactHandle stiltonHandle2 = new DefaultFactHandle( 2,
+                                                                         newCheese( "stilton", 35, 'a', 'c' ) );
+        map.add( new RightTupleImpl( stiltonHandle2,
+                                     null ) );
+
+        final InternalFactHandle stiltonHandle3 = new DefaultFactHandle( 3,
+                                                                         newCheese( "stilton", 35, 'a', 'b' ) );
+        map.add( new RightTupleImpl( stiltonHandle3,
+                                     null ) );
+
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(tablePopulationSize(map)).isEqualTo(2);
+
+        // only the tuples matching all the four fields are in the same bucket
+        Tuple tuple = map.getFirst( new JoinNodeLeftTuple( new DefaultFactHandle( 4,
+                                                                                  newCheese( "stilton", 35, 'a', 'b' ) ),
+                                                           null,
+                                                           true ) );
+        assertThat(tuple.getFactHandle()).isSameAs(stiltonHandle1);
+        assertThat(tuple.getNext().getFactHandle()).isSameAs(stiltonHandle3);
+        assertThat(tuple.getNext().getNext()).isNull();
+
+        tuple = map.getFirst( new JoinNodeLeftTuple( new DefaultFactHandle( 5,
+                                                                            newCheese( "stilton", 35, 'a', 'c' ) ),
+                                                     null,
+                                                     true ) );
+        assertThat(tuple.getFactHandle()).isSameAs(stiltonHandle2);
+        assertThat(tuple.getNext()).isNull();
+
+        assertThat(map.getFirst( new JoinNodeLeftTuple( new DefaultFactHandle( 6,
+                                                                               newCheese( "stilton", 36, 'a', 'b' ) ),
+                                                        null,
+                                                        true ) )).isNull();
+    }
+
+    private Cheese newCheese(String type, int price, char charType, Character charObjectType) {
+        final Cheese cheese = new Cheese( type,
+                                          price );
+        cheese.setCharType( charType );
+        cheese.setCharObjectType( charObjectType );
+        return cheese;
+    }
+
     @Test
     public void testTwoDifferentEntriesSameHashCode() throws Exception {
         final ReadAccessor extractor = store.getReader( TestClass.class,
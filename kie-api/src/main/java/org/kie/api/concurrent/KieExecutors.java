@@ -18,6 +18,7 @@ package org.kie.api.concurrent;
 
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 import org.kie.api.internal.utils.KieService;
 
@@ -33,6 +34,13 @@ public interface KieExecutors extends KieService {
 
     <T> CompletionService<T> getCompletionService();
 
+    /**
+     * Creates the scheduler used to run the timer jobs of a session.
+     */
+    default ScheduledThreadPoolExecutor newScheduledThreadPool(int corePoolSize) {
+        return new ScheduledThreadPoolExecutor(corePoolSize);
+    }
+
     public static class Pool {
         public static int SIZE = Runtime.getRuntime().availableProcessors();
     }
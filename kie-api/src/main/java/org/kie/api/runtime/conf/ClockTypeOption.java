@@ -27,6 +27,7 @@ public class ClockTypeOption implements SingleValueKieSessionOption {
 
     public static final ClockTypeOption PSEUDO = ClockTypeOption.get("pseudo");
     public static final ClockTypeOption REALTIME = ClockTypeOption.get("realtime");
+    public static final ClockTypeOption TIMING_WHEEL = ClockTypeOption.get("timingwheel");
 
     /**
      * The property name for the clock type configuration
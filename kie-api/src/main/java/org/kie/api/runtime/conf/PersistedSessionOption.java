@@ -33,7 +33,15 @@ public class PersistedSessionOption implements SingleValueKieSessionOption {
     }
 
     public enum SafepointStrategy {
-        ALWAYS, AFTER_FIRE, EXPLICIT;
+        ALWAYS, AFTER_FIRE, EXPLICIT,
+
+        /**
+         * The changes are journaled in memory and written to the storage by a background thread, grouping together
+         * the ones happened in the last commit interval, or as soon as the given number of operations is reached,
+         * or at the end of each fire, depending on the write behind configuration of this option.
+         * An explicit safepoint waits until all the journaled changes have been written.
+         */
+        WRITE_BEHIND;
 
         public boolean useSafepoints() {
             return this != ALWAYS;
@@ -53,6 +61,14 @@ public class PersistedSessionOption implements SingleValueKieSessionOption {
 
     private SafepointStrategy safepointStrategy = SafepointStrategy.ALWAYS;
 
+    private long writeBehindCommitIntervalMillis = 100;
+
+    private int writeBehindCommitOperations = 1000;
+
+    private boolean writeBehindCommitAfterFire = true;
+
+    private int writeBehindJournalCapacity = 100_000;
+
     private PersistedSessionOption() {
         this(-1L);
     }
@@ -105,6 +121,54 @@ public class PersistedSessionOption implements SingleValueKieSessionOption {
         return this;
     }
 
+    public long getWriteBehindCommitIntervalMillis() {
+        return writeBehindCommitIntervalMillis;
+    }
+
+    /**
+     * Sets the maximum time a change can stay in the write behind journal, 0 to disable the periodic commit
+     */
+    public PersistedSessionOption withWriteBehindCommitIntervalMillis(long writeBehindCommitIntervalMillis) {
+        this.writeBehindCommitIntervalMillis = writeBehindCommitIntervalMillis;
+        return this;
+    }
+
+    public int getWriteBehindCommitOperations() {
+        return writeBehindCommitOperations;
+    }
+
+    /**
+     * Sets the number of journaled changes triggering a commit, 0 to disable it
+     */
+    public PersistedSessionOption withWriteBehindCommitOperations(int writeBehindCommitOperations) {
+        this.writeBehindCommitOperations = writeBehindCommitOperations;
+        return this;
+    }
+
+    public boolean isWriteBehindCommitAfterFire() {
+        return writeBehindCommitAfterFire;
+    }
+
+    /**
+     * Sets whether a commit of the journaled changes has to be started at the end of each fire
+     */
+    public PersistedSessionOption withWriteBehindCommitAfterFire(boolean writeBehindCommitAfterFire) {
+        this.writeBehindCommitAfterFire = writeBehindCommitAfterFire;
+        return this;
+    }
+
+    public int getWriteBehindJournalCapacity() {
+        return writeBehindJournalCapacity;
+    }
+
+    /**
+     * Sets the maximum number of changes that can be journaled, after which the session waits for a commit
+     */
+    public PersistedSessionOption withWriteBehindJournalCapacity(int writeBehindJournalCapacity) {
+        this.writeBehindJournalCapacity = writeBehindJournalCapacity;
+        return this;
+    }
+
     public boolean isNewSession() {
         return sessionId < 0;
     }
@@ -16,7 +16,9 @@
 
 package org.kie.api.runtime.rule;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.kie.api.runtime.ObjectFilter;
 
@@ -61,6 +63,23 @@ public interface EntryPoint {
      */
     FactHandle insert(Object object);
 
+    /**
+     * Inserts all the given facts into this entry point. This has the same effect of inserting them
+     * one by one, but allows the engine to do the work that doesn't depend on the single fact only once.
+     *
+     * @param objects
+     *        the facts to be inserted
+     *
+     * @return the fact handles created for the given facts, in the same order of the facts
+     */
+    default List<FactHandle> insertAll(Collection<?> objects) {
+        List<FactHandle> handles = new ArrayList<>(objects.size());
+        for (Object object : objects) {
+            handles.add(insert(object));
+        }
+        return handles;
+    }
+
     /**
      * Retracts the fact for which the given FactHandle was assigned.
      *
@@ -87,6 +106,20 @@ public interface EntryPoint {
      */
     void delete(FactHandle handle, FactHandle.State fhState);
 
+    /**
+     * Retracts all the facts for which the given FactHandles were assigned
+     * regardless if they have been explicitly or logically inserted.
+     * This has the same effect of deleting them one by one, but allows the engine to
+     * do the work that doesn't depend on the single fact only once.
+     *
+     * @param handles the handles whose facts are to be retracted.
+     */
+    default void deleteAll(Collection<? extends FactHandle> handles) {
+        for (FactHandle handle : handles) {
+            delete(handle);
+        }
+    }
+
     /**
      * Updates the fact for which the given FactHandle was assigned with the new
      * fact set as the second parameter in this method.
@@ -110,6 +143,19 @@ public interface EntryPoint {
                 Object object,
                 String... modifiedProperties);
 
+    /**
+     * Notifies the engine that the facts for which the given FactHandles were assigned have been modified.
+     * This has the same effect of updating each of them with its current fact, but allows the engine to
+     * do the work that doesn't depend on the single fact only once.
+     *
+     * @param handles the FactHandles of the facts to be updated.
+     */
+    default void updateAll(Collection<? extends FactHandle> handles) {
+        for (FactHandle handle : handles) {
+            update(handle, getObject(handle));
+        }
+    }
+
     /**
      * Returns the fact handle associated with the given object. It is important to note that this
      * method behaves in accordance with the configured assert behaviour for this {@link org.kie.api.KieBase}
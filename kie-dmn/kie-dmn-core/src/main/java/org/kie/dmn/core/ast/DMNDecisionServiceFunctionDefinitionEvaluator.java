@@ -34,6 +34,7 @@ import org.kie.dmn.core.api.EvaluatorResult.ResultType;
 import org.kie.dmn.core.ast.DMNFunctionDefinitionEvaluator.FormalParameter;
 import org.kie.dmn.core.impl.DMNResultImpl;
 import org.kie.dmn.core.impl.DMNRuntimeImpl;
+import org.kie.dmn.core.impl.InvocationCache;
 import org.kie.dmn.core.util.Msg;
 import org.kie.dmn.core.util.MsgUtil;
 import org.kie.dmn.feel.lang.EvaluationContext;
@@ -57,7 +58,7 @@ public class DMNDecisionServiceFunctionDefinitionEvaluator implements DMNExpress
     @Override
     public EvaluatorResult evaluate(DMNRuntimeEventManager eventManager, DMNResult dmnr) {
         DMNResultImpl result = (DMNResultImpl) dmnr;
-        DMNDSFunction function = new DMNDSFunction(dsNode.getName(), parameters, new DMNDecisionServiceEvaluator(dsNode, false, coerceSingletonResult), eventManager, result);
+        DMNDSFunction function = new DMNDSFunction(dsNode, parameters, new DMNDecisionServiceEvaluator(dsNode, false, coerceSingletonResult), eventManager, result);
         return new EvaluatorResultImpl(function, ResultType.SUCCESS);
     }
 
@@ -83,6 +84,7 @@ public class DMNDecisionServiceFunctionDefinitionEvaluator implements DMNExpress
 
     public static class DMNDSFunction extends BaseFEELFunction {
 
+        private final DecisionServiceNode dsNode;
         private final List<DSFormalParameter> parameters;
         private final DMNExpressionEvaluator evaluator;
         private final DMNRuntimeEventManager eventManager;
@@ -90,7 +92,16 @@ public class DMNDecisionServiceFunctionDefinitionEvaluator implements DMNExpress
         private final boolean typeCheck;
 
         public DMNDSFunction(String name, List<DSFormalParameter> parameters, DMNExpressionEvaluator evaluator, DMNRuntimeEventManager eventManager, DMNResultImpl result) {
+            this(name, null, parameters, evaluator, eventManager, result);
+        }
+
+        public DMNDSFunction(DecisionServiceNode dsNode, List<DSFormalParameter> parameters, DMNExpressionEvaluator evaluator, DMNRuntimeEventManager eventManager, DMNResultImpl result) {
+            this(dsNode.getName(), dsNode, parameters, evaluator, eventManager, result);
+        }
+
+        private DMNDSFunction(String name, DecisionServiceNode dsNode, List<DSFormalParameter> parameters, DMNExpressionEvaluator evaluator, DMNRuntimeEventManager eventManager, DMNResultImpl result) {
             super(name);
+            this.dsNode = dsNode;
             this.parameters = parameters;
             this.evaluator = evaluator;
             this.eventManager = eventManager;
@@ -115,6 +126,15 @@ public class DMNDecisionServiceFunctionDefinitionEvaluator implements DMNExpress
                                           getName());
                     return null;
                 }
+                InvocationCache invocationCache = ((DMNRuntimeImpl) eventManager.getRuntime()).getInvocationCache(resultContext.getModel());
+                Object cacheKey = invocationCache != null && dsNode != null ? invocationCache.keyFor((DMNRuntimeImpl) eventManager.getRuntime(), dsNode, typeCheck, params) : null;
+                if (cacheKey != null) {
+                    Object cached = invocationCache.lookup(cacheKey);
+                    if (cached != InvocationCache.MISS) {
+                        return cached;
+                    }
+                }
+                int messagesBefore = resultContext.getReportedMessageCount();
                 for (int i = 0; i < params.length; i++) {
                     DSFormalParameter formalParameter = parameters.get(i);
                     if (formalParameter.getImportName() == null) {
@@ -133,6 +153,9 @@ public class DMNDecisionServiceFunctionDefinitionEvaluator implements DMNExpress
                 resultContext.setContext(dmnContext);
                 EvaluatorResult result = evaluator.evaluate(eventManager, resultContext);
                 if (result.getResultType() == ResultType.SUCCESS) {
+                    if (cacheKey != null && resultContext.getReportedMessageCount() == messagesBefore) {
+                        invocationCache.put(cacheKey, result.getResult());
+                    }
                     return result.getResult();
                 }
                 return null;
@@ -37,6 +37,7 @@ import org.kie.dmn.core.impl.DMNContextFEELCtxWrapper;
 import org.kie.dmn.core.impl.DMNResultImpl;
 import org.kie.dmn.core.impl.DMNRuntimeEventManagerUtils;
 import org.kie.dmn.core.impl.DMNRuntimeImpl;
+import org.kie.dmn.core.impl.InvocationCache;
 import org.kie.dmn.core.util.Msg;
 import org.kie.dmn.core.util.MsgUtil;
 import org.kie.dmn.feel.lang.EvaluationContext;
@@ -152,6 +153,16 @@ public class DMNFunctionDefinitionEvaluator
                     DMNRuntimeEventManagerUtils.fireBeforeInvokeBKM(eventManager, (BusinessKnowledgeModelNode) originatorNode, resultContext, Arrays.asList(params));
                 }
                 if( evaluator != null ) {
+                    InvocationCache invocationCache = ((DMNRuntimeImpl) eventManager.getRuntime()).getInvocationCache(resultContext.getModel());
+                    Object cacheKey = invocationCache != null && isBKMLogic() ? invocationCache.keyFor((DMNRuntimeImpl) eventManager.getRuntime(), originatorNode, performRuntimeTypeCheck, params) : null;
+                    if (cacheKey != null) {
+                        Object cached = invocationCache.lookup(cacheKey);
+                        if (cached != InvocationCache.MISS) {
+                            invocationResult = cached;
+                            return invocationResult;
+                        }
+                    }
+                    int messagesBefore = resultContext.getReportedMessageCount();
                     closureContext.getAll().forEach(dmnContext::set);
                     for( int i = 0; i < params.length; i++ ) {
                         final String paramName = parameters.get(i).name;
@@ -175,6 +186,9 @@ public class DMNFunctionDefinitionEvaluator
                     EvaluatorResult result = evaluator.evaluate( eventManager, resultContext );
                     if( result.getResultType() == ResultType.SUCCESS ) {
                         invocationResult = result.getResult();
+                        if (cacheKey != null && resultContext.getReportedMessageCount() == messagesBefore) {
+                            invocationCache.put(cacheKey, invocationResult);
+                        }
                         return invocationResult;
                     }
                     return null;
@@ -209,6 +223,12 @@ public class DMNFunctionDefinitionEvaluator
             }
         }
 
+        // the functions defined inside the logic of the BKM are not cached
+        private boolean isBKMLogic() {
+            return originatorNode instanceof BusinessKnowledgeModelNodeImpl
+                    && ((BusinessKnowledgeModelNodeImpl) originatorNode).getBusinessKnowledModel().getEncapsulatedLogic() == functionDefinition;
+        }
+
         @Override
         protected boolean isCustomFunction() {
             return true;
@@ -66,6 +66,7 @@ import org.kie.dmn.feel.runtime.FEELFunction;
 import org.kie.dmn.feel.runtime.UnaryTest;
 import org.kie.dmn.feel.runtime.decisiontables.DTDecisionRule;
 import org.kie.dmn.feel.runtime.decisiontables.DTInputClause;
+import org.kie.dmn.feel.runtime.decisiontables.DTInputEntry;
 import org.kie.dmn.feel.runtime.decisiontables.DTOutputClause;
 import org.kie.dmn.feel.runtime.decisiontables.DecisionTableImpl;
 import org.kie.dmn.feel.runtime.functions.BaseFEELFunction;
@@ -707,10 +708,7 @@ public class DMNEvaluatorCompiler implements DMNDecisionLogicCompiler {
                         ctx.exitFrame();
                     }
                 }
-                rule.getInputEntry().add( (c, x) -> tests.stream().anyMatch( t -> {
-                    Boolean result = t.apply( c, x );
-                    return result != null && result;
-                } ) );
+                rule.getInputEntry().add( new DTInputEntry( tests ) );
             }
             for ( LiteralExpression le : dr.getOutputEntry() ) {
                 String expressionText = le.getText();
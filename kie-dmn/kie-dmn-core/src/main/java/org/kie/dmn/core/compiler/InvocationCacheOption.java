@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.compiler;
+
+import org.kie.dmn.core.assembler.DMNAssemblerService;
+import org.kie.dmn.core.impl.InvocationCache;
+
+/**
+ * Enables the caching of the results of the invocations of the side-effect free BKMs and decision services,
+ * keeping at most the given number of results, or in the given cache when it's shared by several runtimes.
+ *
+ * It can be set as a compile-time preference of the models through the {@link #PROPERTY_NAME} property, for example
+ * in the kmodule.xml, giving every model a cache of that size shared by all the runtimes evaluating it, or on a
+ * DMNRuntimeImpl, overriding the cache of all the models it evaluates.
+ */
+public class InvocationCacheOption implements DMNOption {
+
+    private static final long serialVersionUID = 510l;
+
+    public static final String PROPERTY_NAME = DMNAssemblerService.ORG_KIE_DMN_PREFIX + ".runtime.invocationCache";
+
+    /**
+     * The default value for this option, no invocation is cached
+     */
+    public static final int DEFAULT_VALUE = 0;
+
+    private final transient InvocationCache invocationCache;
+
+    public InvocationCacheOption(int maxSize) {
+        this.invocationCache = maxSize > 0 ? new InvocationCache(maxSize) : null;
+    }
+
+    public InvocationCacheOption(String value) {
+        this(value == null ? DEFAULT_VALUE : Integer.parseInt(value));
+    }
+
+    public InvocationCacheOption(InvocationCache invocationCache) {
+        this.invocationCache = invocationCache;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    /**
+     * @return the cache of the invocations, null when they are not cached.
+     */
+    public InvocationCache getInvocationCache() {
+        return invocationCache;
+    }
+
+}
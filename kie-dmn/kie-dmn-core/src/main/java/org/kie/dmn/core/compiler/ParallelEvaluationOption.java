@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.compiler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.kie.dmn.core.assembler.DMNAssemblerService;
+
+/**
+ * Enables the concurrent evaluation of the decisions not depending on each other in
+ * DMNRuntime.evaluateAll and DMNRuntime.evaluateByName, on the given executor or on the common ForkJoinPool.
+ *
+ * It can be set as a compile-time preference of the models through the {@link #PROPERTY_NAME} property, for example
+ * in the kmodule.xml, evaluating them on the common ForkJoinPool, or on a DMNRuntimeImpl, overriding the preference
+ * of all the models it evaluates.
+ *
+ * Every decision is evaluated in a DMNResult of its own, merged afterwards in the returned one, so the DMNResult
+ * of the before and after evaluate decision events, and of the events fired while evaluating the decision, is the one of
+ * the decision and not the returned one. The listeners are notified by the thread invoking the DMNRuntime, once all the
+ * decisions are evaluated, in the order of their dependencies, so the events of the decisions evaluated at the same
+ * time are not interleaved.
+ */
+public class ParallelEvaluationOption implements DMNOption {
+
+    private static final long serialVersionUID = 510l;
+
+    public static final String PROPERTY_NAME = DMNAssemblerService.ORG_KIE_DMN_PREFIX + ".runtime.parallel";
+
+    /**
+     * The default value for this option
+     */
+    public static final boolean DEFAULT_VALUE = false;
+
+    private final boolean parallelEvaluation;
+
+    private final transient Executor executor;
+
+    public ParallelEvaluationOption(boolean value) {
+        this.parallelEvaluation = value;
+        this.executor = null;
+    }
+
+    public ParallelEvaluationOption(String value) {
+        this(value == null ? DEFAULT_VALUE : Boolean.valueOf(value));
+    }
+
+    public ParallelEvaluationOption(Executor executor) {
+        this.parallelEvaluation = true;
+        this.executor = executor;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public boolean isParallelEvaluation() {
+        return parallelEvaluation;
+    }
+
+    public Executor getExecutor() {
+        return executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+}
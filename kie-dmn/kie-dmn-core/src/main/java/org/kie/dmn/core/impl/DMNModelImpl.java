@@ -94,10 +94,21 @@ public class DMNModelImpl
      * a compile-time preference to indicate if type-check should be performed during runtime evaluation. 
      */
     private boolean runtimeTypeCheck = false;
+    /**
+     * a compile-time preference to indicate if the independent decisions should be evaluated concurrently.
+     */
+    private boolean parallelEvaluation = false;
+    /**
+     * the cache of the invocations of the BKMs and decision services of this model, when enabled at compile-time.
+     */
+    private InvocationCache invocationCache;
 
     private Map<String, QName> importAliases = new HashMap<>();
     private ImportChain importChain;
 
+    // computed on the first parallel evaluation of this model
+    private volatile DecisionDependencyGraph decisionDependencyGraph;
+
     public DMNModelImpl() {
         // needed because Externalizable.
     }
@@ -413,6 +424,38 @@ public class DMNModelImpl
         this.runtimeTypeCheck = runtimeTypeCheck;
     }
 
+    /**
+     * @return a compile-time preference to indicate if the independent decisions should be evaluated concurrently.
+     */
+    public boolean isParallelEvaluation() {
+        return parallelEvaluation;
+    }
+
+    public void setParallelEvaluation(boolean parallelEvaluation) {
+        this.parallelEvaluation = parallelEvaluation;
+    }
+
+    /**
+     * @return the cache of the invocations enabled at compile-time, null when they are not cached.
+     */
+    public InvocationCache getInvocationCache() {
+        return invocationCache;
+    }
+
+    public void setInvocationCache(InvocationCache invocationCache) {
+        this.invocationCache = invocationCache;
+    }
+
+    public DecisionDependencyGraph getDecisionDependencyGraph() {
+        DecisionDependencyGraph graph = decisionDependencyGraph;
+        if (graph == null) {
+            // computing it twice is harmless, the graph of the same model is always the same
+            graph = new DecisionDependencyGraph(this);
+            decisionDependencyGraph = graph;
+        }
+        return graph;
+    }
+
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
         out.writeObject(serializedAs);
@@ -461,6 +504,8 @@ public class DMNModelImpl
         this.messages  = compiledModel.messages  ;
         this.types     = compiledModel.types     ;
         this.runtimeTypeCheck = compiledModel.runtimeTypeCheck;
+        this.parallelEvaluation = compiledModel.parallelEvaluation;
+        this.invocationCache = compiledModel.invocationCache;
         this.importAliases = compiledModel.importAliases;
     }
 
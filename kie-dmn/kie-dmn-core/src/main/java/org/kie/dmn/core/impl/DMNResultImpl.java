@@ -37,6 +37,8 @@ public class DMNResultImpl implements DMNResult, DMNMessageManager {
     private DMNMessageManager messages;
     private Map<String, DMNDecisionResult> decisionResults;
     private final DMNModel model;
+    // counts also the messages not added because duplicated, so an evaluation can tell if it reported any
+    private int reportedMessageCount;
 
     public DMNResultImpl(DMNModel model) {
         this.model = model;
@@ -60,21 +62,25 @@ public class DMNResultImpl implements DMNResult, DMNMessageManager {
 
     @Override
     public void addAll(List<? extends DMNMessage> messages) {
+        reportedMessageCount += messages.size();
         this.messages.addAll( messages );
     }
 
     @Override
     public DMNMessage addMessage(DMNMessage msg) {
+        reportedMessageCount++;
         return messages.addMessage( msg );
     }
 
     @Override
     public DMNMessage addMessage(DMNMessage.Severity severity, String message, DMNMessageType messageType, DMNModelInstrumentedBase source) {
+        reportedMessageCount++;
         return messages.addMessage( severity, message, messageType, source );
     }
 
     @Override
     public DMNMessage addMessage(DMNMessage.Severity severity, String message, DMNMessageType messageType, DMNModelInstrumentedBase source, Throwable exception) {
+        reportedMessageCount++;
         return messages.addMessage( severity, message, messageType, source, exception );
     }
 
@@ -85,6 +91,7 @@ public class DMNResultImpl implements DMNResult, DMNMessageManager {
 
     @Override
     public DMNMessage addMessage(DMNMessage.Severity severity, String message, DMNMessageType messageType, DMNModelInstrumentedBase source, FEELEvent feelEvent) {
+        reportedMessageCount++;
         return messages.addMessage( severity, message, messageType, source, feelEvent );
     }
 
@@ -125,6 +132,14 @@ public class DMNResultImpl implements DMNResult, DMNMessageManager {
     }
     @Override
     public void addAllUnfiltered(List<? extends DMNMessage> messages) {
+        reportedMessageCount += messages.size();
         this.messages.addAllUnfiltered(messages);
     }
+
+    /**
+     * Returns the number of messages reported to this DMNResult, including the ones not added because duplicated.
+     */
+    public int getReportedMessageCount() {
+        return reportedMessageCount;
+    }
 }
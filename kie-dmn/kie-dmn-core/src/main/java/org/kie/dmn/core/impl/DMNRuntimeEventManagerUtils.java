@@ -18,6 +18,7 @@ package org.kie.dmn.core.impl;
 
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.dmn.api.core.DMNResult;
@@ -47,6 +48,9 @@ public final class DMNRuntimeEventManagerUtils {
 
     private static final Logger logger = LoggerFactory.getLogger( DMNRuntimeEventManagerUtils.class );
 
+    // not null while a decision is evaluated concurrently, collecting the notifications to be replayed in order
+    private static final ThreadLocal<List<Runnable>> bufferedNotifications = new ThreadLocal<>();
+
     public static BeforeEvaluateDecisionEvent fireBeforeEvaluateDecision(DMNRuntimeEventManager eventManager, DecisionNode decision, DMNResult result) {
         if( eventManager.hasListeners() ) {
             BeforeEvaluateDecisionEvent event = new BeforeEvaluateDecisionEventImpl( decision, result );
@@ -147,7 +151,34 @@ public final class DMNRuntimeEventManagerUtils {
         }
     }
 
+    /**
+     * Performs the given evaluation collecting in the given list, rather than delivering them, the notifications of
+     * the listeners fired by the current thread, so they can be replayed later with {@link #replay(List)}
+     */
+    public static <T> T withBufferedNotifications(List<Runnable> notifications, Supplier<T> evaluation) {
+        List<Runnable> previous = bufferedNotifications.get();
+        bufferedNotifications.set(notifications);
+        try {
+            return evaluation.get();
+        } finally {
+            if (previous != null) {
+                bufferedNotifications.set(previous);
+            } else {
+                bufferedNotifications.remove();
+            }
+        }
+    }
+
+    public static void replay(List<Runnable> notifications) {
+        notifications.forEach(Runnable::run);
+    }
+
     private static void notifyListeners(DMNRuntimeEventManager eventManager, Consumer<DMNRuntimeEventListener> consumer) {
+        List<Runnable> notifications = bufferedNotifications.get();
+        if (notifications != null) {
+            notifications.add(() -> notifyListeners(eventManager, consumer));
+            return;
+        }
         for( DMNRuntimeEventListener listener : eventManager.getListeners() ) {
             try {
                 consumer.accept( listener );
@@ -16,12 +16,21 @@
 
 package org.kie.dmn.core.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
@@ -53,6 +62,8 @@ import org.kie.dmn.core.ast.DecisionServiceNodeImpl;
 import org.kie.dmn.core.ast.InputDataNodeImpl;
 import org.kie.dmn.core.compiler.DMNOption;
 import org.kie.dmn.core.compiler.DMNProfile;
+import org.kie.dmn.core.compiler.InvocationCacheOption;
+import org.kie.dmn.core.compiler.ParallelEvaluationOption;
 import org.kie.dmn.core.compiler.RuntimeTypeCheckOption;
 import org.kie.dmn.core.util.Msg;
 import org.kie.dmn.core.util.MsgUtil;
@@ -73,6 +84,12 @@ public class DMNRuntimeImpl
 
     private boolean overrideRuntimeTypeCheck = false;
 
+    // overrides the compile-time preference of the models, when not null
+    private ParallelEvaluationOption parallelEvaluationOption;
+
+    // overrides the invocation cache of the models, when not null
+    private InvocationCacheOption invocationCacheOption;
+
     private DMNResultImplFactory dmnResultFactory = new DMNResultImplFactory();
 
     public DMNRuntimeImpl(DMNRuntimeKB runtimeKB) {
@@ -111,6 +128,10 @@ public class DMNRuntimeImpl
         DMNRuntimeEventManagerUtils.fireBeforeEvaluateAll( eventManager, model, result );
         // the engine should evaluate all Decisions belonging to the "local" model namespace, not imported decision explicitly.
         Set<DecisionNode> decisions = model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toSet());
+        Executor parallelEvaluationExecutor = getParallelEvaluationExecutor(model);
+        if (parallelEvaluationExecutor != null) {
+            evaluateInParallel(model, result, decisions, performRuntimeTypeCheck, parallelEvaluationExecutor);
+        }
         for( DecisionNode decision : decisions ) {
             evaluateDecision(context, result, decision, performRuntimeTypeCheck);
         }
@@ -145,6 +166,11 @@ public class DMNRuntimeImpl
             throw new IllegalArgumentException(MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_EMPTY, "decisionNames"));
         }
         final DMNResultImpl result = createResult( model, context );
+        Executor parallelEvaluationExecutor = getParallelEvaluationExecutor(model);
+        if (parallelEvaluationExecutor != null) {
+            List<DecisionNode> decisions = Arrays.stream(decisionNames).map(model::getDecisionByName).filter(Objects::nonNull).collect(Collectors.toList());
+            evaluateInParallel(model, result, decisions, performRuntimeTypeCheck(model), parallelEvaluationExecutor);
+        }
         for (String name : decisionNames) {
             evaluateByNameInternal( model, context, result, name );
         }
@@ -322,6 +348,80 @@ public class DMNRuntimeImpl
         return result;
     }
 
+    /**
+     * Evaluates the given decisions and their dependencies, each one as soon as the decisions it depends on are evaluated.
+     * Every decision is evaluated in its own result, with a copy of the input context and the values of the decisions it
+     * depends on, so the BKMs and the decision services it invokes are evaluated again in that result. The values and the
+     * messages of all these results are then merged in the given one, so the decisions are already resolved when evaluated
+     * serially afterwards. The listeners are notified while merging, by the calling thread and in the same order, so their
+     * notifications of a decision are not interleaved with the ones of the decisions evaluated at the same time.
+     */
+    private void evaluateInParallel(DMNModel model, DMNResultImpl result, Collection<DecisionNode> targets, boolean typeCheck, Executor executor) {
+        DecisionDependencyGraph graph = ((DMNModelImpl) model).getDecisionDependencyGraph();
+        if (!graph.isParallelizable()) {
+            return;
+        }
+        List<DecisionNode> decisions = graph.getEvaluationOrder(targets);
+        if (decisions.size() < 2) {
+            return;
+        }
+        // the functions of the BKMs and decision services keep the result they were evaluated in, so they aren't shared
+        Set<String> functionNames = new HashSet<>();
+        model.getBusinessKnowledgeModels().forEach(bkm -> functionNames.add(bkm.getName()));
+        model.getDecisionServices().forEach(ds -> functionNames.add(ds.getName()));
+        DMNContext inputContext = result.getContext().clone();
+        List<DMNDecisionResult> decisionResults = result.getDecisionResults();
+
+        Map<DecisionNode, CompletableFuture<DMNResultImpl>> evaluations = new HashMap<>();
+        Map<DecisionNode, List<Runnable>> notifications = new HashMap<>();
+        for (DecisionNode decision : decisions) {
+            List<Runnable> decisionNotifications = new ArrayList<>();
+            notifications.put(decision, decisionNotifications);
+            List<CompletableFuture<DMNResultImpl>> dependencies = graph.getDependencies(decision).stream().map(evaluations::get).collect(Collectors.toList());
+            CompletableFuture<DMNResultImpl> evaluation = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[dependencies.size()]))
+                    .thenApplyAsync(v -> {
+                        DMNResultImpl decisionResult = dmnResultFactory.newDMNResultImpl(model);
+                        decisionResult.setContext(inputContext.clone());
+                        // the decision results are shared, each one is only updated by the evaluation of its decision
+                        decisionResults.forEach(decisionResult::addDecisionResult);
+                        for (CompletableFuture<DMNResultImpl> dependency : dependencies) {
+                            copyValues(dependency.join().getContext(), decisionResult.getContext(), functionNames);
+                        }
+                        return DMNRuntimeEventManagerUtils.withBufferedNotifications(decisionNotifications, () -> {
+                            evaluateDecision(decisionResult.getContext(), decisionResult, decision, typeCheck);
+                            return decisionResult;
+                        });
+                    }, executor);
+            evaluations.put(decision, evaluation);
+        }
+        try {
+            CompletableFuture.allOf(evaluations.values().toArray(new CompletableFuture[evaluations.size()])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+
+        for (DecisionNode decision : decisions) {
+            DMNResultImpl decisionResult = evaluations.get(decision).join();
+            DMNRuntimeEventManagerUtils.replay(notifications.get(decision));
+            result.addAll(decisionResult.getMessages());
+            copyValues(decisionResult.getContext(), result.getContext(), Collections.emptySet());
+        }
+    }
+
+    private static void copyValues(DMNContext from, DMNContext to, Set<String> excludedNames) {
+        for (Map.Entry<String, Object> entry : from.getAll().entrySet()) {
+            if (!excludedNames.contains(entry.getKey()) && !to.isDefined(entry.getKey())) {
+                to.set(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
     private void evaluateDecisionService(DMNContext context, DMNResultImpl result, DecisionServiceNode d, boolean typeCheck) {
         DecisionServiceNodeImpl ds = (DecisionServiceNodeImpl) d;
         if (isNodeValueDefined(result, ds, ds)) {
@@ -751,6 +851,13 @@ public class DMNRuntimeImpl
 
     }
 
+    private Executor getParallelEvaluationExecutor(DMNModel model) {
+        if (parallelEvaluationOption != null) {
+            return parallelEvaluationOption.isParallelEvaluation() ? parallelEvaluationOption.getExecutor() : null;
+        }
+        return ((DMNModelImpl) model).isParallelEvaluation() ? ForkJoinPool.commonPool() : null;
+    }
+
     public boolean performRuntimeTypeCheck(DMNModel model) {
         Objects.requireNonNull(model, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "model"));
         return overrideRuntimeTypeCheck || ((DMNModelImpl) model).isRuntimeTypeCheck();
@@ -759,7 +866,29 @@ public class DMNRuntimeImpl
     public final <T extends DMNOption> void setOption(T option) {
         if (option instanceof RuntimeTypeCheckOption) {
             this.overrideRuntimeTypeCheck = ((RuntimeTypeCheckOption) option).isRuntimeTypeCheck();
+        } else if (option instanceof ParallelEvaluationOption) {
+            this.parallelEvaluationOption = (ParallelEvaluationOption) option;
+        } else if (option instanceof InvocationCacheOption) {
+            this.invocationCacheOption = (InvocationCacheOption) option;
+        }
+    }
+
+    /**
+     * @return the cache set on this runtime with an InvocationCacheOption, null if not set or disabled.
+     */
+    public InvocationCache getInvocationCache() {
+        return invocationCacheOption != null ? invocationCacheOption.getInvocationCache() : null;
+    }
+
+    /**
+     * @return the cache of the invocations evaluating the given model, the one set on this runtime or else the one
+     * of the model, null when they are not cached.
+     */
+    public InvocationCache getInvocationCache(DMNModel model) {
+        if (invocationCacheOption != null) {
+            return invocationCacheOption.getInvocationCache();
         }
+        return model != null ? ((DMNModelImpl) model).getInvocationCache() : null;
     }
 
     private void reportFailure(DMNDecisionResultImpl dr, DMNMessage message, DMNDecisionResult.DecisionEvaluationStatus status) {
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.dmn.api.core.ast.BusinessKnowledgeModelNode;
+import org.kie.dmn.api.core.ast.DMNNode;
+import org.kie.dmn.api.core.ast.DecisionNode;
+import org.kie.dmn.api.core.ast.DecisionServiceNode;
+import org.kie.dmn.api.core.ast.InputDataNode;
+import org.kie.dmn.core.ast.DMNBaseNode;
+
+/**
+ * The dependencies among the decisions of a model, computed once per model and used to evaluate concurrently
+ * the decisions not depending on each other. The BKMs and the decision services are evaluated as part of the
+ * decisions requiring them, so only the decisions are nodes of this graph.
+ *
+ * Only the models without imports, where all the dependencies of the decisions are nodes of the same model,
+ * are {@link #isParallelizable() parallelizable}.
+ */
+public class DecisionDependencyGraph {
+
+    private final List<DecisionNode> decisions = new ArrayList<>();
+    private final Map<DecisionNode, List<DecisionNode>> dependencies = new HashMap<>();
+    private final Map<DecisionNode, Set<DecisionNode>> transitiveDependencies = new HashMap<>();
+    private final boolean parallelizable;
+
+    DecisionDependencyGraph(DMNModelImpl model) {
+        this.parallelizable = model.getDefinitions().getImport().isEmpty() && sort(model);
+    }
+
+    private boolean sort(DMNModelImpl model) {
+        Set<DecisionNode> visiting = new HashSet<>();
+        for (DecisionNode decision : model.getDecisions()) {
+            if (!visit(model, decision, visiting)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // adds the decision after its dependencies, returns false if they can't be evaluated concurrently
+    private boolean visit(DMNModelImpl model, DecisionNode decision, Set<DecisionNode> visiting) {
+        if (dependencies.containsKey(decision)) {
+            return true;
+        }
+        if (!decision.getModelNamespace().equals(model.getNamespace()) || !visiting.add(decision)) {
+            // an imported decision or a cycle
+            return false;
+        }
+        List<DecisionNode> decisionDependencies = new ArrayList<>();
+        Set<DecisionNode> transitive = new LinkedHashSet<>();
+        for (DMNNode dep : ((DMNBaseNode) decision).getDependencies().values()) {
+            if (!dep.getModelNamespace().equals(model.getNamespace())) {
+                return false;
+            }
+            if (dep instanceof DecisionNode) {
+                if (!visit(model, (DecisionNode) dep, visiting)) {
+                    return false;
+                }
+                decisionDependencies.add((DecisionNode) dep);
+                transitive.addAll(transitiveDependencies.get(dep));
+                transitive.add((DecisionNode) dep);
+            } else if (!(dep instanceof InputDataNode || dep instanceof BusinessKnowledgeModelNode || dep instanceof DecisionServiceNode)) {
+                return false;
+            }
+        }
+        visiting.remove(decision);
+        dependencies.put(decision, decisionDependencies);
+        transitiveDependencies.put(decision, transitive);
+        decisions.add(decision);
+        return true;
+    }
+
+    public boolean isParallelizable() {
+        return parallelizable;
+    }
+
+    public List<DecisionNode> getDependencies(DecisionNode decision) {
+        return dependencies.getOrDefault(decision, Collections.emptyList());
+    }
+
+    public Set<DecisionNode> getTransitiveDependencies(DecisionNode decision) {
+        return transitiveDependencies.getOrDefault(decision, Collections.emptySet());
+    }
+
+    /**
+     * Returns the given decisions and the decisions they depend on, each one after its dependencies
+     */
+    public List<DecisionNode> getEvaluationOrder(Collection<DecisionNode> targets) {
+        Set<DecisionNode> required = new HashSet<>();
+        for (DecisionNode target : targets) {
+            required.add(target);
+            required.addAll(getTransitiveDependencies(target));
+        }
+        List<DecisionNode> order = new ArrayList<>(required.size());
+        for (DecisionNode decision : decisions) {
+            if (required.contains(decision)) {
+                order.add(decision);
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.chrono.ChronoPeriod;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.ast.BusinessKnowledgeModelNode;
+import org.kie.dmn.api.core.ast.DMNNode;
+import org.kie.dmn.api.core.ast.DecisionNode;
+import org.kie.dmn.api.core.ast.DecisionServiceNode;
+import org.kie.dmn.api.core.ast.InputDataNode;
+import org.kie.dmn.core.ast.BusinessKnowledgeModelNodeImpl;
+import org.kie.dmn.core.ast.DMNBaseNode;
+import org.kie.dmn.core.ast.DecisionNodeImpl;
+import org.kie.dmn.core.ast.DecisionServiceNodeImpl;
+import org.kie.dmn.core.compiler.DMNCompilerImpl;
+import org.kie.dmn.core.compiler.DMNProfile;
+import org.kie.dmn.core.compiler.profiles.ExtendedDMNProfile;
+import org.kie.dmn.feel.runtime.FEELFunction;
+import org.kie.dmn.model.api.Binding;
+import org.kie.dmn.model.api.ChildExpression;
+import org.kie.dmn.model.api.Conditional;
+import org.kie.dmn.model.api.Context;
+import org.kie.dmn.model.api.ContextEntry;
+import org.kie.dmn.model.api.DMNElementReference;
+import org.kie.dmn.model.api.DecisionRule;
+import org.kie.dmn.model.api.DecisionTable;
+import org.kie.dmn.model.api.Expression;
+import org.kie.dmn.model.api.Filter;
+import org.kie.dmn.model.api.For;
+import org.kie.dmn.model.api.FunctionDefinition;
+import org.kie.dmn.model.api.FunctionKind;
+import org.kie.dmn.model.api.InputClause;
+import org.kie.dmn.model.api.Invocation;
+import org.kie.dmn.model.api.LiteralExpression;
+import org.kie.dmn.model.api.OutputClause;
+import org.kie.dmn.model.api.Quantified;
+import org.kie.dmn.model.api.Relation;
+import org.kie.dmn.model.api.UnaryTests;
+
+/**
+ * A bounded cache of the results of the invocations of the BKMs and decision services, keyed on the invoked node
+ * and on the values of the arguments, with the least recently used results evicted first.
+ *
+ * Only the nodes detected as side-effect free are cached: the nodes whose logic, and the logic of all the nodes
+ * they require, is made of FEEL expressions not invoking now(), today(), invoke() or the functions of a custom profile
+ * and not defining external functions, in a model without errors. Only the arguments made of numbers, strings, booleans, temporal values and lists
+ * or contexts of them are cached, compared with their equals, so numbers with a different scale are different
+ * arguments. The same holds for the results, stored as immutable copies, so a caller can't change the result
+ * returned to the following ones. The invocations reporting any message are never cached.
+ * The same cache can be shared by several runtimes to cache the invocations across them.
+ */
+public class InvocationCache {
+
+    /**
+     * Returned by {@link #lookup(Object)} when the invocation isn't cached
+     */
+    public static final Object MISS = new Object();
+
+    private static final Object NULL_RESULT = new Object();
+
+    // invoke() evaluates a decision of any model, which isn't a dependency of the invoking node and then isn't checked
+    private static final List<String> IMPURE_FUNCTIONS = Arrays.asList("now", "today", "invoke");
+    // the definitions of external functions, e.g. Java methods, which may have side effects
+    private static final Pattern EXTERNAL_FUNCTION = Pattern.compile("\\)\\s*external(?![\\p{L}\\p{N}_])");
+
+    private final int maxSize;
+    private final Map<Object, Object> results;
+    private final Map<DMNNode, Boolean> sideEffectFree = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public InvocationCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The size of the invocation cache must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.results = new LinkedHashMap<Object, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                if (size() > InvocationCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the key of the invocation of the given node with the given arguments, or null if it can't be cached
+     */
+    public Object keyFor(DMNRuntimeImpl runtime, DMNNode node, boolean typeCheck, Object[] params) {
+        if (!isSideEffectFree(runtime, node)) {
+            return null;
+        }
+        List<Object> key = new ArrayList<>(params.length + 2);
+        key.add(node);
+        key.add(typeCheck);
+        for (Object param : params) {
+            Object value = normalize(param);
+            if (value == MISS) {
+                return null;
+            }
+            key.add(value);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the cached result of the invocation, or {@link #MISS}
+     */
+    public Object lookup(Object key) {
+        Object result;
+        synchronized (results) {
+            result = results.get(key);
+        }
+        if (result == null) {
+            misses.incrementAndGet();
+            return MISS;
+        }
+        hits.incrementAndGet();
+        return result == NULL_RESULT ? null : result;
+    }
+
+    /**
+     * Caches an immutable copy of the given result, unless it's made of values that can't be copied
+     */
+    public void put(Object key, Object result) {
+        Object value = normalize(result);
+        if (value == MISS) {
+            return;
+        }
+        synchronized (results) {
+            results.put(key, value == null ? NULL_RESULT : value);
+        }
+    }
+
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public void clear() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "InvocationCache{size=" + size() + ", maxSize=" + maxSize + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "}";
+    }
+
+    // an immutable copy of the value to compare the arguments and to share the results, MISS if it can't be copied
+    private static Object normalize(Object value) {
+        if (value == null || value instanceof BigDecimal || value instanceof BigInteger || value instanceof Integer || value instanceof Long
+                || value instanceof Double || value instanceof String || value instanceof Boolean || value instanceof TemporalAccessor || value instanceof Duration || value instanceof ChronoPeriod) {
+            return value;
+        }
+        if (value instanceof Collection) {
+            List<Object> list = new ArrayList<>(((Collection<?>) value).size());
+            for (Object element : (Collection<?>) value) {
+                Object normalized = normalize(element);
+                if (normalized == MISS) {
+                    return MISS;
+                }
+                list.add(normalized);
+            }
+            return Collections.unmodifiableList(list);
+        }
+        if (value instanceof Map) {
+            // keeping the order of the entries, that is part of a context result
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                Object normalized = normalize(entry.getValue());
+                if (!(entry.getKey() instanceof String) || normalized == MISS) {
+                    return MISS;
+                }
+                map.put(entry.getKey(), normalized);
+            }
+            return Collections.unmodifiableMap(map);
+        }
+        return MISS;
+    }
+
+    private boolean isSideEffectFree(DMNRuntimeImpl runtime, DMNNode node) {
+        Boolean result = sideEffectFree.get(node);
+        if (result == null) {
+            result = new PurityChecker(runtime).check(node);
+            sideEffectFree.putIfAbsent(node, result);
+        }
+        return result;
+    }
+
+    private static class PurityChecker {
+
+        private final DMNRuntimeImpl runtime;
+        // the invocations of the functions whose result may change at every invocation
+        private final Pattern impureInvocation;
+        // the nodes already checked, or being checked in case of recursion
+        private final Set<DMNNode> visited = new HashSet<>();
+
+        private PurityChecker(DMNRuntimeImpl runtime) {
+            this.runtime = runtime;
+            List<String> impureFunctions = new ArrayList<>(IMPURE_FUNCTIONS);
+            for (DMNProfile profile : runtime.getProfiles()) {
+                if (!(profile instanceof ExtendedDMNProfile)) {
+                    profile.getFEELFunctions().stream().map(FEELFunction::getName).forEach(impureFunctions::add);
+                }
+            }
+            this.impureInvocation = Pattern.compile("(?<![\\p{L}\\p{N}_])(" + impureFunctions.stream().map(Pattern::quote).collect(Collectors.joining("|")) + ")\\s*\\(");
+        }
+
+        private boolean check(DMNNode node) {
+            if (!visited.add(node)) {
+                return true;
+            }
+            DMNModel model = runtime.getModel(node.getModelNamespace(), node.getModelName());
+            if (model == null || model.hasErrors()) {
+                return false;
+            }
+            if (node instanceof InputDataNode) {
+                return true;
+            } else if (node instanceof BusinessKnowledgeModelNode) {
+                return isPure(((BusinessKnowledgeModelNodeImpl) node).getBusinessKnowledModel().getEncapsulatedLogic())
+                        && checkDependencies(node);
+            } else if (node instanceof DecisionNode) {
+                return isPure(((DecisionNodeImpl) node).getDecision().getExpression()) && checkDependencies(node);
+            } else if (node instanceof DecisionServiceNode) {
+                for (DMNElementReference output : ((DecisionServiceNodeImpl) node).getDecisionService().getOutputDecision()) {
+                    DecisionNode decision = model.getDecisionById(DMNCompilerImpl.getId(output));
+                    if (decision == null || !check(decision)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private boolean checkDependencies(DMNNode node) {
+            for (DMNNode dependency : ((DMNBaseNode) node).getDependencies().values()) {
+                if (!check(dependency)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isPure(Expression expression) {
+            if (expression == null) {
+                return true;
+            } else if (expression instanceof LiteralExpression) {
+                LiteralExpression literal = (LiteralExpression) expression;
+                return literal.getImportedValues() == null && isFEEL(literal.getExpressionLanguage()) && isPure(literal.getText());
+            } else if (expression instanceof UnaryTests) {
+                return isFEEL(((UnaryTests) expression).getExpressionLanguage()) && isPure(((UnaryTests) expression).getText());
+            } else if (expression instanceof FunctionDefinition) {
+                FunctionDefinition function = (FunctionDefinition) expression;
+                return (function.getKind() == null || function.getKind() == FunctionKind.FEEL) && isPure(function.getExpression());
+            } else if (expression instanceof Context) {
+                for (ContextEntry entry : ((Context) expression).getContextEntry()) {
+                    if (!isPure(entry.getExpression())) {
+                        return false;
+                    }
+                }
+                return true;
+            } else if (expression instanceof Invocation) {
+                Invocation invocation = (Invocation) expression;
+                for (Binding binding : invocation.getBinding()) {
+                    if (!isPure(binding.getExpression())) {
+                        return false;
+                    }
+                }
+                return isPure(invocation.getExpression());
+            } else if (expression instanceof DecisionTable) {
+                DecisionTable table = (DecisionTable) expression;
+                for (InputClause input : table.getInput()) {
+                    if (!isPure(input.getInputExpression()) || !isPure(input.getInputValues())) {
+                        return false;
+                    }
+                }
+                for (OutputClause output : table.getOutput()) {
+                    if (!isPure(output.getOutputValues()) || !isPure(output.getDefaultOutputEntry())) {
+                        return false;
+                    }
+                }
+                for (DecisionRule rule : table.getRule()) {
+                    if (!rule.getInputEntry().stream().allMatch(this::isPure) || !rule.getOutputEntry().stream().allMatch(this::isPure)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else if (expression instanceof Relation) {
+                return ((Relation) expression).getRow().stream().allMatch(this::isPure);
+            } else if (expression instanceof org.kie.dmn.model.api.List) {
+                return ((org.kie.dmn.model.api.List) expression).getExpression().stream().allMatch(this::isPure);
+            } else if (expression instanceof Conditional) {
+                Conditional conditional = (Conditional) expression;
+                return isPure(conditional.getIf()) && isPure(conditional.getThen()) && isPure(conditional.getElse());
+            } else if (expression instanceof Filter) {
+                return isPure(((Filter) expression).getIn()) && isPure(((Filter) expression).getMatch());
+            } else if (expression instanceof For) {
+                return isPure(((For) expression).getIn()) && isPure(((For) expression).getReturn());
+            } else if (expression instanceof Quantified) {
+                return isPure(((Quantified) expression).getIn()) && isPure(((Quantified) expression).getSatisfies());
+            }
+            // an expression this check doesn't know
+            return false;
+        }
+
+        private boolean isPure(ChildExpression child) {
+            return child == null || isPure(child.getExpression());
+        }
+
+        private boolean isPure(String text) {
+            return text == null || (!impureInvocation.matcher(text).find() && !EXTERNAL_FUNCTION.matcher(text).find());
+        }
+
+        private static boolean isFEEL(String expressionLanguage) {
+            return expressionLanguage == null || expressionLanguage.toLowerCase().contains("feel");
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.Results;
+import org.kie.api.builder.model.KieModuleModel;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.compiler.InvocationCacheOption;
+import org.kie.dmn.core.decisionservices.DMNDecisionServicesTest;
+import org.kie.dmn.core.impl.DMNModelImpl;
+import org.kie.dmn.core.impl.DMNRuntimeImpl;
+import org.kie.dmn.core.impl.InvocationCache;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DMNRuntimeInvocationCacheTest extends BaseInterpretedVsCompiledTest {
+
+    private static final List<BigDecimal> AMOUNTS = Arrays.asList(new BigDecimal(100), new BigDecimal(2000), new BigDecimal(100), new BigDecimal(2000), new BigDecimal(100));
+
+    public DMNRuntimeInvocationCacheTest(final boolean useExecModelCompiler) {
+        super(useExecModelCompiler);
+    }
+
+    @Test
+    public void testPureBKMInvocationsAreCached() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("invocationCache.dmn", getClass());
+        final DMNModel dmnModel = runtime.getModel("https://kiegroup.org/dmn/_5D4C1C2A-6B4E-4E0A-9C0F-3A1D9C2B7E41", "invocationCache");
+        assertThat(dmnModel).isNotNull();
+        assertThat(dmnModel.hasErrors()).as(DMNRuntimeUtil.formatMessages(dmnModel.getMessages())).isFalse();
+        final DMNResult serial = runtime.evaluateAll(dmnModel, amountsContext());
+
+        final InvocationCache cache = new InvocationCache(10);
+        ((DMNRuntimeImpl) runtime).setOption(new InvocationCacheOption(cache));
+        final DMNResult cached = runtime.evaluateAll(dmnModel, amountsContext());
+        assertThat(cached.hasErrors()).as(DMNRuntimeUtil.formatMessages(cached.getMessages())).isFalse();
+        assertThat(cached.getContext().get("rates")).isEqualTo(serial.getContext().get("rates"));
+        assertThat(cached.getContext().get("stamps")).isEqualTo(serial.getContext().get("stamps"));
+
+        // only the invocations of rate are cached, the result of stamp depends on today()
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getHits()).isEqualTo(3);
+
+        // the cache is also used by the following evaluations
+        final DMNResult again = runtime.evaluateAll(dmnModel, amountsContext());
+        assertThat(again.getContext().get("rates")).isEqualTo(serial.getContext().get("rates"));
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getHits()).isEqualTo(8);
+    }
+
+    @Test
+    public void testInvocationsOfExternalFunctionsAreNotCached() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("invocationCacheExternal.dmn", getClass());
+        final DMNModel dmnModel = runtime.getModel("https://kiegroup.org/dmn/_1E6B3D8A-7C2F-4A95-B0D4-5F8E2A1C9B63", "invocationCacheExternal");
+        assertThat(dmnModel).isNotNull();
+        assertThat(dmnModel.hasErrors()).as(DMNRuntimeUtil.formatMessages(dmnModel.getMessages())).isFalse();
+        final InvocationCache cache = new InvocationCache(10);
+        ((DMNRuntimeImpl) runtime).setOption(new InvocationCacheOption(cache));
+
+        // the FEEL literal of timestamp defines an external Java function
+        final DMNResult dmnResult = runtime.evaluateAll(dmnModel, amountsContext());
+        assertThat(dmnResult.hasErrors()).as(DMNRuntimeUtil.formatMessages(dmnResult.getMessages())).isFalse();
+        assertThat((List<?>) dmnResult.getContext().get("timestamps")).hasSize(AMOUNTS.size());
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    public void testInvocationsOfInvokeAreNotCached() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("invocationCacheInvoke.dmn", getClass());
+        final DMNModel dmnModel = runtime.getModel("https://kiegroup.org/dmn/_3F9C2A71-5D8E-4B16-9A3C-7E2D1F6B8C54", "invocationCacheInvoke");
+        assertThat(dmnModel).isNotNull();
+        assertThat(dmnModel.hasErrors()).as(DMNRuntimeUtil.formatMessages(dmnModel.getMessages())).isFalse();
+        final InvocationCache cache = new InvocationCache(10);
+        ((DMNRuntimeImpl) runtime).setOption(new InvocationCacheOption(cache));
+
+        // stamp invokes the clock decision, which depends on now() but isn't a dependency of stamp
+        final DMNResult dmnResult = runtime.evaluateAll(dmnModel, amountsContext());
+        assertThat(dmnResult.hasErrors()).as(DMNRuntimeUtil.formatMessages(dmnResult.getMessages())).isFalse();
+        assertThat((List<?>) dmnResult.getContext().get("stamps")).hasSize(AMOUNTS.size());
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedInvocationsAreEvicted() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("invocationCache.dmn", getClass());
+        final DMNModel dmnModel = runtime.getModel("https://kiegroup.org/dmn/_5D4C1C2A-6B4E-4E0A-9C0F-3A1D9C2B7E41", "invocationCache");
+        final InvocationCache cache = new InvocationCache(1);
+        ((DMNRuntimeImpl) runtime).setOption(new InvocationCacheOption(cache));
+
+        final DMNResult dmnResult = runtime.evaluateAll(dmnModel, amountsContext());
+        assertThat(dmnResult.getContext().get("rates")).isEqualTo(Arrays.asList(new BigDecimal("0.05"), new BigDecimal("0.03"), new BigDecimal("0.05"), new BigDecimal("0.03"), new BigDecimal("0.05")));
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getHits()).isZero();
+        assertThat(cache.getEvictions()).isEqualTo(4);
+    }
+
+    @Test
+    public void testDecisionServiceInvocationsAreCached() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("mixtype-DS.dmn", DMNDecisionServicesTest.class);
+        final DMNModel dmnModel = runtime.getModel("http://www.trisotech.com/dmn/definitions/_c9885563-aa54-4c7b-ae8a-738cfd29b544", "mixtype DS");
+        final InvocationCache cache = new InvocationCache(100);
+        ((DMNRuntimeImpl) runtime).setOption(new InvocationCacheOption(cache));
+
+        for (int i = 0; i < 2; i++) {
+            final DMNContext context = DMNFactory.newContext();
+            context.set("Person name", "John");
+            context.set("Person year of birth", BigDecimal.valueOf(1980));
+            final DMNResult dmnResult = runtime.evaluateAll(dmnModel, context);
+            assertThat(dmnResult.hasErrors()).as(DMNRuntimeUtil.formatMessages(dmnResult.getMessages())).isFalse();
+            assertThat((Map<String, Object>) dmnResult.getContext().get("eval DS all")).containsEntry("Greet the Person", "Hello, ds all");
+            assertThat((Map<String, Object>) dmnResult.getContext().get("eval DS encapsulate")).containsEntry("Greet the Person", "Hello, DS encapsulate");
+        }
+        assertThat(cache.getHits()).isPositive();
+    }
+
+    @Test
+    public void testInvocationsReportingDuplicatedMessagesAreNotCached() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("invocationCache.dmn", getClass());
+        final DMNModel dmnModel = runtime.getModel("https://kiegroup.org/dmn/_5D4C1C2A-6B4E-4E0A-9C0F-3A1D9C2B7E41", "invocationCache");
+        final InvocationCache cache = new InvocationCache(10);
+        ((DMNRuntimeImpl) runtime).setOption(new InvocationCacheOption(cache));
+
+        // every invocation reports the same type mismatch, added to the result only once
+        final DMNContext context = DMNFactory.newContext();
+        context.set("amounts", Arrays.asList("x", "x", "x"));
+        final DMNResult dmnResult = runtime.evaluateAll(dmnModel, context);
+        assertThat(dmnResult.getMessages()).isNotEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    public void testCachedResultsAreImmutableCopies() {
+        final InvocationCache cache = new InvocationCache(10);
+        final List<Object> result = new ArrayList<>(Arrays.asList(BigDecimal.ONE, "a"));
+        cache.put("key", result);
+        result.add(BigDecimal.TEN);
+
+        final Object cached = cache.lookup("key");
+        assertThat(cached).isEqualTo(Arrays.asList(BigDecimal.ONE, "a"));
+        assertThatThrownBy(() -> ((List<Object>) cached).add(BigDecimal.TEN)).isInstanceOf(UnsupportedOperationException.class);
+
+        // a result that can't be copied isn't cached
+        cache.put("other", new Object());
+        assertThat(cache.lookup("other")).isSameAs(InvocationCache.MISS);
+    }
+
+    @Test
+    public void testInvocationCacheInKModule() {
+        final KieServices ks = KieServices.Factory.get();
+        final KieFileSystem kfs = ks.newKieFileSystem();
+        final KieModuleModel kmm = ks.newKieModuleModel();
+        kmm.setConfigurationProperty(InvocationCacheOption.PROPERTY_NAME, "10");
+        kfs.writeKModuleXML(kmm.toXML());
+        kfs.write(ks.getResources().newClassPathResource("invocationCache.dmn", getClass()));
+        final Results results = ks.newKieBuilder(kfs).buildAll().getResults();
+        assertThat(results.hasMessages(Message.Level.ERROR)).as(results.getMessages().toString()).isFalse();
+        final DMNRuntime runtime = ks.newKieContainer(ks.getRepository().getDefaultReleaseId()).newKieSession().getKieRuntime(DMNRuntime.class);
+        final DMNModel dmnModel = runtime.getModel("https://kiegroup.org/dmn/_5D4C1C2A-6B4E-4E0A-9C0F-3A1D9C2B7E41", "invocationCache");
+
+        final InvocationCache cache = ((DMNModelImpl) dmnModel).getInvocationCache();
+        assertThat(cache).isNotNull();
+        assertThat(cache.getMaxSize()).isEqualTo(10);
+        final DMNResult dmnResult = runtime.evaluateAll(dmnModel, amountsContext());
+        assertThat(dmnResult.getContext().get("rates")).isEqualTo(Arrays.asList(new BigDecimal("0.05"), new BigDecimal("0.03"), new BigDecimal("0.05"), new BigDecimal("0.03"), new BigDecimal("0.05")));
+        assertThat(cache.getHits()).isEqualTo(3);
+
+        // the option of the runtime overrides the cache of the model
+        ((DMNRuntimeImpl) runtime).setOption(new InvocationCacheOption(InvocationCacheOption.DEFAULT_VALUE));
+        runtime.evaluateAll(dmnModel, amountsContext());
+        assertThat(cache.getHits()).isEqualTo(3);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("invocationCache.dmn", getClass());
+        assertThat(((DMNRuntimeImpl) runtime).getInvocationCache()).isNull();
+        ((DMNRuntimeImpl) runtime).setOption(new InvocationCacheOption(String.valueOf(InvocationCacheOption.DEFAULT_VALUE)));
+        assertThat(((DMNRuntimeImpl) runtime).getInvocationCache()).isNull();
+    }
+
+    private static DMNContext amountsContext() {
+        final DMNContext context = DMNFactory.newContext();
+        context.set("amounts", AMOUNTS);
+        return context;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Test;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNDecisionResult;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.Results;
+import org.kie.api.builder.model.KieModuleModel;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionTableEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionTableEvent;
+import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.compiler.ParallelEvaluationOption;
+import org.kie.dmn.core.decisionservices.DMNDecisionServicesTest;
+import org.kie.dmn.core.impl.DMNModelImpl;
+import org.kie.dmn.core.impl.DMNRuntimeImpl;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+import org.kie.dmn.feel.runtime.FEELFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DMNRuntimeParallelEvaluationTest extends BaseInterpretedVsCompiledTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    public DMNRuntimeParallelEvaluationTest(final boolean useExecModelCompiler) {
+        super(useExecModelCompiler);
+    }
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLendingEvaluateAll() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("0004-lending.dmn", getClass());
+        final DMNModel dmnModel = runtime.getModel("http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1");
+        assertThat(dmnModel).isNotNull();
+        assertThat(((DMNModelImpl) dmnModel).getDecisionDependencyGraph().isParallelizable()).isTrue();
+
+        final DMNResult parallel = evaluateInParallel(runtime, r -> r.evaluateAll(dmnModel, lendingContext()));
+        assertThat(parallel.hasErrors()).as(DMNRuntimeUtil.formatMessages(parallel.getMessages())).isFalse();
+        assertThat(parallel.getContext().get("Post-bureauRiskCategory")).isEqualTo("LOW");
+        assertSameResult(parallel, runtime.evaluateAll(dmnModel, lendingContext()));
+    }
+
+    @Test
+    public void testLendingWithMissingInputs() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("0004-lending.dmn", getClass());
+        final DMNModel dmnModel = runtime.getModel("http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1");
+        final DMNContext context = lendingContext();
+        context.set("BureauData", null);
+
+        final DMNResult parallel = evaluateInParallel(runtime, r -> r.evaluateAll(dmnModel, context));
+        assertThat(parallel.hasErrors()).isTrue();
+        assertSameResult(parallel, runtime.evaluateAll(dmnModel, context));
+    }
+
+    @Test
+    public void testLendingEvaluateByName() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("0004-lending.dmn", getClass());
+        final DMNModel dmnModel = runtime.getModel("http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1");
+
+        final DMNResult parallel = evaluateInParallel(runtime, r -> r.evaluateByName(dmnModel, lendingContext(), "Post-bureauRiskCategory", "unknown"));
+        assertThat(parallel.getDecisionResultByName("Strategy").getEvaluationStatus()).isEqualTo(DMNDecisionResult.DecisionEvaluationStatus.NOT_EVALUATED);
+        assertSameResult(parallel, runtime.evaluateByName(dmnModel, lendingContext(), "Post-bureauRiskCategory", "unknown"));
+    }
+
+    @Test
+    public void testDecisionServices() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("mixtype-DS.dmn", DMNDecisionServicesTest.class);
+        final DMNModel dmnModel = runtime.getModel("http://www.trisotech.com/dmn/definitions/_c9885563-aa54-4c7b-ae8a-738cfd29b544", "mixtype DS");
+        final DMNContext context = DMNFactory.newContext();
+        context.set("Person name", "John");
+        context.set("Person year of birth", BigDecimal.valueOf(1980));
+
+        final DMNResult parallel = evaluateInParallel(runtime, r -> r.evaluateAll(dmnModel, context));
+        assertThat(parallel.hasErrors()).as(DMNRuntimeUtil.formatMessages(parallel.getMessages())).isFalse();
+        assertThat(parallel.getContext().get("Greet the Person")).isEqualTo("Hello, John");
+        assertSameResult(parallel, runtime.evaluateAll(dmnModel, context));
+    }
+
+    @Test
+    public void testListenersNotifiedInOrderByTheCallingThread() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("0004-lending.dmn", getClass());
+        final DMNModel dmnModel = runtime.getModel("http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1");
+        final List<String> events = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        runtime.addListener(new DMNRuntimeEventListener() {
+            @Override
+            public void beforeEvaluateDecision(BeforeEvaluateDecisionEvent event) {
+                record("before " + event.getDecision().getName());
+            }
+
+            @Override
+            public void afterEvaluateDecision(AfterEvaluateDecisionEvent event) {
+                record("after " + event.getDecision().getName());
+            }
+
+            @Override
+            public void beforeEvaluateDecisionTable(BeforeEvaluateDecisionTableEvent event) {
+                record("before table " + event.getNodeName());
+            }
+
+            @Override
+            public void afterEvaluateDecisionTable(AfterEvaluateDecisionTableEvent event) {
+                record("after table " + event.getNodeName());
+            }
+
+            private void record(String event) {
+                events.add(event);
+                threads.add(Thread.currentThread());
+            }
+        });
+
+        final DMNResult parallel = evaluateInParallel(runtime, r -> r.evaluateAll(dmnModel, lendingContext()));
+        assertThat(parallel.hasErrors()).as(DMNRuntimeUtil.formatMessages(parallel.getMessages())).isFalse();
+        assertThat(threads).containsOnly(Thread.currentThread());
+        final List<String> parallelEvents = new ArrayList<>(events);
+
+        events.clear();
+        runtime.evaluateAll(dmnModel, lendingContext());
+        assertThat(parallelEvents).containsExactlyInAnyOrderElementsOf(events);
+
+        // all the events fired while evaluating a decision are between its before and after events
+        String evaluating = null;
+        for (String event : parallelEvents) {
+            if (event.startsWith("before table ") || event.startsWith("after table ")) {
+                assertThat(evaluating).as(event).isNotNull();
+            } else if (event.startsWith("before ")) {
+                assertThat(evaluating).as(event).isNull();
+                evaluating = event.substring("before ".length());
+            } else {
+                assertThat(event).isEqualTo("after " + evaluating);
+                evaluating = null;
+            }
+        }
+    }
+
+    @Test
+    public void testParallelEvaluationInKModule() {
+        final KieServices ks = KieServices.Factory.get();
+        final KieFileSystem kfs = ks.newKieFileSystem();
+        final KieModuleModel kmm = ks.newKieModuleModel();
+        kmm.setConfigurationProperty(ParallelEvaluationOption.PROPERTY_NAME, "true");
+        kfs.writeKModuleXML(kmm.toXML());
+        kfs.write(ks.getResources().newClassPathResource("0004-lending.dmn", getClass()));
+        final Results results = ks.newKieBuilder(kfs).buildAll().getResults();
+        assertThat(results.hasMessages(Message.Level.ERROR)).as(results.getMessages().toString()).isFalse();
+        final DMNRuntime runtime = ks.newKieContainer(ks.getRepository().getDefaultReleaseId()).newKieSession().getKieRuntime(DMNRuntime.class);
+        final DMNModel dmnModel = runtime.getModel("http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1");
+        assertThat(((DMNModelImpl) dmnModel).isParallelEvaluation()).isTrue();
+
+        final DMNResult parallel = runtime.evaluateAll(dmnModel, lendingContext());
+        assertThat(parallel.hasErrors()).as(DMNRuntimeUtil.formatMessages(parallel.getMessages())).isFalse();
+        assertThat(parallel.getContext().get("Post-bureauRiskCategory")).isEqualTo("LOW");
+
+        // the option of the runtime overrides the preference of the model
+        ((DMNRuntimeImpl) runtime).setOption(new ParallelEvaluationOption(false));
+        assertSameResult(parallel, runtime.evaluateAll(dmnModel, lendingContext()));
+    }
+
+    private DMNResult evaluateInParallel(DMNRuntime runtime, Function<DMNRuntime, DMNResult> evaluation) {
+        ((DMNRuntimeImpl) runtime).setOption(new ParallelEvaluationOption(executor));
+        try {
+            return evaluation.apply(runtime);
+        } finally {
+            ((DMNRuntimeImpl) runtime).setOption(new ParallelEvaluationOption(false));
+        }
+    }
+
+    private static void assertSameResult(DMNResult parallel, DMNResult serial) {
+        assertThat(values(parallel.getContext())).isEqualTo(values(serial.getContext()));
+        assertThat(parallel.getDecisionResults()).hasSameSizeAs(serial.getDecisionResults());
+        for (DMNDecisionResult expected : serial.getDecisionResults()) {
+            DMNDecisionResult actual = parallel.getDecisionResultById(expected.getDecisionId());
+            assertThat(actual.getEvaluationStatus()).as(expected.getDecisionName()).isEqualTo(expected.getEvaluationStatus());
+            assertThat(actual.getResult()).as(expected.getDecisionName()).isEqualTo(expected.getResult());
+            assertThat(actual.getMessages()).as(expected.getDecisionName()).hasSameSizeAs(expected.getMessages());
+        }
+        assertThat(parallel.getMessages().stream().map(m -> m.getSourceId() + " " + m.getText()).collect(Collectors.toList()))
+                .containsExactlyInAnyOrderElementsOf(serial.getMessages().stream().map(m -> m.getSourceId() + " " + m.getText()).collect(Collectors.toList()));
+    }
+
+    // the functions of the BKMs and decision services are different instances in every evaluation
+    private static Map<String, Object> values(DMNContext context) {
+        Map<String, Object> values = new HashMap<>();
+        context.getAll().forEach((name, value) -> values.put(name, value instanceof FEELFunction ? FEELFunction.class : value));
+        return values;
+    }
+
+    private static DMNContext lendingContext() {
+        final Map<String, Object> monthly = new HashMap<>();
+        monthly.put("Income", 6000);
+        monthly.put("Expenses", 2000);
+        monthly.put("Repayments", 0);
+        final Map<String, Object> applicant = new HashMap<>();
+        applicant.put("Monthly", monthly);
+        applicant.put("Age", 35);
+        applicant.put("ExistingCustomer", Boolean.TRUE);
+        applicant.put("MaritalStatus", "M");
+        applicant.put("EmploymentStatus", "EMPLOYED");
+        final Map<String, Object> product = new HashMap<>();
+        product.put("ProductType", "STANDARD LOAN");
+        product.put("Amount", 350000);
+        product.put("Rate", new BigDecimal("0.0395"));
+        product.put("Term", 360);
+        final Map<String, Object> bureau = new HashMap<>();
+        bureau.put("CreditScore", 649);
+        bureau.put("Bankrupt", Boolean.FALSE);
+
+        final DMNContext context = DMNFactory.newContext();
+        context.set("ApplicantData", applicant);
+        context.set("RequestedProduct", product);
+        context.set("BureauData", bureau);
+        context.set("SupportingDocuments", "yes");
+        return context;
+    }
+}
@@ -20,9 +20,12 @@ package org.kie.dmn.feel.codegen.feel11;
 
 import java.time.Duration;
 import java.time.chrono.ChronoPeriod;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -99,6 +102,9 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
 
     ScopeHelper<Type> scopeHelper = new ScopeHelper<>();
 
+    // the variables of the slot frames entered by the enclosing for and quantified expressions, innermost first
+    private Deque<List<String>> slotScopes = new ArrayDeque<>();
+
     @Override
     public DirectCompilerResult visit(ASTNode n) {
         throw new UnsupportedOperationException("Not yet implemented");
@@ -189,9 +195,30 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
     public DirectCompilerResult visit(NameRefNode n) {
         String nameRef = EvalHelper.normalizeVariableName(n.getText());
         Type type = scopeHelper.resolve(nameRef).orElse(BuiltInType.UNKNOWN);
+        for (List<String> slotScope : slotScopes) {
+            int slot = slotScope.indexOf(nameRef);
+            if (slot >= 0) {
+                return DirectCompilerResult.of(FeelCtx.getSlotValue(nameRef, slot), type);
+            }
+        }
         return DirectCompilerResult.of(FeelCtx.getValue(nameRef), type);
     }
 
+    /**
+     * Enters the slot frame of a for or quantified expression, with the same slots of CompiledFEELSupport:
+     * the given variables followed by the iteration names, the first occurrence of a name being its slot
+     */
+    private void pushSlotScope(List<IterationContextNode> iterationContexts, String... variables) {
+        LinkedHashSet<String> slotScope = new LinkedHashSet<>();
+        for (String variable : variables) {
+            slotScope.add(variable);
+        }
+        for (IterationContextNode iterationContext : iterationContexts) {
+            slotScope.add(EvalHelper.normalizeVariableName(iterationContext.getName().getText()));
+        }
+        slotScopes.push(new ArrayList<>(slotScope));
+    }
+
     @Override
     public DirectCompilerResult visit(QualifiedNameNode n) {
         List<NameRefNode> parts = n.getParts();
@@ -317,6 +344,7 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
 
     @Override
     public DirectCompilerResult visit(ForExpressionNode n) {
+        pushSlotScope(n.getIterationContexts(), "partial");
         DirectCompilerResult expr = n.getExpression().accept(this);
         HashSet<FieldDeclaration> fds = new HashSet<>();
 
@@ -334,6 +362,7 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
                 .peek(r -> fds.addAll(r.getFieldDeclarations()))
                 .map(DirectCompilerResult::getExpression)
                 .collect(Collectors.toList());
+        slotScopes.pop();
 
         // .satisfies(expr)
         return DirectCompilerResult.of(
@@ -462,7 +491,11 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
                     n, list,
                     Functions.external(paramNames, n.getBody()));
         } else {
+            // the body is evaluated in the frames of the invocation, where the enclosing slot frames are not the innermost
+            Deque<List<String>> enclosingSlotScopes = slotScopes;
+            slotScopes = new ArrayDeque<>();
             DirectCompilerResult body = n.getBody().accept(this);
+            slotScopes = enclosingSlotScopes;
             return Functions.declaration(n, list,
                                          body.getExpression()).withFD(body);
         }
@@ -616,6 +649,7 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
 
     @Override
     public DirectCompilerResult visit(QuantifiedExpressionNode n) {
+        pushSlotScope(n.getIterationContexts());
         DirectCompilerResult expr = n.getExpression().accept(this);
         HashSet<FieldDeclaration> fds = new HashSet<>();
 
@@ -633,6 +667,7 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
                 .peek(r -> fds.addAll(r.getFieldDeclarations()))
                 .map(DirectCompilerResult::getExpression)
                 .collect(Collectors.toList());
+        slotScopes.pop();
 
         // .satisfies(expr)
         return DirectCompilerResult.of(
@@ -175,6 +175,18 @@ public class CompiledFEELSemanticMappings {
         return value;
     }
 
+    /**
+     * Same as {@link #getValue(EvaluationContext, String)} for a variable of the slot frame of an enclosing
+     * for or quantified expression
+     */
+    public static Object getValue(EvaluationContext ctx, String varName, int slot) {
+        Object value = ctx.getSlotValue(varName, slot);
+        if (value == null && !ctx.isDefined(varName)) {
+            ctx.notifyEvt(() -> new ASTEventBase(FEELEvent.Severity.ERROR, Msg.createMessage(Msg.UNKNOWN_VARIABLE_REFERENCE, varName), null));
+        }
+        return value;
+    }
+
     private static boolean compatible(Comparable left, Comparable right) {
         Class<?> leftClass = left.getClass();
         Class<?> rightClass = right.getClass();
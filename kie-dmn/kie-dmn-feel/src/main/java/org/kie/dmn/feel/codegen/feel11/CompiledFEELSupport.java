@@ -252,7 +252,7 @@ public class CompiledFEELSupport {
 
         public Object rreturn(Function<EvaluationContext, Object> expression) {
             try {
-                ctx.enterFrame();
+                ctx.enterSlotFrame(slotNames(ctx, iterationContexts, "partial"));
                 List results = new ArrayList();
                 ctx.setValue("partial", results);
                 ForIteration[] ictx = initializeContexts(ctx, iterationContexts);
@@ -314,6 +314,18 @@ public class CompiledFEELSupport {
         }
     }
 
+    /**
+     * The variables of the frame of a for or quantified expression: the given ones followed by the iteration names,
+     * matching the slots assigned by ASTCompilerVisitor
+     */
+    private static String[] slotNames(EvaluationContext ctx, List<IterationContextCompiled> iterationContexts, String... variables) {
+        String[] names = Arrays.copyOf(variables, variables.length + iterationContexts.size());
+        for (int i = 0; i < iterationContexts.size(); i++) {
+            names[variables.length + i] = (String) iterationContexts.get(i).getName().apply(ctx);
+        }
+        return names;
+    }
+
     public static class IterationContextCompiled {
 
         private final Function<EvaluationContext, Object> name;
@@ -377,7 +389,7 @@ public class CompiledFEELSupport {
 
         private Boolean iterateContexts(EvaluationContext ctx, List<IterationContextCompiled> iterationContexts, Function<EvaluationContext, Object> expression, Quantifier quantifier) {
             try {
-                ctx.enterFrame();
+                ctx.enterSlotFrame(slotNames(ctx, iterationContexts));
                 QEIteration[] ictx = initializeContexts(ctx, iterationContexts);
 
                 while (QuantifiedExpressionNode.nextIteration(ctx, ictx)) {
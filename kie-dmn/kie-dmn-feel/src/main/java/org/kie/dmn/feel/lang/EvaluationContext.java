@@ -30,6 +30,13 @@ public interface EvaluationContext {
 
     void exitFrame();
 
+    /**
+     * Enters a frame for the given variables, which can then be read by their slot with {@link #getSlotValue(String, int)}
+     */
+    default void enterSlotFrame(String[] slotNames) {
+        enterFrame();
+    }
+
     EvaluationContext current();
 
     void setValue(String name, Object value );
@@ -38,6 +45,14 @@ public interface EvaluationContext {
 
     Object getValue(String[] name );
 
+    /**
+     * Same as {@link #getValue(String)} for a normalized name, which is expected to be the given slot of the
+     * innermost frame entered with {@link #enterSlotFrame(String[])} declaring it
+     */
+    default Object getSlotValue(String name, int slot) {
+        return getValue(name);
+    }
+
     boolean isDefined( String name );
 
     boolean isDefined( String[] name );
@@ -42,6 +42,7 @@ import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.lang.types.impl.ComparablePeriod;
 import org.kie.dmn.feel.runtime.events.InvalidParametersEvent;
 import org.kie.dmn.feel.util.EvalHelper;
+import org.kie.dmn.feel.util.IntegralArithmetic;
 import org.kie.dmn.feel.util.Msg;
 
 public class InfixOpNode
@@ -233,6 +234,10 @@ public class InfixOpNode
     public static Object add(Object left, Object right, EvaluationContext ctx) {
         if ( left == null || right == null ) {
             return null;
+        }
+        final BigDecimal integral = IntegralArithmetic.add( left, right );
+        if ( integral != null ) {
+            return integral;
         } else if ( left instanceof String && right instanceof String ) {
             return left + ((String) right);
         } else if (left instanceof ChronoPeriod && right instanceof ChronoPeriod) {
@@ -290,6 +295,10 @@ public class InfixOpNode
     public static Object sub(Object left, Object right, EvaluationContext ctx) {
         if ( left == null || right == null ) {
             return null;
+        }
+        final BigDecimal integral = IntegralArithmetic.subtract( left, right );
+        if ( integral != null ) {
+            return integral;
         } else if ( left instanceof Temporal && right instanceof Temporal ) {
             return subtractTemporals((Temporal) left, (Temporal) right, ctx);
         } else if (left instanceof ChronoPeriod && right instanceof ChronoPeriod) {
@@ -326,6 +335,10 @@ public class InfixOpNode
     public static Object mult(Object left, Object right, EvaluationContext ctx) {
         if ( left == null || right == null ) {
             return null;
+        }
+        final BigDecimal integral = IntegralArithmetic.multiply( left, right );
+        if ( integral != null ) {
+            return integral;
         } else if (!isAllowedMultiplicationBasedOnSpec(left, right, ctx)) {
             return null;
         } else if ( left instanceof Duration && right instanceof Number ) {
@@ -348,6 +361,10 @@ public class InfixOpNode
     public static Object div(Object left, Object right, EvaluationContext ctx) {
         if ( left == null || right == null ) {
             return null;
+        }
+        final BigDecimal integral = IntegralArithmetic.divide( left, right );
+        if ( integral != null ) {
+            return integral;
         } else if ( left instanceof Duration && right instanceof Number ) {
             final BigDecimal durationNumericValue = BigDecimal.valueOf(((Duration) left).toNanos());
             final BigDecimal rightDecimal = BigDecimal.valueOf(((Number) right).doubleValue());
@@ -16,6 +16,7 @@
 
 package org.kie.dmn.feel.lang.ast;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.BiPredicate;
@@ -23,9 +24,11 @@ import java.util.function.BiPredicate;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.api.feel.runtime.events.FEELEvent.Severity;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.runtime.ConstantUnaryTest;
 import org.kie.dmn.feel.runtime.Range;
 import org.kie.dmn.feel.runtime.UnaryTest;
 import org.kie.dmn.feel.runtime.UnaryTestImpl;
+import org.kie.dmn.feel.runtime.impl.RangeImpl;
 import org.kie.dmn.feel.util.EvalHelper;
 import org.kie.dmn.feel.util.Msg;
 
@@ -102,19 +105,19 @@ public class UnaryTestNode
     public UnaryTest evaluate(EvaluationContext ctx) {
         switch ( operator ) {
             case LTE:
-                return new UnaryTestImpl( createCompareUnaryTest( (l, r) -> l.compareTo( r ) <= 0 ) , value.getText() );
+                return compareUnaryTest( ctx, createCompareUnaryTest( (l, r) -> l.compareTo( r ) <= 0 ), null, Range.RangeBoundary.CLOSED );
             case LT:
-                return new UnaryTestImpl( createCompareUnaryTest( (l, r) -> l.compareTo( r ) < 0 ) , value.getText() );
+                return compareUnaryTest( ctx, createCompareUnaryTest( (l, r) -> l.compareTo( r ) < 0 ), null, Range.RangeBoundary.OPEN );
             case GT:
-                return new UnaryTestImpl( createCompareUnaryTest( (l, r) -> l.compareTo( r ) > 0 ) , value.getText() );
+                return compareUnaryTest( ctx, createCompareUnaryTest( (l, r) -> l.compareTo( r ) > 0 ), Range.RangeBoundary.OPEN, null );
             case GTE:
-                return new UnaryTestImpl( createCompareUnaryTest( (l, r) -> l.compareTo( r ) >= 0 ) , value.getText() );
+                return compareUnaryTest( ctx, createCompareUnaryTest( (l, r) -> l.compareTo( r ) >= 0 ), Range.RangeBoundary.CLOSED, null );
             case EQ:
-                return new UnaryTestImpl( createIsEqualUnaryTest( ) , value.getText() );
+                return equalUnaryTest( ctx, createIsEqualUnaryTest( ) );
             case NE:
                 return new UnaryTestImpl( createIsNotEqualUnaryTest( ) , value.getText() );
             case IN:
-                return new UnaryTestImpl( createInUnaryTest() , value.getText() );
+                return inUnaryTest( ctx, createInUnaryTest() );
             case NOT:
                 return new UnaryTestImpl( createNotUnaryTest() , value.getText() );
             case TEST:
@@ -124,6 +127,66 @@ public class UnaryTestNode
         return null;
     }
 
+    /**
+     * When the value is a literal, the returned tests also describe the values satisfying them,
+     * so the decision tables can index their rules on it
+     */
+    private UnaryTest compareUnaryTest( EvaluationContext ctx, UnaryTest test, Range.RangeBoundary lowBoundary, Range.RangeBoundary highBoundary ) {
+        Object literal = literalValue( ctx, value );
+        if ( !(literal instanceof Comparable) ) {
+            return new UnaryTestImpl( test, value.getText() );
+        }
+        Range range = lowBoundary != null ?
+                new RangeImpl( lowBoundary, (Comparable) literal, null, Range.RangeBoundary.OPEN ) :
+                new RangeImpl( Range.RangeBoundary.OPEN, null, (Comparable) literal, highBoundary );
+        return ConstantUnaryTest.in( test, value.getText(), range );
+    }
+
+    private UnaryTest equalUnaryTest( EvaluationContext ctx, UnaryTest test ) {
+        Object literal = literalValue( ctx, value );
+        return literal != null ? ConstantUnaryTest.equalTo( test, value.getText(), literal ) : new UnaryTestImpl( test, value.getText() );
+    }
+
+    private UnaryTest inUnaryTest( EvaluationContext ctx, UnaryTest test ) {
+        if ( value instanceof RangeNode ) {
+            RangeNode rangeNode = (RangeNode) value;
+            Object start = literalValue( ctx, rangeNode.getStart() );
+            Object end = literalValue( ctx, rangeNode.getEnd() );
+            if ( start instanceof Comparable && end != null && start.getClass() == end.getClass() ) {
+                Range range = new RangeImpl( rangeNode.getLowerBound() == RangeNode.IntervalBoundary.OPEN ? Range.RangeBoundary.OPEN : Range.RangeBoundary.CLOSED,
+                                             (Comparable) start,
+                                             (Comparable) end,
+                                             rangeNode.getUpperBound() == RangeNode.IntervalBoundary.OPEN ? Range.RangeBoundary.OPEN : Range.RangeBoundary.CLOSED );
+                return ConstantUnaryTest.in( test, value.getText(), range );
+            }
+        } else if ( value instanceof ListNode ) {
+            List<Object> literals = new ArrayList<>();
+            for ( BaseNode element : ((ListNode) value).getElements() ) {
+                Object literal = literalValue( ctx, element );
+                if ( literal == null ) {
+                    return new UnaryTestImpl( test, value.getText() );
+                }
+                literals.add( literal );
+            }
+            return ConstantUnaryTest.in( test, value.getText(), literals );
+        }
+        return new UnaryTestImpl( test, value.getText() );
+    }
+
+    /**
+     * Returns the value of the given node if it is a literal, null otherwise
+     */
+    private static Object literalValue( EvaluationContext ctx, BaseNode node ) {
+        if ( node instanceof NumberNode || node instanceof StringNode || node instanceof BooleanNode ) {
+            return node.evaluate( ctx );
+        } else if ( node instanceof TemporalConstantNode ) {
+            return ((TemporalConstantNode) node).value;
+        } else if ( node instanceof SignedUnaryNode && ((SignedUnaryNode) node).getExpression() instanceof NumberNode ) {
+            return node.evaluate( ctx );
+        }
+        return null;
+    }
+
     private UnaryTest createCompareUnaryTest( BiPredicate<Comparable, Comparable> op ) {
         return (context, left) -> {
             Object right = value.evaluate( context );
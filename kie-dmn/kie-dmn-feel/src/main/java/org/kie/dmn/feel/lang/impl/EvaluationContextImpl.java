@@ -103,6 +103,11 @@ public class EvaluationContextImpl implements EvaluationContext {
         push(new ExecutionFrameImpl(peek(), size));
     }
 
+    @Override
+    public void enterSlotFrame(String[] slotNames) {
+        push(new SlotExecutionFrame(peek(), slotNames));
+    }
+
     @Override
     public void exitFrame() {
         pop();
@@ -122,6 +127,21 @@ public class EvaluationContextImpl implements EvaluationContext {
         return peek().getValue( name );
     }
 
+    @Override
+    public Object getSlotValue(String name, int slot) {
+        ExecutionFrame frame = peek();
+        // the slot frames are searched by index, the first other frame continues the lookup by name
+        while (frame instanceof SlotExecutionFrame) {
+            SlotExecutionFrame slotFrame = (SlotExecutionFrame) frame;
+            Object value = slotFrame.getLocalValue(name, slot);
+            if (value != SlotExecutionFrame.UNDEFINED) {
+                return value;
+            }
+            frame = slotFrame.getParentFrame();
+        }
+        return frame != null ? frame.getValue(name) : null;
+    }
+
     @Override
     public Object getValue(String[] name) {
         if (name.length == 1) {
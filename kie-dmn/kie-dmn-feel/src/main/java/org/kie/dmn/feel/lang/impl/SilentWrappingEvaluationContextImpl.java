@@ -45,6 +45,11 @@ public class SilentWrappingEvaluationContextImpl implements EvaluationContext {
         wrapped.enterFrame();
     }
 
+    @Override
+    public void enterSlotFrame(String[] slotNames) {
+        wrapped.enterSlotFrame(slotNames);
+    }
+
     @Override
     public void exitFrame() {
         wrapped.exitFrame();
@@ -65,6 +70,11 @@ public class SilentWrappingEvaluationContextImpl implements EvaluationContext {
         return wrapped.getValue(name);
     }
 
+    @Override
+    public Object getSlotValue(String name, int slot) {
+        return wrapped.getSlotValue(name, slot);
+    }
+
     @Override
     public Object getValue(String[] name) {
         return wrapped.getValue(name);
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.kie.dmn.feel.util.EvalHelper;
+import org.kie.dmn.feel.util.EvalHelper.PropertyValueResult;
+
+/**
+ * An execution frame whose variables are known when it is entered, as the iteration variables of
+ * the for and quantified expressions, stored in an array instead of a map.
+ *
+ * The compiled FEEL expressions resolve the references to these variables to their slot index at compile time,
+ * see {@link EvaluationContextImpl#getSlotValue(String, int)}; any other variable set in this frame is kept
+ * in a map as in {@link ExecutionFrameImpl}.
+ */
+public class SlotExecutionFrame implements ExecutionFrame {
+
+    static final Object UNDEFINED = new Object();
+
+    private final ExecutionFrame parentFrame;
+    private final String[] names;
+    private final Object[] values;
+
+    private Map<String, Object> variables;
+    private Object rootObject;
+
+    public SlotExecutionFrame(ExecutionFrame parentFrame, String[] slotNames) {
+        this.parentFrame = parentFrame;
+        this.names = slots(slotNames);
+        this.values = new Object[names.length];
+        Arrays.fill(values, UNDEFINED);
+    }
+
+    // normalized and without duplicates, the first occurrence of a name is its slot
+    static String[] slots(String[] slotNames) {
+        List<String> slots = new ArrayList<>(slotNames.length);
+        for (String name : slotNames) {
+            String normalized = EvalHelper.normalizeVariableName(name);
+            if (!slots.contains(normalized)) {
+                slots.add(normalized);
+            }
+        }
+        return slots.toArray(new String[slots.size()]);
+    }
+
+    public ExecutionFrame getParentFrame() {
+        return parentFrame;
+    }
+
+    /**
+     * Returns the slot of the given normalized name, checking first the expected slot, or -1 if it is not a slot of this frame
+     */
+    int indexOf(String name, int slot) {
+        if (slot >= 0 && slot < names.length && names[slot].equals(name)) {
+            return slot;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value of the given normalized name if it is defined in this frame, ignoring the parent frames,
+     * or UNDEFINED
+     */
+    Object getLocalValue(String name, int slot) {
+        if (rootObject != null) {
+            PropertyValueResult dv = EvalHelper.getDefinedValue(rootObject, name);
+            if (dv.isDefined()) {
+                return dv.getValueResult().getOrElse(null);
+            }
+        }
+        int index = indexOf(name, slot);
+        if (index >= 0) {
+            return values[index];
+        }
+        if (variables != null && variables.containsKey(name)) {
+            return variables.get(name);
+        }
+        return UNDEFINED;
+    }
+
+    @Override
+    public Object getValue(String symbol) {
+        symbol = EvalHelper.normalizeVariableName(symbol);
+        Object value = getLocalValue(symbol, -1);
+        if (value != UNDEFINED) {
+            return value;
+        }
+        if (parentFrame != null) {
+            return parentFrame.getValue(symbol);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isDefined(String symbol) {
+        symbol = EvalHelper.normalizeVariableName(symbol);
+        if (getLocalValue(symbol, -1) != UNDEFINED) {
+            return true;
+        }
+        if (parentFrame != null) {
+            return parentFrame.isDefined(symbol);
+        }
+        return false;
+    }
+
+    @Override
+    public void setValue(String symbol, Object value) {
+        symbol = EvalHelper.normalizeVariableName(symbol);
+        int index = indexOf(symbol, -1);
+        if (index >= 0) {
+            values[index] = value;
+        } else {
+            if (variables == null) {
+                variables = new HashMap<>();
+            }
+            variables.put(symbol, value);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getAllValues() {
+        Map<String, Object> allValues = variables != null ? new HashMap<>(variables) : new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (values[i] != UNDEFINED) {
+                allValues.put(names[i], values[i]);
+            }
+        }
+        return allValues;
+    }
+
+    @Override
+    public void setRootObject(Object v) {
+        this.rootObject = v;
+    }
+
+    @Override
+    public Object getRootObject() {
+        return rootObject;
+    }
+}
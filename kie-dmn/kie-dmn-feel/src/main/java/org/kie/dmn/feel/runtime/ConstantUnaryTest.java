@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * A UnaryTest comparing the tested value with literals, so the values it can be satisfied by are known
+ * when the test is compiled: either the ones equal to one of the {@link #getValues()}, or the ones included in
+ * the {@link #getRange()}. The decision tables use them to index their rules, while the test itself is
+ * always evaluated by the delegate.
+ */
+public class ConstantUnaryTest extends UnaryTestImpl {
+
+    private final Collection<?> values;
+    private final Range range;
+
+    private ConstantUnaryTest(UnaryTest delegate, String text, Collection<?> values, Range range) {
+        super(delegate, text);
+        this.values = values;
+        this.range = range;
+    }
+
+    public static ConstantUnaryTest equalTo(UnaryTest delegate, String text, Object value) {
+        return new ConstantUnaryTest(delegate, text, Collections.singletonList(value), null);
+    }
+
+    public static ConstantUnaryTest in(UnaryTest delegate, String text, Collection<?> values) {
+        return new ConstantUnaryTest(delegate, text, values, null);
+    }
+
+    public static ConstantUnaryTest in(UnaryTest delegate, String text, Range range) {
+        return new ConstantUnaryTest(delegate, text, null, range);
+    }
+
+    /**
+     * Returns the literals the tested value can be equal to, or null if this is a range test
+     */
+    public Collection<?> getValues() {
+        return values;
+    }
+
+    /**
+     * Returns the range the tested value can be included in, or null if this is an equality test
+     */
+    public Range getRange() {
+        return range;
+    }
+}
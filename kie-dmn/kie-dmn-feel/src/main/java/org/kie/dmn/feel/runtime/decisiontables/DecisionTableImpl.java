@@ -17,6 +17,7 @@
 package org.kie.dmn.feel.runtime.decisiontables;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -57,6 +58,7 @@ public class DecisionTableImpl implements DecisionTable {
     private List<DTDecisionRule> decisionRules;
     private HitPolicy            hitPolicy;
     private boolean              hasDefaultValues;
+    private DecisionTableIndex   index;
 
     private FEEL feel;
 
@@ -74,6 +76,7 @@ public class DecisionTableImpl implements DecisionTable {
         this.decisionRules = decisionRules;
         this.hitPolicy = hitPolicy;
         this.hasDefaultValues = outputs.stream().allMatch( o -> o.getDefaultValue() != null );
+        this.index = DecisionTableIndex.create( inputs, decisionRules );
         this.feel = feel;
     }
 
@@ -241,7 +244,8 @@ public class DecisionTableImpl implements DecisionTable {
     }
 
     /**
-     * Finds all rules that match a given set of parameters
+     * Finds all rules that match a given set of parameters, checking only the ones that
+     * the index of the table, if any, couldn't discard
      *
      * @param ctx
      * @param params
@@ -249,9 +253,20 @@ public class DecisionTableImpl implements DecisionTable {
      */
     private List<DTDecisionRule> findMatches(EvaluationContext ctx, Object[] params) {
         List<DTDecisionRule> matchingDecisionRules = new ArrayList<>();
-        for ( DTDecisionRule decisionRule : decisionRules ) {
-            if ( matches( ctx, params, decisionRule ) ) {
-                matchingDecisionRules.add( decisionRule );
+        BitSet candidates = index != null ? index.findCandidates( params ) : null;
+        if ( candidates != null ) {
+            // the candidates are iterated in the order of the rules, as expected by the hit policies
+            for ( int i = candidates.nextSetBit( 0 ); i >= 0; i = candidates.nextSetBit( i + 1 ) ) {
+                DTDecisionRule decisionRule = decisionRules.get( i );
+                if ( matches( ctx, params, decisionRule ) ) {
+                    matchingDecisionRules.add( decisionRule );
+                }
+            }
+        } else {
+            for ( DTDecisionRule decisionRule : decisionRules ) {
+                if ( matches( ctx, params, decisionRule ) ) {
+                    matchingDecisionRules.add( decisionRule );
+                }
             }
         }
         ctx.notifyEvt( () -> {
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.kie.dmn.feel.runtime.ConstantUnaryTest;
+import org.kie.dmn.feel.runtime.Range;
+import org.kie.dmn.feel.runtime.UnaryTest;
+
+/**
+ * Indexes the rules of a decision table on the literals of their input entries, so only the rules that can match
+ * the actual inputs are evaluated instead of all of them.
+ *
+ * Each input column has a hash index of the rules testing the equality with a string, number or boolean literal,
+ * an interval tree of the rules testing the inclusion in a range, or the comparison with a number, string or date
+ * literal, and the rules whose entry is a dash or anything else that can't be indexed, that are always candidates.
+ * The candidate rules of each column are intersected, and the resulting rules are still fully evaluated, so an
+ * index only needs to never discard a rule that could match: when an input isn't of the same type of the literals
+ * its column is not used to discard any rule.
+ */
+class DecisionTableIndex {
+
+    /**
+     * Below this number of rules evaluating all of them is cheaper than looking them up
+     */
+    static final int MIN_INDEXED_RULES = 16;
+
+    private final ColumnIndex[] columns;
+
+    private DecisionTableIndex(ColumnIndex[] columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Returns the index of the given rules, or null if none of the inputs can be indexed
+     */
+    static DecisionTableIndex create(List<DTInputClause> inputs, List<DTDecisionRule> rules) {
+        if ( rules.size() < MIN_INDEXED_RULES ) {
+            return null;
+        }
+        ColumnIndex[] columns = new ColumnIndex[inputs.size()];
+        boolean indexed = false;
+        for ( int i = 0; i < columns.length; i++ ) {
+            if ( !inputs.get( i ).isCollection() ) {
+                columns[i] = ColumnIndex.create( i, rules );
+                indexed |= columns[i] != null;
+            }
+        }
+        return indexed ? new DecisionTableIndex( columns ) : null;
+    }
+
+    /**
+     * Returns the positions of the rules that can match the given inputs, or null if the index can't discard any of them
+     */
+    BitSet findCandidates(Object[] inputs) {
+        BitSet candidates = null;
+        for ( int i = 0; i < columns.length && i < inputs.length; i++ ) {
+            BitSet columnCandidates = columns[i] != null ? columns[i].findCandidates( inputs[i] ) : null;
+            if ( columnCandidates != null ) {
+                if ( candidates == null ) {
+                    candidates = columnCandidates;
+                } else {
+                    candidates.and( columnCandidates );
+                }
+                if ( candidates.isEmpty() ) {
+                    break;
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static class ColumnIndex {
+
+        // the rules that are candidates whatever the input is
+        private final BitSet unindexed = new BitSet();
+
+        private final Map<Object, BitSet> equalities = new HashMap<>();
+        private final BitSet equalityRules = new BitSet();
+        private Class<?> equalityClass;
+
+        private final List<RangeEntry> rangeEntries = new ArrayList<>();
+        private final BitSet rangeRules = new BitSet();
+        private Class<?> rangeClass;
+        private RangeTree ranges;
+
+        static ColumnIndex create(int column, List<DTDecisionRule> rules) {
+            ColumnIndex index = new ColumnIndex();
+            for ( int position = 0; position < rules.size(); position++ ) {
+                List<UnaryTest> inputEntry = rules.get( position ).getInputEntry();
+                if ( column >= inputEntry.size() || !index.add( position, inputEntry.get( column ) ) ) {
+                    index.unindexed.set( position );
+                }
+            }
+            if ( index.unindexed.cardinality() == rules.size() ) {
+                return null;
+            }
+            index.ranges = index.rangeEntries.isEmpty() ? null : new RangeTree( index.rangeEntries );
+            return index;
+        }
+
+        private boolean add(int position, UnaryTest entry) {
+            List<UnaryTest> tests = entry instanceof DTInputEntry ? ((DTInputEntry) entry).getTests() : Collections.singletonList( entry );
+            // all the literals of a column must have the same type
+            Class<?> entryEqualityClass = equalityClass;
+            Class<?> entryRangeClass = rangeClass;
+            for ( UnaryTest test : tests ) {
+                if ( !(test instanceof ConstantUnaryTest) ) {
+                    return false;
+                }
+                ConstantUnaryTest constantTest = (ConstantUnaryTest) test;
+                if ( constantTest.getRange() != null ) {
+                    Class<?> testClass = rangeClass( constantTest.getRange() );
+                    if ( !isRangeClass( testClass ) || (entryRangeClass != null && entryRangeClass != testClass) ) {
+                        return false;
+                    }
+                    entryRangeClass = testClass;
+                } else {
+                    for ( Object value : constantTest.getValues() ) {
+                        Object key = normalize( value );
+                        if ( key == null || (entryEqualityClass != null && entryEqualityClass != key.getClass()) ) {
+                            return false;
+                        }
+                        entryEqualityClass = key.getClass();
+                    }
+                }
+            }
+            equalityClass = entryEqualityClass;
+            rangeClass = entryRangeClass;
+            for ( UnaryTest test : tests ) {
+                ConstantUnaryTest constantTest = (ConstantUnaryTest) test;
+                if ( constantTest.getRange() != null ) {
+                    rangeEntries.add( new RangeEntry( constantTest.getRange(), position ) );
+                    rangeRules.set( position );
+                } else {
+                    for ( Object value : constantTest.getValues() ) {
+                        equalities.computeIfAbsent( normalize( value ), k -> new BitSet() ).set( position );
+                        equalityRules.set( position );
+                    }
+                }
+            }
+            return true;
+        }
+
+        BitSet findCandidates(Object input) {
+            if ( input instanceof Collection ) {
+                // a singleton list is equal to its element
+                return null;
+            }
+            BitSet candidates = (BitSet) unindexed.clone();
+            if ( input == null ) {
+                // null is neither equal to a literal nor included in a range
+                return candidates;
+            }
+            if ( !equalityRules.isEmpty() ) {
+                Object key = normalize( input );
+                if ( key != null && key.getClass() == equalityClass ) {
+                    BitSet equal = equalities.get( key );
+                    if ( equal != null ) {
+                        candidates.or( equal );
+                    }
+                } else {
+                    candidates.or( equalityRules );
+                }
+            }
+            if ( ranges != null ) {
+                if ( input.getClass() == rangeClass ) {
+                    ranges.collect( (Comparable) input, candidates );
+                } else {
+                    candidates.or( rangeRules );
+                }
+            }
+            return candidates;
+        }
+
+        private static Object normalize(Object value) {
+            if ( value instanceof BigDecimal ) {
+                // numbers are equal when their values are, whatever their scales
+                return ((BigDecimal) value).stripTrailingZeros();
+            }
+            return value instanceof String || value instanceof Boolean ? value : null;
+        }
+
+        private static Class<?> rangeClass(Range range) {
+            Comparable low = range.getLowEndPoint();
+            Comparable high = range.getHighEndPoint();
+            if ( low != null && high != null && low.getClass() != high.getClass() ) {
+                return null;
+            }
+            return low != null ? low.getClass() : high != null ? high.getClass() : null;
+        }
+
+        private static boolean isRangeClass(Class<?> rangeClass) {
+            return rangeClass == BigDecimal.class || rangeClass == String.class || rangeClass == LocalDate.class;
+        }
+    }
+
+    private static class RangeEntry {
+
+        // null end points are unbounded
+        private final Comparable low;
+        private final boolean lowIncluded;
+        private final Comparable high;
+        private final boolean highIncluded;
+        private final int position;
+
+        private RangeEntry(Range range, int position) {
+            this.low = range.getLowEndPoint();
+            this.lowIncluded = range.getLowBoundary() == Range.RangeBoundary.CLOSED;
+            this.high = range.getHighEndPoint();
+            this.highIncluded = range.getHighBoundary() == Range.RangeBoundary.CLOSED;
+            this.position = position;
+        }
+
+        private boolean includes(Comparable value) {
+            if ( low != null ) {
+                int compare = low.compareTo( value );
+                if ( compare > 0 || (compare == 0 && !lowIncluded) ) {
+                    return false;
+                }
+            }
+            if ( high != null ) {
+                int compare = high.compareTo( value );
+                return compare > 0 || (compare == 0 && highIncluded);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A static interval tree: the ranges are sorted by their low end point and laid out as an implicit balanced
+     * binary tree, where each node also keeps the highest end point of its subtree, so the subtrees whose ranges
+     * are all lower or all higher than the value are skipped
+     */
+    private static class RangeTree {
+
+        private final RangeEntry[] entries;
+        private final Comparable[] maxHighs;
+
+        private RangeTree(List<RangeEntry> ranges) {
+            this.entries = ranges.toArray( new RangeEntry[ranges.size()] );
+            Arrays.sort( entries, Comparator.comparing( (RangeEntry e) -> e.low, Comparator.nullsFirst( Comparator.naturalOrder() ) ) );
+            this.maxHighs = new Comparable[entries.length];
+            computeMaxHigh( 0, entries.length );
+        }
+
+        // the highest end point of the given subtree, null if unbounded
+        private Comparable computeMaxHigh(int from, int to) {
+            int mid = (from + to) >>> 1;
+            Comparable maxHigh = entries[mid].high;
+            if ( from < mid ) {
+                maxHigh = max( maxHigh, computeMaxHigh( from, mid ) );
+            }
+            if ( mid + 1 < to ) {
+                maxHigh = max( maxHigh, computeMaxHigh( mid + 1, to ) );
+            }
+            maxHighs[mid] = maxHigh;
+            return maxHigh;
+        }
+
+        private static Comparable max(Comparable a, Comparable b) {
+            return a == null || b == null ? null : a.compareTo( b ) >= 0 ? a : b;
+        }
+
+        void collect(Comparable value, BitSet result) {
+            collect( 0, entries.length, value, result );
+        }
+
+        private void collect(int from, int to, Comparable value, BitSet result) {
+            if ( from >= to ) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            if ( maxHighs[mid] != null && maxHighs[mid].compareTo( value ) < 0 ) {
+                return;
+            }
+            collect( from, mid, value, result );
+            RangeEntry entry = entries[mid];
+            if ( entry.low != null && entry.low.compareTo( value ) > 0 ) {
+                // all the following ranges start after the value
+                return;
+            }
+            if ( entry.includes( value ) ) {
+                result.set( entry.position );
+            }
+            collect( mid + 1, to, value, result );
+        }
+    }
+}
@@ -529,6 +529,9 @@ public class EvalHelper {
     public static Boolean compare(Object left, Object right, EvaluationContext ctx, BiPredicate<Comparable, Comparable> op) {
         if ( left == null || right == null ) {
             return null;
+        } else if (left instanceof BigDecimal && right instanceof BigDecimal) {
+            // FEEL numbers, the most common case
+            return op.test((BigDecimal) left, (BigDecimal) right);
         } else if (left instanceof ChronoPeriod && right instanceof ChronoPeriod) {
             // periods have special compare semantics in FEEL as it ignores "days". Only months and years are compared
             Long l = ComparablePeriod.toTotalMonths((ChronoPeriod) left);
@@ -567,6 +570,9 @@ public class EvalHelper {
     public static Boolean isEqual(Object left, Object right, EvaluationContext ctx ) {
         if ( left == null || right == null ) {
             return left == right;
+        } else if ( left instanceof BigDecimal && right instanceof BigDecimal ) {
+            // same result of the Number case of compare(), without going through the checks below
+            return ((BigDecimal) left).compareTo( (BigDecimal) right ) == 0;
         }
 
         // spec defines that "a=[a]", i.e., singleton collections should be treated as the single element
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Fast path of the FEEL arithmetic on integral numbers, computed on primitive longs.
+ *
+ * When both operands are integral numbers fitting a long and the exact result fits a long too, the
+ * result of the DECIMAL128 arithmetic is that exact value with scale 0, which is what these methods return.
+ * In any other case (non integral operands, overflow, inexact or by zero division) they return null
+ * and the caller falls back to the BigDecimal arithmetic with MathContext.DECIMAL128.
+ */
+public final class IntegralArithmetic {
+
+    // any BigDecimal with scale 0 and up to 18 digits fits a long
+    private static final int MAX_LONG_PRECISION = 18;
+
+    private IntegralArithmetic() {
+        // It is not allowed to create instances of util classes.
+    }
+
+    public static BigDecimal add(Object left, Object right) {
+        if (!isIntegral(left) || !isIntegral(right)) {
+            return null;
+        }
+        long l = longValue(left);
+        long r = longValue(right);
+        long result = l + r;
+        if (((l ^ result) & (r ^ result)) < 0) {
+            // overflow
+            return null;
+        }
+        return BigDecimal.valueOf(result);
+    }
+
+    public static BigDecimal subtract(Object left, Object right) {
+        if (!isIntegral(left) || !isIntegral(right)) {
+            return null;
+        }
+        long l = longValue(left);
+        long r = longValue(right);
+        long result = l - r;
+        if (((l ^ r) & (l ^ result)) < 0) {
+            // overflow
+            return null;
+        }
+        return BigDecimal.valueOf(result);
+    }
+
+    public static BigDecimal multiply(Object left, Object right) {
+        if (!isIntegral(left) || !isIntegral(right)) {
+            return null;
+        }
+        long l = longValue(left);
+        long r = longValue(right);
+        long high = Math.multiplyHigh(l, r);
+        long result = l * r;
+        if (high != (result >> 63)) {
+            // overflow, the high 64 bits of the product are not just the sign of the low ones
+            return null;
+        }
+        return BigDecimal.valueOf(result);
+    }
+
+    public static BigDecimal divide(Object left, Object right) {
+        if (!isIntegral(left) || !isIntegral(right)) {
+            return null;
+        }
+        long l = longValue(left);
+        long r = longValue(right);
+        if (r == 0 || l % r != 0 || (l == Long.MIN_VALUE && r == -1)) {
+            // division by zero is reported by the BigDecimal arithmetic, fractional results need DECIMAL128 rounding
+            return null;
+        }
+        return BigDecimal.valueOf(l / r);
+    }
+
+    static boolean isIntegral(Object value) {
+        if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            return decimal.scale() == 0 && decimal.precision() <= MAX_LONG_PRECISION;
+        }
+        return value instanceof Integer || value instanceof Long;
+    }
+
+    private static long longValue(Object value) {
+        return ((Number) value).longValue();
+    }
+}
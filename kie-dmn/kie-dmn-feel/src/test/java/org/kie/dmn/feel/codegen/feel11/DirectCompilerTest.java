@@ -18,6 +18,7 @@ package org.kie.dmn.feel.codegen.feel11;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 
@@ -277,6 +278,37 @@ public class DirectCompilerTest {
         // TODO in order to parse correctly the enhanced for loop it is required to configure the FEEL Profiles
     }
 
+    @Test
+    public void test_forExpressionSlots() {
+        assertThat(parseCompileEvaluate("for x in [ 1, 2 ] return for y in [ 10, 20 ] return x + y")).asList()
+                .containsExactly(Arrays.asList(BigDecimal.valueOf(11), BigDecimal.valueOf(21)), Arrays.asList(BigDecimal.valueOf(12), BigDecimal.valueOf(22)));
+        assertThat(parseCompileEvaluate("for x in [ 1 ], y in [ x, x + 1 ] return y * 1")).asList()
+                .containsExactly(BigDecimal.valueOf(1), BigDecimal.valueOf(2));
+        assertThat(parseCompileEvaluate("for x in [ 1, 2 ], x in [ 10, 20 ] return x * 1")).asList()
+                .containsExactly(BigDecimal.valueOf(10), BigDecimal.valueOf(20), BigDecimal.valueOf(10), BigDecimal.valueOf(20));
+        assertThat(parseCompileEvaluate("for i in [ 1, 2, 3 ] return if i = 1 then 1 else partial[-1] * 2")).asList()
+                .containsExactly(BigDecimal.valueOf(1), BigDecimal.valueOf(2), BigDecimal.valueOf(4));
+        // frames entered in the return expression shadow the iteration variables
+        assertThat(parseCompileEvaluate("for x in [ 1, 2 ] return { x : x * 10, y : x }.y")).asList()
+                .containsExactly(BigDecimal.valueOf(10), BigDecimal.valueOf(20));
+        assertThat(parseCompileEvaluate("for x in [ 1, 2 ] return [ { x : 10 }, { x : 20 } ][ x > 15 ].x")).asList()
+                .containsExactly(Collections.singletonList(BigDecimal.valueOf(20)), Collections.singletonList(BigDecimal.valueOf(20)));
+        assertThat(parseCompileEvaluate("for x in [ 1, 2 ] return { f : function(y) x + y, r : f(10) }.r")).asList()
+                .containsExactly(BigDecimal.valueOf(11), BigDecimal.valueOf(12));
+        assertThat(parseCompileEvaluate("some x in [ 1, 2 ], y in [ 2, 3 ] satisfies every z in [ x, y ] satisfies z > 1")).isEqualTo(Boolean.TRUE);
+    }
+
+    @Test
+    public void test_forExpressionSlotsWithInputVariables() {
+        CompiledFEELExpression compiledExpression = parse("for x in numbers return x + offset", mapOf(entry("numbers", BuiltInType.LIST), entry("offset", BuiltInType.NUMBER)));
+        EvaluationContext context = CodegenTestUtil.newEmptyEvaluationContext();
+        context.setValue("numbers", Arrays.asList(BigDecimal.ONE, BigDecimal.TEN));
+        context.setValue("offset", BigDecimal.valueOf(5));
+        assertThat(compiledExpression.apply(context)).asList().containsExactly(BigDecimal.valueOf(6), BigDecimal.valueOf(15));
+        // the input variables have been looked up past the slot frame, which has been exited
+        assertThat(context.getAllValues()).doesNotContainKeys("x", "partial");
+    }
+
     @Test
     public void test_quantifiedExpressions() {
         // quantified expressions
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.FEELImpl;
+import org.kie.dmn.feel.runtime.functions.DTInvokerFunction;
+import org.kie.dmn.feel.runtime.functions.FEELFnResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DecisionTableIndexTest {
+
+    private static final String[] CATEGORIES = { "\"A\"", "\"B\"", "\"C\"", "\"A\", \"D\"", "-", "not(\"B\")" };
+    private static final String[] AMOUNTS = { "< 100", "[100..500)", ">= 500", "-", "100, 200", "> amountLimit" };
+
+    private FEEL feel;
+    private List<DTInputClause> inputs;
+    private List<DTDecisionRule> rules;
+    private DecisionTableImpl decisionTable;
+
+    @Before
+    public void setUp() {
+        feel = FEEL.newInstance();
+        rules = new ArrayList<>();
+        for ( int i = 0; i < 60; i++ ) {
+            DTDecisionRule rule = new DTDecisionRule( i );
+            rule.getInputEntry().add( new DTInputEntry( feel.evaluateUnaryTests( CATEGORIES[i % CATEGORIES.length] ) ) );
+            rule.getInputEntry().add( new DTInputEntry( feel.evaluateUnaryTests( AMOUNTS[(i / CATEGORIES.length) % AMOUNTS.length] ) ) );
+            rule.getOutputEntry().add( feel.compile( String.valueOf( i ), feel.newCompilerContext() ) );
+            rules.add( rule );
+        }
+        inputs = Arrays.asList( new DTInputClause( "category", null, null, null, false ),
+                                new DTInputClause( "amount", null, null, null, false ) );
+        List<DTOutputClause> outputs = Collections.singletonList( new DTOutputClause( "result", null ) );
+        decisionTable = new DecisionTableImpl( "indexed", Arrays.asList( "category", "amount" ), inputs, outputs, rules, HitPolicy.COLLECT, feel );
+    }
+
+    @Test
+    public void testIndexedMatchesAreTheEvaluatedOnes() {
+        Object[] categories = { "A", "B", "C", "D", "Z", null };
+        Object[] amounts = { BigDecimal.ZERO, new BigDecimal( "99.99" ), new BigDecimal( "100" ), new BigDecimal( "100.00" ),
+                             new BigDecimal( "200" ), new BigDecimal( "499" ), new BigDecimal( "500" ), new BigDecimal( "10000" ), null };
+        for ( Object category : categories ) {
+            for ( Object amount : amounts ) {
+                Object[] params = { category, amount };
+                FEELFnResult<Object> result = new DTInvokerFunction( decisionTable ).invoke( newContext(), params );
+                assertThat( result.getOrElse( null ) ).as( "category=%s, amount=%s", category, amount )
+                        .isEqualTo( evaluateAllRules( params ) );
+            }
+        }
+    }
+
+    @Test
+    public void testIndexDiscardsRules() {
+        DecisionTableIndex index = DecisionTableIndex.create( inputs, rules );
+        assertThat( index ).isNotNull();
+
+        BitSet candidates = index.findCandidates( new Object[] { "C", new BigDecimal( "250" ) } );
+        // the rules testing "C" or having a not indexable entry, intersected with the rules in [100..500), a dash or a variable
+        assertThat( candidates.cardinality() ).isLessThan( rules.size() / 2 );
+        for ( int i = 0; i < rules.size(); i++ ) {
+            if ( !candidates.get( i ) ) {
+                String category = CATEGORIES[i % CATEGORIES.length];
+                String amount = AMOUNTS[(i / CATEGORIES.length) % AMOUNTS.length];
+                assertThat( category.equals( "\"C\"" ) && amount.equals( "[100..500)" ) ).isFalse();
+            }
+        }
+
+        // an input of a different type doesn't discard any rule of its column
+        assertThat( index.findCandidates( new Object[] { 1, "x" } ).cardinality() ).isEqualTo( rules.size() );
+    }
+
+    @Test
+    public void testSmallTableIsNotIndexed() {
+        assertThat( DecisionTableIndex.create( inputs, rules.subList( 0, DecisionTableIndex.MIN_INDEXED_RULES - 1 ) ) ).isNull();
+    }
+
+    private List<Object> evaluateAllRules(Object[] params) {
+        EvaluationContext ctx = newContext();
+        ctx.setValue( "category", params[0] );
+        ctx.setValue( "amount", params[1] );
+        List<Object> results = new ArrayList<>();
+        for ( DTDecisionRule rule : rules ) {
+            if ( rule.getInputEntry().get( 0 ).apply( ctx, params[0] ) && rule.getInputEntry().get( 1 ).apply( ctx, params[1] ) ) {
+                results.add( BigDecimal.valueOf( rule.getIndex() ) );
+            }
+        }
+        return results;
+    }
+
+    private EvaluationContext newContext() {
+        return ((FEELImpl) feel).newEvaluationContext( Collections.emptyList(), Collections.singletonMap( "amountLimit", new BigDecimal( "300" ) ) );
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntegralArithmeticTest {
+
+    private static final List<Object> OPERANDS = Arrays.asList(
+            BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.valueOf(-1), BigDecimal.valueOf(7), BigDecimal.valueOf(-42),
+            BigDecimal.valueOf(1_000_000_007L), BigDecimal.valueOf(999_999_999_999_999_999L), BigDecimal.valueOf(-999_999_999_999_999_999L),
+            BigDecimal.valueOf(Long.MAX_VALUE), BigDecimal.valueOf(Long.MIN_VALUE), new BigDecimal("123456789012345678901234567890"),
+            new BigDecimal("2.5"), new BigDecimal("10.0"), new BigDecimal("1E+3"),
+            3, -3, Integer.MAX_VALUE, Integer.MIN_VALUE, 12L, Long.MAX_VALUE, Long.MIN_VALUE, -1L);
+
+    @Test
+    public void testSameResultOfDecimal128() {
+        assertSameResult(IntegralArithmetic::add, (l, r) -> l.add(r, MathContext.DECIMAL128));
+        assertSameResult(IntegralArithmetic::subtract, (l, r) -> l.subtract(r, MathContext.DECIMAL128));
+        assertSameResult(IntegralArithmetic::multiply, (l, r) -> l.multiply(r, MathContext.DECIMAL128));
+        assertSameResult(IntegralArithmetic::divide, (l, r) -> l.divide(r, MathContext.DECIMAL128));
+    }
+
+    @Test
+    public void testOverflowFallsBack() {
+        assertThat(IntegralArithmetic.add(Long.MAX_VALUE, 1)).isNull();
+        assertThat(IntegralArithmetic.add(Long.MAX_VALUE - 1, 1)).isEqualTo(BigDecimal.valueOf(Long.MAX_VALUE));
+        assertThat(IntegralArithmetic.subtract(Long.MIN_VALUE, 1)).isNull();
+        assertThat(IntegralArithmetic.multiply(Long.MAX_VALUE, 2)).isNull();
+        assertThat(IntegralArithmetic.multiply(Long.MIN_VALUE, -1L)).isNull();
+        assertThat(IntegralArithmetic.multiply(3_037_000_499L, 3_037_000_499L)).isEqualTo(new BigDecimal("9223372030926249001"));
+        assertThat(IntegralArithmetic.multiply(3_037_000_500L, 3_037_000_500L)).isNull();
+        assertThat(IntegralArithmetic.divide(Long.MIN_VALUE, -1L)).isNull();
+    }
+
+    @Test
+    public void testNonIntegralFallsBack() {
+        assertThat(IntegralArithmetic.add(new BigDecimal("0.5"), BigDecimal.ONE)).isNull();
+        assertThat(IntegralArithmetic.add(new BigDecimal("1.0"), BigDecimal.ONE)).isNull();
+        assertThat(IntegralArithmetic.add(1.0d, BigDecimal.ONE)).isNull();
+        assertThat(IntegralArithmetic.add("1", BigDecimal.ONE)).isNull();
+        assertThat(IntegralArithmetic.divide(BigDecimal.ONE, BigDecimal.valueOf(3))).isNull();
+        assertThat(IntegralArithmetic.divide(BigDecimal.ONE, BigDecimal.ZERO)).isNull();
+        assertThat(IntegralArithmetic.divide(BigDecimal.valueOf(12), BigDecimal.valueOf(-4))).isEqualTo(BigDecimal.valueOf(-3));
+    }
+
+    private static void assertSameResult(BiFunction<Object, Object, BigDecimal> fastPath, BinaryOperator<BigDecimal> decimal128) {
+        for (Object left : OPERANDS) {
+            for (Object right : OPERANDS) {
+                BigDecimal result = fastPath.apply(left, right);
+                if (result != null) {
+                    BigDecimal expected = decimal128.apply(EvalHelper.getBigDecimalOrNull(left), EvalHelper.getBigDecimalOrNull(right));
+                    // same value and same scale
+                    assertThat(result).as(left + ", " + right).isEqualTo(expected);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.internal.builder.conf;
+
+import org.kie.api.conf.OptionKey;
+
+/**
+ * An Enum for BetaNetworkCompilerOption option.
+ *
+ * drools.betaNetworkCompiler = &lt;disabled|inmemory&gt;
+ *
+ * Disabled: Evaluate the constraints of the beta nodes through the generic BetaConstraints implementations
+ * InMemory: Generate a specialized BetaConstraints class for each beta node after creation of the kiebase and compile it in-memory
+ *
+ * DEFAULT = disabled
+ */
+public enum BetaNetworkCompilerOption implements SingleValueRuleBuilderOption {
+
+    DISABLED("disabled"),
+    INMEMORY("inmemory");
+
+    public static final String PROPERTY_NAME = "drools.betaNetworkCompiler";
+
+    public static OptionKey<BetaNetworkCompilerOption> KEY = new OptionKey<>(TYPE, PROPERTY_NAME);
+
+    private String value;
+
+    BetaNetworkCompilerOption(final String value ) {
+        this.value = value;
+    }
+
+    public String getMode() {
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public static BetaNetworkCompilerOption determineBetaNetworkCompilerMode(String mode) {
+        if ( INMEMORY.getMode().equalsIgnoreCase( mode ) ) {
+            return INMEMORY;
+        } else if ( DISABLED.getMode().equalsIgnoreCase( mode ) ) {
+            return DISABLED;
+        }
+        throw new IllegalArgumentException( "Illegal enum value '" + mode + "' for BetaNetworkCompilerOption" );
+    }
+}
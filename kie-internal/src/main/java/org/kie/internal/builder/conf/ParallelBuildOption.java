@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.internal.builder.conf;
+
+import org.kie.api.conf.OptionKey;
+
+/**
+ * An Enum for ParallelBuildOption option. When enabled the KnowledgeBuilder parses the resources, compiles
+ * the rules of the different packages and compiles the generated classes of the different packages in parallel.
+ *
+ * drools.parallelBuild = &lt;true|false&gt;
+ *
+ * DEFAULT = false
+ */
+public enum ParallelBuildOption implements SingleValueRuleBuilderOption {
+
+    ENABLED(true),
+    DISABLED(false);
+
+    /**
+     * The property name for the parallel build
+     */
+    public static final String PROPERTY_NAME = "drools.parallelBuild";
+
+    public static OptionKey<ParallelBuildOption> KEY = new OptionKey<>(TYPE, PROPERTY_NAME);
+
+    private boolean value;
+
+    ParallelBuildOption(final boolean value ) {
+        this.value = value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public boolean isParallelBuild() {
+        return this.value;
+    }
+
+}
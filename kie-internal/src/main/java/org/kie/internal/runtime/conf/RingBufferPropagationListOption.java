@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.internal.runtime.conf;
+
+import org.kie.api.conf.OptionKey;
+import org.kie.api.runtime.conf.SingleValueRuleRuntimeOption;
+
+/**
+ * An option to queue the propagations of a thread safe KieSession in a bounded ring buffer instead of a synchronized
+ * linked list. Facts can be inserted, updated and deleted by many threads without contending on a lock and
+ * without allocating a new propagation entry for each of them, which is useful for high rate streams of events.
+ *
+ * drools.ringBufferPropagationList = &lt;true|false&gt;
+ *
+ * DEFAULT = false
+ */
+public enum RingBufferPropagationListOption implements SingleValueRuleRuntimeOption {
+
+    YES(true),
+    NO(false);
+
+    private static final long serialVersionUID = 510l;
+
+    /**
+     * The property name for the ring buffer propagation list configuration
+     */
+    public static final String PROPERTY_NAME = "drools.ringBufferPropagationList";
+
+    public static OptionKey<RingBufferPropagationListOption> KEY = new OptionKey<>(TYPE, PROPERTY_NAME);
+
+    private final boolean ringBuffer;
+
+    RingBufferPropagationListOption( final boolean ringBuffer ) {
+        this.ringBuffer = ringBuffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public boolean isRingBuffer() {
+        return ringBuffer;
+    }
+}